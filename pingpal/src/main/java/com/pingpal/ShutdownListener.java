@@ -0,0 +1,26 @@
+package com.pingpal;
+
+import com.pingpal.helpers.HttpClientRegistry;
+import com.pingpal.services.HistoryStore;
+import com.pingpal.services.RequestStore;
+import com.pingpal.services.RequestSync;
+import com.pingpal.services.TokenManager;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+
+// Releases the application-wide services when the webapp stops, so a redeploy can open the store files again
+// and no thread keeps the old class loader alive.
+public class ShutdownListener implements ServletContextListener {
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        RequestSync.shutdown();
+        TokenManager.shutdown();
+        HistoryStore.shutdown();
+        RequestStore.shutdown();
+        // Last, the services above send through its clients.
+        HttpClientRegistry.shutdown();
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.pingpal.components;
 
-import java.util.HashMap;
 import java.util.UUID;
 
 import com.google.gson.Gson;
@@ -12,8 +11,10 @@ import com.webforj.component.html.elements.Div;
 @JavaScript("https://cdn.jsdelivr.net/npm/jsoneditor@10.2.0/dist/jsoneditor.min.js")
 public class JsonEditor extends Div {
 
+    private static final Gson gson = new Gson();
+
     private final String uuid = UUID.randomUUID().toString();
-    private String activeJson = "{}";
+    private String activeText = "";
 
     public JsonEditor() {
         setWidth("100%");
@@ -38,43 +39,35 @@ public class JsonEditor extends Div {
 
             waitForScript('https://cdn.jsdelivr.net/npm/jsoneditor@10.2.0/dist/jsoneditor.min.js').then(() => {
                 const options = {"mode": "code"}
+                const element = document.getElementById('editor_%s');
                 const editor = new JSONEditor(component, options);
-                document.getElementById('editor_%s')._jsoneditor = editor;
+                editor.setText(element._pendingText ?? %s);
+                element._jsoneditor = editor;
             });
         """;
-        getElement().executeJs(script.formatted(uuid));
-
-        applyJson();
+        // The editor is created asynchronously, text set before it exists is picked up from _pendingText.
+        getElement().executeJs(script.formatted(uuid, gson.toJson(activeText)));
     }
 
-    @SuppressWarnings("unchecked")
-    public HashMap<String, Object> getData() {
-        String script = "try { document.getElementById('editor_" + uuid + "')._jsoneditor.get(); } catch (err) { '' }";
-        String json = (String) getElement().executeJs(script);
-        
-        if (json == null || json.isEmpty()) {
-            return new HashMap<>();
-        }
+    // The text is kept as typed, the body is never parsed into a map and serialized back.
+    public String getJson() {
+        String script = "try { document.getElementById('editor_" + uuid + "')._jsoneditor.getText(); } catch (err) { null }";
+        Object text = getElement().executeJs(script);
 
-        return new Gson().fromJson(json, HashMap.class);
+        if (text != null) activeText = text.toString();
+        return activeText;
     }
 
-    public void setData(HashMap<String, Object> data) {
-        String json = new Gson().toJson(data);
-        
-        if (json == null || json.isBlank() || json.equals("null")) {
-            json = "{}";
-        } else {
-            json = json.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
-        }
-
-        activeJson = json;
-        if (isAttached()) applyJson();
+    public void setJson(String text) {
+        activeText = text != null ? text : "";
+        if (isAttached()) applyText();
     }
 
-    private void applyJson() {
-        String script = "const editor = document.getElementById('editor_" + uuid + "')._jsoneditor;";
-        script += "editor.set(JSON.parse(\"" + activeJson + "\"));";
+    private void applyText() {
+        // Gson writes a valid JavaScript string literal, including the line separators JSON allows but JavaScript does not.
+        String script = "const element = document.getElementById('editor_" + uuid + "');"
+            + "element._pendingText = " + gson.toJson(activeText) + ";"
+            + "if (element._jsoneditor) element._jsoneditor.setText(element._pendingText);";
         getElement().executeJs(script);
     }
 
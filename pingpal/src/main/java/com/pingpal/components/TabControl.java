@@ -18,6 +18,7 @@ public class TabControl extends Composite<Div> {
     private Div extraContainer, container;
     private Div activeTab;
     private LinkedHashMap<String, Div> components = new LinkedHashMap<String, Div>();
+    private LinkedHashMap<String, Div> tabs = new LinkedHashMap<String, Div>();
 
     public TabControl() {
         self.addClassName("tab-control");
@@ -51,6 +52,7 @@ public class TabControl extends Composite<Div> {
 
         Div tab = new Div().addClassName("tab-control-tab");
         tab.setUserData("UUID", uuid);
+        tabs.put(uuid, tab);
 
         Label label = new Label(title).addClassName("tab-control-tab-label");
         tab.add(label);
@@ -70,7 +72,17 @@ public class TabControl extends Composite<Div> {
         extraContainer.add(content);
     }
 
+    public void selectTab(Div component) {
+        for (String uuid : components.keySet()) {
+            if (components.get(uuid) == component) select(tabs.get(uuid));
+        }
+    }
+
     private void onTabSelect(ElementClickEvent event) {
+        select((Div) event.getSource());
+    }
+
+    private void select(Div tab) {
         if (activeTab != null) {
             activeTab.removeClassName("active");
 
@@ -79,7 +91,6 @@ public class TabControl extends Composite<Div> {
             activeComponent.setVisible(false);
         }
 
-        Div tab = (Div) event.getSource();
         tab.addClassName("active");
         activeTab = tab;
 
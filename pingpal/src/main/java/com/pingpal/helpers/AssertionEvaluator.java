@@ -0,0 +1,254 @@
+package com.pingpal.helpers;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.pingpal.models.Assertion;
+import com.pingpal.models.AssertionResult;
+
+// Compiled once per request, paths and patterns are parsed up front and an evaluation only reads the response.
+// Evaluations keep their state on the stack, so one evaluator is shared by every run of a request.
+public class AssertionEvaluator {
+
+    private static final AssertionEvaluator EMPTY = new AssertionEvaluator(new Check[0], new ArrayList<JsonPath>());
+
+    private final Check[] checks;
+    private final List<JsonPath> paths;
+
+    private static class Check {
+        final Assertion assertion;
+        int path = -1;
+        Pattern pattern;
+        Double number;
+        String error;
+
+        Check(Assertion assertion) {
+            this.assertion = assertion;
+        }
+    }
+
+    private AssertionEvaluator(Check[] checks, List<JsonPath> paths) {
+        this.checks = checks;
+        this.paths = paths;
+    }
+
+    public static AssertionEvaluator compile(List<Assertion> assertions) {
+        if (assertions == null || assertions.isEmpty()) return EMPTY;
+
+        Check[] checks = new Check[assertions.size()];
+        List<JsonPath> paths = new ArrayList<JsonPath>();
+        HashMap<String, Integer> pathIndexes = new HashMap<String, Integer>();
+
+        for (int i = 0; i < checks.length; i++) {
+            Assertion assertion = assertions.get(i);
+            Check check = new Check(assertion);
+            checks[i] = check;
+
+            try {
+                // Assertions on the same path share it, the body is scanned once for all of them.
+                if (assertion.getType() == Assertion.Type.JSON_PATH) {
+                    JsonPath path = JsonPath.compile(assertion.getTarget());
+                    Integer index = pathIndexes.get(path.getExpression());
+                    if (index == null) {
+                        index = paths.size();
+                        paths.add(path);
+                        pathIndexes.put(path.getExpression(), index);
+                    }
+                    check.path = index;
+                }
+
+                switch (assertion.getOperator()) {
+                    case MATCHES:
+                        check.pattern = Pattern.compile(assertion.getExpected());
+                        break;
+                    case LESS_THAN:
+                    case GREATER_THAN:
+                        check.number = Double.parseDouble(assertion.getExpected().trim());
+                        break;
+                    default:
+                        check.number = parseNumber(assertion.getExpected());
+                }
+            } catch (IllegalArgumentException e) {
+                String kind = e instanceof PatternSyntaxException ? "Invalid pattern: " : e instanceof NumberFormatException ? "Expected a number: " : "Invalid JSONPath: ";
+                check.error = kind + e.getMessage();
+            }
+        }
+
+        return new AssertionEvaluator(checks, paths);
+    }
+
+    public boolean isEmpty() {
+        return checks.length == 0;
+    }
+
+    public int size() {
+        return checks.length;
+    }
+
+    public List<AssertionResult> evaluate(HttpResponse<SpooledBody> response, Duration latency) {
+        AssertionResult[] ordered = new AssertionResult[checks.length];
+
+        for (int i = 0; i < checks.length; i++) {
+            Check check = checks[i];
+            if (check.error != null) {
+                ordered[i] = new AssertionResult(check.assertion, false, null, check.error, 0);
+                continue;
+            }
+
+            long started = System.nanoTime();
+            switch (check.assertion.getType()) {
+                case STATUS:
+                    ordered[i] = result(check, String.valueOf(response.statusCode()), true, started);
+                    break;
+                case HEADER:
+                    List<String> values = response.headers().allValues(check.assertion.getTarget());
+                    ordered[i] = result(check, values.isEmpty() ? null : String.join(", ", values), !values.isEmpty(), started);
+                    break;
+                case LATENCY:
+                    ordered[i] = result(check, String.valueOf(latency != null ? latency.toMillis() : 0), true, started);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (!paths.isEmpty()) evaluatePaths(response.body(), ordered);
+
+        return new ArrayList<AssertionResult>(Arrays.asList(ordered));
+    }
+
+    // One streamed pass over the body answers every JSONPath assertion, the scan time is reported for each of them.
+    private void evaluatePaths(SpooledBody body, AssertionResult[] ordered) {
+        int[] matches = new int[checks.length];
+        String[] first = new String[checks.length];
+        String[] failed = new String[checks.length];
+        String error = null;
+
+        long started = System.nanoTime();
+        try (Reader in = new InputStreamReader(body.openStream(), StandardCharsets.UTF_8)) {
+            JsonReader reader = new JsonReader(in);
+            JsonPath.scan(reader, paths, (path, value, type) -> {
+                String actual = type == JsonToken.BEGIN_ARRAY ? "array of " + value : type == JsonToken.BEGIN_OBJECT ? "object with " + value + " fields" : value;
+
+                for (int i = 0; i < checks.length; i++) {
+                    Check check = checks[i];
+                    if (check.path != path || check.error != null) continue;
+
+                    matches[i]++;
+                    if (first[i] == null) first[i] = actual;
+                    if (failed[i] == null && !test(check, actual, type)) failed[i] = actual;
+                }
+            });
+        } catch (EOFException e) {
+            error = "The response body is empty or ends early";
+        } catch (IOException | IllegalStateException e) {
+            error = "The response body is not valid JSON: " + JsonValidator.clean(e.getMessage());
+        }
+        long elapsed = System.nanoTime() - started;
+
+        for (int i = 0; i < checks.length; i++) {
+            Check check = checks[i];
+            if (check.path < 0 || check.error != null) continue;
+
+            if (error != null) {
+                ordered[i] = new AssertionResult(check.assertion, false, null, error, elapsed);
+                continue;
+            }
+
+            String actual = matches[i] == 0 ? null : (failed[i] != null ? failed[i] : first[i]) + (matches[i] > 1 ? " (" + matches[i] + " matches)" : "");
+            boolean passed;
+            String message;
+
+            switch (check.assertion.getOperator()) {
+                case EXISTS:
+                    passed = matches[i] > 0;
+                    message = passed ? null : "No value matched the path";
+                    break;
+                case NOT_EXISTS:
+                    passed = matches[i] == 0;
+                    message = passed ? null : "The path matched " + matches[i] + " values";
+                    break;
+                default:
+                    // With wildcards every matched value has to pass.
+                    passed = matches[i] > 0 && failed[i] == null;
+                    message = matches[i] == 0 ? "No value matched the path" : passed ? null : "Failed for " + failed[i];
+            }
+
+            ordered[i] = new AssertionResult(check.assertion, passed, actual, message, elapsed);
+        }
+    }
+
+    private AssertionResult result(Check check, String actual, boolean present, long started) {
+        boolean passed;
+        switch (check.assertion.getOperator()) {
+            case EXISTS:
+                passed = present;
+                break;
+            case NOT_EXISTS:
+                passed = !present;
+                break;
+            default:
+                passed = present && test(check, actual, JsonToken.STRING);
+        }
+
+        String message = passed ? null : present ? "Expected " + check.assertion.describe() : "Not present";
+        return new AssertionResult(check.assertion, passed, actual, message, System.nanoTime() - started);
+    }
+
+    private static boolean test(Check check, String actual, JsonToken type) {
+        String expected = check.assertion.getExpected();
+
+        switch (check.assertion.getOperator()) {
+            case EQUALS:
+                return equal(check, actual, type);
+            case NOT_EQUALS:
+                return !equal(check, actual, type);
+            case CONTAINS:
+                return actual.contains(expected);
+            case MATCHES:
+                return check.pattern.matcher(actual).find();
+            case LESS_THAN:
+            case GREATER_THAN:
+                Double value = parseNumber(actual);
+                if (value == null) return false;
+                return check.assertion.getOperator() == Assertion.Operator.LESS_THAN ? value < check.number : value > check.number;
+            case EXISTS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Numbers compare by value, so 1.50 equals 1.5, everything else compares as text.
+    private static boolean equal(Check check, String actual, JsonToken type) {
+        if (check.number != null && type != JsonToken.BEGIN_ARRAY && type != JsonToken.BEGIN_OBJECT) {
+            Double value = parseNumber(actual);
+            if (value != null) return value.doubleValue() == check.number.doubleValue();
+        }
+        return actual.equals(check.assertion.getExpected());
+    }
+
+    private static Double parseNumber(String text) {
+        if (text == null || text.isBlank()) return null;
+
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -1,15 +1,17 @@
 package com.pingpal.helpers;
 
 public class BytesFormatter {
-    
+
+    private static final String UNITS = "KMGTPE";
+
     public static String format(long bytes) {
         if (bytes < 1024) return bytes + " B";
 
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        String pre = "KMGTPE".charAt(exp - 1) + "B";
+        // Powers of 1024 from the bit length, one decimal from integer tenths.
+        int exp = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        long tenths = Math.round(bytes * 10.0 / (1L << (exp * 10)));
 
-        double result = bytes / Math.pow(1024, exp);
-        return String.format("%.1f %s", result, pre);
+        return (tenths / 10) + "." + (tenths % 10) + " " + UNITS.charAt(exp - 1) + "B";
     }
 
 }
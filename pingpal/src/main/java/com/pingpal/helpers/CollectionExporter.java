@@ -0,0 +1,237 @@
+package com.pingpal.helpers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonWriter;
+import com.pingpal.models.RequestModel;
+
+// Writes requests as a Postman v2.1 collection or a HAR file, each request is written out as soon as it is converted.
+// Variables are exported as they are, Postman uses the same {{name}} syntax.
+public class CollectionExporter {
+
+    public static final String POSTMAN_SCHEMA = "https://schema.getpostman.com/json/collection/v2.1.0/collection.json";
+
+    // WebSocket requests are left out, neither format describes them.
+    public static int writePostman(List<RequestModel> requests, String name, Writer out) throws IOException {
+        JsonWriter writer = newWriter(out);
+        int count = 0;
+
+        writer.beginObject();
+        writer.name("info").beginObject();
+        writer.name("name").value(name);
+        writer.name("schema").value(POSTMAN_SCHEMA);
+        writer.endObject();
+
+        writer.name("item").beginArray();
+        for (RequestModel model : requests) {
+            if (isWebSocket(model)) continue;
+
+            RequestHandler handler = handler(model);
+            writer.beginObject();
+            writer.name("name").value(model.getName());
+            writer.name("request").beginObject();
+            writer.name("method").value(method(model));
+
+            writer.name("header").beginArray();
+            if (model.getHeaders() != null) {
+                for (Map.Entry<String, String> header : model.getHeaders().entrySet()) {
+                    writer.beginObject().name("key").value(header.getKey()).name("value").value(header.getValue()).endObject();
+                }
+            }
+            writer.endArray();
+
+            writer.name("url").beginObject().name("raw").value(handler.getFullUrl()).endObject();
+            writePostmanBody(writer, model);
+            writePostmanAuth(writer, model.getAuthData());
+
+            writer.endObject();
+            writer.endObject();
+            count++;
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+
+        return count;
+    }
+
+    public static int writeHar(List<RequestModel> requests, Writer out) throws IOException {
+        JsonWriter writer = newWriter(out);
+        String started = Instant.now().toString();
+        int count = 0;
+
+        writer.beginObject();
+        writer.name("log").beginObject();
+        writer.name("version").value("1.2");
+        writer.name("creator").beginObject().name("name").value("PingPal").name("version").value("1.0").endObject();
+
+        writer.name("entries").beginArray();
+        for (RequestModel model : requests) {
+            if (isWebSocket(model)) continue;
+
+            RequestHandler handler = handler(model);
+            String body = model.getBodyFile() == null ? model.getRawBody() : null;
+
+            writer.beginObject();
+            writer.name("startedDateTime").value(started);
+            writer.name("time").value(0);
+
+            writer.name("request").beginObject();
+            writer.name("method").value(method(model));
+            writer.name("url").value(handler.getFullUrl());
+            writer.name("httpVersion").value(ProtocolFormatter.parse(model.getProtocol()) == HttpClient.Version.HTTP_2 ? "HTTP/2.0" : "HTTP/1.1");
+            writer.name("cookies").beginArray().endArray();
+
+            // Authentication becomes the header it is sent as, HAR has no notion of it.
+            HashMap<String, String> headers = new HashMap<String, String>();
+            handler.applyHeaders(headers::put);
+            writer.name("headers").beginArray();
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                writer.beginObject().name("name").value(header.getKey()).name("value").value(header.getValue()).endObject();
+            }
+            writer.endArray();
+
+            writer.name("queryString").beginArray();
+            if (handler.getFullUrl().contains("?") && model.getParams() != null) {
+                for (Map.Entry<String, String> param : model.getParams().entrySet()) {
+                    writer.beginObject().name("name").value(param.getKey()).name("value").value(param.getValue()).endObject();
+                }
+            }
+            writer.endArray();
+
+            if (body != null && !body.isEmpty()) {
+                String contentType = null;
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    if (header.getKey().equalsIgnoreCase("Content-Type")) contentType = header.getValue();
+                }
+
+                writer.name("postData").beginObject();
+                writer.name("mimeType").value(contentType != null ? contentType : "application/json");
+                writer.name("text").value(body);
+                writer.endObject();
+            }
+
+            writer.name("headersSize").value(-1);
+            writer.name("bodySize").value(body != null ? body.getBytes(StandardCharsets.UTF_8).length : 0);
+            writer.endObject();
+
+            // The format requires a response, these requests have not been sent.
+            writer.name("response").beginObject();
+            writer.name("status").value(0);
+            writer.name("statusText").value("");
+            writer.name("httpVersion").value("");
+            writer.name("cookies").beginArray().endArray();
+            writer.name("headers").beginArray().endArray();
+            writer.name("content").beginObject().name("size").value(0).name("mimeType").value("").endObject();
+            writer.name("redirectURL").value("");
+            writer.name("headersSize").value(-1);
+            writer.name("bodySize").value(-1);
+            writer.endObject();
+
+            writer.name("cache").beginObject().endObject();
+            writer.name("timings").beginObject().name("send").value(0).name("wait").value(0).name("receive").value(0).endObject();
+            writer.endObject();
+            count++;
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+
+        return count;
+    }
+
+    private static void writePostmanBody(JsonWriter writer, RequestModel model) throws IOException {
+        // The uploaded file lives on this server, its path means nothing where the collection is imported.
+        // Postman's empty source asks the importer to pick the file again.
+        if (model.getBodyFile() != null) {
+            writer.name("body").beginObject().name("mode").value("file");
+            writer.name("file").beginObject().name("src").nullValue().endObject();
+            writer.endObject();
+            return;
+        }
+
+        String body = model.getRawBody();
+        if (body == null || body.isEmpty()) return;
+
+        writer.name("body").beginObject();
+        writer.name("mode").value("raw");
+        writer.name("raw").value(body);
+        writer.name("options").beginObject().name("raw").beginObject();
+        writer.name("language").value(JsonValidator.validate(body) == null ? "json" : "text");
+        writer.endObject().endObject();
+        writer.endObject();
+    }
+
+    private static void writePostmanAuth(JsonWriter writer, HashMap<String, String> auth) throws IOException {
+        if (auth == null || auth.get("type") == null) return;
+
+        List<String[]> values = new ArrayList<String[]>();
+        String type;
+        switch (auth.get("type")) {
+            case "BEARER":
+                type = "bearer";
+                values.add(new String[] { "token", auth.get("token") });
+                break;
+            case "BASIC":
+                type = "basic";
+                values.add(new String[] { "username", auth.get("username") });
+                values.add(new String[] { "password", auth.get("password") });
+                break;
+            case "API_KEY":
+                type = "apikey";
+                values.add(new String[] { "key", auth.get("key") });
+                values.add(new String[] { "value", auth.get("value") });
+                values.add(new String[] { "in", "header" });
+                break;
+            default:
+                return;
+        }
+
+        writer.name("auth").beginObject();
+        writer.name("type").value(type);
+        writer.name(type).beginArray();
+        for (String[] value : values) {
+            writer.beginObject();
+            writer.name("key").value(value[0]);
+            writer.name("value").value(value[1] != null ? value[1] : "");
+            writer.name("type").value("string");
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private static RequestHandler handler(RequestModel model) {
+        return new RequestHandler()
+            .setMethod(method(model))
+            .setEndpoint(model.getUrl() != null ? model.getUrl() : "")
+            .setParams(model.getParams())
+            .setHeaders(model.getHeaders())
+            .setAuthenticationData(model.getAuthData());
+    }
+
+    private static String method(RequestModel model) {
+        return model.getMethod() != null ? model.getMethod() : "GET";
+    }
+
+    private static boolean isWebSocket(RequestModel model) {
+        return RequestHandler.isWebSocket(model.getMethod());
+    }
+
+    private static JsonWriter newWriter(Writer out) {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("\t");
+        writer.setHtmlSafe(false);
+        return writer;
+    }
+
+}
@@ -0,0 +1,434 @@
+package com.pingpal.helpers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpClient;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.pingpal.models.RequestModel;
+
+// Reads Postman v2.1 collections and HAR files token by token. Every request is handed to the consumer as soon
+// as it is complete, and values that are not needed, such as recorded HAR responses, are skipped without being built.
+public class CollectionImporter {
+
+    // Set by the client itself or tied to the recorded connection, sending them again would fail or mislead.
+    private static final Set<String> SKIPPED_HEADERS = Set.of("host", "connection", "content-length", "expect", "upgrade", "keep-alive", "transfer-encoding", "accept-encoding");
+
+    private static final Gson gson = new Gson();
+
+    private final JsonReader reader;
+    private final Consumer<RequestModel> consumer;
+    private int count = 0;
+
+    private CollectionImporter(Reader in, Consumer<RequestModel> consumer) {
+        this.reader = new JsonReader(in);
+        this.consumer = consumer;
+    }
+
+    // Returns the number of imported requests, the format is recognized by the top level names of the document.
+    public static int read(Reader in, Consumer<RequestModel> consumer) throws IOException {
+        CollectionImporter importer = new CollectionImporter(in, consumer);
+        JsonReader reader = importer.reader;
+
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) throw new IOException("The file is not a Postman collection or a HAR file");
+
+            boolean recognized = false;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "item":
+                        importer.readItems("");
+                        recognized = true;
+                        break;
+                    case "log":
+                        importer.readLog();
+                        recognized = true;
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (!recognized) throw new IOException("The file is not a Postman collection or a HAR file");
+            return importer.count;
+        } catch (IllegalStateException | JsonParseException | MalformedJsonException e) {
+            throw new IOException("The file could not be read: " + JsonValidator.clean(e.getMessage()), e);
+        }
+    }
+
+    // Folders nest, their names are kept as a prefix since requests are listed flat.
+    private void readItems(String folder) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String name = null;
+            RequestModel request = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "name":
+                        name = nextString();
+                        break;
+                    case "request":
+                        request = readPostmanRequest();
+                        break;
+                    case "item":
+                        // Postman writes the name first, a folder read before its name just goes without a prefix.
+                        readItems(folder + (name != null ? name + " / " : ""));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (request != null) {
+                request.setName(folder + (name != null ? name : request.getMethod() + " " + request.getUrl()));
+                emit(request);
+            }
+        }
+        reader.endArray();
+    }
+
+    private RequestModel readPostmanRequest() throws IOException {
+        RequestModel request = new RequestModel();
+        request.setMethod("GET");
+
+        // A request can be written as just its URL.
+        if (reader.peek() == JsonToken.STRING) {
+            request.setUrl(reader.nextString());
+            return request;
+        }
+
+        HashMap<String, String> headers = new HashMap<String, String>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "method":
+                    String method = nextString();
+                    if (method != null && !method.isBlank()) request.setMethod(method.trim().toUpperCase(Locale.ROOT));
+                    break;
+                case "url":
+                    request.setUrl(readPostmanUrl());
+                    break;
+                case "header":
+                    readPostmanHeaders(headers);
+                    break;
+                case "body":
+                    readPostmanBody(request, headers);
+                    break;
+                case "auth":
+                    request.setAuthData(readPostmanAuth());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!headers.isEmpty()) request.setHeaders(headers);
+        return request;
+    }
+
+    // The raw URL already holds the query, it is kept as written since params are only sent with GET requests.
+    private String readPostmanUrl() throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) return nextString();
+
+        String raw = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("raw")) raw = nextString();
+            else reader.skipValue();
+        }
+        reader.endObject();
+        return raw;
+    }
+
+    private void readPostmanHeaders(HashMap<String, String> headers) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            for (String line : reader.nextString().split("\n")) {
+                int colon = line.indexOf(':');
+                if (colon > 0) header(headers, line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+            return;
+        }
+
+        readPairs("key", pair -> header(headers, pair.get("key"), pair.get("value")));
+    }
+
+    private void readPostmanBody(RequestModel request, HashMap<String, String> headers) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        String mode = null, raw = null, query = null, variables = null;
+        StringJoiner form = new StringJoiner("&");
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "mode":
+                    mode = nextString();
+                    break;
+                case "raw":
+                    raw = nextString();
+                    break;
+                case "urlencoded":
+                case "formdata":
+                    readPairs("key", pair -> {
+                        if (!"file".equals(pair.get("type"))) form.add(encode(pair.get("key")) + "=" + encode(pair.get("value")));
+                    });
+                    break;
+                case "graphql":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        if (name.equals("query")) query = nextString();
+                        else if (name.equals("variables")) variables = nextString();
+                        else reader.skipValue();
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (mode == null) return;
+
+        switch (mode) {
+            case "raw":
+                request.setRawBody(raw);
+                break;
+            // Multipart is not supported, the text fields of form data are sent url encoded instead.
+            case "urlencoded":
+            case "formdata":
+                request.setRawBody(form.toString());
+                if (!hasHeader(headers, "Content-Type")) headers.put("Content-Type", "application/x-www-form-urlencoded");
+                break;
+            case "graphql":
+                request.setRawBody("{\"query\":" + gson.toJson(query != null ? query : "") + ",\"variables\":" + (variables != null && !variables.isBlank() ? variables : "{}") + "}");
+                if (!hasHeader(headers, "Content-Type")) headers.put("Content-Type", "application/json");
+                break;
+        }
+    }
+
+    // Only the authentication types PingPal supports are imported, the others are left to the user.
+    private HashMap<String, String> readPostmanAuth() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String type = null;
+        HashMap<String, String> values = new HashMap<String, String>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("type")) {
+                type = nextString();
+            } else if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                readPairs("key", pair -> values.put(name + "." + pair.get("key"), pair.get("value")));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (type == null) return null;
+
+        HashMap<String, String> auth = new HashMap<String, String>();
+        switch (type) {
+            case "bearer":
+                auth.put("type", "BEARER");
+                auth.put("token", values.getOrDefault("bearer.token", ""));
+                return auth;
+            case "basic":
+                auth.put("type", "BASIC");
+                auth.put("username", values.getOrDefault("basic.username", ""));
+                auth.put("password", values.getOrDefault("basic.password", ""));
+                return auth;
+            case "apikey":
+                // Keys sent as a query parameter cannot be expressed, PingPal only sends API keys as headers.
+                if ("query".equals(values.get("apikey.in"))) return null;
+                auth.put("type", "API_KEY");
+                auth.put("key", values.getOrDefault("apikey.key", ""));
+                auth.put("value", values.getOrDefault("apikey.value", ""));
+                return auth;
+            default:
+                return null;
+        }
+    }
+
+    private void readLog() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("entries")) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                RequestModel request = null;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    // Responses usually make up most of a HAR file, they are skipped without being read into memory.
+                    if (reader.nextName().equals("request")) request = readHarRequest();
+                    else reader.skipValue();
+                }
+                reader.endObject();
+
+                if (request != null) emit(request);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private RequestModel readHarRequest() throws IOException {
+        RequestModel request = new RequestModel();
+        request.setMethod("GET");
+        HashMap<String, String> headers = new HashMap<String, String>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "method":
+                    String method = nextString();
+                    if (method != null && !method.isBlank()) request.setMethod(method.trim().toUpperCase(Locale.ROOT));
+                    break;
+                case "url":
+                    request.setUrl(nextString());
+                    break;
+                case "httpVersion":
+                    // Only HTTP/2 is kept, other recordings leave the protocol to negotiation.
+                    String protocol = nextString();
+                    if (protocol != null && (protocol.toUpperCase(Locale.ROOT).startsWith("HTTP/2") || protocol.equalsIgnoreCase("h2"))) request.setProtocol(HttpClient.Version.HTTP_2.name());
+                    break;
+                case "headers":
+                    readPairs("name", pair -> header(headers, pair.get("name"), pair.get("value")));
+                    break;
+                case "postData":
+                    readHarBody(request);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        String url = request.getUrl();
+        int slash = url != null ? url.indexOf('/', url.indexOf("//") + 2) : -1;
+        request.setName(request.getMethod() + " " + (slash > 0 ? url.substring(slash) : url));
+
+        if (!headers.isEmpty()) request.setHeaders(headers);
+        return request;
+    }
+
+    private void readHarBody(RequestModel request) throws IOException {
+        String text = null;
+        StringJoiner form = new StringJoiner("&");
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "text":
+                    text = nextString();
+                    break;
+                case "params":
+                    readPairs("name", pair -> form.add(encode(pair.get("name")) + "=" + encode(pair.get("value"))));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        request.setRawBody(text != null ? text : form.length() > 0 ? form.toString() : null);
+    }
+
+    // Reads an array of objects with scalar values as strings, entries marked as disabled are left out.
+    // Postman writes booleans in auth settings, such as OAuth 2's useBrowser.
+    private void readPairs(String keyName, Consumer<HashMap<String, String>> handler) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            HashMap<String, String> pair = new HashMap<String, String>();
+            boolean disabled = false;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                JsonToken token = reader.peek();
+
+                if (name.equals("disabled") && token == JsonToken.BOOLEAN) disabled = reader.nextBoolean();
+                else if (token == JsonToken.BOOLEAN) pair.put(name, String.valueOf(reader.nextBoolean()));
+                else if (token == JsonToken.STRING || token == JsonToken.NUMBER) pair.put(name, reader.nextString());
+                else reader.skipValue();
+            }
+            reader.endObject();
+
+            if (!disabled && pair.get(keyName) != null) handler.accept(pair);
+        }
+        reader.endArray();
+    }
+
+    private void emit(RequestModel request) {
+        if (request.getUrl() == null) request.setUrl("");
+        count++;
+        consumer.accept(request);
+    }
+
+    private String nextString() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (reader.peek() == JsonToken.BEGIN_OBJECT || reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        if (reader.peek() == JsonToken.BOOLEAN) return String.valueOf(reader.nextBoolean());
+        return reader.nextString();
+    }
+
+    private static void header(HashMap<String, String> headers, String name, String value) {
+        if (name == null || name.isEmpty() || name.startsWith(":") || SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) return;
+        headers.put(name, value != null ? value : "");
+    }
+
+    private static boolean hasHeader(HashMap<String, String> headers, String name) {
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value != null ? value : "", StandardCharsets.UTF_8);
+    }
+
+}
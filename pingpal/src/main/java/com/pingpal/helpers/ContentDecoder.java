@@ -0,0 +1,179 @@
+package com.pingpal.helpers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Decodes a gzip or deflate body chunk by chunk as it arrives, so the compressed body is never held in full.
+public class ContentDecoder {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int HEADER = 0, DATA = 1, TRAILER = 2, DONE = 3;
+
+    private final boolean gzip;
+    private final byte[] chunk = new byte[16 * 1024];
+    private final byte[] compressed = new byte[16 * 1024];
+    private final CRC32 crc = new CRC32();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private Inflater inflater;
+    private int state;
+    private long members = 0;
+    private boolean started = false;
+
+    private ContentDecoder(boolean gzip) {
+        this.gzip = gzip;
+        this.state = HEADER;
+    }
+
+    // Returns null for the identity encoding and for encodings the JDK cannot decode, such as br and zstd.
+    public static ContentDecoder forEncoding(String encoding) {
+        if (encoding == null) return null;
+
+        switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip":
+            case "x-gzip":
+                return new ContentDecoder(true);
+            case "deflate":
+                return new ContentDecoder(false);
+            default:
+                return null;
+        }
+    }
+
+    public void decode(ByteBuffer input, SpooledBody output) throws IOException {
+        if (input.hasRemaining()) started = true;
+
+        while (input.hasRemaining() && state != DONE) {
+            if (state == HEADER || state == TRAILER) {
+                // Headers and trailers are tiny, they are collected until complete since they can span chunks.
+                pending.write(input.get());
+                if (state == HEADER) parseHeader();
+                else parseTrailer();
+            } else {
+                inflate(input, output);
+            }
+        }
+    }
+
+    public void finish() throws IOException {
+        // Empty bodies are not encoded at all, and a gzip body may end between two of its members.
+        if (state == DONE || !started || (gzip && state == HEADER && pending.size() == 0 && members > 0)) return;
+        throw new IOException("The compressed response body ended unexpectedly");
+    }
+
+    public void close() {
+        if (inflater != null) inflater.end();
+    }
+
+    private void parseHeader() throws IOException {
+        byte[] header = pending.toByteArray();
+
+        if (!gzip) {
+            if (header.length < 2) return;
+
+            // Servers disagree on whether deflate means zlib wrapped or raw, the zlib header check tells them apart.
+            int cmf = header[0] & 0xFF, flg = header[1] & 0xFF;
+            boolean zlib = (cmf & 0x0F) == 8 && (cmf * 256 + flg) % 31 == 0;
+
+            inflater = new Inflater(!zlib);
+            inflater.setInput(header);
+            pending.reset();
+            state = DATA;
+            return;
+        }
+
+        int length = gzipHeaderLength(header);
+        if (length < 0) return;
+
+        if (inflater == null) inflater = new Inflater(true);
+        else inflater.reset();
+
+        crc.reset();
+        pending.reset();
+        state = DATA;
+    }
+
+    // Returns the length of the gzip member header, or -1 while more bytes are needed.
+    private int gzipHeaderLength(byte[] header) throws IOException {
+        if (header.length < 10) return -1;
+        if ((header[0] & 0xFF) != 0x1F || (header[1] & 0xFF) != 0x8B || header[2] != 8) throw new IOException("The response body is not in gzip format");
+
+        int flags = header[3] & 0xFF;
+        int position = 10;
+
+        if ((flags & 4) != 0) {
+            if (header.length < position + 2) return -1;
+            position += 2 + ((header[position] & 0xFF) | (header[position + 1] & 0xFF) << 8);
+            if (header.length < position) return -1;
+        }
+
+        for (int flag : new int[] { 8, 16 }) {
+            if ((flags & flag) == 0) continue;
+
+            while (position < header.length && header[position] != 0) position++;
+            if (position >= header.length) return -1;
+            position++;
+        }
+
+        if ((flags & 2) != 0) position += 2;
+        return header.length < position ? -1 : position;
+    }
+
+    private void inflate(ByteBuffer input, SpooledBody output) throws IOException {
+        // The inflater is always drained before it needs input again, so the input array can be reused.
+        if (inflater.needsInput()) {
+            int length = Math.min(input.remaining(), compressed.length);
+            input.get(compressed, 0, length);
+            inflater.setInput(compressed, 0, length);
+        }
+
+        try {
+            int read;
+            while ((read = inflater.inflate(chunk)) > 0) {
+                if (gzip) crc.update(chunk, 0, read);
+                output.write(ByteBuffer.wrap(chunk, 0, read));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("The compressed response body is corrupt: " + e.getMessage(), e);
+        }
+
+        if (inflater.finished()) {
+            if (gzip) {
+                // Whatever the inflater did not consume belongs to the trailer, hand it back to the input.
+                input.position(input.position() - inflater.getRemaining());
+                state = TRAILER;
+            } else {
+                input.position(input.limit());
+                state = DONE;
+            }
+        } else if (inflater.needsDictionary()) {
+            throw new IOException("The compressed response body needs a preset dictionary");
+        }
+    }
+
+    private void parseTrailer() throws IOException {
+        if (pending.size() < 8) return;
+
+        byte[] trailer = pending.toByteArray();
+        long expectedCrc = readInt(trailer, 0);
+        long expectedSize = readInt(trailer, 4);
+
+        if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+            throw new IOException("The gzip checksum of the response body does not match");
+        }
+
+        members++;
+        pending.reset();
+        state = HEADER;
+    }
+
+    private static long readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8 | (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+
+}
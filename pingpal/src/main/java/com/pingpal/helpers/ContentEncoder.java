@@ -0,0 +1,81 @@
+package com.pingpal.helpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ContentEncoder {
+
+    public static final String ENCODING = "gzip";
+
+    private static final byte[] HEADER = { 0x1F, (byte) 0x8B, 8, 0, 0, 0, 0, 0, 0, (byte) 0xFF };
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Compresses the file while it is being sent, the trailer is only built once the checksum of the whole file is known.
+    public static Supplier<InputStream> gzip(Path file) {
+        return () -> {
+            try {
+                CRC32 crc = new CRC32();
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                InputStream data = new DeflaterInputStream(new CheckedInputStream(Files.newInputStream(file), crc), deflater, 8192);
+
+                Iterator<Supplier<InputStream>> parts = List.<Supplier<InputStream>>of(
+                    () -> new ByteArrayInputStream(HEADER),
+                    () -> data,
+                    () -> {
+                        long size = deflater.getBytesRead();
+                        deflater.end();
+                        return new ByteArrayInputStream(trailer(crc.getValue(), size));
+                    }
+                ).iterator();
+
+                return new SequenceInputStream(new Enumeration<InputStream>() {
+                    @Override
+                    public boolean hasMoreElements() {
+                        return parts.hasNext();
+                    }
+
+                    @Override
+                    public InputStream nextElement() {
+                        return parts.next().get();
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static byte[] trailer(long crc, long size) {
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[i + 4] = (byte) (size >>> (8 * i));
+        }
+        return trailer;
+    }
+
+}
@@ -8,17 +8,9 @@ public class DurationFormatter {
         long millis = duration.toMillis();
         long seconds = millis / 1000;
         long minutes = seconds / 60;
-    
-        String prettyTime;
-    
-        if (minutes > 0) {
-            prettyTime = String.format("%dm %ds", minutes, seconds % 60);
-        } else if (seconds > 0) {
-            prettyTime = String.format("%ds", seconds);
-        } else {
-            prettyTime = String.format("%d ms", millis);
-        }
 
-        return prettyTime;
+        if (minutes > 0) return minutes + "m " + (seconds % 60) + "s";
+        if (seconds > 0) return seconds + "s";
+        return millis + " ms";
     }
 }
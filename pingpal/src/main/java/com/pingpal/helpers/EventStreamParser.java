@@ -0,0 +1,124 @@
+package com.pingpal.helpers;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.pingpal.models.StreamEvent;
+
+// Splits a streamed body into lines as the bytes arrive. Server-sent events are assembled
+// from their fields, a newline-delimited JSON stream produces one event per line.
+public class EventStreamParser implements Consumer<ByteBuffer> {
+
+    private static final int MAX_LINE = 64 * 1024;
+    private static final Set<String> LINE_TYPES = Set.of("application/x-ndjson", "application/ndjson", "application/jsonl",
+        "application/x-jsonlines", "application/json-seq", "application/stream+json", "application/x-json-stream");
+
+    private final boolean eventStream;
+    private final Consumer<StreamEvent> listener;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private final StringBuilder data = new StringBuilder();
+    private String type, id, lastId;
+    private boolean truncated, skipNewline;
+    private long index = 0;
+    private long last = System.nanoTime();
+
+    private EventStreamParser(boolean eventStream, Consumer<StreamEvent> listener) {
+        this.eventStream = eventStream;
+        this.listener = listener;
+    }
+
+    // Only streaming content types are parsed. Other bodies without a length, like chunked JSON or most
+    // HTTP/2 responses, are regular bodies and stay on the spooled path only.
+    public static EventStreamParser forResponse(ResponseInfo info, Consumer<StreamEvent> listener) {
+        if (listener == null) return null;
+
+        String contentType = info.headers().firstValue("Content-Type").orElse("").toLowerCase(Locale.ROOT);
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim();
+
+        if (mediaType.equals("text/event-stream")) return new EventStreamParser(true, listener);
+        if (LINE_TYPES.contains(mediaType)) return new EventStreamParser(false, listener);
+
+        return null;
+    }
+
+
+    @Override
+    public void accept(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            // CRLF, LF and CR all end a line, the LF of a CRLF pair is skipped.
+            if (skipNewline) {
+                skipNewline = false;
+                if (b == '\n') continue;
+            }
+
+            if (b == '\n' || b == '\r') {
+                skipNewline = b == '\r';
+                onLine(line.toString(StandardCharsets.UTF_8) + (truncated ? "…" : ""));
+                line.reset();
+                truncated = false;
+            } else if (line.size() < MAX_LINE) {
+                line.write(b);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    // A last line without a line break still counts, an unfinished event does not as per the spec.
+    public void finish() {
+        if (line.size() > 0 && !eventStream) onLine(line.toString(StandardCharsets.UTF_8));
+        line.reset();
+    }
+
+    private void onLine(String text) {
+        if (!eventStream) {
+            if (!text.isEmpty()) dispatch(null, null, text);
+            return;
+        }
+
+        if (text.isEmpty()) {
+            if (data.length() > 0) dispatch(type, id != null ? id : lastId, data.toString());
+            data.setLength(0);
+            type = null;
+            id = null;
+            return;
+        }
+
+        if (text.startsWith(":")) return;
+
+        int colon = text.indexOf(':');
+        String field = colon < 0 ? text : text.substring(0, colon);
+        String value = colon < 0 ? "" : text.substring(text.startsWith(" ", colon + 1) ? colon + 2 : colon + 1);
+
+        switch (field) {
+            case "data":
+                if (data.length() > 0) data.append('\n');
+                data.append(value);
+                break;
+            case "event":
+                type = value;
+                break;
+            case "id":
+                id = value;
+                lastId = value;
+                break;
+            default:
+                // retry and unknown fields do not change what is shown.
+        }
+    }
+
+    private void dispatch(String type, String id, String data) {
+        long now = System.nanoTime();
+        listener.accept(new StreamEvent(++index, System.currentTimeMillis(), now - last, type != null ? type : eventStream ? "message" : null, id, data));
+        last = now;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.pingpal.helpers;
+
+public class HtmlFormatter {
+
+    public static String escape(String input) {
+        int first = 0;
+        while (first < input.length() && replacement(input.charAt(first)) == null) first++;
+
+        // Nothing to escape is the common case, hand back the same string without copying it.
+        if (first == input.length()) return input;
+
+        StringBuilder result = new StringBuilder(input.length() + 16);
+        result.append(input, 0, first);
+        append(result, input, first);
+
+        return result.toString();
+    }
+
+    public static StringBuilder append(StringBuilder out, String input) {
+        return append(out, input, 0);
+    }
+
+    private static StringBuilder append(StringBuilder out, String input, int from) {
+        int start = from;
+        for (int i = from; i < input.length(); i++) {
+            String replacement = replacement(input.charAt(i));
+            if (replacement == null) continue;
+
+            out.append(input, start, i).append(replacement);
+            start = i + 1;
+        }
+
+        return out.append(input, start, input.length());
+    }
+
+    private static String replacement(char c) {
+        switch (c) {
+            case '&': return "&amp;";
+            case '<': return "&lt;";
+            case '>': return "&gt;";
+            case '"': return "&quot;";
+            case '\'': return "&#39;";
+            default: return null;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.pingpal.helpers;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class HttpClientRegistry {
+
+    private static final Map<HttpClient.Version, HttpClient> clients = new ConcurrentHashMap<>();
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    static {
+        // The JDK reads its connection pool settings once, when the first client is created.
+        setPoolProperty("jdk.httpclient.keepalive.timeout", "PINGPAL_KEEPALIVE_TIMEOUT");
+        setPoolProperty("jdk.httpclient.connectionPoolSize", "PINGPAL_CONNECTION_POOL_SIZE");
+    }
+
+    public static HttpClient get() {
+        return get(getDefaultVersion());
+    }
+
+    public static HttpClient get(HttpClient.Version version) {
+        return clients.computeIfAbsent(version, HttpClientRegistry::build);
+    }
+
+    public static ExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Called when the webapp stops, after the services that send through the clients.
+    public static void shutdown() {
+        clients.values().forEach(HttpClient::shutdownNow);
+        clients.clear();
+        executor.shutdownNow();
+
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HttpClient build(HttpClient.Version version) {
+        return HttpClient.newBuilder()
+            .version(version)
+            .connectTimeout(getConnectTimeout())
+            .executor(executor)
+            .build();
+    }
+
+    private static HttpClient.Version getDefaultVersion() {
+        String http2 = Env.get("PINGPAL_HTTP2");
+        if (http2 != null && http2.equalsIgnoreCase("false")) return HttpClient.Version.HTTP_1_1;
+        return HttpClient.Version.HTTP_2;
+    }
+
+    private static Duration getConnectTimeout() {
+        String seconds = Env.get("PINGPAL_CONNECT_TIMEOUT");
+
+        try {
+            if (seconds != null && !seconds.isBlank()) return Duration.ofSeconds(Long.parseLong(seconds.trim()));
+        } catch (NumberFormatException e) {
+            // Fall through to the default below.
+        }
+
+        return Duration.ofSeconds(10);
+    }
+
+    private static void setPoolProperty(String property, String envKey) {
+        String value = Env.get(envKey);
+        if (value == null || value.isBlank() || System.getProperty(property) != null) return;
+        System.setProperty(property, value.trim());
+    }
+
+}
@@ -1,11 +1,19 @@
 package com.pingpal.helpers;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 public class JsonFormatter {
     
@@ -20,5 +28,68 @@ public class JsonFormatter {
 
         return stringWriter.toString();
     }
+
+    public static String prettyPrint(String json) throws IOException {
+        StringWriter out = new StringWriter(json.length() + json.length() / 2);
+        prettyPrint(new StringReader(json), out);
+        return out.toString();
+    }
+
+    // Copies token by token, so no tree of the document is built. Output matches Gson's pretty printing.
+    public static void prettyPrint(Reader in, Writer out) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        reader.setStrictness(Strictness.LENIENT);
+
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.setHtmlSafe(true);
+
+        int depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                    break;
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    writer.name(reader.nextName());
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                case END_DOCUMENT:
+                    throw new MalformedJsonException("Unexpected end of document");
+            }
+        } while (depth > 0);
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Did not consume the entire document");
+        writer.flush();
+    }
     
 }
@@ -0,0 +1,219 @@
+package com.pingpal.helpers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+// A compiled subset of JSONPath: $, .name, ['name'], [index], [*], .*, ..name and a trailing .length().
+// Several paths are matched in a single pass over a streamed document, branches no path can reach are skipped.
+public class JsonPath {
+
+    private static final int NAME = 0, INDEX = 1, WILDCARD = 2, DESCENT = 3;
+    private static final int MAX_SEGMENTS = 1 << 10;
+
+    public interface Listener {
+        // Containers report their number of children as the value with BEGIN_ARRAY or BEGIN_OBJECT as the type,
+        // a length() is reported as a NUMBER.
+        void onMatch(int path, String value, JsonToken type);
+    }
+
+    private final String expression;
+    private final int[] kinds;
+    private final String[] names;
+    private final int[] indexes;
+    private final boolean length;
+
+    private JsonPath(String expression, int[] kinds, String[] names, int[] indexes, boolean length) {
+        this.expression = expression;
+        this.kinds = kinds;
+        this.names = names;
+        this.indexes = indexes;
+        this.length = length;
+    }
+
+    public static JsonPath compile(String expression) {
+        String source = expression != null ? expression.trim() : "";
+        if (!source.startsWith("$")) throw new IllegalArgumentException("A JSONPath starts with $");
+
+        int[] kinds = new int[8];
+        String[] names = new String[8];
+        int[] indexes = new int[8];
+        int count = 0;
+        boolean length = false;
+        int position = 1;
+
+        while (position < source.length()) {
+            if (count == kinds.length) {
+                kinds = Arrays.copyOf(kinds, count * 2);
+                names = Arrays.copyOf(names, count * 2);
+                indexes = Arrays.copyOf(indexes, count * 2);
+            }
+            if (length) throw new IllegalArgumentException("length() has to come last");
+
+            char c = source.charAt(position);
+            if (source.startsWith("..", position)) {
+                int end = nameEnd(source, position + 2);
+                String name = source.substring(position + 2, end);
+                if (name.isEmpty() || name.equals("*")) throw new IllegalArgumentException("Recursive descent needs a name at " + position);
+
+                kinds[count] = DESCENT;
+                names[count++] = name;
+                position = end;
+            } else if (c == '.') {
+                int end = nameEnd(source, position + 1);
+                String name = source.substring(position + 1, end);
+
+                if (name.equals("length()")) {
+                    length = true;
+                    position = end;
+                    continue;
+                }
+                if (name.isEmpty()) throw new IllegalArgumentException("Missing name at " + position);
+
+                kinds[count] = name.equals("*") ? WILDCARD : NAME;
+                names[count++] = name;
+                position = end;
+            } else if (c == '[') {
+                int close = source.indexOf(']', position);
+                if (close < 0) throw new IllegalArgumentException("Missing ] for [ at " + position);
+
+                String inner = source.substring(position + 1, close).trim();
+                if (inner.equals("*")) {
+                    kinds[count++] = WILDCARD;
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"') && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    kinds[count] = NAME;
+                    names[count++] = inner.substring(1, inner.length() - 1);
+                } else {
+                    try {
+                        int index = Integer.parseInt(inner);
+                        // The length of a streamed array is only known at its end, so counting from the end is not possible.
+                        if (index < 0) throw new IllegalArgumentException("Negative indexes are not supported");
+                        kinds[count] = INDEX;
+                        indexes[count++] = index;
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Unsupported selector [" + inner + "]");
+                    }
+                }
+                position = close + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at " + position);
+            }
+
+            if (count >= MAX_SEGMENTS) throw new IllegalArgumentException("The path is too long");
+        }
+
+        return new JsonPath(source, Arrays.copyOf(kinds, count), Arrays.copyOf(names, count), Arrays.copyOf(indexes, count), length);
+    }
+
+    private static int nameEnd(String source, int start) {
+        int end = start;
+        while (end < source.length() && source.charAt(end) != '.' && source.charAt(end) != '[') end++;
+        return end;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    // Reads exactly one value from the reader. States are encoded as path << 10 | segment, one per path still in play.
+    public static void scan(JsonReader reader, List<JsonPath> paths, Listener listener) throws IOException {
+        int[] states = new int[paths.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = i << 10;
+        }
+
+        JsonPath[] array = paths.toArray(new JsonPath[0]);
+        walk(reader, array, states, states.length, listener);
+    }
+
+    private static void walk(JsonReader reader, JsonPath[] paths, int[] states, int size, Listener listener) throws IOException {
+        boolean pending = false;
+        for (int i = 0; i < size && !pending; i++) {
+            JsonPath path = paths[states[i] >>> 10];
+            pending = (states[i] & 0x3FF) < path.kinds.length;
+        }
+
+        JsonToken token = reader.peek();
+        if (token != JsonToken.BEGIN_ARRAY && token != JsonToken.BEGIN_OBJECT) {
+            String value;
+            if (token == JsonToken.BOOLEAN) value = String.valueOf(reader.nextBoolean());
+            else if (token == JsonToken.NULL) {
+                reader.nextNull();
+                value = "null";
+            } else value = reader.nextString();
+
+            for (int i = 0; i < size; i++) {
+                JsonPath path = paths[states[i] >>> 10];
+                if ((states[i] & 0x3FF) != path.kinds.length) continue;
+
+                if (!path.length) listener.onMatch(states[i] >>> 10, value, token);
+                else if (token == JsonToken.STRING) listener.onMatch(states[i] >>> 10, String.valueOf(value.length()), JsonToken.NUMBER);
+            }
+            return;
+        }
+
+        boolean array = token == JsonToken.BEGIN_ARRAY;
+        if (array) reader.beginArray();
+        else reader.beginObject();
+
+        int count = 0;
+        // A state moves to at most two states per child, the buffer is reused once the child was read.
+        int[] next = new int[size * 2];
+        while (reader.hasNext()) {
+            String name = array ? null : reader.nextName();
+
+            int nextSize = pending ? advance(paths, states, size, name, count, next) : 0;
+            if (nextSize == 0) reader.skipValue();
+            else walk(reader, paths, next, nextSize, listener);
+            count++;
+        }
+
+        if (array) reader.endArray();
+        else reader.endObject();
+
+        for (int i = 0; i < size; i++) {
+            JsonPath path = paths[states[i] >>> 10];
+            if ((states[i] & 0x3FF) == path.kinds.length) listener.onMatch(states[i] >>> 10, String.valueOf(count), path.length ? JsonToken.NUMBER : token);
+        }
+    }
+
+    // Moves every state whose next segment matches the child, name is null for array elements.
+    private static int advance(JsonPath[] paths, int[] states, int size, String name, int index, int[] next) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int state = states[i];
+            JsonPath path = paths[state >>> 10];
+            int segment = state & 0x3FF;
+            if (segment == path.kinds.length) continue;
+
+            switch (path.kinds[segment]) {
+                case NAME:
+                    if (name != null && name.equals(path.names[segment])) count = add(next, count, state + 1);
+                    break;
+                case INDEX:
+                    if (name == null && index == path.indexes[segment]) count = add(next, count, state + 1);
+                    break;
+                case WILDCARD:
+                    count = add(next, count, state + 1);
+                    break;
+                case DESCENT:
+                    count = add(next, count, state);
+                    if (name != null && name.equals(path.names[segment])) count = add(next, count, state + 1);
+                    break;
+            }
+        }
+        return count;
+    }
+
+    private static int add(int[] states, int count, int state) {
+        for (int i = 0; i < count; i++) {
+            if (states[i] == state) return count;
+        }
+        states[count] = state;
+        return count + 1;
+    }
+
+}
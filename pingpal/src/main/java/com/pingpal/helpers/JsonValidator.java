@@ -0,0 +1,54 @@
+package com.pingpal.helpers;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+public class JsonValidator {
+
+    private static final String LENIENT_HINT = "Use JsonReader.setStrictness(Strictness.LENIENT) to accept malformed JSON";
+
+    public static String validate(String json) {
+        if (json == null || json.isBlank()) return null;
+
+        try {
+            return validate(new StringReader(json));
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Skips over the document token by token, memory use only grows with the nesting depth.
+    // Returns null for a valid document, otherwise the error including its line and column.
+    public static String validate(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        reader.setStrictness(Strictness.STRICT);
+
+        try {
+            reader.skipValue();
+            if (reader.peek() != JsonToken.END_DOCUMENT) return "Unexpected content after the document at " + reader.getPath();
+            return null;
+        } catch (IllegalStateException | MalformedJsonException e) {
+            return clean(e.getMessage());
+        } catch (EOFException e) {
+            return "The document ends unexpectedly at " + reader.getPath();
+        }
+    }
+
+    // Gson appends a troubleshooting link to its messages and suggests lenient parsing, neither helps here.
+    static String clean(String message) {
+        if (message == null) return "Invalid JSON";
+
+        int newline = message.indexOf('\n');
+        if (newline >= 0) message = message.substring(0, newline);
+
+        return message.startsWith(LENIENT_HINT) ? "Malformed JSON" + message.substring(LENIENT_HINT.length()) : message;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.pingpal.helpers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    // Log-linear buckets in microseconds: exact below 128 µs, then 64 sub-buckets per power of two (~1.5% error).
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int MAX_EXPONENT = 42;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(Duration duration) {
+        record(duration.toNanos() / 1000);
+    }
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(max.get() * 1000);
+    }
+
+    public Duration getMean() {
+        long total = count.sum();
+        if (total == 0) return Duration.ZERO;
+        return Duration.ofNanos(sum.sum() / total * 1000);
+    }
+
+    public Duration getPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) return Duration.ZERO;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Duration.ofNanos(Math.min(highestValueAt(i), max.get()) * 1000);
+        }
+
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private int indexOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) Math.min(value >> shift, SUB_BUCKETS * 2 - 1);
+
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (subBucket - SUB_BUCKETS);
+    }
+
+    private long highestValueAt(int index) {
+        if (index < LINEAR_LIMIT) return index;
+
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long subBucket = SUB_BUCKETS + offset % SUB_BUCKETS;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
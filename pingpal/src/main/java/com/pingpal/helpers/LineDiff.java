@@ -0,0 +1,118 @@
+package com.pingpal.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LineDiff {
+
+    public static final char SAME = ' ', REMOVED = '-', ADDED = '+', GAP = '@';
+
+    private static final int CONTEXT = 3;
+    private static final long MAX_CELLS = 4_000_000;
+
+    public static class Line {
+
+        private final char type;
+        private final String text;
+
+        private Line(char type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        public char getType() {
+            return type;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+    }
+
+    // Returns only the changed lines with a little context around them, at most maxLines of them.
+    public static List<Line> diff(List<String> a, List<String> b, int maxLines) {
+        int prefix = 0;
+        while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) prefix++;
+
+        int suffix = 0;
+        while (suffix < a.size() - prefix && suffix < b.size() - prefix && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) suffix++;
+
+        List<Line> script = new ArrayList<Line>();
+        for (int i = 0; i < prefix; i++) script.add(new Line(SAME, a.get(i)));
+        script.addAll(middle(a.subList(prefix, a.size() - suffix), b.subList(prefix, b.size() - suffix)));
+        for (int i = a.size() - suffix; i < a.size(); i++) script.add(new Line(SAME, a.get(i)));
+
+        return hunks(script, maxLines);
+    }
+
+    private static List<Line> middle(List<String> a, List<String> b) {
+        List<Line> result = new ArrayList<Line>();
+        int n = a.size(), m = b.size();
+
+        // Too large to align line by line, show it as one replaced block instead.
+        if ((long) n * m > MAX_CELLS) {
+            for (String line : a) result.add(new Line(REMOVED, line));
+            for (String line : b) result.add(new Line(ADDED, line));
+            return result;
+        }
+
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = a.get(i).equals(b.get(j)) ? lcs[i + 1][j + 1] + 1 : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        int i = 0, j = 0;
+        while (i < n && j < m) {
+            if (a.get(i).equals(b.get(j))) {
+                result.add(new Line(SAME, a.get(i++)));
+                j++;
+            } else if (lcs[i + 1][j] >= lcs[i][j + 1]) {
+                result.add(new Line(REMOVED, a.get(i++)));
+            } else {
+                result.add(new Line(ADDED, b.get(j++)));
+            }
+        }
+
+        while (i < n) result.add(new Line(REMOVED, a.get(i++)));
+        while (j < m) result.add(new Line(ADDED, b.get(j++)));
+
+        return result;
+    }
+
+    private static List<Line> hunks(List<Line> script, int maxLines) {
+        boolean[] keep = new boolean[script.size()];
+        for (int i = 0; i < script.size(); i++) {
+            if (script.get(i).getType() == SAME) continue;
+            for (int k = Math.max(0, i - CONTEXT); k <= Math.min(script.size() - 1, i + CONTEXT); k++) keep[k] = true;
+        }
+
+        List<Line> result = new ArrayList<Line>();
+        int skipped = 0;
+
+        for (int i = 0; i < script.size(); i++) {
+            if (!keep[i]) {
+                skipped++;
+                continue;
+            }
+
+            if (skipped > 0) {
+                result.add(new Line(GAP, skipped + " unchanged lines"));
+                skipped = 0;
+            }
+
+            if (result.size() >= maxLines) {
+                result.add(new Line(GAP, "Diff truncated after " + maxLines + " lines"));
+                return result;
+            }
+
+            result.add(script.get(i));
+        }
+
+        if (skipped > 0 && !result.isEmpty()) result.add(new Line(GAP, skipped + " unchanged lines"));
+        return result;
+    }
+
+}
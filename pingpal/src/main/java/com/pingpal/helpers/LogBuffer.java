@@ -0,0 +1,88 @@
+package com.pingpal.helpers;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+
+public class LogBuffer extends AbstractList<LogBuffer.Entry> {
+
+    public enum Level { INFO, WARN, ERROR }
+
+    public static class Entry {
+
+        private final LocalDateTime timestamp;
+        private final Level level;
+        private final String message;
+
+        private Entry(Level level, String message) {
+            this.timestamp = LocalDateTime.now();
+            this.level = level;
+            this.message = message;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+    }
+
+    private final Entry[] entries;
+    private int head = 0;
+    private int size = 0;
+    private long dropped = 0;
+
+    public LogBuffer(int capacity) {
+        this.entries = new Entry[capacity];
+    }
+
+    // Once full, the oldest entry is overwritten, so memory stays fixed however long the session runs.
+    public synchronized Entry add(Level level, String message) {
+        Entry entry = new Entry(level, message);
+        entries[(head + size) % entries.length] = entry;
+
+        if (size < entries.length) {
+            size++;
+        } else {
+            head = (head + 1) % entries.length;
+            dropped++;
+        }
+
+        modCount++;
+        return entry;
+    }
+
+    @Override
+    public synchronized Entry get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return entries[(head + index) % entries.length];
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; i++) entries[i] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+}
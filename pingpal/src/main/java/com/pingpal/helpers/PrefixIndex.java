@@ -0,0 +1,92 @@
+package com.pingpal.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Finds ids by the prefixes of the words of their text. Words are kept sorted, so all words starting with
+// a prefix are one contiguous range and a lookup does not scan the other entries.
+public class PrefixIndex {
+
+    private final TreeMap<String, Set<String>> words = new TreeMap<String, Set<String>>();
+    private final HashMap<String, List<String>> entries = new HashMap<String, List<String>>();
+
+    public synchronized void put(String id, String text) {
+        remove(id);
+
+        List<String> tokens = tokenize(text);
+        entries.put(id, tokens);
+        for (String token : tokens) {
+            words.computeIfAbsent(token, key -> new HashSet<String>()).add(id);
+        }
+    }
+
+    public synchronized void remove(String id) {
+        List<String> tokens = entries.remove(id);
+        if (tokens == null) return;
+
+        for (String token : tokens) {
+            Set<String> ids = words.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) words.remove(token);
+        }
+    }
+
+    public synchronized void clear() {
+        words.clear();
+        entries.clear();
+    }
+
+    // Every word of the query has to be the prefix of a word of the entry. Returns null for an empty query.
+    public synchronized Set<String> search(String query) {
+        List<String> prefixes = tokenize(query);
+        if (prefixes.isEmpty()) return null;
+
+        Set<String> result = null;
+        for (String prefix : prefixes) {
+            // The highest char sorts after every other one, so the sub map holds exactly the words starting with the prefix.
+            SortedMap<String, Set<String>> range = words.subMap(prefix, prefix + Character.MAX_VALUE);
+
+            Set<String> matches = new HashSet<String>();
+            for (Set<String> ids : range.values()) {
+                if (result == null) {
+                    matches.addAll(ids);
+                } else {
+                    for (String id : ids) {
+                        if (result.contains(id)) matches.add(id);
+                    }
+                }
+            }
+
+            result = matches;
+            if (result.isEmpty()) break;
+        }
+
+        return result;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null) return new ArrayList<String>();
+
+        Collection<String> tokens = new LinkedHashSet<String>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<String>(tokens);
+    }
+
+}
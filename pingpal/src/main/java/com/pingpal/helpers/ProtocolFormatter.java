@@ -0,0 +1,27 @@
+package com.pingpal.helpers;
+
+import java.net.http.HttpClient;
+
+public class ProtocolFormatter {
+
+    public static String format(HttpClient.Version version) {
+        if (version == null) return "-";
+        return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+
+    public static String format(String version) {
+        return format(parse(version));
+    }
+
+    // Unknown or empty values mean the client default, so stored requests without a protocol keep working.
+    public static HttpClient.Version parse(String version) {
+        if (version == null || version.isEmpty()) return null;
+
+        try {
+            return HttpClient.Version.valueOf(version);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
@@ -1,103 +1,269 @@
 package com.pingpal.helpers;
 
+import java.io.FileNotFoundException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
+import com.pingpal.models.RequestModel;
+import com.pingpal.models.RequestTiming;
+import com.pingpal.models.StreamEvent;
+import com.pingpal.services.EnvironmentService;
 import com.pingpal.views.Console;
 import com.webforj.component.optiondialog.OptionDialog;
 import com.webforj.environment.ObjectTable;
 
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpRequest.Builder;
+import java.net.http.HttpResponse.BodyHandler;
 
 public class RequestHandler {
     
-    private HttpClient client = HttpClient.newHttpClient();
-    private String method = "GET", endpoint, body;
+    private HttpClient client = HttpClientRegistry.get();
+    private String method = "GET", endpoint;
+    private byte[] body;
+    private Path bodyFile;
+    private boolean compressBody = false, precompressed = false;
+    private Consumer<StreamEvent> streamListener;
     private HashMap<String, String> authentication, params, headers;
     private Boolean consoleLogging = true;
+    private Duration duration;
+    private Duration timeout = DEFAULT_TIMEOUT;
+    private RequestTiming timing;
+    private boolean probeTiming = false;
+    private volatile CompletableFuture<?> exchange, result;
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    public static final String WEBSOCKET = "WS";
+
+    public static RequestHandler from(RequestModel model) {
+        return RequestTemplate.compile(model).newHandler(EnvironmentService.getInstance().getVariables());
+    }
 
     public HttpResponse<String> send() throws Exception {
-        Console console = (Console) ObjectTable.get("CONSOLE");
+        return send(HttpResponse.BodyHandlers.ofString(), response -> response.body().getBytes(StandardCharsets.UTF_8).length);
+    }
 
-        String fullUrl = endpoint;
-        if (method.equalsIgnoreCase("GET") && params != null && !params.isEmpty()) fullUrl += "?" + getParamString(params);
+    public HttpResponse<SpooledBody> sendStreaming() throws Exception {
+        return send(new SpooledBodyHandler(), response -> response.body().getSize());
+    }
 
-        HttpResponse<String> response = null;
+    public CompletableFuture<HttpResponse<SpooledBody>> sendAsync() {
+        HttpRequest request;
 
         try {
-            Builder requestBuilder = HttpRequest.newBuilder();
-            requestBuilder.uri(new URI(fullUrl));
-            
-            if (headers != null) {
-                for (Map.Entry<String, String> header : headers.entrySet()) {
-                    requestBuilder.header(header.getKey(), header.getValue());
-                }
-            }
-            
-            if (authentication != null) {
-                String type = authentication.get("type");
-                switch (type) {
-                    case "API_KEY":
-                        String key = authentication.get("key");
-                        String value = authentication.get("value");
-                        requestBuilder.header(key, value);
-                        break;
-                    case "BASIC":
-                        String username = authentication.get("username");
-                        String password = authentication.get("password");
-                        String credentials = username + ":" + password;
-                        String encoded = Base64.getEncoder().encodeToString(credentials.getBytes());
-                        requestBuilder.header("Authorization", "Basic " + encoded);
-                        break;
-                    case "BEARER":
-                        String token = authentication.get("token");
-                        requestBuilder.header("Authorization", "Bearer " + token);
-                        break;
+            request = buildRequest(getFullUrl(), true);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        RequestTiming timing = new RequestTiming();
+        this.timing = timing;
+
+        // Runs beside the exchange and never holds it up, phases that are not in by the time it completes are left out.
+        if (probeTiming) HttpClientRegistry.getExecutor().execute(() -> TimingProbe.probe(request.uri(), timeout, timing));
+
+        timing.start();
+        CompletableFuture<HttpResponse<SpooledBody>> sent = client.sendAsync(request, new TimingBodyHandler<SpooledBody>(new SpooledBodyHandler(streamListener), timing));
+        exchange = sent;
+
+        CompletableFuture<HttpResponse<SpooledBody>> pending = sent.thenApply(response -> {
+            duration = timing.getExchange();
+            return response;
+        });
+
+        result = pending;
+        return pending;
+    }
+
+    public boolean isWebSocket() {
+        return isWebSocket(method);
+    }
+
+    // Stored methods keep whatever casing they were saved or imported with.
+    public static boolean isWebSocket(String method) {
+        return method != null && method.trim().equalsIgnoreCase(WEBSOCKET);
+    }
+
+    // Uses the same headers and authentication as an HTTP request, the handshake itself is always HTTP/1.1.
+    public CompletableFuture<WebSocket> openWebSocket(WebSocket.Listener listener) {
+        try {
+            WebSocket.Builder builder = client.newWebSocketBuilder().connectTimeout(timeout);
+
+            applyHeaders((name, value) -> {
+                if (name.equalsIgnoreCase("Sec-WebSocket-Protocol")) {
+                    String[] protocols = value.split("\\s*,\\s*");
+                    builder.subprotocols(protocols[0], Arrays.copyOfRange(protocols, 1, protocols.length));
+                    return;
                 }
-            }
 
-            if (method.equalsIgnoreCase("POST") || method.equalsIgnoreCase("PUT")) {
-                requestBuilder.method(method, BodyPublishers.ofString(body));
-            } else {
-                requestBuilder.method(method, BodyPublishers.noBody());
-            }
+                // The client sets the handshake headers itself and refuses them from the caller.
+                if (!isHandshakeHeader(name)) builder.header(name, value);
+            });
 
-            requestBuilder.timeout(Duration.ofSeconds(10));
-            
-            HttpRequest request = requestBuilder.build();
+            return builder.buildAsync(new URI(getFullUrl()), listener);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            Instant start = Instant.now();
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            Instant end = Instant.now();
-            Duration duration = Duration.between(start, end);
-            String prettyTime = DurationFormatter.format(duration);
+    public void cancel() {
+        // Cancelling the client's own future aborts the exchange, a derived stage would not.
+        CompletableFuture<?> sent = exchange;
+        if (sent != null) sent.cancel(true);
 
-            String prettyStatus = StatusCodeFormatter.format(response.statusCode());
+        CompletableFuture<?> pending = result;
+        if (pending != null) pending.cancel(true);
+    }
 
-            byte[] bodyBytes = response.body().getBytes(StandardCharsets.UTF_8);
-            int byteLength = bodyBytes.length;
-            String prettyBytes = BytesFormatter.format(byteLength);
+    public void logResponse(HttpResponse<SpooledBody> response) {
+        Console console = (Console) ObjectTable.get("CONSOLE");
+        if (!consoleLogging || console == null) return;
+
+        String prettyTime = DurationFormatter.format(duration);
+        String prettyStatus = StatusCodeFormatter.format(response.statusCode());
+        String prettyBytes = BytesFormatter.format(response.body().getSize());
+
+        console.print(method + " " + getFullUrl() + " | " + prettyStatus + " | " + prettyTime + " | " + prettyBytes);
+    }
+
+    public void logError(Throwable error) {
+        Console console = (Console) ObjectTable.get("CONSOLE");
+        if (consoleLogging && console != null) console.print(LogBuffer.Level.ERROR, method + " " + getFullUrl() + " | Error: " + error.toString());
+    }
 
-            if (consoleLogging && console != null) console.print(method + " " + fullUrl + " | " + prettyStatus + " | " + prettyTime + " | " + prettyBytes);
+    private <T> HttpResponse<T> send(BodyHandler<T> bodyHandler, ToLongFunction<HttpResponse<T>> bodySize) throws Exception {
+        // Only looked up when logging, background sends have no UI environment to look it up in.
+        Console console = consoleLogging ? (Console) ObjectTable.get("CONSOLE") : null;
+
+        String fullUrl = getFullUrl();
+        HttpResponse<T> response = null;
+
+        try {
+            // Only spooled bodies are decoded, a string body would otherwise receive the compressed bytes.
+            HttpRequest request = buildRequest(fullUrl, bodyHandler instanceof SpooledBodyHandler);
+
+            timing = new RequestTiming();
+            timing.start();
+            response = client.send(request, new TimingBodyHandler<T>(bodyHandler, timing));
+            duration = timing.getExchange();
+
+            if (consoleLogging && console != null) {
+                String prettyTime = DurationFormatter.format(duration);
+                String prettyStatus = StatusCodeFormatter.format(response.statusCode());
+                String prettyBytes = BytesFormatter.format(bodySize.applyAsLong(response));
+
+                console.print(method + " " + fullUrl + " | " + prettyStatus + " | " + prettyTime + " | " + prettyBytes);
+            }
         } catch (Exception e) {
-            if (consoleLogging && console != null) console.print(method + " " + fullUrl + " | Error: " + e.toString());
+            if (consoleLogging && console != null) console.print(LogBuffer.Level.ERROR, method + " " + fullUrl + " | Error: " + e.toString());
             throw e;
         }
 
         return response;
     }
 
+    String getFullUrl() {
+        String fullUrl = endpoint;
+        if ((method.equalsIgnoreCase("GET") || isWebSocket()) && params != null && !params.isEmpty()) fullUrl += "?" + getParamString(params);
+        return fullUrl;
+    }
+
+    private HttpRequest buildRequest(String fullUrl, boolean decoding) throws Exception {
+        Builder requestBuilder = HttpRequest.newBuilder();
+        requestBuilder.uri(new URI(fullUrl));
+
+        applyHeaders(requestBuilder::header);
+
+        if (decoding && !hasHeader("Accept-Encoding")) requestBuilder.header("Accept-Encoding", ContentDecoder.ACCEPT_ENCODING);
+
+        // The body is sent as it is, a file is streamed from disk instead of being read into memory.
+        if (method.equalsIgnoreCase("POST") || method.equalsIgnoreCase("PUT") || method.equalsIgnoreCase("PATCH")) {
+            boolean hasBody = bodyFile != null || (body != null && body.length > 0);
+            if (hasBody && compressBody) requestBuilder.header("Content-Encoding", ContentEncoder.ENCODING);
+
+            if (bodyFile != null && compressBody) {
+                if (!Files.isReadable(bodyFile)) throw new FileNotFoundException(bodyFile.toString());
+                requestBuilder.method(method, BodyPublishers.ofInputStream(ContentEncoder.gzip(bodyFile)));
+            } else if (bodyFile != null) {
+                requestBuilder.method(method, BodyPublishers.ofFile(bodyFile));
+            } else if (hasBody) {
+                requestBuilder.method(method, BodyPublishers.ofByteArray(compressBody && !precompressed ? ContentEncoder.gzip(body) : body));
+            } else {
+                requestBuilder.method(method, BodyPublishers.noBody());
+            }
+        } else {
+            requestBuilder.method(method, BodyPublishers.noBody());
+        }
+
+        requestBuilder.timeout(timeout);
+        
+        return requestBuilder.build();
+    }
+
+    // Shared by HTTP requests and WebSocket handshakes, both take the same headers and authentication.
+    void applyHeaders(BiConsumer<String, String> header) {
+        if (headers != null) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                header.accept(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (authentication != null) {
+            String type = authentication.get("type");
+            switch (type) {
+                case "API_KEY":
+                    String key = authentication.get("key");
+                    String value = authentication.get("value");
+                    header.accept(key, value);
+                    break;
+                case "BASIC":
+                    String username = authentication.get("username");
+                    String password = authentication.get("password");
+                    String credentials = username + ":" + password;
+                    String encoded = Base64.getEncoder().encodeToString(credentials.getBytes());
+                    header.accept("Authorization", "Basic " + encoded);
+                    break;
+                case "BEARER":
+                    String token = authentication.get("token");
+                    header.accept("Authorization", "Bearer " + token);
+                    break;
+            }
+        }
+    }
+
+    private boolean isHandshakeHeader(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.startsWith("sec-websocket-") || lower.equals("connection") || lower.equals("upgrade")
+            || lower.equals("host") || lower.equals("content-length") || lower.equals("expect");
+    }
+
+    private boolean hasHeader(String name) {
+        if (headers == null) return false;
+
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+
     private String getParamString(HashMap<String, String> params) {
         StringJoiner joiner = new StringJoiner("&");
         for (Map.Entry<String, String> entry : params.entrySet()) {
@@ -106,6 +272,14 @@ public class RequestHandler {
         return joiner.toString();
     }
 
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public RequestTiming getTiming() {
+        return timing;
+    }
+
     public RequestHandler setMethod(String method) {
         this.method = method;
         return this;
@@ -132,7 +306,52 @@ public class RequestHandler {
     }
 
     public RequestHandler setBody(String body) {
+        this.body = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+        return this;
+    }
+
+    public RequestHandler setBody(byte[] body) {
+        this.body = body;
+        return this;
+    }
+
+    // Used by templates that compressed a body without variables once for every send.
+    RequestHandler setCompressedBody(byte[] body) {
         this.body = body;
+        this.compressBody = true;
+        this.precompressed = true;
+        return this;
+    }
+
+    public RequestHandler setCompressBody(boolean compressBody) {
+        this.compressBody = compressBody;
+        return this;
+    }
+
+    public RequestHandler setBodyFile(Path bodyFile) {
+        this.bodyFile = bodyFile;
+        return this;
+    }
+
+    // Null keeps the client default, which negotiates HTTP/2 and falls back to HTTP/1.1.
+    public RequestHandler setProtocol(HttpClient.Version version) {
+        this.client = version != null ? HttpClientRegistry.get(version) : HttpClientRegistry.get();
+        return this;
+    }
+
+    public RequestHandler setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public RequestHandler setTimingProbe(boolean enabled) {
+        this.probeTiming = enabled;
+        return this;
+    }
+
+    // Receives server-sent events, or the lines of a newline-delimited JSON stream, while the response is still arriving.
+    public RequestHandler setStreamListener(Consumer<StreamEvent> streamListener) {
+        this.streamListener = streamListener;
         return this;
     }
 
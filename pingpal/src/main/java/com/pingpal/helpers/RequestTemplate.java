@@ -0,0 +1,84 @@
+package com.pingpal.helpers;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.pingpal.models.RequestModel;
+
+public class RequestTemplate {
+
+    private final String method;
+    private final Template endpoint, body;
+    private final Template[][] params, headers, authentication;
+    private final byte[] encodedBody;
+    private final boolean compressBody;
+    private final Path bodyFile;
+    private final HttpClient.Version protocol;
+    private final Duration timeout;
+
+    private RequestTemplate(RequestModel model) {
+        method = model.getMethod() != null ? model.getMethod() : "GET";
+        endpoint = Template.compile(model.getUrl());
+        body = Template.compile(model.getRawBody() != null ? model.getRawBody() : "");
+        // A body without variables is encoded once and the same bytes are reused by every send.
+        compressBody = Boolean.TRUE.equals(model.getCompressBody());
+        encodedBody = body.isConstant() ? encode(body.render(Map.of()).getBytes(StandardCharsets.UTF_8)) : null;
+        bodyFile = model.getBodyFile() != null && !model.getBodyFile().isEmpty() ? Path.of(model.getBodyFile()) : null;
+        params = compile(model.getParams());
+        headers = compile(model.getHeaders());
+        authentication = compile(model.getAuthData());
+        protocol = ProtocolFormatter.parse(model.getProtocol());
+        timeout = model.getTimeout() != null ? Duration.ofSeconds(model.getTimeout()) : RequestHandler.DEFAULT_TIMEOUT;
+    }
+
+    // Parses every field of the model once, sends built from the result only substitute values.
+    public static RequestTemplate compile(RequestModel model) {
+        return new RequestTemplate(model);
+    }
+
+    public RequestHandler newHandler(Map<String, String> variables) {
+        RequestHandler handler = new RequestHandler()
+            .setMethod(method)
+            .setEndpoint(endpoint.render(variables))
+            .setAuthenticationData(render(authentication, variables))
+            .setParams(render(params, variables))
+            .setHeaders(render(headers, variables))
+            .setBodyFile(bodyFile)
+            .setCompressBody(compressBody)
+            .setProtocol(protocol)
+            .setTimeout(timeout);
+
+        if (encodedBody == null) return handler.setBody(body.render(variables).getBytes(StandardCharsets.UTF_8));
+        return compressBody ? handler.setCompressedBody(encodedBody) : handler.setBody(encodedBody);
+    }
+
+    private byte[] encode(byte[] bytes) {
+        return compressBody && bytes.length > 0 ? ContentEncoder.gzip(bytes) : bytes;
+    }
+
+    private static Template[][] compile(HashMap<String, String> map) {
+        if (map == null) return null;
+
+        Template[][] pairs = new Template[map.size()][];
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            pairs[i++] = new Template[] { Template.compile(entry.getKey()), Template.compile(entry.getValue()) };
+        }
+        return pairs;
+    }
+
+    private static HashMap<String, String> render(Template[][] pairs, Map<String, String> variables) {
+        if (pairs == null) return null;
+
+        HashMap<String, String> map = new HashMap<String, String>(pairs.length * 2);
+        for (Template[] pair : pairs) {
+            map.put(pair[0].render(variables), pair[1].render(variables));
+        }
+        return map;
+    }
+
+}
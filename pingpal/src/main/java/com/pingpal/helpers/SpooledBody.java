@@ -0,0 +1,155 @@
+package com.pingpal.helpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class SpooledBody implements Closeable {
+
+    public static final int MEMORY_THRESHOLD = 1024 * 1024;
+
+    private byte[] buffer = new byte[8192];
+    private long size = 0;
+    private long wireSize = -1;
+    private String encoding;
+    private Consumer<ByteBuffer> tap;
+    private Path file;
+    private FileChannel channel;
+
+    public static class Page {
+
+        private final String text;
+        private final long nextOffset;
+
+        private Page(String text, long nextOffset) {
+            this.text = text;
+            this.nextOffset = nextOffset;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getNextOffset() {
+            return nextOffset;
+        }
+
+    }
+
+    public synchronized void write(ByteBuffer data) throws IOException {
+        int length = data.remaining();
+        if (tap != null) tap.accept(data.duplicate());
+
+        if (channel == null && size + length > MEMORY_THRESHOLD) spill();
+
+        if (channel != null) {
+            while (data.hasRemaining()) channel.write(data);
+        } else {
+            if (size + length > buffer.length) buffer = Arrays.copyOf(buffer, (int) Math.max(buffer.length * 2L, size + length));
+            data.get(buffer, (int) size, length);
+        }
+
+        size += length;
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile("pingpal-", ".body");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.write(ByteBuffer.wrap(buffer, 0, (int) size));
+        buffer = null;
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    // The number of bytes received before decoding, the same as the size when the body was not compressed.
+    public synchronized long getWireSize() {
+        return wireSize < 0 ? size : wireSize;
+    }
+
+    public synchronized String getEncoding() {
+        return encoding;
+    }
+
+    // Sees every decoded chunk before it is stored, used to follow a body while it is still streaming.
+    synchronized void setTap(Consumer<ByteBuffer> tap) {
+        this.tap = tap;
+    }
+
+    synchronized void setWire(long wireSize, String encoding) {
+        this.wireSize = wireSize;
+        this.encoding = encoding;
+    }
+
+    public synchronized boolean isSpilled() {
+        return channel != null;
+    }
+
+    public synchronized Page readPage(long offset, int maxBytes) throws IOException {
+        if (offset >= size) return new Page("", size);
+
+        int length = (int) Math.min(maxBytes, size - offset);
+        byte[] bytes = new byte[length];
+
+        if (channel != null) {
+            ByteBuffer target = ByteBuffer.wrap(bytes);
+            while (target.hasRemaining()) {
+                if (channel.read(target, offset + target.position()) < 0) break;
+            }
+        } else {
+            System.arraycopy(buffer, (int) offset, bytes, 0, length);
+        }
+
+        // Never cut a multi-byte UTF-8 character in half, the rest follows on the next page.
+        if (offset + length < size) length = trimToCharBoundary(bytes, length);
+
+        return new Page(new String(bytes, 0, length, StandardCharsets.UTF_8), offset + length);
+    }
+
+    public String readAll() throws IOException {
+        return readPage(0, (int) Math.min(Integer.MAX_VALUE, getSize())).getText();
+    }
+
+    public synchronized InputStream openStream() throws IOException {
+        if (channel == null) return new ByteArrayInputStream(buffer, 0, (int) size);
+        return Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    private int trimToCharBoundary(byte[] bytes, int length) {
+        int start = length - 1;
+        while (start > 0 && length - start < 4 && (bytes[start] & 0xC0) == 0x80) start--;
+
+        int lead = bytes[start] & 0xFF;
+        int expected = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+
+        if (length - start >= expected || start == 0) return length;
+        return start;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) channel.close();
+            if (file != null) Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // The temp file is removed by the OS eventually.
+        } finally {
+            channel = null;
+            file = null;
+            buffer = new byte[0];
+            size = 0;
+        }
+    }
+
+}
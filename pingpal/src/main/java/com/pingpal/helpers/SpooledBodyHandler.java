@@ -0,0 +1,103 @@
+package com.pingpal.helpers;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import com.pingpal.models.StreamEvent;
+
+public class SpooledBodyHandler implements BodyHandler<SpooledBody> {
+
+    private final Consumer<StreamEvent> streamListener;
+
+    public SpooledBodyHandler() {
+        this(null);
+    }
+
+    public SpooledBodyHandler(Consumer<StreamEvent> streamListener) {
+        this.streamListener = streamListener;
+    }
+
+    @Override
+    public BodySubscriber<SpooledBody> apply(ResponseInfo responseInfo) {
+        String encoding = responseInfo.headers().firstValue("Content-Encoding").orElse(null);
+        return new SpooledBodySubscriber(encoding, ContentDecoder.forEncoding(encoding), EventStreamParser.forResponse(responseInfo, streamListener));
+    }
+
+    private static class SpooledBodySubscriber implements BodySubscriber<SpooledBody> {
+
+        private final CompletableFuture<SpooledBody> result = new CompletableFuture<>();
+        private final SpooledBody body = new SpooledBody();
+        private final String encoding;
+        private final ContentDecoder decoder;
+        private final EventStreamParser parser;
+        private long wireSize = 0;
+        private Flow.Subscription subscription;
+
+        private SpooledBodySubscriber(String encoding, ContentDecoder decoder, EventStreamParser parser) {
+            this.encoding = encoding;
+            this.decoder = decoder;
+            this.parser = parser;
+            if (parser != null) body.setTap(parser);
+        }
+
+        @Override
+        public CompletionStage<SpooledBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            try {
+                for (ByteBuffer item : items) {
+                    wireSize += item.remaining();
+                    if (decoder != null) decoder.decode(item, body);
+                    else body.write(item);
+                }
+                subscription.request(1);
+            } catch (Exception e) {
+                subscription.cancel();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (decoder != null) decoder.close();
+            body.close();
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                if (decoder != null) {
+                    decoder.finish();
+                    decoder.close();
+                }
+                if (parser != null) parser.finish();
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+
+            // Encodings that cannot be decoded are kept as received, so the body and wire size are the same.
+            body.setWire(wireSize, decoder != null ? encoding : null);
+            result.complete(body);
+        }
+
+    }
+
+}
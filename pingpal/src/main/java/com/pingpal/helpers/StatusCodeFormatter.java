@@ -21,8 +21,18 @@ public class StatusCodeFormatter {
         Map.entry(503, "Service Unavailable")
     );
 
+    // Every valid status line is built once, formatting a response is then a lookup.
+    private static final String[] formatted = new String[600];
+
+    static {
+        for (int code = 100; code < formatted.length; code++) {
+            formatted[code] = code + " " + statusMessages.getOrDefault(code, "Unknown");
+        }
+    }
+
     public static String format(int code) {
-        return String.valueOf(code) + " " + statusMessages.getOrDefault(code, "Unknown");
+        if (code >= 100 && code < formatted.length) return formatted[code];
+        return code + " " + statusMessages.getOrDefault(code, "Unknown");
     }
 
 }
@@ -0,0 +1,77 @@
+package com.pingpal.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class Template {
+
+    private static final Template EMPTY = new Template(new String[] { null }, new String[0], new String[0], 0);
+
+    // literals has one more element than names, rendering interleaves them.
+    private final String[] literals;
+    private final String[] names;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private Template(String[] literals, String[] names, String[] placeholders, int literalLength) {
+        this.literals = literals;
+        this.names = names;
+        this.placeholders = placeholders;
+        this.literalLength = literalLength;
+    }
+
+    public static Template compile(String source) {
+        if (source == null) return EMPTY;
+
+        List<String> literals = new ArrayList<String>();
+        List<String> names = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+        int start = 0, position = 0;
+
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) break;
+
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) break;
+
+            String name = source.substring(open + 2, close).trim();
+            position = close + 2;
+            if (name.isEmpty()) continue;
+
+            literals.add(source.substring(start, open));
+            names.add(name);
+            placeholders.add(source.substring(open, position));
+            start = position;
+        }
+
+        literals.add(source.substring(start));
+
+        int literalLength = 0;
+        for (String literal : literals) literalLength += literal.length();
+
+        return new Template(literals.toArray(new String[0]), names.toArray(new String[0]), placeholders.toArray(new String[0]), literalLength);
+    }
+
+    public boolean isConstant() {
+        return names.length == 0;
+    }
+
+    // Unknown variables are left in place so the request shows what was not resolved.
+    public String render(Map<String, String> variables) {
+        if (names.length == 0) return literals[0];
+
+        StringBuilder result = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            result.append(literals[i]);
+
+            String value = variables.get(names[i]);
+            result.append(value != null ? value : placeholders[i]);
+        }
+        result.append(literals[names.length]);
+
+        return result.toString();
+    }
+
+}
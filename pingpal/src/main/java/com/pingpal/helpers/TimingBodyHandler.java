@@ -0,0 +1,31 @@
+package com.pingpal.helpers;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+
+import com.pingpal.models.RequestTiming;
+
+public class TimingBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> delegate;
+    private final RequestTiming timing;
+
+    public TimingBodyHandler(BodyHandler<T> delegate, RequestTiming timing) {
+        this.delegate = delegate;
+        this.timing = timing;
+    }
+
+    // The client calls the handler once the status line and headers are in, the mapping runs after the last byte.
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        timing.markFirstByte();
+
+        return BodySubscribers.mapping(delegate.apply(responseInfo), body -> {
+            timing.markComplete();
+            return body;
+        });
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.pingpal.helpers;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.time.Duration;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import com.pingpal.models.RequestTiming;
+
+public class TimingProbe {
+
+    // The JDK client does not expose its connection phases, so they are estimated on a separate, fresh
+    // connection to the same host opened alongside the exchange. The real exchange may reuse a pooled connection and skip them,
+    // and the probe goes direct with the default SSLContext and no ALPN, so behind a proxy it measures a different path.
+    // It costs the server under test an extra connection, callers only run it when the user asks for the estimate.
+    public static void probe(URI uri, Duration timeout, RequestTiming timing) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        int timeoutMillis = (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+
+        try {
+            long started = System.nanoTime();
+            InetAddress address = InetAddress.getByName(uri.getHost());
+            long resolved = System.nanoTime();
+
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(address, port), timeoutMillis);
+                long connected = System.nanoTime();
+                long handshaken = connected;
+
+                if (secure) {
+                    try (SSLSocket ssl = (SSLSocket) SSLContext.getDefault().getSocketFactory().createSocket(socket, uri.getHost(), port, true)) {
+                        ssl.setSoTimeout(timeoutMillis);
+                        ssl.startHandshake();
+                        handshaken = System.nanoTime();
+                    }
+                }
+
+                timing.setProbe(resolved - started, connected - resolved, handshaken - connected);
+            }
+        } catch (Exception e) {
+            // Leave the phases out, the exchange itself reports whatever went wrong.
+        }
+    }
+
+}
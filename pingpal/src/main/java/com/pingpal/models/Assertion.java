@@ -0,0 +1,79 @@
+package com.pingpal.models;
+
+import java.util.Locale;
+
+public class Assertion {
+
+    public enum Type { STATUS, HEADER, JSON_PATH, LATENCY }
+
+    public enum Operator { EQUALS, NOT_EQUALS, CONTAINS, MATCHES, LESS_THAN, GREATER_THAN, EXISTS, NOT_EXISTS }
+
+    private Type type;
+    private String target;
+    private Operator operator;
+    private String expected;
+
+    public Assertion() {
+    }
+
+    public Assertion(Type type, String target, Operator operator, String expected) {
+        this.type = type;
+        this.target = target;
+        this.operator = operator;
+        this.expected = expected;
+    }
+
+    public Type getType() {
+        return type != null ? type : Type.STATUS;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTarget() {
+        return target != null ? target : "";
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public Operator getOperator() {
+        return operator != null ? operator : Operator.EQUALS;
+    }
+
+    public void setOperator(Operator operator) {
+        this.operator = operator;
+    }
+
+    public String getExpected() {
+        return expected != null ? expected : "";
+    }
+
+    public void setExpected(String expected) {
+        this.expected = expected;
+    }
+
+    public String describe() {
+        String subject;
+        switch (getType()) {
+            case HEADER:
+                subject = "Header " + getTarget();
+                break;
+            case JSON_PATH:
+                subject = getTarget();
+                break;
+            case LATENCY:
+                subject = "Latency (ms)";
+                break;
+            default:
+                subject = "Status";
+        }
+
+        String operator = getOperator().name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        boolean unary = getOperator() == Operator.EXISTS || getOperator() == Operator.NOT_EXISTS;
+        return subject + " " + operator + (unary ? "" : " " + getExpected());
+    }
+
+}
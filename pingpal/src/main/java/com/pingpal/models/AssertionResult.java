@@ -0,0 +1,41 @@
+package com.pingpal.models;
+
+import java.time.Duration;
+
+public class AssertionResult {
+
+    private final Assertion assertion;
+    private final boolean passed;
+    private final String actual;
+    private final String message;
+    private final long elapsedNanos;
+
+    public AssertionResult(Assertion assertion, boolean passed, String actual, String message, long elapsedNanos) {
+        this.assertion = assertion;
+        this.passed = passed;
+        this.actual = actual;
+        this.message = message;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Assertion getAssertion() {
+        return assertion;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public String getActual() {
+        return actual != null ? actual : "";
+    }
+
+    public String getMessage() {
+        return message != null ? message : "";
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.pingpal.models;
+
+import java.util.HashMap;
+
+public class EnvironmentModel {
+
+    private String name;
+    private HashMap<String, String> variables = new HashMap<String, String>();
+
+    public EnvironmentModel(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setVariables(HashMap<String, String> variables) {
+        this.variables = variables;
+    }
+
+    public HashMap<String, String> getVariables() {
+        return variables;
+    }
+
+}
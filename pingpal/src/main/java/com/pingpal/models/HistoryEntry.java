@@ -0,0 +1,111 @@
+package com.pingpal.models;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.pingpal.helpers.ProtocolFormatter;
+
+public class HistoryEntry {
+
+    private String id;
+    private String requestId;
+    private long timestamp;
+    private String method;
+    private String url;
+    private int status;
+    private String version;
+    private Map<String, List<String>> headers;
+    private String digest;
+    private long durationMicros;
+    private long size;
+    private int segment;
+    private long offset;
+    private long length;
+    private RequestTiming timing;
+
+    public HistoryEntry(String id, String requestId, String method, String url, int status, HttpClient.Version version, Map<String, List<String>> headers, RequestTiming timing) {
+        this.id = id;
+        this.requestId = requestId;
+        this.timestamp = System.currentTimeMillis();
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.version = version != null ? version.name() : null;
+        this.headers = headers;
+        this.timing = timing;
+        this.durationMicros = timing != null ? timing.getExchange().toNanos() / 1000 : 0;
+    }
+
+    public void setBody(String digest, long size, int segment, long offset, long length) {
+        this.digest = digest;
+        this.size = size;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public HttpClient.Version getVersion() {
+        return ProtocolFormatter.parse(version);
+    }
+
+    public HttpHeaders getHeaders() {
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationMicros * 1000);
+    }
+
+    public RequestTiming getTiming() {
+        return timing;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getSegment() {
+        return segment;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+}
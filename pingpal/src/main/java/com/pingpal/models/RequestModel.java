@@ -1,7 +1,13 @@
 package com.pingpal.models;
 
+import java.util.ArrayList;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
 public class RequestModel {
     
     private String id;
@@ -12,6 +18,13 @@ public class RequestModel {
     private HashMap<String, String> headers;
     private HashMap<String, String> authData;
     private HashMap<String, Object> body;
+    private String rawBody;
+    // A path on this server's disk, it is kept in the local store and never sent to the backend.
+    private transient String bodyFile;
+    private Boolean compressBody;
+    private String protocol;
+    private Integer timeout;
+    private ArrayList<Assertion> assertions;
 
     public void setId(String id) {
         this.id = id;
@@ -77,6 +90,71 @@ public class RequestModel {
         return body;
     }
 
+    public void setRawBody(String rawBody) {
+        this.rawBody = rawBody;
+    }
+
+    // Requests saved before the raw body existed only have the parsed map, it is serialized once here.
+    public String getRawBody() {
+        if (rawBody == null && body != null) rawBody = new Gson().toJson(body);
+        return rawBody;
+    }
+
+    // The backend and older clients only know the parsed map, it is filled from the raw text before the model is saved.
+    // Bodies that are not JSON objects have no map, the raw text is their only copy.
+    public void updateBody() {
+        String text = getRawBody();
+        body = null;
+        if (text == null || !text.stripLeading().startsWith("{")) return;
+
+        try {
+            Type type = new TypeToken<HashMap<String, Object>>() {}.getType();
+            body = new Gson().fromJson(text, type);
+        } catch (JsonParseException e) {
+            // Not valid JSON, it is saved as text only.
+        }
+    }
+
+    public void setBodyFile(String bodyFile) {
+        this.bodyFile = bodyFile;
+    }
+
+    public String getBodyFile() {
+        return bodyFile;
+    }
+
+    public void setCompressBody(Boolean compressBody) {
+        this.compressBody = compressBody;
+    }
+
+    public Boolean getCompressBody() {
+        return compressBody;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setTimeout(Integer timeout) {
+        this.timeout = timeout;
+    }
+
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    public void setAssertions(ArrayList<Assertion> assertions) {
+        this.assertions = assertions;
+    }
+
+    public ArrayList<Assertion> getAssertions() {
+        return assertions;
+    }
+
     public static RequestModel create(String name) {
         RequestModel request = new RequestModel();
         request.setName(name);
@@ -0,0 +1,64 @@
+package com.pingpal.models;
+
+import java.time.Duration;
+
+public class RequestTiming {
+
+    // Set last by the probe's thread, so the phases written before it are visible to whoever reads it.
+    private volatile boolean probed;
+    private long dnsMicros, connectMicros, tlsMicros, firstByteMicros, downloadMicros;
+    private transient long startedAt, firstByteAt;
+
+    public void setProbe(long dnsNanos, long connectNanos, long tlsNanos) {
+        this.dnsMicros = dnsNanos / 1000;
+        this.connectMicros = connectNanos / 1000;
+        this.tlsMicros = tlsNanos / 1000;
+        this.probed = true;
+    }
+
+    public void start() {
+        startedAt = System.nanoTime();
+    }
+
+    public void markFirstByte() {
+        firstByteAt = System.nanoTime();
+        firstByteMicros = (firstByteAt - startedAt) / 1000;
+    }
+
+    public void markComplete() {
+        downloadMicros = (System.nanoTime() - firstByteAt) / 1000;
+    }
+
+    public boolean isProbed() {
+        return probed;
+    }
+
+    public Duration getDns() {
+        return micros(dnsMicros);
+    }
+
+    public Duration getConnect() {
+        return micros(connectMicros);
+    }
+
+    public Duration getTls() {
+        return micros(tlsMicros);
+    }
+
+    public Duration getFirstByte() {
+        return micros(firstByteMicros);
+    }
+
+    public Duration getDownload() {
+        return micros(downloadMicros);
+    }
+
+    public Duration getExchange() {
+        return micros(firstByteMicros + downloadMicros);
+    }
+
+    private Duration micros(long value) {
+        return Duration.ofNanos(value * 1000);
+    }
+
+}
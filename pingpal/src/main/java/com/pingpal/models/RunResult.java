@@ -0,0 +1,110 @@
+package com.pingpal.models;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import com.pingpal.helpers.ProtocolFormatter;
+
+public class RunResult {
+
+    private final RequestModel request;
+    private long[] latencies = new long[16];
+    private int samples;
+    private int errors;
+    private long bytes;
+    private int assertionsPassed;
+    private int assertionsFailed;
+    private final TreeMap<Integer, Integer> statusCounts = new TreeMap<Integer, Integer>();
+    private final EnumMap<HttpClient.Version, Integer> protocolCounts = new EnumMap<HttpClient.Version, Integer>(HttpClient.Version.class);
+
+    public RunResult(RequestModel request) {
+        this.request = request;
+    }
+
+    public synchronized void record(int statusCode, HttpClient.Version version, Duration duration, long size) {
+        addLatency(duration.toMillis());
+        statusCounts.merge(statusCode, 1, Integer::sum);
+        protocolCounts.merge(version, 1, Integer::sum);
+        bytes += size;
+    }
+
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    public synchronized void recordAssertions(int passed, int failed) {
+        assertionsPassed += passed;
+        assertionsFailed += failed;
+    }
+
+    private void addLatency(long millis) {
+        if (samples == latencies.length) latencies = Arrays.copyOf(latencies, samples * 2);
+        latencies[samples++] = millis;
+    }
+
+    public synchronized long getPercentile(double percentile) {
+        if (samples == 0) return 0;
+
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100.0 * samples) - 1;
+        return sorted[Math.max(0, Math.min(index, samples - 1))];
+    }
+
+    public RequestModel getRequest() {
+        return request;
+    }
+
+    public String getName() {
+        return request.getName();
+    }
+
+    public String getMethod() {
+        return request.getMethod() != null ? request.getMethod() : "GET";
+    }
+
+    public synchronized int getRuns() {
+        return samples + errors;
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized String getStatusSummary() {
+        if (statusCounts.isEmpty()) return "-";
+
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Map.Entry<Integer, Integer> entry : statusCounts.entrySet()) {
+            joiner.add(entry.getKey() + " × " + entry.getValue());
+        }
+        return joiner.toString();
+    }
+
+    public synchronized String getProtocolSummary() {
+        if (protocolCounts.isEmpty()) return "-";
+
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Map.Entry<HttpClient.Version, Integer> entry : protocolCounts.entrySet()) {
+            joiner.add(ProtocolFormatter.format(entry.getKey()) + " × " + entry.getValue());
+        }
+        return joiner.toString();
+    }
+
+    public synchronized String getAssertionSummary() {
+        int total = assertionsPassed + assertionsFailed;
+        if (total == 0) return "-";
+        return assertionsPassed + "/" + total + " passed";
+    }
+
+}
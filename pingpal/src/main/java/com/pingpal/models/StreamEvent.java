@@ -0,0 +1,49 @@
+package com.pingpal.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class StreamEvent {
+
+    private final long index;
+    private final long timestamp;
+    private final long gapNanos;
+    private final String type;
+    private final String id;
+    private final String data;
+
+    public StreamEvent(long index, long timestamp, long gapNanos, String type, String id, String data) {
+        this.index = index;
+        this.timestamp = timestamp;
+        this.gapNanos = gapNanos;
+        this.type = type;
+        this.id = id;
+        this.data = data;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    // The time since the previous event, or since the response headers for the first one.
+    public Duration getGap() {
+        return Duration.ofNanos(gapNanos);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.pingpal.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class WebSocketMessage {
+
+    public enum Direction { SENT, RECEIVED, EVENT }
+
+    private final long timestamp;
+    private final Direction direction;
+    private final String text;
+    private final long size;
+    private final long latencyMicros;
+
+    public WebSocketMessage(Direction direction, String text, long size, long latencyMicros) {
+        this.timestamp = System.currentTimeMillis();
+        this.direction = direction;
+        this.text = text;
+        this.size = size;
+        this.latencyMicros = latencyMicros;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    // Only set for a received message that echoed one sent earlier in the session.
+    public Duration getLatency() {
+        return latencyMicros < 0 ? null : Duration.ofNanos(latencyMicros * 1000);
+    }
+
+}
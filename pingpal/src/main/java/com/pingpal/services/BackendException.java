@@ -0,0 +1,22 @@
+package com.pingpal.services;
+
+// Thrown for error responses from the PingPal backend, the status tells a rejected write from a failed one.
+public class BackendException extends RuntimeException {
+
+    private final int status;
+
+    public BackendException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    // Sending the same request again will not help, unlike an expired login, a timeout or rate limiting.
+    public boolean isRejected() {
+        return status >= 400 && status < 500 && status != 401 && status != 408 && status != 429;
+    }
+
+}
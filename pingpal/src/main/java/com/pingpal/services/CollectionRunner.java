@@ -0,0 +1,188 @@
+package com.pingpal.services;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import com.pingpal.helpers.AssertionEvaluator;
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.helpers.ProtocolFormatter;
+import com.pingpal.helpers.RequestHandler;
+import com.pingpal.helpers.RequestTemplate;
+import com.pingpal.helpers.SpooledBody;
+import com.pingpal.helpers.StatusCodeFormatter;
+import com.pingpal.models.AssertionResult;
+import com.pingpal.models.RequestModel;
+import com.pingpal.models.RunResult;
+import com.webforj.Environment;
+
+public class CollectionRunner {
+
+    private int concurrency = 4;
+    private int iterations = 1;
+    private Duration delay = Duration.ZERO;
+    private HttpClient.Version protocol;
+    private Consumer<String> onProgress;
+    private Consumer<RunResult> onResult;
+    private Runnable onComplete;
+    private volatile boolean running = false;
+    private Thread coordinator;
+
+    public List<RunResult> start(List<RequestModel> requests) {
+        if (running) throw new IllegalStateException("The collection runner is already running");
+
+        // WebSocket requests have no single response to measure, they are left out of runs.
+        List<RunResult> results = new ArrayList<RunResult>();
+        for (RequestModel request : requests) {
+            if (!RequestHandler.isWebSocket(request.getMethod())) results.add(new RunResult(request));
+        }
+
+        running = true;
+
+        // Started from the UI thread so the worker threads inherit its environment for runLater.
+        coordinator = Thread.ofVirtual().name("pingpal-runner").start(() -> run(results));
+
+        return results;
+    }
+
+    public void stop() {
+        running = false;
+        if (coordinator != null) coordinator.interrupt();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run(List<RunResult> results) {
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        long started = System.nanoTime();
+
+        // Compiled once per run, every iteration only substitutes the environment's values.
+        Map<String, String> variables = EnvironmentService.getInstance().getVariables();
+        Map<RunResult, RequestTemplate> templates = new IdentityHashMap<RunResult, RequestTemplate>();
+        Map<RunResult, AssertionEvaluator> evaluators = new IdentityHashMap<RunResult, AssertionEvaluator>();
+        for (RunResult result : results) {
+            templates.put(result, RequestTemplate.compile(result.getRequest()));
+            evaluators.put(result, AssertionEvaluator.compile(result.getRequest().getAssertions()));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int iteration = 1; iteration <= iterations && running; iteration++) {
+                progress("Iteration " + iteration + " of " + iterations);
+
+                for (RunResult result : results) {
+                    if (!running) break;
+
+                    permits.acquire();
+                    executor.submit(() -> {
+                        try {
+                            execute(result, templates.get(result).newHandler(variables), evaluators.get(result));
+                        } finally {
+                            permits.release();
+                        }
+                    });
+
+                    if (!delay.isZero()) Thread.sleep(delay.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            boolean completed = running;
+            running = false;
+
+            Duration total = Duration.ofNanos(System.nanoTime() - started);
+            progress((completed ? "Collection run finished in " : "Collection run stopped after ") + DurationFormatter.format(total));
+
+            if (onComplete != null) Environment.runLater(onComplete);
+        }
+    }
+
+    private void execute(RunResult result, RequestHandler handler, AssertionEvaluator evaluator) {
+        RequestModel model = result.getRequest();
+        String label = result.getMethod() + " " + model.getUrl();
+
+        try {
+            handler.setConsoleLogging(false);
+            // A shared HTTP/2 client multiplexes every concurrent request to a host as streams over one connection.
+            if (protocol != null) handler.setProtocol(protocol);
+            HttpResponse<SpooledBody> response = handler.sendStreaming();
+
+            try (SpooledBody body = response.body()) {
+                result.record(response.statusCode(), response.version(), handler.getDuration(), body.getSize());
+                String tests = evaluator.isEmpty() ? "" : " | " + check(result, evaluator.evaluate(response, handler.getDuration()));
+                progress(label + " | " + StatusCodeFormatter.format(response.statusCode()) + " | " + ProtocolFormatter.format(response.version()) + " | " + DurationFormatter.format(handler.getDuration()) + " | " + BytesFormatter.format(body.getSize()) + tests);
+            }
+        } catch (Exception e) {
+            result.recordError();
+            progress(label + " | Error: " + e.toString());
+        }
+
+        if (onResult != null) Environment.runLater(() -> onResult.accept(result));
+    }
+
+    private String check(RunResult result, List<AssertionResult> results) {
+        int failed = 0;
+        AssertionResult first = null;
+        for (AssertionResult assertion : results) {
+            if (assertion.isPassed()) continue;
+            if (first == null) first = assertion;
+            failed++;
+        }
+
+        result.recordAssertions(results.size() - failed, failed);
+        if (first == null) return results.size() + " tests passed";
+        return failed + " of " + results.size() + " tests failed, " + first.getAssertion().describe() + ": " + first.getMessage();
+    }
+
+    private void progress(String message) {
+        if (onProgress != null) Environment.runLater(() -> onProgress.accept(message));
+    }
+
+    public CollectionRunner setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public CollectionRunner setIterations(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    public CollectionRunner setDelay(Duration delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    // Overrides the protocol of every request in the run, null keeps each request's own setting.
+    public CollectionRunner setProtocol(HttpClient.Version protocol) {
+        this.protocol = protocol;
+        return this;
+    }
+
+    public CollectionRunner onProgress(Consumer<String> onProgress) {
+        this.onProgress = onProgress;
+        return this;
+    }
+
+    public CollectionRunner onResult(Consumer<RunResult> onResult) {
+        this.onResult = onResult;
+        return this;
+    }
+
+    public CollectionRunner onComplete(Runnable onComplete) {
+        this.onComplete = onComplete;
+        return this;
+    }
+
+}
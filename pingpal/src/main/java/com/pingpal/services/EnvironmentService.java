@@ -0,0 +1,79 @@
+package com.pingpal.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.h2.mvstore.MVMap;
+
+import com.google.gson.Gson;
+import com.pingpal.models.EnvironmentModel;
+
+public class EnvironmentService {
+
+    private static final Gson gson = new Gson();
+    private static EnvironmentService instance;
+
+    private final MVMap<String, String> environments;
+    private final MVMap<String, String> meta;
+
+    // Snapshot of the active environment, sends read it without touching the store.
+    private volatile Map<String, String> variables = Collections.emptyMap();
+
+    public static synchronized EnvironmentService getInstance() {
+        if (instance == null) instance = new EnvironmentService();
+        return instance;
+    }
+
+    private EnvironmentService() {
+        RequestStore store = RequestStore.getInstance();
+        environments = store.openMap("environments");
+        meta = store.openMap("meta");
+
+        refreshVariables();
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<String>(environments.keySet());
+    }
+
+    public EnvironmentModel get(String name) {
+        String json = name != null ? environments.get(name) : null;
+        return json == null ? null : gson.fromJson(json, EnvironmentModel.class);
+    }
+
+    public synchronized void save(EnvironmentModel environment) {
+        environments.put(environment.getName(), gson.toJson(environment));
+        if (environment.getName().equals(getActive())) refreshVariables();
+    }
+
+    public synchronized void delete(String name) {
+        environments.remove(name);
+        if (name.equals(getActive())) setActive(null);
+    }
+
+    public String getActive() {
+        return meta.get("environment");
+    }
+
+    public synchronized void setActive(String name) {
+        if (name == null) meta.remove("environment");
+        else meta.put("environment", name);
+
+        refreshVariables();
+    }
+
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+
+    private void refreshVariables() {
+        EnvironmentModel environment = get(getActive());
+        variables = environment != null && environment.getVariables() != null
+            ? Collections.unmodifiableMap(new HashMap<String, String>(environment.getVariables()))
+            : Collections.<String, String>emptyMap();
+    }
+
+}
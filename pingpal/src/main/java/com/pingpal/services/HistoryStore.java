@@ -0,0 +1,345 @@
+package com.pingpal.services;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.pingpal.helpers.Env;
+import com.pingpal.helpers.JsonFormatter;
+import com.pingpal.helpers.SpooledBody;
+import com.pingpal.models.HistoryEntry;
+import com.pingpal.models.RequestTiming;
+
+public class HistoryStore {
+
+    private static final long SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long PRETTY_LIMIT = 1024 * 1024;
+    private static final Gson gson = new Gson();
+    private static HistoryStore instance;
+
+    private final Path directory;
+    private final Path index;
+    private final long maxBytes;
+
+    // Access ordered, so the first entry is always the least recently recorded or opened one.
+    private final LinkedHashMap<String, HistoryEntry> entries = new LinkedHashMap<String, HistoryEntry>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private int segment = 0;
+    private FileChannel writer;
+
+    public static synchronized HistoryStore getInstance() {
+        if (instance == null) {
+            String directory = Env.get("PINGPAL_HISTORY_DIR");
+
+            instance = new HistoryStore(
+                Path.of(directory != null && !directory.isEmpty() ? directory : "history"),
+                getMaxMegabytes() * 1024 * 1024
+            );
+        }
+        return instance;
+    }
+
+    // Called when the webapp stops, the index is written with every entry so only the segment has to be closed.
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+
+        synchronized (instance) {
+            try {
+                instance.writer.close();
+            } catch (IOException e) {
+                // Everything recorded was already written when its entry was added.
+            }
+        }
+        instance = null;
+    }
+
+    private HistoryStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.index = directory.resolve("index.jsonl");
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open the response history in " + directory, e);
+        }
+    }
+
+    private static long getMaxMegabytes() {
+        String value = Env.get("PINGPAL_HISTORY_SIZE");
+
+        try {
+            if (value != null && !value.isBlank()) return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // Fall through to the default below.
+        }
+
+        return 256;
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(index)) {
+            try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+
+                    HistoryEntry entry = gson.fromJson(line, HistoryEntry.class);
+                    if (!Files.exists(segmentPath(entry.getSegment()))) continue;
+
+                    entries.put(entry.getId(), entry);
+                    totalBytes += entry.getLength();
+                    segment = Math.max(segment, entry.getSegment());
+                }
+            }
+        }
+
+        openSegment(Files.exists(segmentPath(segment)) && Files.size(segmentPath(segment)) >= SEGMENT_SIZE ? segment + 1 : segment);
+    }
+
+    // Compressing the body is the slow part, it happens before the lock so sessions only wait for each other's appends.
+    public HistoryEntry record(String requestId, String method, String url, HttpResponse<?> response, InputStream body, RequestTiming timing) throws Exception {
+        HistoryEntry entry = new HistoryEntry(UUID.randomUUID().toString(), requestId, method, url, response.statusCode(), response.version(), response.headers().map(), timing);
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long size;
+
+        try (SpooledBody compressed = new SpooledBody()) {
+            try (CountingInputStream input = new CountingInputStream(new DigestInputStream(body, digest));
+                 GZIPOutputStream gzip = new GZIPOutputStream(spool(compressed), 8192)) {
+                input.transferTo(gzip);
+                size = input.getCount();
+            }
+
+            synchronized (this) {
+                long offset = writer.position();
+                try (InputStream input = compressed.openStream()) {
+                    input.transferTo(unclosable(Channels.newOutputStream(writer)));
+                }
+
+                long length = writer.position() - offset;
+                entry.setBody(HexFormat.of().formatHex(digest.digest()), size, segment, offset, length);
+
+                Files.writeString(index, gson.toJson(entry) + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                entries.put(entry.getId(), entry);
+                totalBytes += length;
+
+                if (writer.position() >= SEGMENT_SIZE) openSegment(segment + 1);
+                evict();
+            }
+        }
+
+        return entry;
+    }
+
+    public synchronized List<HistoryEntry> list(String requestId) {
+        List<HistoryEntry> result = new ArrayList<HistoryEntry>();
+        for (HistoryEntry entry : entries.values()) {
+            if (entry.getRequestId().equals(requestId)) result.add(entry);
+        }
+
+        result.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+        return result;
+    }
+
+    // Bodies are only read back when an entry is opened, the list itself comes from the index.
+    public SpooledBody open(HistoryEntry entry) throws IOException {
+        FileChannel channel;
+
+        // An evicted segment may be deleted once the lock is released, the open channel still reads it.
+        synchronized (this) {
+            if (entries.get(entry.getId()) == null) throw new IOException("The response was evicted from the history");
+            channel = FileChannel.open(segmentPath(entry.getSegment()), StandardOpenOption.READ);
+        }
+
+        SpooledBody body = new SpooledBody();
+        try (channel; InputStream input = new GZIPInputStream(slice(channel, entry.getOffset(), entry.getLength()), 8192)) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) > 0) {
+                body.write(ByteBuffer.wrap(chunk, 0, read));
+            }
+        } catch (IOException e) {
+            body.close();
+            throw e;
+        }
+
+        return body;
+    }
+
+    // JSON bodies are pretty printed first so a minified response does not diff as a single line.
+    public List<String> readLines(HistoryEntry entry, int maxLines) throws IOException {
+        try (SpooledBody body = open(entry)) {
+            if (body.getSize() <= PRETTY_LIMIT) {
+                String text = body.readAll();
+                String trimmed = text.stripLeading();
+
+                if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                    try {
+                        text = JsonFormatter.prettyPrint(text);
+                    } catch (Exception e) {
+                        // Not valid JSON, diff it as it is.
+                    }
+                }
+
+                List<String> lines = Arrays.asList(text.split("\n", -1));
+                return lines.size() > maxLines ? new ArrayList<String>(lines.subList(0, maxLines)) : lines;
+            }
+
+            List<String> lines = new ArrayList<String>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (lines.size() < maxLines && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        }
+    }
+
+    private void evict() throws IOException {
+        if (totalBytes <= maxBytes) return;
+
+        Iterator<HistoryEntry> it = entries.values().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+            totalBytes -= it.next().getLength();
+            it.remove();
+        }
+
+        // Segments are append only, their space is returned once nothing in them is referenced anymore.
+        Set<Integer> live = new HashSet<Integer>();
+        StringBuilder rewritten = new StringBuilder();
+        for (HistoryEntry entry : entries.values()) {
+            live.add(entry.getSegment());
+            rewritten.append(gson.toJson(entry)).append("\n");
+        }
+
+        Path temp = directory.resolve("index.jsonl.tmp");
+        Files.writeString(temp, rewritten, StandardCharsets.UTF_8);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (int i = 0; i < segment; i++) {
+            if (!live.contains(i)) Files.deleteIfExists(segmentPath(i));
+        }
+    }
+
+    private void openSegment(int number) throws IOException {
+        if (writer != null) writer.close();
+
+        segment = number;
+        writer = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve("segment-" + number + ".gz");
+    }
+
+    // A segment holds many gzip members back to back, the stream ends with this entry's member.
+    private InputStream slice(FileChannel channel, long offset, long length) {
+        return new InputStream() {
+            private long position = offset;
+            private final long end = offset + length;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (position >= end) return -1;
+
+                int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+                if (read < 0) throw new IOException("Truncated history segment");
+                position += read;
+                return read;
+            }
+        };
+    }
+
+    private OutputStream spool(SpooledBody body) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                body.write(ByteBuffer.wrap(b, off, len));
+            }
+        };
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count = 0;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+    }
+
+    private OutputStream unclosable(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.pingpal.services;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.pingpal.helpers.HttpClientRegistry;
+import com.pingpal.helpers.LatencyHistogram;
+import com.pingpal.helpers.RequestHandler;
+import com.pingpal.helpers.RequestTemplate;
+import com.pingpal.models.RequestModel;
+
+public class LoadTest {
+
+    public enum Mode { RPS, CONCURRENCY }
+
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final RequestTemplate template;
+    private final Map<String, String> variables;
+    private final Mode mode;
+    private final int target;
+    private final Duration duration;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Written by whichever thread starts or stops the test and read by the UI thread.
+    private volatile long startedAt, deadline, finishedAt;
+
+    public LoadTest(RequestModel model, Mode mode, int target, Duration duration) {
+        this.template = RequestTemplate.compile(model);
+        this.variables = EnvironmentService.getInstance().getVariables();
+        this.mode = mode;
+        this.target = Math.max(1, target);
+        this.duration = duration;
+    }
+
+    public void start() {
+        if (!running.compareAndSet(false, true)) return;
+        startedAt = System.nanoTime();
+        deadline = startedAt + duration.toNanos();
+
+        if (mode == Mode.CONCURRENCY) {
+            for (int i = 0; i < target; i++) {
+                fire();
+            }
+        } else {
+            Thread.ofVirtual().name("pingpal-load").start(this::pace);
+        }
+    }
+
+    // The pacer, the workers and the UI can all stop the test, only the first one records when it finished.
+    public void stop() {
+        if (running.compareAndSet(true, false)) finishedAt = System.nanoTime();
+    }
+
+    public boolean isRunning() {
+        if (running.get() && System.nanoTime() >= deadline) stop();
+        return running.get() || inFlight.get() > 0;
+    }
+
+    private void pace() {
+        long interval = 1_000_000_000L / target;
+        long next = startedAt;
+
+        while (running.get() && next < deadline) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                dropped.increment();
+            } else {
+                fire();
+            }
+
+            next += interval;
+        }
+
+        stop();
+    }
+
+    private void fire() {
+        if (!running.get() || System.nanoTime() >= deadline) {
+            stop();
+            return;
+        }
+
+        // A handler per exchange, its duration is the same measurement a single send reports.
+        RequestHandler handler = template.newHandler(variables).setConsoleLogging(false);
+        inFlight.incrementAndGet();
+
+        handler.sendAsync().whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+
+            if (error != null) {
+                errors.increment();
+            } else {
+                histogram.record(handler.getDuration());
+                bytes.add(response.body().getSize());
+                response.body().close();
+                if (response.statusCode() >= 400) errors.increment();
+            }
+
+            // Hand the next exchange to the executor so failures that complete inline cannot recurse.
+            if (mode == Mode.CONCURRENCY) HttpClientRegistry.getExecutor().execute(this::fire);
+        });
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Duration getElapsed() {
+        // Right after a stop the finish time may not be written yet, until then the clock keeps running.
+        long end = running.get() || finishedAt == 0 ? System.nanoTime() : finishedAt;
+        return Duration.ofNanos(Math.max(0, end - startedAt));
+    }
+
+    public double getThroughput() {
+        double seconds = getElapsed().toNanos() / 1_000_000_000.0;
+        if (seconds <= 0) return 0;
+        return histogram.getCount() / seconds;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+}
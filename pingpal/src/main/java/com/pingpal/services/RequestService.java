@@ -1,53 +1,55 @@
 package com.pingpal.services;
 
 import java.lang.reflect.Type;
+import java.net.URLEncoder;
 import java.net.http.HttpResponse;
-import java.time.Instant;
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.pingpal.helpers.Env;
+import com.pingpal.helpers.PrefixIndex;
 import com.pingpal.helpers.RequestHandler;
 import com.pingpal.models.RequestModel;
 import com.webforj.component.optiondialog.OptionDialog;
 
 public class RequestService {
-    
-    private String token;
-    private Instant tokenExpiry;
 
-    public List<RequestModel> get() {
-        try {
-            final String BASE_URL = Env.get("PINGPAL_URL");
-            
-            if (BASE_URL == null || BASE_URL.isEmpty()) {
-                OptionDialog.showMessageDialog("PINGPAL_URL environment variable is not set. Please check your .env file.");
-                return null;
-            }
+    public static final int BULK_SIZE = 100;
+
+    // Backends without the bulk or search endpoint are remembered, later calls go straight to the fallback.
+    private static volatile boolean bulkUnsupported = false;
+    private static volatile boolean searchUnsupported = false;
 
-            RequestHandler request = new RequestHandler()
-                .setMethod("GET")
-                .setEndpoint(BASE_URL + "/requests")
-                .setConsoleLogging(false);
+    private final RequestStore store = RequestStore.getInstance();
+    private final TokenManager tokenManager = TokenManager.getInstance();
 
-            HashMap<String, String> headers = new HashMap<String, String>();
-            headers.put("Accept", "application/json");
-            headers.put("Content-Type", "application/json");
-            headers.put("Authorization", "Bearer " + getToken());
-            request.setHeaders(headers);
+    public List<RequestModel> get() {
+        final String BASE_URL = Env.get("PINGPAL_URL");
+
+        if (BASE_URL == null || BASE_URL.isEmpty()) {
+            OptionDialog.showMessageDialog("PINGPAL_URL environment variable is not set. Please check your .env file.");
+            return null;
+        }
 
-            // App.console().log("Endpoint: " + BASE_URL + "/requests | Token: " + getToken(), true);
-            HttpResponse<String> response = request.send();
-            // App.console().log("Response: " + response.statusCode() + " " + response.body(), true);
+        try {
+            HttpResponse<String> response = call("GET", "/requests", null, null);
+            check(response);
 
             Type listType = new TypeToken<List<RequestModel>>() {}.getType();
-            return new Gson().fromJson(response.body(), listType);
+            List<RequestModel> models = new Gson().fromJson(response.body(), listType);
+            store.replaceAll(models);
+
+            return store.getAll();
         } catch (Exception e) {
+            // Start from the local copy when the backend cannot be reached.
+            if (!store.isEmpty()) return store.getAll();
+
             String errorMessage = "Failed to fetch requests: " + e.getMessage();
             if (e.getMessage() != null && e.getMessage().contains("Connection refused")) {
                 errorMessage = "Cannot connect to API at " + Env.get("PINGPAL_URL") + ". Please ensure the API server is running.";
@@ -58,103 +60,150 @@ public class RequestService {
         return null;
     }
 
-    public RequestModel add(RequestModel model) {
-        try {
-            final String BASE_URL = Env.get("PINGPAL_URL");
+    // Returns null when the search failed, a backend without the search endpoint is searched in the local copy.
+    public List<RequestModel> search(String query, int limit) {
+        if (!searchUnsupported) {
+            try {
+                String path = "/requests/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&limit=" + limit;
+                HttpResponse<String> response = call("GET", path, null, null);
+
+                int status = response.statusCode();
+                if (status == 404 || status == 405 || status == 501) {
+                    searchUnsupported = true;
+                } else {
+                    check(response);
+
+                    Type listType = new TypeToken<List<RequestModel>>() {}.getType();
+                    List<RequestModel> models = new Gson().fromJson(response.body(), listType);
+                    if (models == null) return new ArrayList<RequestModel>();
+
+                    store.putAll(models);
+                    return models;
+                }
+            } catch (Exception e) {
+                OptionDialog.showMessageDialog("Failed to search requests: " + e.getMessage());
+                return null;
+            }
+        }
 
-            RequestHandler request = new RequestHandler()
-                .setMethod("POST")
-                .setEndpoint(BASE_URL + "/requests")
-                .setConsoleLogging(false);
+        List<RequestModel> found = new ArrayList<RequestModel>();
+        List<String> words = PrefixIndex.tokenize(query);
+        for (RequestModel model : store.getAll()) {
+            if (found.size() == limit) break;
 
-            HashMap<String, String> headers = new HashMap<String, String>();
-            headers.put("Accept", "application/json");
-            headers.put("Content-Type", "application/json");
-            headers.put("Authorization", "Bearer " + getToken());
-            request.setHeaders(headers);
+            List<String> tokens = PrefixIndex.tokenize(model.getName() + " " + model.getMethod() + " " + model.getUrl());
+            if (words.stream().allMatch(word -> tokens.stream().anyMatch(token -> token.startsWith(word)))) found.add(model);
+        }
+        return found;
+    }
 
-            Gson gson = new GsonBuilder().serializeNulls().create();
-            String body = gson.toJson(model);
-            request.setBody(body);
+    public List<RequestModel> getCached() {
+        return store.getAll();
+    }
 
-            HttpResponse<String> response = request.send();
-            return new Gson().fromJson(response.body(), RequestModel.class);
+    // Creating needs the id the backend assigns, so unlike update and delete it is not deferred.
+    public RequestModel add(RequestModel model) {
+        try {
+            return create(model);
         } catch (Exception e) {
             OptionDialog.showMessageDialog(e.toString());
         }
 
         return null;
     }
-    
-    public RequestModel update(RequestModel model) {
-        try {
-            final String BASE_URL = Env.get("PINGPAL_URL");
-
-            RequestHandler request = new RequestHandler()
-                .setMethod("PUT")
-                .setEndpoint(BASE_URL + "/requests/" + model.getId())
-                .setConsoleLogging(false);
 
-            HashMap<String, String> headers = new HashMap<String, String>();
-            headers.put("Accept", "application/json");
-            headers.put("Content-Type", "application/json");
-            headers.put("Authorization", "Bearer " + getToken());
-            request.setHeaders(headers);
+    // Creates the models in calls of up to BULK_SIZE requests. Errors are thrown so an import can stop,
+    // the requests created before the error are already stored.
+    public List<RequestModel> addAll(List<RequestModel> models) {
+        List<RequestModel> created = new ArrayList<RequestModel>(models.size());
 
-            Gson gson = new GsonBuilder().serializeNulls().create();
-            String body = gson.toJson(model);
-            request.setBody(body);
-
-            HttpResponse<String> response = request.send();
-            return new Gson().fromJson(response.body(), RequestModel.class);
+        try {
+            for (int start = 0; start < models.size(); start += BULK_SIZE) {
+                List<RequestModel> batch = models.subList(start, Math.min(models.size(), start + BULK_SIZE));
+                List<RequestModel> result = bulkUnsupported ? null : createBulk(batch);
+
+                if (result == null) {
+                    for (RequestModel model : batch) {
+                        created.add(create(model));
+                    }
+                } else {
+                    store.putAll(result);
+                    created.addAll(result);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            OptionDialog.showMessageDialog(e.toString());
+            throw new RuntimeException(e.getMessage(), e);
         }
 
-        return null;
+        return created;
     }
 
-    public RequestModel delete(String id) {
-        try {
-            final String BASE_URL = Env.get("PINGPAL_URL");
+    private RequestModel create(RequestModel model) throws Exception {
+        model.updateBody();
+        Gson gson = new GsonBuilder().serializeNulls().create();
+        HttpResponse<String> response = call("POST", "/requests", gson.toJson(model), null);
+        check(response);
 
-            RequestHandler request = new RequestHandler()
-                .setMethod("DELETE")
-                .setEndpoint(BASE_URL + "/requests/" + id)
-                .setConsoleLogging(false);
+        RequestModel created = new Gson().fromJson(response.body(), RequestModel.class);
+        store.put(created, response.headers().firstValue("ETag").orElse(null));
+        store.setBodyFile(created.getId(), model.getBodyFile());
+        created.setBodyFile(model.getBodyFile());
 
-            HashMap<String, String> headers = new HashMap<String, String>();
-            headers.put("Accept", "application/json");
-            headers.put("Content-Type", "application/json");
-            headers.put("Authorization", "Bearer " + getToken());
-            request.setHeaders(headers);
+        return created;
+    }
 
-            request.send();
-        } catch (Exception e) {
-            OptionDialog.showMessageDialog(e.toString());
+    // Returns null when the backend has no bulk endpoint.
+    private List<RequestModel> createBulk(List<RequestModel> models) throws Exception {
+        models.forEach(RequestModel::updateBody);
+        Gson gson = new GsonBuilder().serializeNulls().create();
+        HttpResponse<String> response = call("POST", "/requests/bulk", gson.toJson(models), null);
+
+        int status = response.statusCode();
+        if (status == 404 || status == 405 || status == 501) {
+            bulkUnsupported = true;
+            return null;
         }
+        check(response);
 
+        Type listType = new TypeToken<List<RequestModel>>() {}.getType();
+        List<RequestModel> created = new Gson().fromJson(response.body(), listType);
+        if (created == null || created.size() != models.size()) throw new RuntimeException("POST /requests/bulk returned " + (created == null ? 0 : created.size()) + " requests for " + models.size());
+
+        return created;
+    }
+
+    public RequestModel update(RequestModel model) {
+        model.updateBody();
+        RequestSync.getInstance().update(model);
+        return model;
+    }
+
+    public RequestModel delete(String id) {
+        RequestSync.getInstance().delete(id);
         return null;
     }
 
     public RequestModel getById(String id) {
-        try {
-            final String BASE_URL = Env.get("PINGPAL_URL");
+        return getById(id, null);
+    }
 
-            RequestHandler request = new RequestHandler()
-                .setMethod("GET")
-                .setEndpoint(BASE_URL + "/requests/" + id)
-                .setConsoleLogging(false);
+    // A cached model is returned right away, onRevalidated receives the backend's copy if it turns out to be newer.
+    public RequestModel getById(String id, Consumer<RequestModel> onRevalidated) {
+        RequestModel cached = store.get(id);
+        if (cached != null) {
+            RequestSync.getInstance().revalidate(id, onRevalidated);
+            return cached;
+        }
 
-            HashMap<String, String> headers = new HashMap<String, String>();
-            headers.put("Accept", "application/json");
-            headers.put("Content-Type", "application/json");
-            headers.put("Authorization", "Bearer " + getToken());
-            request.setHeaders(headers);
+        try {
+            HttpResponse<String> response = call("GET", "/requests/" + id, null, null);
+            check(response);
 
-            HttpResponse<String> response = request.send();
             RequestModel model = new Gson().fromJson(response.body(), RequestModel.class);
-            
+            if (model != null) store.put(model, response.headers().firstValue("ETag").orElse(null));
+
             return model;
         } catch (Exception e) {
             OptionDialog.showMessageDialog(e.toString());
@@ -163,62 +212,76 @@ public class RequestService {
         return null;
     }
 
-    private String getToken() throws Exception {
-        if (token != null && tokenExpiry != null && Instant.now().isBefore(tokenExpiry.minusSeconds(30))) {
-            return token;
+    // Returns the backend's copy when it differs from the cached one, null when nothing changed.
+    RequestModel revalidate(String id) throws Exception {
+        if (store.isPending(id)) return null;
+
+        HttpResponse<String> response = call("GET", "/requests/" + id, null, store.getVersion(id));
+        if (response.statusCode() == 304 || store.isPending(id)) return null;
+
+        if (response.statusCode() == 404) {
+            store.remove(id);
+            return null;
         }
 
-        final String BASE_URL = Env.get("PINGPAL_URL");
-        final String username = Env.get("PINGPAL_USERNAME");
-        final String password = Env.get("PINGPAL_PASSWORD");
-        
-        Map<String, String> bodyMap = new HashMap<>();
-        bodyMap.put("username", username);
-        bodyMap.put("password", password);
+        check(response);
+        RequestModel model = new Gson().fromJson(response.body(), RequestModel.class);
+        if (model == null) return null;
+
+        boolean changed = store.put(model, response.headers().firstValue("ETag").orElse(null));
+        return changed ? model : null;
+    }
+
+    String push(String id, String json) throws Exception {
+        HttpResponse<String> response = call("PUT", "/requests/" + id, json, null);
+        if (response.statusCode() == 404) return null;
 
-        Gson gson = new GsonBuilder().create();
-        String jsonBody = gson.toJson(bodyMap);
+        check(response);
+        return response.headers().firstValue("ETag").orElse(null);
+    }
+
+    String remove(String id) throws Exception {
+        HttpResponse<String> response = call("DELETE", "/requests/" + id, null, null);
+        if (response.statusCode() != 404) check(response);
+        return null;
+    }
+
+    private HttpResponse<String> call(String method, String path, String body, String etag) throws Exception {
+        String token = tokenManager.getToken();
+        HttpResponse<String> response = call(method, path, body, etag, token);
+
+        // The backend may have revoked the token before its expiry, log in again once.
+        if (response.statusCode() == 401) {
+            tokenManager.invalidate(token);
+            response = call(method, path, body, etag, tokenManager.getToken());
+        }
+
+        return response;
+    }
+
+    private HttpResponse<String> call(String method, String path, String body, String etag, String token) throws Exception {
+        final String BASE_URL = Env.get("PINGPAL_URL");
 
         RequestHandler request = new RequestHandler()
-            .setMethod("POST")
-            .setEndpoint(BASE_URL + "/auth/login")
-            .setConsoleLogging(false)
-            .setBody(jsonBody);
+            .setMethod(method)
+            .setEndpoint(BASE_URL + path)
+            .setConsoleLogging(false);
 
         HashMap<String, String> headers = new HashMap<String, String>();
         headers.put("Accept", "application/json");
         headers.put("Content-Type", "application/json");
+        headers.put("Authorization", "Bearer " + token);
+        if (etag != null) headers.put("If-None-Match", etag);
         request.setHeaders(headers);
 
-        // App.console().log("Endpoint: " + BASE_URL + "/auth/login", true);
-        HttpResponse<String> response = request.send();
-        // App.console().log("Response: " + response.statusCode() + " " + response.body(), true);
-
-        if (response.statusCode() != 200) throw new RuntimeException("Login failed: " + response.body());
-
-        Map<String, Object> result = gson.fromJson(response.body(), Map.class);
-        String newToken = (String) result.get("token");
-
-        if (newToken == null) throw new RuntimeException("No token in login response");
+        if (body != null) request.setBody(body);
 
-        this.token = newToken;
-        this.tokenExpiry = extractExpiryFromJwt(newToken);
-        
-        return this.token;
+        return request.send();
     }
 
-    private Instant extractExpiryFromJwt(String jwt) {
-        try {
-            String[] parts = jwt.split("\\.");
-            if (parts.length != 3) throw new IllegalArgumentException("Invalid JWT");
-
-            String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]));
-            Map<String, Object> payload = new Gson().fromJson(payloadJson, Map.class);
-            Double exp = (Double) payload.get("exp");
-
-            return Instant.ofEpochSecond(exp.longValue());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse JWT expiry", e);
+    private void check(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            throw new BackendException(response.request().method() + " " + response.uri() + " failed: " + response.statusCode() + " " + response.body(), response.statusCode());
         }
     }
 
@@ -0,0 +1,216 @@
+package com.pingpal.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.pingpal.helpers.Env;
+import com.pingpal.models.RequestModel;
+
+public class RequestStore {
+
+    public static final String DELETED = "";
+
+    private static final String DEFAULT_FILE = "pingpal.mv.db";
+    private static final Gson gson = new GsonBuilder().serializeNulls().create();
+    private static RequestStore instance;
+
+    private final MVStore store;
+    private final MVMap<String, String> requests;
+    private final MVMap<String, String> versions;
+    private final MVMap<String, String> outbox;
+    private final MVMap<String, String> rejected;
+    private final MVMap<String, String> bodyFiles;
+    private final MVMap<String, String> meta;
+
+    public static synchronized RequestStore getInstance() {
+        if (instance == null) {
+            String file = Env.get("PINGPAL_STORE");
+            instance = new RequestStore(file == null || file.isEmpty() ? DEFAULT_FILE : file);
+        }
+        return instance;
+    }
+
+    private RequestStore(String file) {
+        store = new MVStore.Builder().fileName(file).compress().open();
+        requests = store.openMap("requests");
+        versions = store.openMap("versions");
+        outbox = store.openMap("outbox");
+        rejected = store.openMap("rejected");
+        bodyFiles = store.openMap("bodyFiles");
+        meta = store.openMap("meta");
+    }
+
+    // Called when the webapp stops. A redeploy opens the file again from a new class loader, which fails while this one holds the lock.
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+
+        instance.store.close();
+        instance = null;
+    }
+
+    // Models are handed out as fresh copies, views mutate them and the store is shared by every session.
+    public synchronized List<RequestModel> getAll() {
+        List<RequestModel> models = new ArrayList<RequestModel>();
+        for (String id : getOrder()) {
+            String json = requests.get(id);
+            if (json != null) models.add(read(id, json));
+        }
+        return models;
+    }
+
+    public RequestModel get(String id) {
+        String json = requests.get(id);
+        return json == null ? null : read(id, json);
+    }
+
+    // Uploaded body files live on this server, so their paths are kept here instead of in the JSON shared with the backend.
+    public void setBodyFile(String id, String bodyFile) {
+        if (bodyFile != null && !bodyFile.isEmpty()) bodyFiles.put(id, bodyFile);
+        else bodyFiles.remove(id);
+    }
+
+    public boolean isEmpty() {
+        return requests.isEmpty();
+    }
+
+    public String getVersion(String id) {
+        return versions.get(id);
+    }
+
+    // Returns whether the cached copy changed.
+    public synchronized boolean put(RequestModel model, String version) {
+        String json = gson.toJson(model);
+        String previous = requests.put(model.getId(), json);
+        if (version != null) versions.put(model.getId(), version);
+        else versions.remove(model.getId());
+
+        LinkedHashSet<String> order = getOrder();
+        if (order.add(model.getId())) setOrder(order);
+
+        return !json.equals(previous);
+    }
+
+    // Imports and searches add many models at once, the order is only rewritten once for all of them.
+    public synchronized void putAll(List<RequestModel> models) {
+        LinkedHashSet<String> order = getOrder();
+        for (RequestModel model : models) {
+            order.add(model.getId());
+            if (outbox.containsKey(model.getId())) continue;
+
+            requests.put(model.getId(), gson.toJson(model));
+            versions.remove(model.getId());
+        }
+        setOrder(order);
+    }
+
+    public synchronized void remove(String id) {
+        requests.remove(id);
+        versions.remove(id);
+        bodyFiles.remove(id);
+
+        LinkedHashSet<String> order = getOrder();
+        if (order.remove(id)) setOrder(order);
+    }
+
+    // Replaces the cache with the backend's list, keeping local writes that have not been flushed yet.
+    public synchronized void replaceAll(List<RequestModel> models) {
+        LinkedHashSet<String> order = new LinkedHashSet<String>();
+
+        for (RequestModel model : models) {
+            String pending = outbox.get(model.getId());
+            if (DELETED.equals(pending)) continue;
+
+            order.add(model.getId());
+            if (pending != null) continue;
+
+            String json = gson.toJson(model);
+            if (!json.equals(requests.get(model.getId()))) {
+                requests.put(model.getId(), json);
+                versions.remove(model.getId());
+            }
+        }
+
+        for (String id : new ArrayList<String>(requests.keySet())) {
+            if (order.contains(id)) continue;
+            if (outbox.containsKey(id) && !DELETED.equals(outbox.get(id))) {
+                order.add(id);
+                continue;
+            }
+            requests.remove(id);
+            versions.remove(id);
+            bodyFiles.remove(id);
+        }
+
+        setOrder(order);
+    }
+
+    public void enqueueUpdate(RequestModel model) {
+        outbox.put(model.getId(), gson.toJson(model));
+    }
+
+    public void enqueueDelete(String id) {
+        outbox.put(id, DELETED);
+    }
+
+    public boolean isPending(String id) {
+        return outbox.containsKey(id);
+    }
+
+    public boolean hasPending() {
+        return !outbox.isEmpty();
+    }
+
+    public Map<String, String> getPending() {
+        return new LinkedHashMap<String, String>(outbox);
+    }
+
+    // Only clears the entry if it was not rewritten while it was being flushed.
+    public boolean complete(String id, String json, String version) {
+        if (!outbox.remove(id, json)) return false;
+        if (version != null && !DELETED.equals(json)) versions.put(id, version);
+        return true;
+    }
+
+    // Moves a write the backend refused out of the outbox, it is kept so the refused state is not lost.
+    public boolean reject(String id, String json) {
+        if (!outbox.remove(id, json)) return false;
+        rejected.put(id, json);
+        // The next revalidation fetches the backend's copy instead of confirming the local one.
+        versions.remove(id);
+        return true;
+    }
+
+    MVMap<String, String> openMap(String name) {
+        return store.openMap(name);
+    }
+
+    public void commit() {
+        store.commit();
+    }
+
+    private RequestModel read(String id, String json) {
+        RequestModel model = gson.fromJson(json, RequestModel.class);
+        model.setBodyFile(bodyFiles.get(id));
+        return model;
+    }
+
+    private LinkedHashSet<String> getOrder() {
+        String order = meta.get("order");
+        if (order == null || order.isEmpty()) return new LinkedHashSet<String>(requests.keySet());
+        return new LinkedHashSet<String>(Arrays.asList(order.split(",")));
+    }
+
+    private void setOrder(LinkedHashSet<String> order) {
+        meta.put("order", String.join(",", order));
+    }
+
+}
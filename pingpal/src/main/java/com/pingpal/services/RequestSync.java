@@ -0,0 +1,185 @@
+package com.pingpal.services;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.pingpal.helpers.Env;
+import com.pingpal.helpers.HttpClientRegistry;
+import com.pingpal.models.RequestModel;
+import com.webforj.Environment;
+
+public class RequestSync {
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(60);
+    private static RequestSync instance;
+
+    private final RequestStore store = RequestStore.getInstance();
+    private final RequestService backend = new RequestService();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pingpal-sync").daemon().factory());
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Set<BlockingQueue<String>> rejectionListeners = ConcurrentHashMap.newKeySet();
+    private final Duration interval;
+    private int failures = 0;
+
+    public static synchronized RequestSync getInstance() {
+        if (instance == null) instance = new RequestSync();
+        return instance;
+    }
+
+    // Called when the webapp stops, before the store is closed. Writes still in the outbox are flushed by the next start.
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+
+        instance.scheduler.shutdownNow();
+        try {
+            instance.scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        instance = null;
+    }
+
+    private RequestSync() {
+        interval = getInterval();
+
+        // Writes left over from a session that ended offline.
+        if (store.hasPending()) schedule(interval);
+    }
+
+    public void update(RequestModel model) {
+        store.put(model, store.getVersion(model.getId()));
+        store.setBodyFile(model.getId(), model.getBodyFile());
+        store.enqueueUpdate(model);
+        schedule(interval);
+    }
+
+    public void delete(String id) {
+        store.remove(id);
+        store.enqueueDelete(id);
+        schedule(interval);
+    }
+
+    public void revalidate(String id) {
+        revalidate(id, null);
+    }
+
+    // Called from the UI thread, the executor's thread inherits its environment so onChanged runs through runLater.
+    public void revalidate(String id, Consumer<RequestModel> onChanged) {
+        if (!revalidating.add(id)) return;
+
+        HttpClientRegistry.getExecutor().execute(() -> {
+            try {
+                RequestModel model = backend.revalidate(id);
+                if (model != null && onChanged != null) Environment.runLater(() -> onChanged.accept(model));
+            } catch (Exception e) {
+                // Offline, the cached copy stays until the next successful revalidation.
+            } finally {
+                revalidating.remove(id);
+            }
+        });
+    }
+
+    // Writes are flushed in the background, a session learns about the ones the backend refused through this listener.
+    // Called from the UI thread, the returned Runnable unsubscribes.
+    public Runnable onRejected(Consumer<String> listener) {
+        BlockingQueue<String> queue = new LinkedBlockingQueue<String>();
+        rejectionListeners.add(queue);
+
+        Thread thread = Thread.ofVirtual().name("pingpal-sync-rejections").start(() -> {
+            try {
+                while (true) {
+                    String message = queue.take();
+                    Environment.runLater(() -> listener.accept(message));
+                }
+            } catch (InterruptedException e) {
+                // Unsubscribed.
+            } catch (RuntimeException e) {
+                // The session's environment is gone.
+            } finally {
+                rejectionListeners.remove(queue);
+            }
+        });
+
+        return thread::interrupt;
+    }
+
+    // Edits within one interval coalesce on the outbox key, so only the latest state of a request is sent.
+    private void schedule(Duration delay) {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        scheduled.set(false);
+
+        for (Map.Entry<String, String> entry : store.getPending().entrySet()) {
+            String id = entry.getKey();
+            String json = entry.getValue();
+
+            try {
+                String version = RequestStore.DELETED.equals(json) ? backend.remove(id) : backend.push(id, json);
+                store.complete(id, json, version);
+                failures = 0;
+            } catch (BackendException e) {
+                if (!e.isRejected()) {
+                    retry();
+                    return;
+                }
+
+                // Sending it again would be refused again, the entry is set aside so the writes after it still go out.
+                reject(id, json, e);
+            } catch (Exception e) {
+                retry();
+                return;
+            }
+        }
+
+        store.commit();
+    }
+
+    private void retry() {
+        failures++;
+        long backoff = Math.min(MAX_BACKOFF.toMillis(), interval.toMillis() << Math.min(failures, 10));
+        schedule(Duration.ofMillis(backoff));
+    }
+
+    private void reject(String id, String json, BackendException error) {
+        RequestModel model = store.get(id);
+        if (!store.reject(id, json)) return;
+
+        String name = model != null ? "'" + model.getName() + "'" : id;
+        String action = RequestStore.DELETED.equals(json) ? "delete request " : "save the changes to request ";
+        String message = "The server refused to " + action + name + ": " + error.getMessage() + ". The server's copy was restored, reopen the request to see it.";
+        for (BlockingQueue<String> queue : rejectionListeners) {
+            queue.offer(message);
+        }
+
+        // Restores the backend's copy in the cache, the local edit or deletion no longer applies.
+        revalidate(id);
+    }
+
+    private static Duration getInterval() {
+        String value = Env.get("PINGPAL_SYNC_INTERVAL");
+
+        try {
+            if (value != null && !value.isBlank()) return Duration.ofMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // Fall through to the default below.
+        }
+
+        return DEFAULT_INTERVAL;
+    }
+
+}
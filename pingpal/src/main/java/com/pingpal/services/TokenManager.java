@@ -0,0 +1,187 @@
+package com.pingpal.services;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.pingpal.helpers.Env;
+import com.pingpal.helpers.HttpClientRegistry;
+import com.pingpal.helpers.RequestHandler;
+
+public class TokenManager {
+
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration MAX_REFRESH_AHEAD = Duration.ofSeconds(60);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+    private static final Gson gson = new Gson();
+    private static TokenManager instance;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pingpal-token").daemon().factory());
+    private volatile Token current;
+    private CompletableFuture<Token> inFlight;
+    private ScheduledFuture<?> refresh;
+
+    private static class Token {
+
+        private final String value;
+        private final Map<String, Object> claims;
+        private final Instant issuedAt = Instant.now();
+        private final Instant expiry;
+
+        private Token(String value, Map<String, Object> claims, Instant expiry) {
+            this.value = value;
+            this.claims = claims;
+            this.expiry = expiry;
+        }
+
+        private boolean isValid() {
+            return Instant.now().isBefore(expiry.minus(EXPIRY_MARGIN));
+        }
+
+    }
+
+    public static synchronized TokenManager getInstance() {
+        if (instance == null) instance = new TokenManager();
+        return instance;
+    }
+
+    // Called when the webapp stops, a login still running is abandoned.
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+
+        instance.scheduler.shutdownNow();
+        instance = null;
+    }
+
+    // Logs in ahead of the first call, so the first request usually finds a token waiting.
+    private TokenManager() {
+        String baseUrl = Env.get("PINGPAL_URL");
+        if (baseUrl != null && !baseUrl.isEmpty()) login();
+    }
+
+    public String getToken() throws Exception {
+        Token token = current;
+        if (token != null && token.isValid()) return token.value;
+
+        try {
+            return login().join().value;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    public Map<String, Object> getClaims() {
+        Token token = current;
+        return token != null ? token.claims : Collections.<String, Object>emptyMap();
+    }
+
+    // Called when the backend rejects a token, only drops it if nobody has replaced it in the meantime.
+    public synchronized void invalidate(String value) {
+        if (current != null && current.value.equals(value)) current = null;
+    }
+
+    // A caller that read the old token just before a login finished gets the new one instead of logging in again.
+    private synchronized CompletableFuture<Token> login() {
+        if (current != null && current.isValid()) return CompletableFuture.completedFuture(current);
+        return startLogin();
+    }
+
+    // Concurrent callers share the login that is already running instead of starting their own.
+    // Scheduled refreshes come here directly, they replace a token that is still valid.
+    private synchronized CompletableFuture<Token> startLogin() {
+        if (inFlight != null) return inFlight;
+
+        CompletableFuture<Token> login = CompletableFuture.supplyAsync(this::performLogin, HttpClientRegistry.getExecutor());
+        inFlight = login;
+
+        login.whenComplete((token, error) -> onLogin(token, error));
+        return login;
+    }
+
+    private synchronized void onLogin(Token token, Throwable error) {
+        inFlight = null;
+        if (refresh != null) refresh.cancel(false);
+
+        if (error != null) {
+            // Keep retrying in the background while the current token is still usable.
+            if (current != null && current.isValid()) refresh = scheduler.schedule(this::startLogin, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        current = token;
+
+        Duration lifetime = Duration.between(token.issuedAt, token.expiry);
+        Duration ahead = lifetime.dividedBy(5).compareTo(MAX_REFRESH_AHEAD) < 0 ? lifetime.dividedBy(5) : MAX_REFRESH_AHEAD;
+        long delay = Math.max(RETRY_DELAY.toMillis(), Duration.between(Instant.now(), token.expiry.minus(EXPIRY_MARGIN).minus(ahead)).toMillis());
+
+        refresh = scheduler.schedule(this::startLogin, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private Token performLogin() {
+        try {
+            final String BASE_URL = Env.get("PINGPAL_URL");
+            final String username = Env.get("PINGPAL_USERNAME");
+            final String password = Env.get("PINGPAL_PASSWORD");
+
+            Map<String, String> bodyMap = new HashMap<>();
+            bodyMap.put("username", username);
+            bodyMap.put("password", password);
+
+            RequestHandler request = new RequestHandler()
+                .setMethod("POST")
+                .setEndpoint(BASE_URL + "/auth/login")
+                .setConsoleLogging(false)
+                .setBody(gson.toJson(bodyMap));
+
+            HashMap<String, String> headers = new HashMap<String, String>();
+            headers.put("Accept", "application/json");
+            headers.put("Content-Type", "application/json");
+            request.setHeaders(headers);
+
+            HttpResponse<String> response = request.send();
+
+            if (response.statusCode() != 200) throw new RuntimeException("Login failed: " + response.body());
+
+            Map<String, Object> result = gson.fromJson(response.body(), Map.class);
+            String token = (String) result.get("token");
+
+            if (token == null) throw new RuntimeException("No token in login response");
+
+            Map<String, Object> claims = decodeClaims(token);
+            Double exp = (Double) claims.get("exp");
+            if (exp == null) throw new RuntimeException("Failed to parse JWT expiry");
+
+            return new Token(token, claims, Instant.ofEpochSecond(exp.longValue()));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private Map<String, Object> decodeClaims(String jwt) {
+        try {
+            String[] parts = jwt.split("\\.");
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid JWT");
+
+            String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]));
+            Map<String, Object> payload = gson.fromJson(payloadJson, Map.class);
+
+            return Collections.unmodifiableMap(payload);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse JWT claims", e);
+        }
+    }
+
+}
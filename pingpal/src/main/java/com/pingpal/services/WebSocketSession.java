@@ -0,0 +1,302 @@
+package com.pingpal.services;
+
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pingpal.helpers.LatencyHistogram;
+import com.pingpal.helpers.RequestHandler;
+import com.pingpal.models.WebSocketMessage;
+
+public class WebSocketSession implements WebSocket.Listener {
+
+    private static final int MAX_PENDING_ECHOES = 1_000;
+    private static final int MAX_QUEUED = 5_000;
+
+    private final RequestHandler handler;
+
+    // Drained by the view every half second, the oldest messages are dropped if a fast server outpaces it.
+    private final ConcurrentLinkedQueue<WebSocketMessage> incoming = new ConcurrentLinkedQueue<WebSocketMessage>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder sentMessages = new LongAdder(), sentBytes = new LongAdder();
+    private final LongAdder receivedMessages = new LongAdder(), receivedBytes = new LongAdder();
+
+    // Send times per payload waiting for their echo, the oldest payloads and the oldest times of a repeated payload
+    // are forgotten if the server never echoes.
+    private final LinkedHashMap<String, ArrayDeque<Long>> pendingEchoes = new LinkedHashMap<String, ArrayDeque<Long>>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArrayDeque<Long>> eldest) {
+            return size() > MAX_PENDING_ECHOES;
+        }
+    };
+
+    private final StringBuilder text = new StringBuilder();
+    private long binary = 0;
+    private volatile WebSocket socket;
+    private volatile CompletableFuture<WebSocket> connecting;
+    private volatile boolean open = false, closing = false;
+    private volatile Runnable onClose;
+
+    public WebSocketSession(RequestHandler handler) {
+        this.handler = handler;
+    }
+
+    public CompletableFuture<WebSocket> connect() {
+        CompletableFuture<WebSocket> future = handler.openWebSocket(this);
+        connecting = future;
+
+        return future.whenComplete((socket, error) -> {
+            connecting = null;
+
+            if (error != null) {
+                event(closing ? "Connection cancelled" : "Connection failed: " + (error.getCause() != null ? error.getCause() : error));
+                closed();
+            } else if (closing) {
+                // Closed while the handshake was still running, the socket opened for a view that no longer wants it.
+                abort(socket);
+            }
+        });
+    }
+
+    public CompletableFuture<WebSocket> send(String message) {
+        WebSocket current = socket;
+        if (current == null || !open) return CompletableFuture.failedFuture(new IllegalStateException("The WebSocket is not open"));
+
+        long size = message.getBytes(StandardCharsets.UTF_8).length;
+        synchronized (pendingEchoes) {
+            ArrayDeque<Long> times = pendingEchoes.computeIfAbsent(message, key -> new ArrayDeque<Long>());
+            if (times.size() == MAX_PENDING_ECHOES) times.poll();
+            times.add(System.nanoTime());
+        }
+
+        // Logged before sending, a fast echo would otherwise show up ahead of its message.
+        enqueue(new WebSocketMessage(WebSocketMessage.Direction.SENT, message, size, -1));
+
+        // The JDK allows a single outstanding send, callers wait for the previous one before sending again.
+        return current.sendText(message, true).whenComplete((ws, error) -> {
+            if (error != null) {
+                event("Send failed: " + error);
+                return;
+            }
+
+            sentMessages.increment();
+            sentBytes.add(size);
+        });
+    }
+
+    // Each send starts once the previous one completed, so a burst measures what the connection sustains.
+    // The next send is only created then, a large count does not build its whole chain up front.
+    public CompletableFuture<WebSocket> send(String message, int count) {
+        CompletableFuture<WebSocket> done = new CompletableFuture<WebSocket>();
+        sendNext(message, count, done);
+        return done;
+    }
+
+    private void sendNext(String message, int remaining, CompletableFuture<WebSocket> done) {
+        // A send that completed at once continues in this loop, chaining it would recurse once per message.
+        CompletableFuture<WebSocket> sent;
+        while ((sent = send(message)).isDone()) {
+            if (finish(sent, remaining, done)) return;
+            remaining--;
+        }
+
+        CompletableFuture<WebSocket> pending = sent;
+        int left = remaining;
+        pending.whenComplete((ws, error) -> {
+            if (!finish(pending, left, done)) sendNext(message, left - 1, done);
+        });
+    }
+
+    // Completes the burst after its last send, a failed send or a close, returns false while sends remain.
+    private boolean finish(CompletableFuture<WebSocket> sent, int remaining, CompletableFuture<WebSocket> done) {
+        WebSocket ws;
+        try {
+            ws = sent.join();
+        } catch (CompletionException | CancellationException e) {
+            done.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+            return true;
+        }
+
+        if (remaining > 1 && !closing) return false;
+        done.complete(ws);
+        return true;
+    }
+
+    public void close() {
+        closing = true;
+
+        WebSocket current = socket;
+        if (current == null) {
+            // Still connecting, the completion in connect aborts the socket if the handshake finishes anyway.
+            CompletableFuture<WebSocket> pending = connecting;
+            if (pending != null) pending.cancel(true);
+            return;
+        }
+
+        if (open) {
+            current.sendClose(WebSocket.NORMAL_CLOSURE, "").whenComplete((ws, error) -> {
+                if (error != null) abort(current);
+            });
+        } else {
+            abort(current);
+        }
+    }
+
+    // The client does not call the listener after an abort, so the session reports itself closed.
+    private void abort(WebSocket webSocket) {
+        webSocket.abort();
+        if (open) event("Disconnected");
+        closed();
+    }
+
+    public void onClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        socket = webSocket;
+        if (closing) {
+            webSocket.abort();
+            return;
+        }
+        open = true;
+
+        String protocol = webSocket.getSubprotocol();
+        event("Connected" + (protocol != null && !protocol.isEmpty() ? " using " + protocol : ""));
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        text.append(data);
+
+        if (last) {
+            String message = text.toString();
+            text.setLength(0);
+
+            long size = message.getBytes(StandardCharsets.UTF_8).length;
+            Long sentAt = null;
+            synchronized (pendingEchoes) {
+                ArrayDeque<Long> times = pendingEchoes.get(message);
+                if (times != null) {
+                    sentAt = times.poll();
+                    if (times.isEmpty()) pendingEchoes.remove(message);
+                }
+            }
+
+            long micros = sentAt != null ? (System.nanoTime() - sentAt) / 1000 : -1;
+            if (micros >= 0) latency.record(micros);
+
+            receivedMessages.increment();
+            receivedBytes.add(size);
+            enqueue(new WebSocketMessage(WebSocketMessage.Direction.RECEIVED, message, size, micros));
+        }
+
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+        binary += data.remaining();
+
+        if (last) {
+            receivedMessages.increment();
+            receivedBytes.add(binary);
+            enqueue(new WebSocketMessage(WebSocketMessage.Direction.RECEIVED, "[" + binary + " bytes of binary data]", binary, -1));
+            binary = 0;
+        }
+
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        event("Closed by the server: " + statusCode + (reason != null && !reason.isEmpty() ? " " + reason : ""));
+        closed();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        event("Error: " + error);
+        closed();
+    }
+
+    // Called on the client's threads, the callback has to post back to the UI itself.
+    private void closed() {
+        open = false;
+        Runnable callback = onClose;
+        onClose = null;
+        if (callback != null) callback.run();
+    }
+
+    private void event(String message) {
+        enqueue(new WebSocketMessage(WebSocketMessage.Direction.EVENT, message, 0, -1));
+    }
+
+    private void enqueue(WebSocketMessage message) {
+        incoming.add(message);
+        if (queued.incrementAndGet() > MAX_QUEUED && incoming.poll() != null) {
+            queued.decrementAndGet();
+            droppedMessages.increment();
+        }
+    }
+
+    public WebSocketMessage poll() {
+        WebSocketMessage message = incoming.poll();
+        if (message != null) queued.decrementAndGet();
+        return message;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getReceivedMessages() {
+        return receivedMessages.sum();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    int getPendingEchoes() {
+        synchronized (pendingEchoes) {
+            int count = 0;
+            for (ArrayDeque<Long> times : pendingEchoes.values()) count += times.size();
+            return count;
+        }
+    }
+
+}
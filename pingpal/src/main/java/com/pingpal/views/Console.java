@@ -1,38 +1,157 @@
 package com.pingpal.views;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 import com.pingpal.components.Placeholder;
+import com.pingpal.helpers.LogBuffer;
+import com.webforj.Interval;
+import com.webforj.Page;
+import com.webforj.component.Expanse;
+import com.webforj.component.button.Button;
+import com.webforj.component.field.TextField;
 import com.webforj.component.html.elements.Div;
-import com.webforj.component.html.elements.Paragraph;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.table.Table;
+import com.webforj.data.repository.CollectionRepository;
 import com.webforj.environment.ObjectTable;
 
 public class Console extends Div {
 
+    private static final int CAPACITY = 5000;
+
     private Placeholder placeholder;
+    private FlexLayout content;
+    private ChoiceBox level;
+    private TextField search;
+    private Table<LogBuffer.Entry> table;
+    private LogBuffer buffer = new LogBuffer(CAPACITY);
+    private CollectionRepository<LogBuffer.Entry> repository = new CollectionRepository<LogBuffer.Entry>(buffer);
     private DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // Lines printed in quick succession are shown together, the table re-renders once per tick instead of once per line.
+    private Interval interval = new Interval(0.25f, e -> flush());
+
     public Console() {
+        this(true);
+    }
+
+    // Only the request view's console receives the request log, other consoles are fed directly.
+    public Console(boolean register) {
         setWidth("100%");
         setHeight("100%");
-        setStyle("overflow-x", "auto");
-        setStyle("word-wrap", "break-word");
 
         placeholder = new Placeholder("Your console is empty.");
         add(placeholder);
 
-        ObjectTable.put("CONSOLE", this);
+        content = new FlexLayout();
+        content.setDirection(FlexDirection.COLUMN);
+        content.setSpacing("10px");
+        content.setHeight("100%");
+        content.setVisible(false);
+        add(content);
+
+        FlexLayout toolbar = new FlexLayout();
+        toolbar.setAlignment(FlexAlignment.CENTER);
+        toolbar.setSpacing("10px");
+
+        level = new ChoiceBox();
+        level.add("ALL", "All levels");
+        for (LogBuffer.Level value : LogBuffer.Level.values()) {
+            level.add(value.name(), value.name().charAt(0) + value.name().substring(1).toLowerCase(Locale.ROOT));
+        }
+        level.selectIndex(0);
+        level.setExpanse(Expanse.SMALL);
+        level.onSelect(e -> applyFilter());
+
+        search = new TextField();
+        search.setPlaceholder("Search");
+        search.setExpanse(Expanse.SMALL);
+        search.onModify(e -> applyFilter());
+
+        Button export = new Button("Export");
+        export.setExpanse(Expanse.SMALL);
+        export.onClick(e -> export());
+
+        Button clear = new Button("Clear");
+        clear.setExpanse(Expanse.SMALL);
+        clear.onClick(e -> clear());
+
+        toolbar.add(level, search, export, clear);
+
+        // The table only renders the rows in view, the buffer bounds what is kept on the server.
+        table = new Table<LogBuffer.Entry>();
+        table.setWidth("100%");
+        table.setHeight("100%");
+        table.addColumn("Time", entry -> entry.getTimestamp().format(formatter));
+        table.addColumn("Level", entry -> entry.getLevel().name());
+        table.addColumn("Message", LogBuffer.Entry::getMessage);
+        table.setSelectionMode(Table.SelectionMode.NONE);
+        table.setRepository(repository);
+
+        content.add(toolbar, table);
+
+        if (register) ObjectTable.put("CONSOLE", this);
     }
 
     public void print(String message) {
+        print(LogBuffer.Level.INFO, message);
+    }
+
+    public void print(LogBuffer.Level level, String message) {
+        buffer.add(level, message);
+
+        if (!interval.isRunning()) interval.start();
+    }
+
+    @Override
+    protected void onDidDestroy() {
+        super.onDidDestroy();
+        interval.stop();
+    }
+
+    private void flush() {
+        interval.stop();
+
         placeholder.setVisible(false);
-        
-        String timestamp = LocalDateTime.now().format(formatter);
+        content.setVisible(true);
+        repository.commit();
+    }
+
+    private void applyFilter() {
+        Object key = level.getSelectedKey();
+        String selected = key != null ? key.toString() : "ALL";
+        String query = search.getValue() != null ? search.getValue().trim().toLowerCase(Locale.ROOT) : "";
+
+        repository.setBaseFilter(entry -> (selected.equals("ALL") || entry.getLevel().name().equals(selected))
+            && (query.isEmpty() || entry.getMessage().toLowerCase(Locale.ROOT).contains(query)));
+        repository.commit();
+    }
+
+    private void export() {
+        StringBuilder log = new StringBuilder();
+        synchronized (buffer) {
+            for (LogBuffer.Entry entry : buffer) {
+                log.append(entry.getTimestamp().format(formatter)).append(" | ")
+                    .append(entry.getLevel().name()).append(" | ")
+                    .append(entry.getMessage()).append("\n");
+            }
+        }
+
+        Page.getCurrent().download(log.toString().getBytes(StandardCharsets.UTF_8), "pingpal-console.log");
+    }
+
+    private void clear() {
+        interval.stop();
+        buffer.clear();
+        repository.commit();
 
-        Paragraph text = new Paragraph();
-        text.setHtml(timestamp + " | " + message);
-        add(text);
+        content.setVisible(false);
+        placeholder.setVisible(true);
     }
 
 }
@@ -0,0 +1,156 @@
+package com.pingpal.views;
+
+import com.pingpal.components.KeyValue;
+import com.pingpal.components.Placeholder;
+import com.pingpal.models.EnvironmentModel;
+import com.pingpal.services.EnvironmentService;
+import com.pingpal.views.layout.AppLayout;
+import com.webforj.component.Composite;
+import com.webforj.component.Expanse;
+import com.webforj.component.button.Button;
+import com.webforj.component.button.ButtonTheme;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.optiondialog.OptionDialog;
+import com.webforj.component.text.Label;
+import com.webforj.router.annotation.Route;
+
+@Route(value = "/environments", outlet = AppLayout.class)
+public class EnvironmentsView extends Composite<Div> {
+
+    private Div self = getBoundComponent();
+    private ChoiceBox environments;
+    private KeyValue variables;
+    private Label status;
+    private Placeholder placeholder;
+    private FlexLayout editor;
+    private EnvironmentService environmentService = EnvironmentService.getInstance();
+
+    public EnvironmentsView() {
+        self.setWidth("100%");
+        self.setHeight("calc(100% - 20px)");
+        self.setStyle("padding", "10px");
+        self.setStyle("overflow", "auto");
+
+        FlexLayout layout = new FlexLayout();
+        layout.setDirection(FlexDirection.COLUMN);
+        layout.setSpacing("10px");
+        self.add(layout);
+
+        Label heading = new Label("Environments");
+        Label help = new Label("Use {{name}} in the URL, params, headers, authentication or body of a request to insert a variable from the active environment.");
+
+        FlexLayout toolbar = new FlexLayout();
+        toolbar.setAlignment(FlexAlignment.END);
+        toolbar.setSpacing("10px");
+
+        environments = new ChoiceBox("Environment");
+        environments.setExpanse(Expanse.LARGE);
+        environments.onSelect(e -> showSelected());
+
+        Button create = new Button("New");
+        create.setExpanse(Expanse.LARGE);
+        create.onClick(e -> createEnvironment());
+
+        Button delete = new Button("Delete");
+        delete.setExpanse(Expanse.LARGE);
+        delete.onClick(e -> deleteEnvironment());
+
+        Button use = new Button("Use");
+        use.setExpanse(Expanse.LARGE);
+        use.onClick(e -> useEnvironment());
+
+        toolbar.add(environments, create, delete, use);
+
+        status = new Label();
+        placeholder = new Placeholder("There are no environments yet, create one to get started.");
+
+        editor = new FlexLayout();
+        editor.setDirection(FlexDirection.COLUMN);
+        editor.setSpacing("10px");
+
+        variables = new KeyValue();
+
+        Button save = new Button("Save");
+        save.setExpanse(Expanse.LARGE);
+        save.setTheme(ButtonTheme.PRIMARY);
+        save.onClick(e -> saveEnvironment());
+
+        editor.add(variables, save);
+        layout.add(heading, help, toolbar, status, placeholder, editor);
+
+        reload(environmentService.getActive());
+    }
+
+    private void reload(String selected) {
+        environments.removeAll();
+        for (String name : environmentService.getNames()) {
+            environments.add(name, name);
+        }
+
+        boolean empty = environmentService.getNames().isEmpty();
+        placeholder.setVisible(empty);
+        editor.setVisible(!empty);
+
+        if (selected != null && environmentService.get(selected) != null) environments.selectKey(selected);
+        else if (!empty) environments.selectIndex(0);
+
+        showSelected();
+    }
+
+    private String getSelected() {
+        Object key = environments.getSelectedKey();
+        return key != null ? key.toString() : null;
+    }
+
+    private void showSelected() {
+        String active = environmentService.getActive();
+        status.setText(active != null ? "Active environment: " + active : "No environment is active.");
+
+        EnvironmentModel environment = environmentService.get(getSelected());
+        if (environment != null) variables.setData(environment.getVariables());
+    }
+
+    private void createEnvironment() {
+        String name = OptionDialog.showInputDialog("What is the name of the new environment?", "New environment");
+        if (name == null || name.isBlank()) return;
+
+        name = name.trim();
+        if (environmentService.get(name) != null) {
+            OptionDialog.showMessageDialog("An environment named '" + name + "' already exists.");
+            return;
+        }
+
+        environmentService.save(new EnvironmentModel(name));
+        reload(name);
+    }
+
+    private void deleteEnvironment() {
+        String name = getSelected();
+        if (name == null) return;
+
+        environmentService.delete(name);
+        reload(null);
+    }
+
+    private void useEnvironment() {
+        String name = getSelected();
+        if (name == null) return;
+
+        environmentService.setActive(name);
+        showSelected();
+    }
+
+    private void saveEnvironment() {
+        String name = getSelected();
+        if (name == null) return;
+
+        EnvironmentModel environment = new EnvironmentModel(name);
+        environment.setVariables(variables.getData());
+        environmentService.save(environment);
+    }
+
+}
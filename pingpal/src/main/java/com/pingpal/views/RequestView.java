@@ -1,30 +1,41 @@
 package com.pingpal.views;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.time.Instant;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.google.gson.Gson;
+import com.pingpal.helpers.AssertionEvaluator;
 import com.pingpal.helpers.RequestHandler;
+import com.pingpal.helpers.SpooledBody;
+import com.pingpal.models.AssertionResult;
 import com.pingpal.models.RequestModel;
+import com.pingpal.models.RequestTiming;
+import com.pingpal.services.HistoryStore;
+import com.pingpal.services.LoadTest;
 import com.pingpal.services.RequestService;
+import com.pingpal.services.WebSocketSession;
 import com.pingpal.views.layout.AppLayout;
 import com.pingpal.views.request.RequestHeader;
 import com.pingpal.views.request.RequestTabControl;
 import com.pingpal.views.request.RequestToolbar;
 import com.pingpal.views.response.ResponseTabControl;
 import com.webforj.App;
+import com.webforj.Environment;
 import com.webforj.component.Composite;
-import com.webforj.component.Theme;
 import com.webforj.component.html.elements.Div;
 import com.webforj.component.layout.flexlayout.FlexDirection;
 import com.webforj.component.layout.flexlayout.FlexLayout;
 import com.webforj.component.layout.splitter.Splitter;
-import com.webforj.component.loading.Loading;
+import com.webforj.component.optiondialog.ConfirmDialog;
 import com.webforj.component.optiondialog.OptionDialog;
 import com.webforj.router.Router;
 import com.webforj.router.annotation.Route;
@@ -36,14 +47,18 @@ import com.webforj.router.observer.DidEnterObserver;
 @Route(value = "/requests/:id<[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}>", outlet = AppLayout.class)
 public class RequestView extends Composite<Div> implements DidEnterObserver {
 
+    private static final Gson gson = new Gson();
+
     private Div self = getBoundComponent();
-    private Loading loading;
     private RequestHeader header;
     private RequestToolbar toolbar;
     private RequestTabControl requestTabControl;
     private ResponseTabControl responseTabControl;
     private RequestModel model;
     private RequestService requestService;
+    private LoadTest loadTest;
+    private RequestHandler pending;
+    private String shown;
     
     public RequestView() {
         self.setWidth("100%");
@@ -51,10 +66,6 @@ public class RequestView extends Composite<Div> implements DidEnterObserver {
         self.setStyle("padding", "10px");
         self.setStyle("overflow", "hidden");
 
-        loading = new Loading("Sending request...");
-        loading.getSpinner().setTheme(Theme.PRIMARY);
-        self.add(loading);
-
         FlexLayout top = new FlexLayout();
         top.setDirection(FlexDirection.COLUMN);
         top.setSpacing("10px");
@@ -87,21 +98,38 @@ public class RequestView extends Composite<Div> implements DidEnterObserver {
     private void onSaveModel(RequestModel model) {
         if (requestService == null) requestService = new RequestService();
 
+        applyForm(model);
+        requestService.update(model);
+        shown = readForm();
+    }
+
+    private void applyForm(RequestModel model) {
+        applyForm(model, requestTabControl.getBody().getText());
+    }
+
+    // The body text is read from the browser, callers that already hold it pass it in instead of reading it again.
+    private void applyForm(RequestModel model, String bodyText) {
         model.setMethod(toolbar.getMethod());
         model.setUrl(toolbar.getEndpoint());
         model.setParams(requestTabControl.getParams());
         model.setHeaders(requestTabControl.getHeaders());
         model.setAuthData(requestTabControl.getAuthData());
-        model.setBody(requestTabControl.getBody());
-        requestService.update(model);
+        // Sends only need the raw text, the parsed map is filled when the model is saved.
+        model.setBody(null);
+        model.setRawBody(bodyText);
+        model.setBodyFile(requestTabControl.getBody().getFile());
+        model.setCompressBody(requestTabControl.getBody().isCompressed());
+        model.setTimeout(toolbar.getTimeout());
+        model.setProtocol(toolbar.getProtocol());
+        model.setAssertions(requestTabControl.getAssertions());
     }
 
-    public void sendRequest() {
+    private boolean validateEndpoint() {
         String endpoint = toolbar.getEndpoint().trim();
 
         if (endpoint.isEmpty()) {
             OptionDialog.showMessageDialog("Please fill in a valid endpoint.");
-            return;
+            return false;
         }
 
         try {
@@ -109,44 +137,164 @@ public class RequestView extends Composite<Div> implements DidEnterObserver {
 
             if (uri.getScheme() == null || uri.getHost() == null) {
                 OptionDialog.showMessageDialog("The endpoint must include a valid scheme and host.");
-                return;
+                return false;
             }
 
-            if (!uri.getScheme().equalsIgnoreCase("http") && !uri.getScheme().equalsIgnoreCase("https")) {
+            if (isWebSocket()) {
+                if (!uri.getScheme().equalsIgnoreCase("ws") && !uri.getScheme().equalsIgnoreCase("wss")) {
+                    OptionDialog.showMessageDialog("WebSocket requests need a ws:// or wss:// URL.");
+                    return false;
+                }
+            } else if (!uri.getScheme().equalsIgnoreCase("http") && !uri.getScheme().equalsIgnoreCase("https")) {
                 OptionDialog.showMessageDialog("Only HTTP and HTTPS URLs are allowed.");
-                return;
+                return false;
             }
         } catch (URISyntaxException e) {
             OptionDialog.showMessageDialog("The endpoint is not a valid URL.");
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean isWebSocket() {
+        return toolbar.getMethod().equals(RequestHandler.WEBSOCKET);
+    }
+
+    public void sendRequest() {
+        if (!validateEndpoint() || pending != null) return;
+
+        if (isWebSocket()) {
+            openWebSocket();
             return;
         }
 
-        loading.open();
+        // Any body is sent as it is, a JSON error is only reported next to the editor.
+        String bodyText = requestTabControl.getBody().getText();
+        requestTabControl.getBody().validate(bodyText);
 
-        try {
-            String json = new Gson().toJson(requestTabControl.getBody());
-
-            RequestHandler service = new RequestHandler()
-                .setMethod(toolbar.getMethod())
-                .setEndpoint(toolbar.getEndpoint())
-                .setAuthenticationData(requestTabControl.getAuthData())
-                .setParams(requestTabControl.getParams())
-                .setHeaders(requestTabControl.getHeaders())
-                .setBody(json);
-            
-            Instant start = Instant.now();
-            HttpResponse<String> response = service.send();
-            Instant end = Instant.now();
-            Duration duration = Duration.between(start, end);
-            
-            responseTabControl.setResponse(response, duration);
+        RequestModel snapshot = new RequestModel();
+        applyForm(snapshot, bodyText);
+        RequestHandler handler = RequestHandler.from(snapshot)
+            .setTimingProbe(toolbar.isEstimatingPhases())
+            .setStreamListener(responseTabControl.getStream().start());
+
+        pending = handler;
+        toolbar.setSending(true);
+
+        String requestId = model != null ? model.getId() : null;
+        String method = toolbar.getMethod(), endpoint = toolbar.getEndpoint();
+        AssertionEvaluator evaluator = AssertionEvaluator.compile(snapshot.getAssertions());
+        CompletableFuture<HttpResponse<SpooledBody>> future = handler.sendAsync();
+
+        // Started from the UI thread, so the waiting thread can post the result back through runLater.
+        Thread.ofVirtual().start(() -> {
+            HttpResponse<SpooledBody> response;
+            List<AssertionResult> results;
+            InputStream recorded;
+
+            try {
+                response = future.join();
+                // Checked before the body is rendered, small bodies are released once they are shown.
+                results = evaluator.isEmpty() ? null : evaluator.evaluate(response, handler.getDuration());
+                // Opened before the body is handed to the view, the stream keeps reading after the body is released.
+                recorded = requestId != null ? response.body().openStream() : null;
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                Environment.runLater(() -> onError(handler, cause));
+                return;
+            }
+
+            Environment.runLater(() -> onResponse(handler, response, results));
+            if (recorded != null && record(requestId, method, endpoint, response, recorded, handler.getTiming())) {
+                Environment.runLater(() -> responseTabControl.getHistory().refresh());
+            }
+        });
+    }
+
+    // Recorded after the response is shown, compressing a large body would otherwise hold it back.
+    private boolean record(String requestId, String method, String endpoint, HttpResponse<SpooledBody> response, InputStream body, RequestTiming timing) {
+        try (body) {
+            HistoryStore.getInstance().record(requestId, method, endpoint, response, body, timing);
+            return true;
         } catch (Exception e) {
-            responseTabControl.setError(e.toString());
-        } finally {
-            loading.close();
+            // The history is best effort, the response is still shown.
+            return false;
+        }
+    }
+
+    private void openWebSocket() {
+        if (responseTabControl.getWebSocket().isOpen()) return;
+
+        RequestModel snapshot = new RequestModel();
+        applyForm(snapshot);
+
+        // The toolbar stays in its sending state while the connection is open, Cancel closes it.
+        toolbar.setSending(true);
+        responseTabControl.selectTab(responseTabControl.getWebSocket());
+        responseTabControl.getWebSocket().open(new WebSocketSession(RequestHandler.from(snapshot)), () -> toolbar.setSending(false));
+    }
+
+    public void cancelRequest() {
+        if (pending != null) pending.cancel();
+        else responseTabControl.getWebSocket().disconnect();
+    }
+
+    private void onResponse(RequestHandler handler, HttpResponse<SpooledBody> response, List<AssertionResult> results) {
+        if (handler != pending) {
+            response.body().close();
+            return;
+        }
+
+        pending = null;
+        toolbar.setSending(false);
+        responseTabControl.getStream().stop();
+
+        handler.logResponse(response);
+        responseTabControl.setResponse(response, handler.getTiming());
+        responseTabControl.setResults(results);
+    }
+
+    private void onError(RequestHandler handler, Throwable error) {
+        if (handler != pending) return;
+
+        pending = null;
+        toolbar.setSending(false);
+        responseTabControl.getStream().stop();
+
+        handler.logError(error);
+
+        if (error instanceof CancellationException) {
+            responseTabControl.setError("The request was cancelled.");
+        } else if (error instanceof HttpTimeoutException) {
+            responseTabControl.setError("The request timed out: " + error.getMessage());
+        } else {
+            responseTabControl.setError(error.toString());
         }
     }
 
+    public void toggleLoadTest() {
+        if (loadTest != null && loadTest.isRunning()) {
+            loadTest.stop();
+            return;
+        }
+
+        if (!validateEndpoint()) return;
+
+        if (isWebSocket()) {
+            OptionDialog.showMessageDialog("Load tests only support HTTP requests, use Repeat in the WebSocket tab instead.");
+            return;
+        }
+
+        RequestModel snapshot = new RequestModel();
+        applyForm(snapshot);
+
+        loadTest = responseTabControl.getLoad().createLoadTest(snapshot);
+        toolbar.setLoadRunning(true);
+        responseTabControl.getLoad().start(loadTest, () -> toolbar.setLoadRunning(false));
+        loadTest.start();
+    }
+
     private void loadModel(String id) {
         if (id == null) {
             App.console().error("ID: null");
@@ -155,13 +303,63 @@ public class RequestView extends Composite<Div> implements DidEnterObserver {
 
         if (model != null && model.getId().equals(id)) return;
 
+        if (pending != null) {
+            pending.cancel();
+            pending = null;
+            toolbar.setSending(false);
+        }
+        responseTabControl.getWebSocket().disconnect();
+
+        // A load test keeps firing at the old request's endpoint until it is stopped.
+        if (loadTest != null) {
+            loadTest.stop();
+            loadTest = null;
+            toolbar.setLoadRunning(false);
+        }
+
         if (requestService == null) requestService = new RequestService();
-        model = requestService.getById(id);
-        
+        model = requestService.getById(id, this::onRevalidated);
+
+        showModel();
+        responseTabControl.clear();
+        responseTabControl.getHistory().setRequest(id);
+    }
+
+    // The cached copy is shown first, a newer one from the backend replaces it while the same request is still open.
+    // Edits made in the meantime are only dropped if the user agrees.
+    private void onRevalidated(RequestModel fresh) {
+        if (model == null || !model.getId().equals(fresh.getId())) return;
+
+        model = fresh;
+        if (!readForm().equals(shown)) {
+            ConfirmDialog dialog = new ConfirmDialog(
+                "A newer version of this request is on the server. Load it and discard your unsaved changes?",
+                "Newer version on server", ConfirmDialog.OptionType.YES_NO, ConfirmDialog.MessageType.QUESTION)
+                .setFirstButtonText("Load server version")
+                .setSecondButtonText("Keep my changes");
+
+            if (dialog.show() != ConfirmDialog.Result.YES) {
+                // Saving writes the form over the server's copy.
+                header.setData(model);
+                return;
+            }
+        }
+
+        showModel();
+    }
+
+    private void showModel() {
         header.setData(model);
         toolbar.setData(model);
         requestTabControl.setData(model);
-        responseTabControl.clear();
+        shown = readForm();
+    }
+
+    // What the form holds, compared with the last model shown to tell whether the user changed anything.
+    private String readForm() {
+        RequestModel form = new RequestModel();
+        applyForm(form);
+        return gson.toJson(form) + "\n" + form.getBodyFile();
     }
 
     @Override
@@ -0,0 +1,188 @@
+package com.pingpal.views;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.ProtocolFormatter;
+import com.pingpal.models.RequestModel;
+import com.pingpal.models.RunResult;
+import com.pingpal.services.CollectionRunner;
+import com.pingpal.services.RequestService;
+import com.pingpal.views.layout.AppLayout;
+import com.webforj.component.Composite;
+import com.webforj.component.Expanse;
+import com.webforj.component.button.Button;
+import com.webforj.component.button.ButtonTheme;
+import com.webforj.component.field.NumberField;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.layout.splitter.Splitter;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.optiondialog.OptionDialog;
+import com.webforj.component.table.Table;
+import com.webforj.component.text.Label;
+import com.webforj.data.repository.CollectionRepository;
+import com.webforj.router.annotation.Route;
+import com.webforj.router.event.DidLeaveEvent;
+import com.webforj.router.history.ParametersBag;
+import com.webforj.router.observer.DidLeaveObserver;
+
+@Route(value = "/runner", outlet = AppLayout.class)
+public class RunnerView extends Composite<Div> implements DidLeaveObserver {
+
+    private Div self = getBoundComponent();
+    private NumberField concurrency, iterations, delay;
+    private ChoiceBox protocol;
+    private Button run, stop;
+    private Table<RunResult> table;
+    private CollectionRepository<RunResult> repository;
+    private Console console;
+    private CollectionRunner runner;
+    private RequestService requestService;
+
+    public RunnerView() {
+        self.setWidth("100%");
+        self.setHeight("calc(100% - 20px)");
+        self.setStyle("padding", "10px");
+        self.setStyle("overflow", "hidden");
+
+        FlexLayout top = new FlexLayout();
+        top.setDirection(FlexDirection.COLUMN);
+        top.setSpacing("10px");
+        top.setStyle("margin-bottom", "10px");
+
+        Div bottom = new Div().addClassName("runner-console");
+        bottom.setStyle("margin-top", "10px");
+
+        Splitter splitter = new Splitter(top, bottom);
+        splitter.setStyle("height", "100%");
+        splitter.setOrientation(Splitter.Orientation.VERTICAL);
+        splitter.setPositionRelative(65);
+        splitter.setMasterMinSize("250px");
+        splitter.setMasterMaxSize("85%");
+        self.add(splitter);
+
+        Label heading = new Label("Collection runner");
+
+        FlexLayout toolbar = new FlexLayout();
+        toolbar.setAlignment(FlexAlignment.END);
+        toolbar.setSpacing("10px");
+
+        concurrency = new NumberField("Concurrency", 4.0);
+        concurrency.setMin(1.0);
+        concurrency.setExpanse(Expanse.LARGE);
+
+        iterations = new NumberField("Iterations", 1.0);
+        iterations.setMin(1.0);
+        iterations.setExpanse(Expanse.LARGE);
+
+        delay = new NumberField("Delay (ms)", 0.0);
+        delay.setMin(0.0);
+        delay.setExpanse(Expanse.LARGE);
+
+        protocol = new ChoiceBox("Protocol");
+        protocol.add("", "Per request");
+        protocol.add(HttpClient.Version.HTTP_1_1.name(), "HTTP/1.1");
+        protocol.add(HttpClient.Version.HTTP_2.name(), "HTTP/2");
+        protocol.selectIndex(0);
+        protocol.setExpanse(Expanse.LARGE);
+
+        run = new Button("Run collection");
+        run.setExpanse(Expanse.LARGE);
+        run.setTheme(ButtonTheme.PRIMARY);
+        run.onClick(e -> startRun());
+
+        stop = new Button("Stop");
+        stop.setExpanse(Expanse.LARGE);
+        stop.setEnabled(false);
+        stop.onClick(e -> stopRun());
+
+        toolbar.add(concurrency, iterations, delay, protocol, run, stop);
+
+        table = new Table<RunResult>();
+        table.setWidth("100%");
+        table.setHeight("100%");
+        table.addColumn("Request", RunResult::getName);
+        table.addColumn("Method", RunResult::getMethod);
+        table.addColumn("Runs", RunResult::getRuns);
+        table.addColumn("Errors", RunResult::getErrors);
+        table.addColumn("Status", RunResult::getStatusSummary);
+        table.addColumn("Protocol", RunResult::getProtocolSummary);
+        table.addColumn("Tests", RunResult::getAssertionSummary);
+        table.addColumn("p50", result -> result.getPercentile(50) + " ms");
+        table.addColumn("p90", result -> result.getPercentile(90) + " ms");
+        table.addColumn("p99", result -> result.getPercentile(99) + " ms");
+        table.addColumn("Bytes", result -> BytesFormatter.format(result.getBytes()));
+        table.setSelectionMode(Table.SelectionMode.NONE);
+
+        top.add(heading, toolbar, table);
+
+        console = new Console(false);
+        bottom.add(console);
+    }
+
+    @Override
+    public void onDidLeave(DidLeaveEvent event, ParametersBag parameters) {
+        // A run left behind would keep sending requests with nobody watching.
+        stopRun();
+    }
+
+    @Override
+    protected void onDidDestroy() {
+        super.onDidDestroy();
+        if (runner != null) runner.stop();
+    }
+
+    private void startRun() {
+        if (runner != null && runner.isRunning()) return;
+        if (requestService == null) requestService = new RequestService();
+
+        List<RequestModel> requests = requestService.get();
+        if (requests == null) return;
+
+        if (requests.isEmpty()) {
+            OptionDialog.showMessageDialog("There are no saved requests to run.");
+            return;
+        }
+
+        runner = new CollectionRunner()
+            .setConcurrency(getInt(concurrency, 1))
+            .setIterations(getInt(iterations, 1))
+            .setDelay(Duration.ofMillis(getInt(delay, 0)))
+            .setProtocol(ProtocolFormatter.parse(String.valueOf(protocol.getSelectedKey())))
+            .onProgress(console::print)
+            .onResult(result -> repository.commit(result))
+            .onComplete(this::onRunComplete);
+
+        List<RunResult> results = runner.start(requests);
+
+        repository = new CollectionRepository<RunResult>(results);
+        table.setRepository(repository);
+        repository.commit();
+
+        run.setEnabled(false);
+        stop.setEnabled(true);
+    }
+
+    private void stopRun() {
+        if (runner != null) runner.stop();
+        stop.setEnabled(false);
+    }
+
+    private void onRunComplete() {
+        if (repository != null) repository.commit();
+        run.setEnabled(true);
+        stop.setEnabled(false);
+    }
+
+    private int getInt(NumberField field, int min) {
+        Double value = field.getValue();
+        if (value == null) return min;
+        return Math.max(min, value.intValue());
+    }
+
+}
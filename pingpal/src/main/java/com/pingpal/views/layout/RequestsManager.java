@@ -1,35 +1,69 @@
 package com.pingpal.views.layout;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import com.pingpal.helpers.CollectionExporter;
+import com.pingpal.helpers.CollectionImporter;
+import com.pingpal.helpers.PrefixIndex;
 import com.pingpal.models.RequestModel;
+import com.pingpal.services.EnvironmentService;
 import com.pingpal.services.RequestService;
+import com.pingpal.services.RequestSync;
+import com.webforj.Environment;
+import com.webforj.Page;
 import com.webforj.component.Composite;
 import com.webforj.component.button.ButtonTheme;
-import com.webforj.component.html.elements.Div;
+import com.webforj.component.event.KeypressEvent;
+import com.webforj.component.field.TextField;
 import com.webforj.component.html.elements.H3;
-import com.webforj.component.html.elements.Paragraph;
 import com.webforj.component.icons.Icon;
 import com.webforj.component.icons.IconButton;
 import com.webforj.component.icons.TablerIcon;
 import com.webforj.component.layout.flexlayout.FlexAlignment;
 import com.webforj.component.layout.flexlayout.FlexDirection;
-import com.webforj.component.layout.flexlayout.FlexJustifyContent;
 import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.optiondialog.ConfirmDialog;
+import com.webforj.component.optiondialog.FileChooserFilter;
+import com.webforj.component.optiondialog.FileUploadDialog;
 import com.webforj.component.optiondialog.InputDialog;
+import com.webforj.component.optiondialog.OptionDialog;
+import com.webforj.component.optiondialog.UploadedFile;
+import com.webforj.component.table.Table;
+import com.webforj.data.repository.CollectionRepository;
 import com.webforj.router.Router;
 import com.webforj.router.history.Location;
 
 public class RequestsManager extends Composite<FlexLayout> {
 
+    private static final int SEARCH_LIMIT = 200;
+
     private FlexLayout self = getBoundComponent();
-    private FlexLayout requestsContainer;
-    private HashMap<String, FlexLayout> requests = new HashMap<String, FlexLayout>();
-    private FlexLayout selectedRequest;
+    private H3 heading;
+    private IconButton importButton;
+    private TextField search;
+    private Table<RequestModel> table;
+
+    // The table only renders the rows in view, the models themselves are kept here and looked up by id.
+    private ArrayList<RequestModel> items = new ArrayList<RequestModel>();
+    private CollectionRepository<RequestModel> repository = new CollectionRepository<RequestModel>(items);
+    private HashMap<String, RequestModel> requests = new HashMap<String, RequestModel>();
+    private PrefixIndex index = new PrefixIndex();
+    private Set<String> matches;
     private InputDialog newDialog, editDialog;
     private RequestService requestService;
+    private ChoiceBox environmentChoice;
+    private Runnable rejections;
 
     public RequestsManager() {
         self.addClassName("requests-manager");
@@ -38,7 +72,7 @@ public class RequestsManager extends Composite<FlexLayout> {
 
         if (requestService == null) requestService = new RequestService();
 
-        H3 heading = new H3("Requests").addClassName("requests-manager-heading");
+        heading = new H3("Requests").addClassName("requests-manager-heading");
         self.add(heading);
 
         Icon icon = TablerIcon.create("plus");
@@ -56,89 +90,315 @@ public class RequestsManager extends Composite<FlexLayout> {
             if (requestName != null && !requestName.isEmpty()) {
                 RequestModel model = RequestModel.create(requestName);
                 model = requestService.add(model);
-                buildRequest(model);
+                if (model != null) {
+                    addRequest(model);
+                    repository.commit();
+                    select(model.getId());
+                }
             }
         });
-        self.add(button);
-
-        requestsContainer = new FlexLayout();
-        requestsContainer.setWidth("100%");
-        requestsContainer.setHeight("100%");
-        requestsContainer.setDirection(FlexDirection.COLUMN);
-        requestsContainer.setSpacing("10px");
-        self.add(requestsContainer);
-
-        List<RequestModel> requests = requestService.get();
-        if (requests != null) {
-            for (RequestModel request : requests) {
-                buildRequest(request);
+
+        icon = TablerIcon.create("player-play");
+        IconButton runButton = new IconButton(icon);
+        runButton.addClassName("requests-manager-new-button");
+        runButton.onClick(e -> Router.getCurrent().navigate(new Location("/runner")));
+
+        icon = TablerIcon.create("variable");
+        IconButton environmentsButton = new IconButton(icon);
+        environmentsButton.addClassName("requests-manager-new-button");
+        environmentsButton.onClick(e -> Router.getCurrent().navigate(new Location("/environments")));
+
+        icon = TablerIcon.create("file-import");
+        importButton = new IconButton(icon);
+        importButton.addClassName("requests-manager-new-button");
+        importButton.onClick(e -> importCollection());
+
+        icon = TablerIcon.create("file-export");
+        IconButton exportButton = new IconButton(icon);
+        exportButton.addClassName("requests-manager-new-button");
+        exportButton.onClick(e -> exportCollection());
+
+        FlexLayout actions = new FlexLayout().setSpacing("10px");
+        actions.add(button, runButton, environmentsButton, importButton, exportButton);
+        self.add(actions);
+
+        environmentChoice = new ChoiceBox();
+        environmentChoice.setWidth("100%");
+        environmentChoice.onSelect(e -> {
+            Object key = environmentChoice.getSelectedKey();
+            EnvironmentService.getInstance().setActive(key == null || key.toString().isEmpty() ? null : key.toString());
+        });
+        self.add(environmentChoice);
+        refreshEnvironments();
+
+        // Environments are edited on their own page, pick up changes whenever the user navigates.
+        Router.getCurrent().addNavigateListener(e -> {
+            refreshEnvironments();
+            selectFromLocation(e.getLocation());
+        });
+
+        search = new TextField();
+        search.setPlaceholder("Search requests, press Enter to search the server");
+        search.setWidth("100%");
+        search.onModify(e -> filter());
+        search.onKeypress(e -> {
+            if (e.getKeyCode().equals(KeypressEvent.Key.ENTER)) searchServer();
+        });
+
+        icon = TablerIcon.create("edit");
+        IconButton editButton = new IconButton(icon);
+        editButton.onClick(e -> renameSelected());
+
+        icon = TablerIcon.create("trash");
+        IconButton removeButton = new IconButton(icon);
+        removeButton.onClick(e -> removeSelected());
+
+        FlexLayout searchBar = new FlexLayout().setSpacing("10px").addClassName("requests-manager-search");
+        searchBar.setWidth("100%");
+        searchBar.setAlignment(FlexAlignment.CENTER);
+        searchBar.add(search, editButton, removeButton);
+        self.add(searchBar);
+
+        table = new Table<RequestModel>();
+        table.addClassName("requests-manager-table");
+        table.setWidth("100%");
+        table.setHeaderHeight(0);
+        table.setKeyProvider(RequestModel::getId);
+        table.addColumn("Method", request -> request.getMethod() != null ? request.getMethod() : "GET").setWidth(80f);
+        table.addColumn("Name", RequestModel::getName).setFlex(1f);
+        table.setSelectionMode(Table.SelectionMode.SINGLE);
+        table.setRepository(repository);
+
+        // The selected row is the active request, the table tracks it so nothing iterates the other rows.
+        table.onItemClick(e -> Router.getCurrent().navigate(new Location("/requests/" + e.getItem().getId())));
+        repository.setBaseFilter(request -> matches == null || matches.contains(request.getId()));
+        self.add(table);
+
+        List<RequestModel> loaded = requestService.get();
+        if (loaded != null) {
+            for (RequestModel request : loaded) {
+                addRequest(request);
             }
+            repository.commit();
+        }
+
+        // Saves and deletes are synced in the background, one the server refuses is reported here.
+        rejections = RequestSync.getInstance().onRejected(message -> OptionDialog.showMessageDialog(message, "Sync"));
+    }
+
+    @Override
+    protected void onDidDestroy() {
+        super.onDidDestroy();
+        if (rejections != null) rejections.run();
+    }
+
+    private void refreshEnvironments() {
+        EnvironmentService environmentService = EnvironmentService.getInstance();
+        String active = environmentService.getActive();
+
+        environmentChoice.removeAll();
+        environmentChoice.add("", "No environment");
+        for (String name : environmentService.getNames()) {
+            environmentChoice.add(name, name);
         }
+
+        environmentChoice.selectKey(active != null ? active : "");
     }
 
-    private void buildRequest(RequestModel request) {
-        FlexLayout requestContainer = new FlexLayout().addClassName("request-container");
-        requestContainer.setUserData("UUID", request.getId());
-        requestContainer.setJustifyContent(FlexJustifyContent.BETWEEN);
-        requestContainer.setAlignment(FlexAlignment.CENTER);
-        requestContainer.setSpacing("10px");
+    private void importCollection() {
+        List<FileChooserFilter> filters = List.of(new FileChooserFilter("Postman collection", "*.json"), new FileChooserFilter("HAR file", "*.har"));
+        UploadedFile uploaded = new FileUploadDialog("Import a Postman collection or HAR file", filters).show();
+        if (uploaded == null) return;
+
+        Path file;
+        try {
+            file = Files.createTempFile("pingpal-import-", ".json");
+            uploaded.move(file.toString());
+        } catch (IOException e) {
+            OptionDialog.showMessageDialog("The import failed: " + e.getMessage(), "Import");
+            return;
+        }
+
+        String name = uploaded.getClientName();
+        importButton.setEnabled(false);
+        heading.setText("Requests (importing)");
 
-        requestsContainer.add(requestContainer);
-        requests.put(request.getId(), requestContainer);
+        // Started from the UI thread, so the import can post each saved batch and the result back through runLater.
+        Thread.ofVirtual().name("pingpal-import").start(() -> {
+            List<RequestModel> batch = new ArrayList<RequestModel>(RequestService.BULK_SIZE);
+            int[] imported = { 0 };
+            String message;
 
-        Div left = new Div().setWidth("100%").addClassName("request-container-left");
-        left.onClick(e -> {
-            setActive(requestContainer);
-            Router.getCurrent().navigate(new Location("/requests/" + request.getId()));
+            try {
+                // The file is parsed as a stream and saved in bulk batches, so neither the file nor the collection is held in memory.
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    CollectionImporter.read(reader, model -> {
+                        batch.add(model);
+                        if (batch.size() == RequestService.BULK_SIZE) imported[0] += importBatch(batch);
+                    });
+                }
+                imported[0] += importBatch(batch);
+
+                message = "Imported " + imported[0] + " requests from " + name + ".";
+            } catch (IOException | RuntimeException e) {
+                String prefix = imported[0] > 0 ? "Imported " + imported[0] + " requests before the import failed: " : "The import failed: ";
+                message = prefix + e.getMessage();
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // The temporary directory is cleaned up eventually.
+                }
+            }
+
+            String result = message;
+            Environment.runLater(() -> {
+                importButton.setEnabled(true);
+                heading.setText("Requests");
+                OptionDialog.showMessageDialog(result, "Import");
+            });
         });
+    }
 
-        FlexLayout right = new FlexLayout().setSpacing("10px").addClassName("request-container-right");
-        requestContainer.add(left, right);
+    // Called on the import thread, the created requests are added to the list on the UI thread.
+    private int importBatch(List<RequestModel> batch) {
+        if (batch.isEmpty()) return 0;
 
-        Paragraph title = new Paragraph(request.getName());
-        left.add(title);
+        List<RequestModel> created = requestService.addAll(new ArrayList<RequestModel>(batch));
+        batch.clear();
 
-        Icon icon = TablerIcon.create("trash");
-        IconButton removeButton = new IconButton(icon);
-        removeButton.onClick(e -> {
-            requests.remove(request.getId());
-            requestContainer.destroy();
-            requestService.delete(request.getId());
+        Environment.runLater(() -> {
+            for (RequestModel model : created) {
+                addRequest(model);
+            }
+            repository.commit();
+            heading.setText("Requests (importing, " + items.size() + " so far)");
         });
+        return created.size();
+    }
 
-        icon = TablerIcon.create("edit");
-        IconButton editButton = new IconButton(icon);
-        editButton.onClick(e -> {
-            if (editDialog == null) {
-                editDialog = new InputDialog("", "Change request name", InputDialog.InputType.TEXT);
-                editDialog.setFirstButtonText("Save");
-                editDialog.setSecondButtonText("Cancel");
-                editDialog.setFirstButtonTheme(ButtonTheme.PRIMARY);
+    private void exportCollection() {
+        ConfirmDialog dialog = new ConfirmDialog("Export all requests as a Postman collection or as a HAR file?", "Export", ConfirmDialog.OptionType.YES_NO_CANCEL, ConfirmDialog.MessageType.QUESTION);
+        dialog.setFirstButtonText("Postman");
+        dialog.setSecondButtonText("HAR");
+        dialog.setThirdButtonText("Cancel");
+
+        ConfirmDialog.Result result = dialog.show();
+        if (result != ConfirmDialog.Result.YES && result != ConfirmDialog.Result.NO) return;
+
+        boolean postman = result == ConfirmDialog.Result.YES;
+        Path file = null;
+        try {
+            file = Files.createTempFile("pingpal-export-", ".json");
+
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                if (postman) CollectionExporter.writePostman(requestService.getCached(), "PingPal", writer);
+                else CollectionExporter.writeHar(requestService.getCached(), writer);
+            }
+
+            // The download is handed its content while the stream is open, the file is not needed once it returns.
+            try (InputStream content = Files.newInputStream(file)) {
+                Page.getCurrent().download(content, postman ? "pingpal.postman_collection.json" : "pingpal.har");
+            }
+        } catch (IOException e) {
+            OptionDialog.showMessageDialog("The export failed: " + e.getMessage());
+        } finally {
+            try {
+                if (file != null) Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // The temporary directory is cleaned up eventually.
             }
+        }
+    }
 
-            editDialog.setMessage("What is the new name for request '" + request.getName().trim() + "'?");
+    private void addRequest(RequestModel request) {
+        if (requests.put(request.getId(), request) == null) items.add(request);
+        index.put(request.getId(), describe(request));
+    }
 
-            String requestName = editDialog.show();
-            if (requestName != null && !requestName.isEmpty()) {
-                request.setName(requestName);
-                title.setText(requestName);
-                requestService.update(request);
+    // Names, methods and URLs are all searchable, so "post users" finds a POST request to /users.
+    private String describe(RequestModel request) {
+        return request.getName() + " " + request.getMethod() + " " + request.getUrl();
+    }
+
+    private void filter() {
+        String query = search.getText();
+        matches = index.search(query);
+        repository.commit();
+    }
+
+    // Picks up requests that were created elsewhere since the list was loaded, the index then filters them like the rest.
+    private void searchServer() {
+        String query = search.getText();
+        if (query == null || query.isBlank()) return;
+
+        List<RequestModel> found = requestService.search(query.trim(), SEARCH_LIMIT);
+        if (found == null) return;
+
+        for (RequestModel request : found) {
+            RequestModel known = requests.get(request.getId());
+            if (known == null) {
+                addRequest(request);
+                continue;
             }
-        });
 
-        right.add(editButton, removeButton);
+            known.setName(request.getName());
+            known.setMethod(request.getMethod());
+            known.setUrl(request.getUrl());
+            index.put(known.getId(), describe(known));
+        }
+        filter();
+    }
+
+    private void select(String id) {
+        RequestModel request = id != null ? requests.get(id) : null;
+        if (request == null) table.deselectAll();
+        else if (table.getSelectedItem() != request) table.select(request);
+    }
+
+    private void selectFromLocation(Location location) {
+        String uri = location != null ? location.getFullURI() : null;
+        if (uri == null || !uri.startsWith("/requests/")) {
+            select(null);
+            return;
+        }
+
+        String id = uri.substring("/requests/".length());
+        int end = id.indexOf('?');
+        select(end >= 0 ? id.substring(0, end) : id);
     }
 
-    private void setActive(FlexLayout activeRequest) {
-        selectedRequest = activeRequest;
-        
-        Iterator<FlexLayout> it = requests.values().iterator();
-        while (it.hasNext()) {
-            FlexLayout request = it.next();
-            request.removeClassName("active");
+    private void renameSelected() {
+        RequestModel request = table.getSelectedItem();
+        if (request == null) return;
+
+        if (editDialog == null) {
+            editDialog = new InputDialog("", "Change request name", InputDialog.InputType.TEXT);
+            editDialog.setFirstButtonText("Save");
+            editDialog.setSecondButtonText("Cancel");
+            editDialog.setFirstButtonTheme(ButtonTheme.PRIMARY);
         }
 
-        selectedRequest.addClassName("active");
+        editDialog.setMessage("What is the new name for request '" + request.getName().trim() + "'?");
+
+        String requestName = editDialog.show();
+        if (requestName != null && !requestName.isEmpty()) {
+            request.setName(requestName);
+            index.put(request.getId(), describe(request));
+            repository.commit(request);
+            requestService.update(request);
+        }
     }
-    
+
+    private void removeSelected() {
+        RequestModel request = table.getSelectedItem();
+        if (request == null) return;
+
+        requests.remove(request.getId());
+        items.remove(request);
+        index.remove(request.getId());
+        repository.commit();
+        requestService.delete(request.getId());
+    }
+
 }
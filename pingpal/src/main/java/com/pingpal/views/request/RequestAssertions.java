@@ -0,0 +1,139 @@
+package com.pingpal.views.request;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import com.pingpal.models.Assertion;
+import com.webforj.component.Expanse;
+import com.webforj.component.button.Button;
+import com.webforj.component.field.TextField;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.icons.IconButton;
+import com.webforj.component.icons.TablerIcon;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.text.Label;
+
+public class RequestAssertions extends Div {
+
+    private FlexLayout layout;
+    private LinkedHashMap<String, Row> rows = new LinkedHashMap<String, Row>();
+
+    private static class Row {
+        FlexLayout layout;
+        ChoiceBox type, operator;
+        TextField target, expected;
+    }
+
+    public RequestAssertions() {
+        setWidth("100%");
+
+        FlexLayout container = new FlexLayout();
+        container.setDirection(FlexDirection.COLUMN);
+        container.setSpacing("10px");
+        add(container);
+
+        Label hint = new Label("Checked after every send and in collection runs. JSONPath supports $.name, ['name'], [0], [*], ..name and .length().");
+
+        layout = new FlexLayout();
+        layout.setDirection(FlexDirection.COLUMN);
+        layout.setSpacing("5px");
+
+        Button addButton = new Button("Add assertion");
+        addButton.onClick(e -> createRow(null));
+
+        container.add(hint, layout, addButton);
+    }
+
+    private void createRow(Assertion assertion) {
+        String uuid = UUID.randomUUID().toString();
+        Row row = new Row();
+
+        row.layout = new FlexLayout();
+        row.layout.setAlignment(FlexAlignment.CENTER);
+        row.layout.setSpacing("5px");
+
+        row.type = new ChoiceBox();
+        row.type.add(Assertion.Type.STATUS.name(), "Status");
+        row.type.add(Assertion.Type.HEADER.name(), "Header");
+        row.type.add(Assertion.Type.JSON_PATH.name(), "JSONPath");
+        row.type.add(Assertion.Type.LATENCY.name(), "Latency (ms)");
+        row.type.setMaxWidth("160px");
+        row.type.setExpanse(Expanse.LARGE);
+
+        row.target = new TextField();
+        row.target.setWidth("100%");
+        row.target.setExpanse(Expanse.LARGE);
+
+        row.operator = new ChoiceBox();
+        for (Assertion.Operator operator : Assertion.Operator.values()) {
+            row.operator.add(operator.name(), operator.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        }
+        row.operator.setMaxWidth("160px");
+        row.operator.setExpanse(Expanse.LARGE);
+
+        row.expected = new TextField();
+        row.expected.setPlaceholder("Expected");
+        row.expected.setWidth("100%");
+        row.expected.setExpanse(Expanse.LARGE);
+
+        IconButton remove = new IconButton(TablerIcon.create("trash"));
+        remove.onClick(e -> {
+            row.layout.destroy();
+            rows.remove(uuid);
+        });
+
+        Assertion data = assertion != null ? assertion : new Assertion(Assertion.Type.STATUS, "", Assertion.Operator.EQUALS, "200");
+        row.type.selectKey(data.getType().name());
+        row.target.setText(data.getTarget());
+        row.operator.selectKey(data.getOperator().name());
+        row.expected.setText(data.getExpected());
+        updateTarget(row);
+        row.type.onSelect(e -> updateTarget(row));
+
+        row.layout.add(row.type, row.target, row.operator, row.expected, remove);
+        layout.add(row.layout);
+        rows.put(uuid, row);
+    }
+
+    // Only headers and JSONPath assertions have a target, the field is hidden for the others.
+    private void updateTarget(Row row) {
+        String type = String.valueOf(row.type.getSelectedKey());
+        row.target.setVisible(type.equals(Assertion.Type.HEADER.name()) || type.equals(Assertion.Type.JSON_PATH.name()));
+        row.target.setPlaceholder(type.equals(Assertion.Type.HEADER.name()) ? "Header name" : "$.data[0].id");
+    }
+
+    public void setData(List<Assertion> assertions) {
+        for (Row row : rows.values()) {
+            row.layout.destroy();
+        }
+        rows.clear();
+
+        if (assertions == null) return;
+        for (Assertion assertion : assertions) {
+            createRow(assertion);
+        }
+    }
+
+    public ArrayList<Assertion> getData() {
+        ArrayList<Assertion> assertions = new ArrayList<Assertion>();
+
+        for (Row row : rows.values()) {
+            Assertion.Type type = Assertion.Type.valueOf(String.valueOf(row.type.getSelectedKey()));
+            boolean hasTarget = type == Assertion.Type.HEADER || type == Assertion.Type.JSON_PATH;
+
+            String target = row.target.getText().trim();
+            if (hasTarget && target.isEmpty()) continue;
+
+            assertions.add(new Assertion(type, hasTarget ? target : null, Assertion.Operator.valueOf(String.valueOf(row.operator.getSelectedKey())), row.expected.getText().trim()));
+        }
+
+        return assertions;
+    }
+
+}
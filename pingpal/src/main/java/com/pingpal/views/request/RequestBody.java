@@ -0,0 +1,164 @@
+package com.pingpal.views.request;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import com.pingpal.components.JsonEditor;
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.Env;
+import com.pingpal.helpers.JsonValidator;
+import com.webforj.component.button.Button;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.optiondialog.FileUploadDialog;
+import com.webforj.component.optiondialog.OptionDialog;
+import com.webforj.component.optiondialog.UploadedFile;
+import com.webforj.component.optioninput.CheckBox;
+import com.webforj.component.text.Label;
+
+public class RequestBody extends Div {
+
+    private JsonEditor editor;
+    private Label status;
+    private Button upload, removeFile;
+    private CheckBox compress;
+    private String file;
+
+    // The last validated text, validation only runs again once the text changed.
+    private String validatedText;
+    private String validationError;
+
+    public RequestBody() {
+        setWidth("100%");
+        setHeight("100%");
+
+        FlexLayout layout = new FlexLayout();
+        layout.setDirection(FlexDirection.COLUMN);
+        layout.setSpacing("10px");
+        layout.setWidth("100%");
+        layout.setHeight("100%");
+        add(layout);
+
+        FlexLayout toolbar = new FlexLayout();
+        toolbar.setAlignment(FlexAlignment.CENTER);
+        toolbar.setSpacing("10px");
+
+        Button validate = new Button("Validate");
+        validate.onClick(e -> validate());
+
+        upload = new Button("Upload file");
+        upload.onClick(e -> uploadFile());
+
+        removeFile = new Button("Remove file");
+        removeFile.setVisible(false);
+        removeFile.onClick(e -> setFile(null));
+
+        compress = new CheckBox("Gzip body");
+
+        status = new Label().addClassName("request-body-status");
+        toolbar.add(validate, upload, removeFile, compress, status);
+
+        editor = new JsonEditor();
+        layout.add(toolbar, editor);
+    }
+
+    public void setData(String text, String file, Boolean compressed) {
+        editor.setJson(text);
+        compress.setChecked(Boolean.TRUE.equals(compressed));
+        validatedText = null;
+        validationError = null;
+        status.setText("");
+        setFile(file);
+    }
+
+    public String getText() {
+        return editor.getJson();
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public boolean isCompressed() {
+        return compress.isChecked();
+    }
+
+    // Returns null when the body is valid JSON, empty or a file that is not JSON.
+    public String validate() {
+        return validate(file == null ? editor.getJson() : null);
+    }
+
+    // Validates text already read from the editor, which is not read again.
+    public String validate(String text) {
+        String error;
+
+        if (file != null) {
+            error = validateFile(Path.of(file));
+        } else {
+            if (!text.equals(validatedText)) {
+                validationError = JsonValidator.validate(text);
+                validatedText = text;
+            }
+            error = validationError;
+        }
+
+        status.setText(error != null ? error : file != null ? describe(Path.of(file)) : "Valid JSON");
+        if (error != null) status.addClassName("request-body-invalid");
+        else status.removeClassName("request-body-invalid");
+        return error;
+    }
+
+    private String validateFile(Path path) {
+        if (!Files.exists(path)) return "The uploaded file no longer exists.";
+        if (!path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) return null;
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return JsonValidator.validate(reader);
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void uploadFile() {
+        UploadedFile uploaded = new FileUploadDialog("Upload a request body").show();
+        if (uploaded == null) return;
+
+        try {
+            String directory = Env.get("PINGPAL_UPLOAD_DIR");
+            Path target = Path.of(directory != null && !directory.isEmpty() ? directory : "uploads");
+            Files.createDirectories(target);
+
+            File moved = uploaded.move(target.resolve(System.currentTimeMillis() + "-" + uploaded.getSanitizedClientName()).toString());
+            setFile(moved.getPath());
+            validate();
+        } catch (IOException e) {
+            OptionDialog.showMessageDialog("The file could not be uploaded: " + e.getMessage());
+        }
+    }
+
+    private void setFile(String file) {
+        this.file = file != null && !file.isEmpty() ? file : null;
+
+        editor.setVisible(this.file == null);
+        removeFile.setVisible(this.file != null);
+        upload.setVisible(this.file == null);
+        status.setText(this.file != null ? describe(Path.of(this.file)) : "");
+        status.removeClassName("request-body-invalid");
+    }
+
+    private String describe(Path path) {
+        try {
+            return path.getFileName() + " (" + BytesFormatter.format(Files.size(path)) + ")";
+        } catch (IOException e) {
+            return path.getFileName().toString();
+        }
+    }
+
+}
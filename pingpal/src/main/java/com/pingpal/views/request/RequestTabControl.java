@@ -1,10 +1,11 @@
 package com.pingpal.views.request;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 
-import com.pingpal.components.JsonEditor;
 import com.pingpal.components.KeyValue;
 import com.pingpal.components.TabControl;
+import com.pingpal.models.Assertion;
 import com.pingpal.models.RequestModel;
 
 public class RequestTabControl extends TabControl {
@@ -12,7 +13,8 @@ public class RequestTabControl extends TabControl {
     private KeyValue params;
     private RequestAuthentication authentication;
     private KeyValue headers;
-    private JsonEditor body;
+    private RequestBody body;
+    private RequestAssertions assertions;
 
     public RequestTabControl() {
         params = new KeyValue();
@@ -24,15 +26,19 @@ public class RequestTabControl extends TabControl {
         headers = new KeyValue();
         addTab("Headers", headers);
 
-        body = new JsonEditor();
+        body = new RequestBody();
         addTab("Body", body);
+
+        assertions = new RequestAssertions();
+        addTab("Tests", assertions);
     }
 
     public void setData(RequestModel model) {
         params.setData(model.getParams());
         authentication.setData(model.getAuthData());
         headers.setData(model.getHeaders());
-        body.setData(model.getBody());
+        body.setData(model.getRawBody(), model.getBodyFile(), model.getCompressBody());
+        assertions.setData(model.getAssertions());
     }
 
     public HashMap<String, String> getAuthData() {
@@ -47,8 +53,12 @@ public class RequestTabControl extends TabControl {
         return headers.getData();
     }
 
-    public HashMap<String, Object> getBody() {
-        return body.getData();
+    public RequestBody getBody() {
+        return body;
+    }
+
+    public ArrayList<Assertion> getAssertions() {
+        return assertions.getData();
     }
     
 }
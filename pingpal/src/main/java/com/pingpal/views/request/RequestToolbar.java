@@ -1,22 +1,32 @@
 package com.pingpal.views.request;
 
+import java.net.http.HttpClient;
+
+import com.pingpal.helpers.ProtocolFormatter;
+import com.pingpal.helpers.RequestHandler;
 import com.pingpal.models.RequestModel;
 import com.pingpal.views.RequestView;
 import com.webforj.component.Composite;
 import com.webforj.component.Expanse;
 import com.webforj.component.button.Button;
 import com.webforj.component.button.ButtonTheme;
+import com.webforj.component.field.NumberField;
 import com.webforj.component.field.TextField;
 import com.webforj.component.layout.flexlayout.FlexAlignment;
 import com.webforj.component.layout.flexlayout.FlexJustifyContent;
 import com.webforj.component.layout.flexlayout.FlexLayout;
 import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.optioninput.CheckBox;
 
 public class RequestToolbar extends Composite<FlexLayout> {
 
     private FlexLayout self = getBoundComponent();
     private ChoiceBox methods;
     private TextField endpoint;
+    private NumberField timeout;
+    private ChoiceBox protocol;
+    private CheckBox phases;
+    private Button send, cancel, load;
     private RequestModel model;
 
     public RequestToolbar(RequestView request) {
@@ -28,7 +38,11 @@ public class RequestToolbar extends Composite<FlexLayout> {
         methods.add("GET", "GET");
         methods.add("POST", "POST");
         methods.add("PUT", "PUT");
+        methods.add("PATCH", "PATCH");
         methods.add("DELETE", "DELETE");
+        methods.add("HEAD", "HEAD");
+        methods.add("OPTIONS", "OPTIONS");
+        methods.add(RequestHandler.WEBSOCKET, "WS");
         methods.selectIndex(0);
         methods.setWidth("100%");
         methods.setMaxWidth("150px");
@@ -39,12 +53,38 @@ public class RequestToolbar extends Composite<FlexLayout> {
         endpoint.setExpanse(Expanse.LARGE);
         endpoint.setText("");
 
-        Button send = new Button("Send");
+        timeout = new NumberField();
+        timeout.setPlaceholder("Timeout (s)");
+        timeout.setMin(1.0);
+        timeout.setMaxWidth("120px");
+        timeout.setExpanse(Expanse.LARGE);
+
+        protocol = new ChoiceBox();
+        protocol.add("", "Auto");
+        protocol.add(HttpClient.Version.HTTP_1_1.name(), "HTTP/1.1");
+        protocol.add(HttpClient.Version.HTTP_2.name(), "HTTP/2");
+        protocol.selectIndex(0);
+        protocol.setMaxWidth("120px");
+        protocol.setExpanse(Expanse.LARGE);
+
+        // Off by default, measuring opens a second connection to the server under test on every send.
+        phases = new CheckBox("Estimate phases");
+
+        send = new Button("Send");
         send.setExpanse(Expanse.LARGE);
         send.setTheme(ButtonTheme.PRIMARY);
         send.onClick(e -> request.sendRequest());
 
-        self.add(methods, endpoint, send);
+        cancel = new Button("Cancel");
+        cancel.setExpanse(Expanse.LARGE);
+        cancel.setEnabled(false);
+        cancel.onClick(e -> request.cancelRequest());
+
+        load = new Button("Load test");
+        load.setExpanse(Expanse.LARGE);
+        load.onClick(e -> request.toggleLoadTest());
+
+        self.add(methods, endpoint, timeout, protocol, phases, send, cancel, load);
     }
 
     private void redraw() {
@@ -55,6 +95,10 @@ public class RequestToolbar extends Composite<FlexLayout> {
         }
         
         endpoint.setText(model.getUrl() != null ? model.getUrl() : "");
+        timeout.setValue(model.getTimeout() != null ? model.getTimeout().doubleValue() : null);
+
+        HttpClient.Version version = ProtocolFormatter.parse(model.getProtocol());
+        protocol.selectKey(version != null ? version.name() : "");
     }
 
     public void setData(RequestModel model) {
@@ -62,6 +106,16 @@ public class RequestToolbar extends Composite<FlexLayout> {
         redraw();
     }
 
+    public void setSending(boolean sending) {
+        send.setEnabled(!sending);
+        cancel.setEnabled(sending);
+    }
+
+    public void setLoadRunning(boolean running) {
+        load.setText(running ? "Stop load" : "Load test");
+        load.setTheme(running ? ButtonTheme.DANGER : ButtonTheme.DEFAULT);
+    }
+
     public String getMethod() {
         return methods.getSelectedKey().toString();
     }
@@ -69,5 +123,20 @@ public class RequestToolbar extends Composite<FlexLayout> {
     public String getEndpoint() {
         return endpoint.getText().trim();
     }
+
+    public String getProtocol() {
+        Object key = protocol.getSelectedKey();
+        return key != null && !key.toString().isEmpty() ? key.toString() : null;
+    }
+
+    public boolean isEstimatingPhases() {
+        return phases.isChecked();
+    }
+
+    public Integer getTimeout() {
+        Double value = timeout.getValue();
+        if (value == null || value < 1) return null;
+        return value.intValue();
+    }
     
 }
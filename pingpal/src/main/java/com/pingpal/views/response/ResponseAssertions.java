@@ -0,0 +1,85 @@
+package com.pingpal.views.response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pingpal.components.Placeholder;
+import com.pingpal.models.AssertionResult;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.table.Table;
+import com.webforj.component.text.Label;
+import com.webforj.data.repository.CollectionRepository;
+
+public class ResponseAssertions extends Div {
+
+    private Placeholder placeholder;
+    private FlexLayout content;
+    private Label summary;
+    private Table<AssertionResult> table;
+    private List<AssertionResult> items = new ArrayList<AssertionResult>();
+    private CollectionRepository<AssertionResult> repository = new CollectionRepository<AssertionResult>(items);
+
+    public ResponseAssertions() {
+        setWidth("100%");
+        setHeight("100%");
+        setStyle("overflow", "auto");
+
+        placeholder = new Placeholder("Add assertions in the Tests tab of the request to check its responses.");
+        add(placeholder);
+
+        content = new FlexLayout();
+        content.setDirection(FlexDirection.COLUMN);
+        content.setSpacing("10px");
+        content.setVisible(false);
+        add(content);
+
+        summary = new Label();
+
+        table = new Table<AssertionResult>();
+        table.setWidth("100%");
+        table.setHeight("250px");
+        table.addColumn("Result", result -> result.isPassed() ? "✓" : "✗").setWidth(70f);
+        table.addColumn("Assertion", result -> result.getAssertion().describe());
+        table.addColumn("Actual", AssertionResult::getActual);
+        table.addColumn("Message", AssertionResult::getMessage);
+        table.addColumn("Time", result -> format(result.getElapsed())).setWidth(90f);
+        table.setRepository(repository);
+
+        content.add(summary, table);
+    }
+
+    public void setResults(List<AssertionResult> results) {
+        items.clear();
+        if (results != null) items.addAll(results);
+        repository.commit();
+
+        int passed = 0;
+        long elapsed = 0;
+        for (AssertionResult result : items) {
+            if (result.isPassed()) passed++;
+            elapsed = Math.max(elapsed, result.getElapsed().toNanos());
+        }
+
+        int failed = items.size() - passed;
+        summary.setText(passed + " passed, " + failed + " failed, slowest check " + format(Duration.ofNanos(elapsed)));
+        summary.setStyle("color", failed == 0 ? "green" : "red");
+
+        placeholder.setVisible(items.isEmpty());
+        content.setVisible(!items.isEmpty());
+    }
+
+    public void clear() {
+        setResults(null);
+    }
+
+    // Checks usually take microseconds, the shared formatter only resolves milliseconds.
+    private static String format(Duration duration) {
+        long micros = duration.toNanos() / 1_000;
+        if (micros < 1_000) return micros + " µs";
+        return String.format("%.2f ms", micros / 1_000.0);
+    }
+
+}
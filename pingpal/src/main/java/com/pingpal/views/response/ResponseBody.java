@@ -1,18 +1,24 @@
 package com.pingpal.views.response;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import com.pingpal.components.Placeholder;
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.HtmlFormatter;
+import com.pingpal.helpers.JsonFormatter;
+import com.pingpal.helpers.SpooledBody;
+import com.webforj.component.button.Button;
 import com.webforj.component.html.elements.Div;
 import com.webforj.component.html.elements.Paragraph;
 
 public class ResponseBody extends Div {
 
+    private static final int PAGE_SIZE = 64 * 1024;
+
     private Paragraph paragraph;
+    private Div pages;
+    private Button loadMore;
     private Placeholder placeholder;
-    private Gson gson = new GsonBuilder().serializeNulls().setPrettyPrinting().create();
+    private SpooledBody body;
+    private long nextOffset;
 
     public ResponseBody() {
         setWidth("100%");
@@ -23,18 +29,50 @@ public class ResponseBody extends Div {
         paragraph = new Paragraph();
         paragraph.setVisible(false);
 
+        pages = new Div();
+        pages.setVisible(false);
+
+        loadMore = new Button();
+        loadMore.addClassName("response-body-load-more");
+        loadMore.setVisible(false);
+        loadMore.onClick(e -> appendPage());
+
         placeholder = new Placeholder("No response body available.");
-        add(paragraph, placeholder);
+        add(paragraph, pages, loadMore, placeholder);
+    }
+
+    public void setData(SpooledBody body) {
+        release();
+
+        try {
+            if (body.getSize() <= PAGE_SIZE) {
+                setData(body.readAll());
+                body.close();
+                return;
+            }
+        } catch (Exception e) {
+            setData(e.toString());
+            return;
+        }
+
+        this.body = body;
+        this.nextOffset = 0;
+
+        placeholder.setVisible(false);
+        paragraph.setVisible(false);
+        pages.setVisible(true);
+        appendPage();
     }
 
     public void setData(String response) {
+        release();
+
         placeholder.setVisible(false);
         paragraph.setVisible(true);
 
         try {
-            JsonElement jsonElement = JsonParser.parseString(response);
-            String formattedJson = gson.toJson(jsonElement);
-            
+            String formattedJson = JsonFormatter.prettyPrint(response);
+
             if (formattedJson.equals("null")) {
                 paragraph.setHtml("");
             } else {
@@ -45,18 +83,46 @@ public class ResponseBody extends Div {
         }
     }
 
+    private void appendPage() {
+        if (body == null) return;
+
+        try {
+            SpooledBody.Page page = body.readPage(nextOffset, PAGE_SIZE);
+            nextOffset = page.getNextOffset();
+
+            Paragraph text = new Paragraph().addClassName("response-body-page");
+            text.setHtml(HtmlFormatter.append(new StringBuilder(PAGE_SIZE + 64).append("<pre>"), page.getText()).append("</pre>").toString());
+            pages.add(text);
+        } catch (Exception e) {
+            nextOffset = body.getSize();
+            pages.add(new Paragraph(e.toString()));
+        }
+
+        long remaining = body.getSize() - nextOffset;
+        loadMore.setText("Load more (" + BytesFormatter.format(remaining) + " remaining)");
+        loadMore.setVisible(remaining > 0);
+    }
+
+    private void release() {
+        if (body != null) body.close();
+        body = null;
+        nextOffset = 0;
+
+        pages.removeAll();
+        pages.setVisible(false);
+        loadMore.setVisible(false);
+    }
+
     public void clear() {
+        release();
+
         paragraph.setText("");
         paragraph.setVisible(false);
         placeholder.setVisible(true);
     }
 
     public String escapeHtml(String input) {
-        return input.replace("&", "&amp;")
-                    .replace("<", "&lt;")
-                    .replace(">", "&gt;")
-                    .replace("\"", "&quot;")
-                    .replace("'", "&#39;");
+        return HtmlFormatter.escape(input);
     }
-    
-}
\ No newline at end of file
+
+}
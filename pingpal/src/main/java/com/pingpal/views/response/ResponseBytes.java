@@ -15,10 +15,20 @@ public class ResponseBytes extends Div {
         add(label);
     }
 
-    public void setData(int bytes) {
+    public void setData(long bytes) {
         label.setText(BytesFormatter.format(bytes));
     }
 
+    // A compressed body shows both sizes, so it is visible whether and how well an endpoint compresses.
+    public void setData(long bytes, long wireBytes, String encoding) {
+        if (encoding == null) {
+            setData(bytes);
+            return;
+        }
+
+        label.setText(BytesFormatter.format(wireBytes) + " " + encoding + " / " + BytesFormatter.format(bytes));
+    }
+
     public void clear() {
         label.setText("-");
     }
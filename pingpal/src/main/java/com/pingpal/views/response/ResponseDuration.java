@@ -1,29 +1,110 @@
 package com.pingpal.views.response;
 
 import java.time.Duration;
+import java.util.Locale;
 
 import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.models.RequestTiming;
 import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
 import com.webforj.component.text.Label;
 
 public class ResponseDuration extends Div {
 
     private Label time;
+    private FlexLayout waterfall;
+    private RequestTiming timing;
 
     public ResponseDuration() {
         addClassName("response-duration");
 
         time = new Label("-").addClassName("response-duration-label");
         add(time);
+
+        waterfall = new FlexLayout().addClassName("response-duration-waterfall");
+        waterfall.setDirection(FlexDirection.COLUMN);
+        waterfall.setSpacing("5px");
+        waterfall.setVisible(false);
+        add(waterfall);
+
+        onClick(e -> waterfall.setVisible(timing != null && !waterfall.isVisible()));
     }
 
     public void setData(Duration duration) {
+        setData(duration, null);
+    }
+
+    public void setData(Duration duration, RequestTiming timing) {
         String prettyTime = DurationFormatter.format(duration);
         time.setText(prettyTime);
+
+        this.timing = timing;
+        waterfall.removeAll();
+        waterfall.setVisible(false);
+        if (timing != null) buildWaterfall(timing);
+    }
+
+    private void buildWaterfall(RequestTiming timing) {
+        long firstByte = timing.getFirstByte().toNanos();
+        long total = firstByte + timing.getDownload().toNanos();
+
+        // The time to first byte starts with the send, so on a new connection it already contains connect and TLS.
+        // The estimated phases are drawn inside it rather than before it, clipped to it when the probe took longer.
+        if (timing.isProbed()) {
+            long offset = 0;
+            offset = addPhase("DNS (est.)", offset, timing.getDns(), firstByte, total);
+            offset = addPhase("Connect (est.)", offset, timing.getConnect(), firstByte, total);
+            addPhase("TLS (est.)", offset, timing.getTls(), firstByte, total);
+        }
+
+        addPhase("Waiting (TTFB)", 0, timing.getFirstByte(), firstByte, total);
+        addPhase("Download", firstByte, timing.getDownload(), total, total);
+
+        if (timing.isProbed()) {
+            waterfall.add(new Label("DNS, connect and TLS are estimated on a separate, direct connection opened alongside the request and are part of the time to first byte. The request itself may reuse a pooled connection or go through a proxy, so its own phases can differ.").addClassName("response-duration-note"));
+        }
+    }
+
+    private long addPhase(String name, long offset, Duration duration, long end, long total) {
+        long start = Math.min(offset, end);
+        long nanos = Math.min(duration.toNanos(), end - start);
+
+        FlexLayout row = new FlexLayout();
+        row.setAlignment(FlexAlignment.CENTER);
+        row.setSpacing("10px");
+
+        Label label = new Label(name).addClassName("response-duration-phase");
+        Div track = new Div().addClassName("response-duration-track");
+        Div bar = new Div().addClassName("response-duration-bar");
+        bar.setStyle("margin-left", percent(start, total));
+        bar.setStyle("width", percent(nanos, total));
+        track.add(bar);
+
+        Label value = new Label(formatPhase(duration)).addClassName("response-duration-value");
+        row.add(label, track, value);
+        waterfall.add(row);
+
+        return start + nanos;
+    }
+
+    // Phases are often well below a millisecond, which the regular formatter would show as 0 ms.
+    private String formatPhase(Duration duration) {
+        if (duration.toMillis() >= 10) return DurationFormatter.format(duration);
+        return String.format(Locale.ROOT, "%.2f ms", duration.toNanos() / 1_000_000.0);
+    }
+
+    private String percent(long part, long total) {
+        if (total <= 0) return "0%";
+        return String.format(Locale.ROOT, "%.2f%%", part * 100.0 / total);
     }
 
     public void clear() {
         time.setText("-");
+        timing = null;
+        waterfall.removeAll();
+        waterfall.setVisible(false);
     }
     
 }
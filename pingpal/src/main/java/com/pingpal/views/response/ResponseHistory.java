@@ -0,0 +1,179 @@
+package com.pingpal.views.response;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.pingpal.components.Placeholder;
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.helpers.HtmlFormatter;
+import com.pingpal.helpers.LineDiff;
+import com.pingpal.helpers.StatusCodeFormatter;
+import com.pingpal.models.HistoryEntry;
+import com.pingpal.services.HistoryStore;
+import com.webforj.component.button.Button;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.html.elements.Paragraph;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.table.Table;
+import com.webforj.component.text.Label;
+import com.webforj.data.repository.CollectionRepository;
+
+public class ResponseHistory extends Div {
+
+    private static final int MAX_DIFF_LINES = 500;
+    private static final int MAX_READ_LINES = 20_000;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private Placeholder placeholder;
+    private FlexLayout content;
+    private Table<HistoryEntry> table;
+    private List<HistoryEntry> items = new ArrayList<HistoryEntry>();
+    private CollectionRepository<HistoryEntry> repository = new CollectionRepository<HistoryEntry>(items);
+    private Label hint;
+    private Paragraph diff;
+    private Consumer<HistoryEntry> onOpen;
+    private String requestId;
+
+    public ResponseHistory() {
+        setWidth("100%");
+        setHeight("100%");
+        setStyle("overflow", "auto");
+
+        placeholder = new Placeholder("No responses recorded for this request yet.");
+        add(placeholder);
+
+        content = new FlexLayout();
+        content.setDirection(FlexDirection.COLUMN);
+        content.setSpacing("10px");
+        content.setVisible(false);
+        add(content);
+
+        FlexLayout toolbar = new FlexLayout();
+        toolbar.setAlignment(FlexAlignment.CENTER);
+        toolbar.setSpacing("10px");
+
+        Button open = new Button("Open");
+        open.onClick(e -> openSelected());
+
+        Button compare = new Button("Diff");
+        compare.onClick(e -> diffSelected());
+
+        hint = new Label("Select one response to open it, or two to compare them.");
+        toolbar.add(open, compare, hint);
+
+        table = new Table<HistoryEntry>();
+        table.setWidth("100%");
+        table.setHeight("200px");
+        table.addColumn("Time", entry -> TIME.format(entry.getTimestamp()));
+        table.addColumn("Status", entry -> StatusCodeFormatter.format(entry.getStatus()));
+        table.addColumn("Duration", entry -> DurationFormatter.format(entry.getDuration()));
+        table.addColumn("Bytes", entry -> BytesFormatter.format(entry.getSize()));
+        table.addColumn("Digest", entry -> entry.getDigest().substring(0, 12));
+        table.setSelectionMode(Table.SelectionMode.MULTIPLE);
+        table.setRepository(repository);
+
+        diff = new Paragraph().addClassName("response-history-diff");
+        diff.setVisible(false);
+
+        content.add(toolbar, table, diff);
+    }
+
+    public void setRequest(String requestId) {
+        this.requestId = requestId;
+        diff.setVisible(false);
+        refresh();
+    }
+
+    public void refresh() {
+        items.clear();
+        if (requestId != null) items.addAll(HistoryStore.getInstance().list(requestId));
+        repository.commit();
+
+        placeholder.setVisible(items.isEmpty());
+        content.setVisible(!items.isEmpty());
+    }
+
+    public void onOpen(Consumer<HistoryEntry> onOpen) {
+        this.onOpen = onOpen;
+    }
+
+    private void openSelected() {
+        List<HistoryEntry> selected = table.getSelectedItems();
+        if (selected == null || selected.size() != 1) {
+            hint.setText("Select exactly one response to open.");
+            return;
+        }
+
+        if (onOpen != null) onOpen.accept(selected.get(0));
+    }
+
+    private void diffSelected() {
+        List<HistoryEntry> selected = table.getSelectedItems();
+        if (selected == null || selected.size() != 2) {
+            hint.setText("Select exactly two responses to compare.");
+            return;
+        }
+
+        List<HistoryEntry> pair = new ArrayList<HistoryEntry>(selected);
+        pair.sort(Comparator.comparing(HistoryEntry::getTimestamp));
+        HistoryEntry before = pair.get(0), after = pair.get(1);
+
+        StringBuilder html = new StringBuilder("<pre>");
+        html.append(HtmlFormatter.escape(TIME.format(before.getTimestamp()) + " -> " + TIME.format(after.getTimestamp())
+            + " | " + StatusCodeFormatter.format(before.getStatus()) + " -> " + StatusCodeFormatter.format(after.getStatus())
+            + " | " + BytesFormatter.format(before.getSize()) + " -> " + BytesFormatter.format(after.getSize()))).append("\n\n");
+
+        if (before.getDigest().equals(after.getDigest())) {
+            html.append("The response bodies are identical.");
+        } else {
+            try {
+                HistoryStore history = HistoryStore.getInstance();
+                // One line more than compared, so a body that was cut off can be told apart from one that ends there.
+                List<String> beforeLines = history.readLines(before, MAX_READ_LINES + 1);
+                List<String> afterLines = history.readLines(after, MAX_READ_LINES + 1);
+                boolean truncated = beforeLines.size() > MAX_READ_LINES || afterLines.size() > MAX_READ_LINES;
+                if (beforeLines.size() > MAX_READ_LINES) beforeLines = beforeLines.subList(0, MAX_READ_LINES);
+                if (afterLines.size() > MAX_READ_LINES) afterLines = afterLines.subList(0, MAX_READ_LINES);
+
+                List<LineDiff.Line> lines = LineDiff.diff(beforeLines, afterLines, MAX_DIFF_LINES);
+
+                if (truncated) {
+                    html.append("<span class=\"response-history-gap\">@@ Only the first ").append(MAX_READ_LINES)
+                        .append(" lines of each body are compared, later differences are not shown @@</span>\n");
+                }
+                if (lines.isEmpty()) {
+                    html.append(truncated ? "The compared lines are identical, the bodies differ further down." : "The bodies only differ in whitespace or line endings.");
+                }
+
+                for (LineDiff.Line line : lines) {
+                    switch (line.getType()) {
+                        case LineDiff.ADDED:
+                            HtmlFormatter.append(html.append("<span class=\"response-history-added\">+ "), line.getText()).append("</span>\n");
+                            break;
+                        case LineDiff.REMOVED:
+                            HtmlFormatter.append(html.append("<span class=\"response-history-removed\">- "), line.getText()).append("</span>\n");
+                            break;
+                        case LineDiff.GAP:
+                            HtmlFormatter.append(html.append("<span class=\"response-history-gap\">@@ "), line.getText()).append(" @@</span>\n");
+                            break;
+                        default:
+                            HtmlFormatter.append(html.append("  "), line.getText()).append("\n");
+                    }
+                }
+            } catch (Exception e) {
+                html.append(HtmlFormatter.escape(e.toString()));
+            }
+        }
+
+        diff.setHtml(html.append("</pre>").toString());
+        diff.setVisible(true);
+    }
+
+}
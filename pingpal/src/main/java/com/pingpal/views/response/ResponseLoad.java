@@ -0,0 +1,148 @@
+package com.pingpal.views.response;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.helpers.LatencyHistogram;
+import com.pingpal.models.RequestModel;
+import com.pingpal.services.LoadTest;
+import com.webforj.Interval;
+import com.webforj.component.Expanse;
+import com.webforj.component.field.NumberField;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.list.ChoiceBox;
+import com.webforj.component.text.Label;
+
+public class ResponseLoad extends Div {
+
+    private ChoiceBox mode;
+    private NumberField target, duration;
+    private Label summary;
+    private LinkedHashMap<String, Div> bars = new LinkedHashMap<String, Div>();
+    private LinkedHashMap<String, Label> values = new LinkedHashMap<String, Label>();
+    private Interval interval;
+    private LoadTest loadTest;
+    private Runnable onFinish;
+
+    public ResponseLoad() {
+        setWidth("100%");
+        setHeight("100%");
+
+        FlexLayout layout = new FlexLayout();
+        layout.setDirection(FlexDirection.COLUMN);
+        layout.setSpacing("10px");
+        add(layout);
+
+        FlexLayout settings = new FlexLayout();
+        settings.setAlignment(FlexAlignment.END);
+        settings.setSpacing("10px");
+
+        mode = new ChoiceBox("Mode");
+        mode.add("RPS", "Requests per second");
+        mode.add("CONCURRENCY", "Concurrent requests");
+        mode.selectIndex(0);
+        mode.setExpanse(Expanse.LARGE);
+
+        target = new NumberField("Target", 10.0);
+        target.setMin(1.0);
+        target.setExpanse(Expanse.LARGE);
+
+        duration = new NumberField("Duration (s)", 10.0);
+        duration.setMin(1.0);
+        duration.setExpanse(Expanse.LARGE);
+
+        settings.add(mode, target, duration);
+
+        summary = new Label("Press \"Load test\" to drive this request with the settings above.");
+
+        FlexLayout chart = new FlexLayout();
+        chart.setDirection(FlexDirection.COLUMN);
+        chart.setSpacing("5px");
+        chart.addClassName("response-load-chart");
+
+        for (String name : new String[] { "p50", "p90", "p99", "max" }) {
+            FlexLayout row = new FlexLayout();
+            row.setAlignment(FlexAlignment.CENTER);
+            row.setSpacing("10px");
+
+            Label label = new Label(name).addClassName("response-load-label");
+            Div track = new Div().addClassName("response-load-track");
+            Div bar = new Div().addClassName("response-load-bar");
+            bar.setStyle("width", "0%");
+            track.add(bar);
+
+            Label value = new Label("-").addClassName("response-load-value");
+            row.add(label, track, value);
+            chart.add(row);
+
+            bars.put(name, bar);
+            values.put(name, value);
+        }
+
+        layout.add(settings, summary, chart);
+    }
+
+    public LoadTest createLoadTest(RequestModel model) {
+        LoadTest.Mode selected = LoadTest.Mode.valueOf(mode.getSelectedKey().toString());
+        return new LoadTest(model, selected, getInt(target), Duration.ofSeconds(getInt(duration)));
+    }
+
+    public void start(LoadTest loadTest, Runnable onFinish) {
+        this.loadTest = loadTest;
+        this.onFinish = onFinish;
+
+        if (interval != null) interval.stop();
+        interval = new Interval(0.5f, e -> refresh());
+        interval.start();
+    }
+
+    private void refresh() {
+        if (loadTest == null) return;
+
+        boolean running = loadTest.isRunning();
+        LatencyHistogram histogram = loadTest.getHistogram();
+
+        Duration p50 = histogram.getPercentile(50);
+        Duration p90 = histogram.getPercentile(90);
+        Duration p99 = histogram.getPercentile(99);
+        Duration max = histogram.getMax();
+
+        setBar("p50", p50, max);
+        setBar("p90", p90, max);
+        setBar("p99", p99, max);
+        setBar("max", max, max);
+
+        String text = (running ? "Running" : "Finished") + " | "
+            + histogram.getCount() + " responses in " + DurationFormatter.format(loadTest.getElapsed())
+            + " | " + String.format("%.1f", loadTest.getThroughput()) + " req/s"
+            + " | " + loadTest.getErrors() + " errors"
+            + " | " + BytesFormatter.format(loadTest.getBytes());
+        if (running) text += " | " + loadTest.getInFlight() + " in flight";
+        if (loadTest.getDropped() > 0) text += " | " + loadTest.getDropped() + " dropped";
+        summary.setText(text);
+
+        if (!running) {
+            interval.stop();
+            if (onFinish != null) onFinish.run();
+        }
+    }
+
+    private void setBar(String name, Duration value, Duration max) {
+        double percent = max.isZero() ? 0 : value.toNanos() * 100.0 / max.toNanos();
+        bars.get(name).setStyle("width", String.format(Locale.ROOT, "%.1f%%", percent));
+        values.get(name).setText(DurationFormatter.format(value));
+    }
+
+    private int getInt(NumberField field) {
+        Double value = field.getValue();
+        if (value == null) return 1;
+        return Math.max(1, value.intValue());
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.pingpal.views.response;
 
+import java.net.http.HttpClient;
+
+import com.pingpal.helpers.ProtocolFormatter;
 import com.pingpal.helpers.StatusCodeFormatter;
 import com.webforj.component.html.elements.Div;
 import com.webforj.component.text.Label;
@@ -7,12 +10,23 @@ import com.webforj.component.text.Label;
 public class ResponseStatusCode extends Div {
 
     private Label statusCode;
+    private Label protocol;
 
     public ResponseStatusCode() {
         addClassName("response-status-code");
 
         statusCode = new Label("-").addClassName("response-status-code-label");
-        add(statusCode);
+        protocol = new Label().addClassName("response-status-code-protocol");
+        protocol.setVisible(false);
+        add(statusCode, protocol);
+    }
+
+    public void setData(int code, HttpClient.Version version) {
+        setData(code);
+
+        // The version the exchange actually used, which may differ from the one requested after negotiation.
+        protocol.setText(ProtocolFormatter.format(version));
+        protocol.setVisible(version != null);
     }
 
     public void setData(int code) {
@@ -31,12 +45,14 @@ public class ResponseStatusCode extends Div {
 
     public void setError() {
         statusCode.setText("Error");
+        protocol.setVisible(false);
         setStyle("background-color", "red");
     }
 
     public void clear() {
         statusCode.setText("-");
         statusCode.setStyle("color", "initial");
+        protocol.setVisible(false);
 
         setStyle("background-color", "initial");
         setStyle("border-color", "#d7d7d7");
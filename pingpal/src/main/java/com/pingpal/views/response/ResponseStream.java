@@ -0,0 +1,171 @@
+package com.pingpal.views.response;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.pingpal.components.Placeholder;
+import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.models.StreamEvent;
+import com.webforj.Interval;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.table.Table;
+import com.webforj.component.text.Label;
+import com.webforj.data.repository.CollectionRepository;
+
+public class ResponseStream extends Div {
+
+    private static final int CAPACITY = 10_000;
+    private static final int MAX_PREVIEW = 500;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private Placeholder placeholder;
+    private FlexLayout content;
+    private Label summary;
+    private Table<StreamEvent> table;
+    private ArrayDeque<StreamEvent> items = new ArrayDeque<StreamEvent>();
+    private CollectionRepository<StreamEvent> repository = new CollectionRepository<StreamEvent>(items);
+
+    // Events arrive on the client's threads, the interval moves them into the table on the UI thread.
+    // Bounded when events are added, a fast stream would otherwise fill the heap between two ticks.
+    private ConcurrentLinkedQueue<StreamEvent> incoming = new ConcurrentLinkedQueue<StreamEvent>();
+    private AtomicInteger queued = new AtomicInteger();
+    private AtomicLong overflow = new AtomicLong();
+    private Interval interval;
+    private volatile Object session;
+    private Runnable onEventStream;
+    private long received, dropped, measured;
+    private Duration maxGap = Duration.ZERO, totalGap = Duration.ZERO;
+
+    public ResponseStream() {
+        setWidth("100%");
+        setHeight("100%");
+
+        placeholder = new Placeholder("Server-sent events and newline-delimited JSON streams appear here while the response is arriving.");
+        add(placeholder);
+
+        content = new FlexLayout();
+        content.setDirection(FlexDirection.COLUMN);
+        content.setSpacing("10px");
+        content.setHeight("100%");
+        content.setVisible(false);
+        add(content);
+
+        summary = new Label();
+
+        table = new Table<StreamEvent>();
+        table.setWidth("100%");
+        table.setHeight("100%");
+        table.addColumn("#", StreamEvent::getIndex);
+        table.addColumn("Time", event -> TIME.format(event.getTimestamp()));
+        table.addColumn("Gap", event -> DurationFormatter.format(event.getGap()));
+        table.addColumn("Event", event -> event.getType() != null ? event.getType() : "");
+        table.addColumn("ID", event -> event.getId() != null ? event.getId() : "");
+        table.addColumn("Data", event -> preview(event.getData()));
+        table.setSelectionMode(Table.SelectionMode.NONE);
+        table.setRepository(repository);
+
+        content.add(summary, table);
+    }
+
+    // Returns the listener for one request, events of an earlier request that is still draining are ignored.
+    public Consumer<StreamEvent> start() {
+        stop();
+        clear();
+
+        Object current = new Object();
+        session = current;
+
+        interval = new Interval(0.25f, e -> drain());
+        interval.start();
+
+        return event -> {
+            if (session != current) return;
+
+            incoming.add(event);
+            if (queued.incrementAndGet() > CAPACITY && incoming.poll() != null) {
+                queued.decrementAndGet();
+                overflow.incrementAndGet();
+            }
+        };
+    }
+
+    public void stop() {
+        if (interval == null) return;
+
+        interval.stop();
+        interval = null;
+        drain();
+    }
+
+    // Called once per request when it turns out to be a server-sent event stream, JSON lines do not trigger it.
+    public void onEventStream(Runnable onEventStream) {
+        this.onEventStream = onEventStream;
+    }
+
+    public void clear() {
+        session = null;
+        incoming.clear();
+        queued.set(0);
+        overflow.set(0);
+        items.clear();
+        repository.commit();
+
+        received = 0;
+        dropped = 0;
+        measured = 0;
+        maxGap = Duration.ZERO;
+        totalGap = Duration.ZERO;
+
+        placeholder.setVisible(true);
+        content.setVisible(false);
+    }
+
+    private void drain() {
+        if (incoming.isEmpty()) return;
+
+        boolean first = received == 0;
+        StreamEvent event;
+        while ((event = incoming.poll()) != null) {
+            queued.decrementAndGet();
+            if (items.size() == CAPACITY) {
+                items.removeFirst();
+                dropped++;
+            }
+
+            items.addLast(event);
+            received++;
+            measured++;
+            totalGap = totalGap.plus(event.getGap());
+            if (event.getGap().compareTo(maxGap) > 0) maxGap = event.getGap();
+        }
+
+        // Events the queue dropped before they reached the table still count as received.
+        long lost = overflow.getAndSet(0);
+        received += lost;
+        dropped += lost;
+
+        repository.commit();
+        placeholder.setVisible(false);
+        content.setVisible(true);
+
+        String text = received + " events | average gap " + DurationFormatter.format(totalGap.dividedBy(measured))
+            + " | longest gap " + DurationFormatter.format(maxGap);
+        if (dropped > 0) text += " | " + dropped + " oldest not shown";
+        summary.setText(text);
+
+        if (first && onEventStream != null && items.peekFirst().getType() != null) onEventStream.run();
+    }
+
+    private String preview(String data) {
+        return data.length() > MAX_PREVIEW ? data.substring(0, MAX_PREVIEW) + "…" : data;
+    }
+
+}
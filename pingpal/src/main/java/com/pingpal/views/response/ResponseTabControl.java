@@ -1,10 +1,15 @@
 package com.pingpal.views.response;
 
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 
 import com.pingpal.components.TabControl;
+import com.pingpal.helpers.SpooledBody;
+import com.pingpal.models.AssertionResult;
+import com.pingpal.models.HistoryEntry;
+import com.pingpal.models.RequestTiming;
+import com.pingpal.services.HistoryStore;
 import com.pingpal.views.Console;
 
 public class ResponseTabControl extends TabControl {
@@ -14,6 +19,11 @@ public class ResponseTabControl extends TabControl {
     private ResponseStatusCode responseCode;
     private ResponseDuration responseDuration;
     private ResponseBytes responseBytes;
+    private ResponseLoad responseLoad;
+    private ResponseHistory responseHistory;
+    private ResponseStream responseStream;
+    private ResponseWebSocket responseWebSocket;
+    private ResponseAssertions responseAssertions;
     private Console console;
 
     public ResponseTabControl() {
@@ -23,41 +33,97 @@ public class ResponseTabControl extends TabControl {
         responseHeaders = new ResponseHeaders();
         addTab("Headers", responseHeaders);
 
+        responseAssertions = new ResponseAssertions();
+        addTab("Tests", responseAssertions);
+
+        responseStream = new ResponseStream();
+        responseStream.onEventStream(() -> selectTab(responseStream));
+        addTab("Stream", responseStream);
+
+        responseWebSocket = new ResponseWebSocket();
+        addTab("WebSocket", responseWebSocket);
+
         console = new Console();
         addTab("Console", console);
 
+        responseLoad = new ResponseLoad();
+        addTab("Load", responseLoad);
+
+        responseHistory = new ResponseHistory();
+        responseHistory.onOpen(this::setResponse);
+        addTab("History", responseHistory);
+
         responseCode = new ResponseStatusCode();
         responseDuration = new ResponseDuration();
         responseBytes = new ResponseBytes();
         addExtraContent(responseCode, responseDuration, responseBytes);
     }
 
-    public void setResponse(HttpResponse<String> response, Duration duration) {
+    public void setResponse(HttpResponse<SpooledBody> response, RequestTiming timing) {
+        // Read the size first, small bodies are released once they are rendered.
+        responseBytes.setData(response.body().getSize(), response.body().getWireSize(), response.body().getEncoding());
         responseBody.setData(response.body());
         
-        responseCode.setData(response.statusCode());
-        responseDuration.setData(duration);
-
-        byte[] bodyBytes = response.body().getBytes(StandardCharsets.UTF_8);
-        int byteLength = bodyBytes.length;
-        responseBytes.setData(byteLength);
+        responseCode.setData(response.statusCode(), response.version());
+        responseDuration.setData(timing.getExchange(), timing);
         
         responseHeaders.setData(response.headers());
     }
 
+    public void setResponse(HistoryEntry entry) {
+        try {
+            SpooledBody body = HistoryStore.getInstance().open(entry);
+            responseBytes.setData(body.getSize());
+            responseBody.setData(body);
+        } catch (Exception e) {
+            responseBody.setData(e.toString());
+            responseBytes.setData(0);
+        }
+
+        responseCode.setData(entry.getStatus(), entry.getVersion());
+        responseDuration.setData(entry.getDuration(), entry.getTiming());
+        responseHeaders.setData(entry.getHeaders());
+        // Stored responses were checked against the assertions of their time, they are not re-run.
+        responseAssertions.clear();
+    }
+
+    public void setResults(List<AssertionResult> results) {
+        responseAssertions.setResults(results);
+    }
+
     public void setError(String errorMessage) {
         responseBody.setData(errorMessage);
+        responseAssertions.clear();
         responseCode.setError();
         responseDuration.setData(Duration.ofMillis(0));
         responseBytes.setData(0);
     }
 
+    public ResponseLoad getLoad() {
+        return responseLoad;
+    }
+
+    public ResponseStream getStream() {
+        return responseStream;
+    }
+
+    public ResponseWebSocket getWebSocket() {
+        return responseWebSocket;
+    }
+
+    public ResponseHistory getHistory() {
+        return responseHistory;
+    }
+
     public void clear() {
         responseBody.clear();
         responseCode.clear();
         responseDuration.clear();
         responseBytes.clear();
         responseHeaders.clear();
+        responseAssertions.clear();
+        responseStream.stop();
+        responseStream.clear();
     }
     
 }
@@ -0,0 +1,190 @@
+package com.pingpal.views.response;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+
+import com.pingpal.components.Placeholder;
+import com.pingpal.helpers.BytesFormatter;
+import com.pingpal.helpers.DurationFormatter;
+import com.pingpal.helpers.LatencyHistogram;
+import com.pingpal.models.WebSocketMessage;
+import com.pingpal.services.WebSocketSession;
+import com.webforj.Environment;
+import com.webforj.Interval;
+import com.webforj.component.Expanse;
+import com.webforj.component.button.Button;
+import com.webforj.component.button.ButtonTheme;
+import com.webforj.component.field.NumberField;
+import com.webforj.component.field.TextArea;
+import com.webforj.component.html.elements.Div;
+import com.webforj.component.layout.flexlayout.FlexAlignment;
+import com.webforj.component.layout.flexlayout.FlexDirection;
+import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.table.Table;
+import com.webforj.component.text.Label;
+import com.webforj.data.repository.CollectionRepository;
+
+public class ResponseWebSocket extends Div {
+
+    private static final int CAPACITY = 5_000;
+    private static final int MAX_PREVIEW = 500;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private Placeholder placeholder;
+    private FlexLayout content;
+    private TextArea message;
+    private NumberField repeat;
+    private Button send;
+    private Label metrics;
+    private Table<WebSocketMessage> table;
+    private ArrayDeque<WebSocketMessage> items = new ArrayDeque<WebSocketMessage>();
+    private CollectionRepository<WebSocketMessage> repository = new CollectionRepository<WebSocketMessage>(items);
+    private Interval interval;
+    private WebSocketSession session;
+    private long lastTick, lastMessages, lastBytes;
+
+    public ResponseWebSocket() {
+        setWidth("100%");
+        setHeight("100%");
+
+        placeholder = new Placeholder("Choose WS as the method and press Send to open a WebSocket connection.");
+        add(placeholder);
+
+        content = new FlexLayout();
+        content.setDirection(FlexDirection.COLUMN);
+        content.setSpacing("10px");
+        content.setHeight("100%");
+        content.setVisible(false);
+        add(content);
+
+        FlexLayout composer = new FlexLayout();
+        composer.setAlignment(FlexAlignment.END);
+        composer.setSpacing("10px");
+
+        message = new TextArea("Message");
+        message.setRows(3);
+        message.setWidth("100%");
+
+        repeat = new NumberField("Repeat", 1.0);
+        repeat.setMin(1.0);
+        repeat.setMaxWidth("100px");
+        repeat.setExpanse(Expanse.LARGE);
+
+        send = new Button("Send message");
+        send.setExpanse(Expanse.LARGE);
+        send.setTheme(ButtonTheme.PRIMARY);
+        send.onClick(e -> sendMessage());
+
+        composer.add(message, repeat, send);
+
+        metrics = new Label().addClassName("response-websocket-metrics");
+
+        table = new Table<WebSocketMessage>();
+        table.setWidth("100%");
+        table.setHeight("100%");
+        table.addColumn("Time", entry -> TIME.format(entry.getTimestamp()));
+        table.addColumn("", entry -> entry.getDirection() == WebSocketMessage.Direction.SENT ? "↑" : entry.getDirection() == WebSocketMessage.Direction.RECEIVED ? "↓" : "•");
+        table.addColumn("Message", entry -> preview(entry.getText()));
+        table.addColumn("Bytes", entry -> entry.getDirection() == WebSocketMessage.Direction.EVENT ? "" : BytesFormatter.format(entry.getSize()));
+        table.addColumn("Round trip", entry -> entry.getLatency() != null ? DurationFormatter.format(entry.getLatency()) : "");
+        table.setSelectionMode(Table.SelectionMode.NONE);
+        table.setRepository(repository);
+
+        content.add(composer, metrics, table);
+    }
+
+    // Messages arrive on the client's threads, the interval moves them into the log on the UI thread.
+    public void open(WebSocketSession session, Runnable onClosed) {
+        disconnect();
+
+        this.session = session;
+        items.clear();
+        repository.commit();
+        lastTick = System.nanoTime();
+        lastMessages = 0;
+        lastBytes = 0;
+
+        placeholder.setVisible(false);
+        content.setVisible(true);
+        send.setEnabled(true);
+
+        // Started from the UI thread, so runLater from the closing thread reaches this view.
+        session.onClose(() -> Environment.runLater(() -> {
+            if (this.session != session) return;
+
+            refresh();
+            send.setEnabled(false);
+            if (interval != null) interval.stop();
+            if (onClosed != null) onClosed.run();
+        }));
+
+        interval = new Interval(0.5f, e -> refresh());
+        interval.start();
+
+        session.connect();
+    }
+
+    public void disconnect() {
+        if (session != null) session.close();
+    }
+
+    public boolean isOpen() {
+        return session != null && session.isOpen();
+    }
+
+    private void sendMessage() {
+        if (session == null || !session.isOpen()) return;
+
+        Double value = repeat.getValue();
+        int count = value != null ? Math.max(1, value.intValue()) : 1;
+
+        send.setEnabled(false);
+        WebSocketSession current = session;
+        current.send(message.getText(), count).whenComplete((ws, error) -> Environment.runLater(() -> {
+            if (session == current) send.setEnabled(current.isOpen());
+        }));
+    }
+
+    private void refresh() {
+        if (session == null) return;
+
+        boolean changed = false;
+        WebSocketMessage entry;
+        while ((entry = session.poll()) != null) {
+            if (items.size() == CAPACITY) items.removeFirst();
+            items.addLast(entry);
+            changed = true;
+        }
+        if (changed) repository.commit();
+
+        // Rates cover the time since the previous refresh, so they follow bursts instead of averaging them away.
+        long now = System.nanoTime();
+        long messages = session.getSentMessages() + session.getReceivedMessages();
+        long bytes = session.getSentBytes() + session.getReceivedBytes();
+        double seconds = Math.max(1e-3, (now - lastTick) / 1e9);
+
+        long messageRate = Math.round((messages - lastMessages) / seconds);
+        long byteRate = Math.round((bytes - lastBytes) / seconds);
+        lastTick = now;
+        lastMessages = messages;
+        lastBytes = bytes;
+
+        LatencyHistogram latency = session.getLatency();
+        String text = (session.isOpen() ? "Open" : "Closed")
+            + " | sent " + session.getSentMessages() + " (" + BytesFormatter.format(session.getSentBytes()) + ")"
+            + " | received " + session.getReceivedMessages() + " (" + BytesFormatter.format(session.getReceivedBytes()) + ")"
+            + " | " + messageRate + " msg/s | " + BytesFormatter.format(byteRate) + "/s";
+        if (latency.getCount() > 0) {
+            text += " | round trip p50 " + DurationFormatter.format(latency.getPercentile(50))
+                + ", p99 " + DurationFormatter.format(latency.getPercentile(99));
+        }
+        if (session.getDroppedMessages() > 0) text += " | " + session.getDroppedMessages() + " oldest not shown";
+        metrics.setText(text);
+    }
+
+    private String preview(String text) {
+        return text.length() > MAX_PREVIEW ? text.substring(0, MAX_PREVIEW) + "…" : text;
+    }
+
+}
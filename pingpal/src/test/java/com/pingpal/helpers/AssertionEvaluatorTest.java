@@ -0,0 +1,186 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.net.ssl.SSLSession;
+
+import org.junit.jupiter.api.Test;
+
+import com.pingpal.models.Assertion;
+import com.pingpal.models.Assertion.Operator;
+import com.pingpal.models.Assertion.Type;
+import com.pingpal.models.AssertionResult;
+
+class AssertionEvaluatorTest {
+
+    private static final String BODY = "{\"id\":7,\"total\":1.50,\"name\":\"Ada\",\"items\":[{\"qty\":1},{\"qty\":3},{\"qty\":2}],\"note\":null}";
+
+    @Test
+    void checksStatusHeadersAndLatency() throws IOException {
+        List<AssertionResult> results = evaluate(BODY, Duration.ofMillis(120),
+            new Assertion(Type.STATUS, null, Operator.EQUALS, "200"),
+            new Assertion(Type.HEADER, "content-type", Operator.CONTAINS, "json"),
+            new Assertion(Type.HEADER, "X-Missing", Operator.NOT_EXISTS, null),
+            new Assertion(Type.HEADER, "X-Missing", Operator.EQUALS, "1"),
+            new Assertion(Type.LATENCY, null, Operator.LESS_THAN, "100"));
+
+        assertPassed(results, true, true, true, false, false);
+        assertEquals("application/json; charset=utf-8", results.get(1).getActual());
+        assertEquals("Not present", results.get(3).getMessage());
+        assertEquals("120", results.get(4).getActual());
+        assertEquals("Expected Latency (ms) less than 100", results.get(4).getMessage());
+    }
+
+    @Test
+    void comparesNumbersByValueAndTextAsText() throws IOException {
+        List<AssertionResult> results = evaluate(BODY, null,
+            new Assertion(Type.JSON_PATH, "$.total", Operator.EQUALS, "1.5"),
+            new Assertion(Type.JSON_PATH, "$.id", Operator.EQUALS, "7.0"),
+            new Assertion(Type.JSON_PATH, "$.name", Operator.EQUALS, "Ada"),
+            new Assertion(Type.JSON_PATH, "$.name", Operator.NOT_EQUALS, "ada"),
+            new Assertion(Type.JSON_PATH, "$.name", Operator.MATCHES, "^A.a$"),
+            new Assertion(Type.JSON_PATH, "$.id", Operator.GREATER_THAN, "10"),
+            new Assertion(Type.JSON_PATH, "$.note", Operator.EQUALS, "null"));
+
+        assertPassed(results, true, true, true, true, true, false, true);
+        assertEquals("Failed for 7", results.get(5).getMessage());
+    }
+
+    @Test
+    void requiresEveryWildcardMatchToPass() throws IOException {
+        List<AssertionResult> results = evaluate(BODY, null,
+            new Assertion(Type.JSON_PATH, "$.items[*].qty", Operator.GREATER_THAN, "0"),
+            new Assertion(Type.JSON_PATH, "$.items[*].qty", Operator.LESS_THAN, "3"),
+            new Assertion(Type.JSON_PATH, "$.items.length()", Operator.EQUALS, "3"),
+            new Assertion(Type.JSON_PATH, "$.items", Operator.EQUALS, "3"));
+
+        assertPassed(results, true, false, true, false);
+        assertEquals("1 (3 matches)", results.get(0).getActual());
+        assertEquals("3 (3 matches)", results.get(1).getActual());
+        assertEquals("Failed for 3", results.get(1).getMessage());
+        // A container is described, not compared as its number of children.
+        assertEquals("array of 3", results.get(3).getActual());
+    }
+
+    @Test
+    void reportsPresenceOfPaths() throws IOException {
+        List<AssertionResult> results = evaluate(BODY, null,
+            new Assertion(Type.JSON_PATH, "$.note", Operator.EXISTS, null),
+            new Assertion(Type.JSON_PATH, "$.missing", Operator.EXISTS, null),
+            new Assertion(Type.JSON_PATH, "$.missing", Operator.NOT_EXISTS, null),
+            new Assertion(Type.JSON_PATH, "$..qty", Operator.NOT_EXISTS, null),
+            new Assertion(Type.JSON_PATH, "$.missing", Operator.EQUALS, "1"));
+
+        assertPassed(results, true, false, true, false, false);
+        assertEquals("No value matched the path", results.get(1).getMessage());
+        assertEquals("The path matched 3 values", results.get(3).getMessage());
+        assertEquals("No value matched the path", results.get(4).getMessage());
+    }
+
+    @Test
+    void reportsBodiesThatAreNotJson() throws IOException {
+        Assertion assertion = new Assertion(Type.JSON_PATH, "$.id", Operator.EXISTS, null);
+
+        AssertionResult empty = evaluate("", null, assertion).get(0);
+        assertFalse(empty.isPassed());
+        assertEquals("The response body is empty or ends early", empty.getMessage());
+
+        AssertionResult invalid = evaluate("{\"id\": 7,, }", null, assertion, new Assertion(Type.STATUS, null, Operator.EQUALS, "200")).get(0);
+        assertFalse(invalid.isPassed());
+        assertTrue(invalid.getMessage().startsWith("The response body is not valid JSON"), invalid.getMessage());
+    }
+
+    @Test
+    void reportsAssertionsThatDoNotCompile() throws IOException {
+        List<AssertionResult> results = evaluate(BODY, null,
+            new Assertion(Type.JSON_PATH, "id", Operator.EXISTS, null),
+            new Assertion(Type.JSON_PATH, "$.name", Operator.MATCHES, "(unclosed"),
+            new Assertion(Type.STATUS, null, Operator.LESS_THAN, "fast"),
+            new Assertion(Type.STATUS, null, Operator.EQUALS, "200"));
+
+        assertPassed(results, false, false, false, true);
+        assertTrue(results.get(0).getMessage().startsWith("Invalid JSONPath: "), results.get(0).getMessage());
+        assertTrue(results.get(1).getMessage().startsWith("Invalid pattern: "), results.get(1).getMessage());
+        assertTrue(results.get(2).getMessage().startsWith("Expected a number: "), results.get(2).getMessage());
+    }
+
+    @Test
+    void isEmptyWithoutAssertions() {
+        assertTrue(AssertionEvaluator.compile(null).isEmpty());
+        assertTrue(AssertionEvaluator.compile(List.of()).isEmpty());
+        assertEquals(2, AssertionEvaluator.compile(List.of(new Assertion(), new Assertion())).size());
+    }
+
+    private static void assertPassed(List<AssertionResult> results, boolean... expected) {
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            AssertionResult result = results.get(i);
+            assertEquals(expected[i], result.isPassed(), i + ": " + result.getAssertion().describe() + " was " + result.getActual() + " " + result.getMessage());
+        }
+    }
+
+    private static List<AssertionResult> evaluate(String body, Duration latency, Assertion... assertions) throws IOException {
+        SpooledBody spooled = new SpooledBody();
+        spooled.write(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+
+        return AssertionEvaluator.compile(List.of(assertions)).evaluate(new Response(spooled), latency);
+    }
+
+    private static class Response implements HttpResponse<SpooledBody> {
+
+        private final SpooledBody body;
+
+        Response(SpooledBody body) {
+            this.body = body;
+        }
+
+        public int statusCode() {
+            return 200;
+        }
+
+        public HttpRequest request() {
+            return HttpRequest.newBuilder(uri()).build();
+        }
+
+        public Optional<HttpResponse<SpooledBody>> previousResponse() {
+            return Optional.empty();
+        }
+
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of("Content-Type", List.of("application/json; charset=utf-8")), (name, value) -> true);
+        }
+
+        public SpooledBody body() {
+            return body;
+        }
+
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        public URI uri() {
+            return URI.create("http://localhost/");
+        }
+
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+
+    }
+
+}
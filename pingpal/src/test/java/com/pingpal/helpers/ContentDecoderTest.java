@@ -0,0 +1,200 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class ContentDecoderTest {
+
+    // Small chunks put the header, the deflate stream and the trailer across chunk boundaries.
+    private static final int[] CHUNKS = { 1, 2, 3, 7, 10, 11, 64, 4096, 1 << 20 };
+
+    @Test
+    void decodesGzipSplitAtAnyBoundary() throws IOException {
+        byte[] body = sample(200_000);
+        byte[] encoded = ContentEncoder.gzip(body);
+
+        for (int chunk : CHUNKS) {
+            assertArrayEquals(gunzip(encoded), decode("gzip", encoded, chunk));
+        }
+    }
+
+    @Test
+    void skipsOptionalHeaderFields() throws IOException {
+        byte[] body = "{\"name\":\"pingpal\"}".getBytes(StandardCharsets.UTF_8);
+        // FHCRC, FEXTRA, FNAME and FCOMMENT, in the order RFC 1952 puts them.
+        byte[] extra = { 'A', 'P', 4, 0, 1, 2, 3, 4 };
+        byte[] encoded = member(body, 2 | 4 | 8 | 16, extra, "body.json", "written by a test");
+
+        for (int chunk : CHUNKS) {
+            assertArrayEquals(gunzip(encoded), decode("gzip", encoded, chunk));
+        }
+
+        byte[] named = member(body, 8, null, "body.json", null);
+        assertArrayEquals(body, decode("x-gzip", named, 4));
+    }
+
+    @Test
+    void decodesConcatenatedMembers() throws IOException {
+        byte[] first = sample(30_000);
+        byte[] second = "second member".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        encoded.write(ContentEncoder.gzip(first));
+        encoded.write(member(second, 8 | 16, null, "second", "comment"));
+        encoded.write(ContentEncoder.gzip(new byte[0]));
+
+        for (int chunk : CHUNKS) {
+            assertArrayEquals(gunzip(encoded.toByteArray()), decode("gzip", encoded.toByteArray(), chunk));
+        }
+    }
+
+    @Test
+    void decodesZlibAndRawDeflate() throws IOException {
+        byte[] body = sample(50_000);
+        byte[] zlib = deflate(body, false);
+        byte[] raw = deflate(body, true);
+
+        for (int chunk : CHUNKS) {
+            assertArrayEquals(inflate(zlib, false), decode("deflate", zlib, chunk));
+            assertArrayEquals(inflate(raw, true), decode("deflate", raw, chunk));
+        }
+    }
+
+    @Test
+    void rejectsACorruptChecksum() {
+        byte[] encoded = ContentEncoder.gzip(sample(1_000));
+        encoded[encoded.length - 8] ^= 1;
+
+        assertThrows(IOException.class, () -> gunzip(encoded));
+        for (int chunk : CHUNKS) {
+            assertThrows(IOException.class, () -> decode("gzip", encoded, chunk));
+        }
+    }
+
+    @Test
+    void rejectsATruncatedBody() {
+        byte[] encoded = ContentEncoder.gzip(sample(10_000));
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThrows(IOException.class, () -> decode("gzip", truncated, 64));
+        assertThrows(IOException.class, () -> decode("gzip", new byte[] { 0x1F, (byte) 0x8B, 8 }, 1));
+        assertThrows(IOException.class, () -> decode("gzip", "not gzip at all".getBytes(StandardCharsets.UTF_8), 4));
+    }
+
+    @Test
+    void leavesOtherEncodingsAlone() throws IOException {
+        assertNull(ContentDecoder.forEncoding(null));
+        assertNull(ContentDecoder.forEncoding("identity"));
+        assertNull(ContentDecoder.forEncoding("br"));
+        assertNotNull(ContentDecoder.forEncoding(" GZIP "));
+
+        // An empty body is not encoded at all.
+        assertTrue(decode("gzip", new byte[0], 1).length == 0);
+    }
+
+    private static byte[] decode(String encoding, byte[] encoded, int chunk) throws IOException {
+        ContentDecoder decoder = ContentDecoder.forEncoding(encoding);
+        try (SpooledBody output = new SpooledBody()) {
+            for (int offset = 0; offset < encoded.length; offset += chunk) {
+                decoder.decode(ByteBuffer.wrap(encoded, offset, Math.min(chunk, encoded.length - offset)), output);
+            }
+            decoder.finish();
+
+            try (InputStream input = output.openStream()) {
+                return input.readAllBytes();
+            }
+        } finally {
+            decoder.close();
+        }
+    }
+
+    private static byte[] gunzip(byte[] encoded) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static byte[] inflate(byte[] encoded, boolean raw) throws IOException {
+        try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(encoded), new Inflater(raw))) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static byte[] deflate(byte[] body, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            deflater.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // Builds a gzip member by hand, GZIPOutputStream never writes the optional header fields.
+    private static byte[] member(byte[] body, int flags, byte[] extra, String name, String comment) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(new byte[] { 0x1F, (byte) 0x8B, 8, (byte) flags, 0, 0, 0, 0, 0, (byte) 0xFF });
+        if (extra != null) {
+            header.write(extra.length & 0xFF);
+            header.write(extra.length >>> 8);
+            header.write(extra);
+        }
+        if (name != null) {
+            header.write(name.getBytes(StandardCharsets.ISO_8859_1));
+            header.write(0);
+        }
+        if (comment != null) {
+            header.write(comment.getBytes(StandardCharsets.ISO_8859_1));
+            header.write(0);
+        }
+        if ((flags & 2) != 0) {
+            CRC32 crc = new CRC32();
+            crc.update(header.toByteArray());
+            header.write((int) crc.getValue() & 0xFF);
+            header.write((int) (crc.getValue() >>> 8) & 0xFF);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        member.write(header.toByteArray());
+        member.write(deflate(body, true));
+        writeInt(member, crc.getValue());
+        writeInt(member, body.length);
+        return member.toByteArray();
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (value >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    // Repetitive enough to compress well, random enough that the deflate stream has real structure.
+    static byte[] sample(int size) {
+        Random random = new Random(size);
+        byte[] words = "pingpal request response header body status ".getBytes(StandardCharsets.US_ASCII);
+        byte[] sample = new byte[size];
+        for (int i = 0; i < size; i++) {
+            sample[i] = random.nextInt(8) == 0 ? (byte) random.nextInt(256) : words[(i + random.nextInt(3)) % words.length];
+        }
+        return sample;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentEncoderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gzipsBytes() throws IOException {
+        for (int size : new int[] { 0, 1, 100_000 }) {
+            byte[] body = ContentDecoderTest.sample(size);
+            assertArrayEquals(body, gunzip(ContentEncoder.gzip(body)));
+        }
+    }
+
+    @Test
+    void gzipsAFileWhileItIsRead() throws IOException {
+        // Sizes around the 8 KB read buffer, and one large enough to need several deflate blocks.
+        for (int size : new int[] { 0, 1, 8191, 8192, 8193, 3_000_000 }) {
+            byte[] body = ContentDecoderTest.sample(size);
+            Path file = directory.resolve("body-" + size + ".bin");
+            Files.write(file, body);
+
+            Supplier<InputStream> supplier = ContentEncoder.gzip(file);
+            byte[] encoded;
+            try (InputStream input = supplier.get()) {
+                encoded = input.readAllBytes();
+            }
+            assertArrayEquals(body, gunzip(encoded));
+
+            // Each call opens the file again, a retried request sends the whole body again.
+            try (InputStream input = supplier.get()) {
+                assertArrayEquals(encoded, input.readAllBytes());
+            }
+        }
+    }
+
+    private static byte[] gunzip(byte[] encoded) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return input.readAllBytes();
+        }
+    }
+
+}
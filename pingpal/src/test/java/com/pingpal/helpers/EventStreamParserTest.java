@@ -0,0 +1,90 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.pingpal.models.StreamEvent;
+
+class EventStreamParserTest {
+
+    @Test
+    void parsesOnlyStreamingContentTypes() {
+        assertNotNull(EventStreamParser.forResponse(info("text/event-stream; charset=utf-8"), event -> {}));
+        assertNotNull(EventStreamParser.forResponse(info("application/x-ndjson"), event -> {}));
+        assertNotNull(EventStreamParser.forResponse(info("Application/Stream+JSON"), event -> {}));
+
+        // Chunked JSON and other bodies without a length are regular bodies.
+        assertNull(EventStreamParser.forResponse(info("application/json"), event -> {}));
+        assertNull(EventStreamParser.forResponse(info("text/plain"), event -> {}));
+        assertNull(EventStreamParser.forResponse(info(null), event -> {}));
+        assertNull(EventStreamParser.forResponse(info("text/event-stream"), null));
+    }
+
+    @Test
+    void assemblesServerSentEvents() {
+        List<StreamEvent> events = new ArrayList<StreamEvent>();
+        EventStreamParser parser = EventStreamParser.forResponse(info("text/event-stream"), events::add);
+
+        parser.accept(bytes(": comment\r\nevent: tick\r\nid: 1\r\ndata: a\r\n"));
+        parser.accept(bytes("data: b\r\n\r\ndata: c\n\ndata: unfinished"));
+        parser.finish();
+
+        assertEquals(2, events.size());
+        assertEquals("tick", events.get(0).getType());
+        assertEquals("1", events.get(0).getId());
+        assertEquals("a\nb", events.get(0).getData());
+        assertEquals("message", events.get(1).getType());
+        assertEquals("1", events.get(1).getId());
+        assertEquals("c", events.get(1).getData());
+    }
+
+    @Test
+    void emitsOneEventPerJsonLine() {
+        List<StreamEvent> events = new ArrayList<StreamEvent>();
+        EventStreamParser parser = EventStreamParser.forResponse(info("application/x-ndjson"), events::add);
+
+        parser.accept(bytes("{\"a\":1}\n\n{\"b\""));
+        parser.accept(bytes(":2}\n{\"c\":3}"));
+        parser.finish();
+
+        assertEquals(3, events.size());
+        assertEquals("{\"b\":2}", events.get(1).getData());
+        assertEquals("{\"c\":3}", events.get(2).getData());
+        assertNull(events.get(0).getType());
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseInfo info(String contentType) {
+        HttpHeaders headers = HttpHeaders.of(contentType == null ? Map.of() : Map.of("Content-Type", List.of(contentType)), (name, value) -> true);
+
+        return new ResponseInfo() {
+            public int statusCode() {
+                return 200;
+            }
+
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+
+}
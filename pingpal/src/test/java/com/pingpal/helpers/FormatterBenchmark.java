@@ -0,0 +1,130 @@
+package com.pingpal.helpers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Old and new formatters side by side. Run with -prof gc to compare allocations as well.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+
+    // Objects in the JSON array, 10 is about 1 KB and 1000 about 115 KB.
+    @Param({ "10", "1000" })
+    int records;
+
+    String json;
+    String xml;
+    String html;
+
+    @Setup
+    public void setup() {
+        json = json(records);
+        xml = xml(records);
+        html = html(records);
+    }
+
+    @Benchmark
+    public String prettyPrintLegacy() {
+        return LegacyFormatters.prettyPrint(json);
+    }
+
+    @Benchmark
+    public String prettyPrint() throws Exception {
+        return JsonFormatter.prettyPrint(json);
+    }
+
+    @Benchmark
+    public String escapeXmlLegacy() {
+        return LegacyFormatters.escape(xml);
+    }
+
+    @Benchmark
+    public String escapeXml() {
+        return HtmlFormatter.escape(xml);
+    }
+
+    @Benchmark
+    public String escapeHtmlLegacy() {
+        return LegacyFormatters.escape(html);
+    }
+
+    @Benchmark
+    public String escapeHtml() {
+        return HtmlFormatter.escape(html);
+    }
+
+    @Benchmark
+    public String formatBytesLegacy() {
+        return LegacyFormatters.formatBytes(1_234_567L * records);
+    }
+
+    @Benchmark
+    public String formatBytes() {
+        return BytesFormatter.format(1_234_567L * records);
+    }
+
+    @Benchmark
+    public String formatDurationLegacy() {
+        return LegacyFormatters.formatDuration(Duration.ofMillis(61_234L * records));
+    }
+
+    @Benchmark
+    public String formatDuration() {
+        return DurationFormatter.format(Duration.ofMillis(61_234L * records));
+    }
+
+    // An array of API records with nested objects, nulls, numbers in every notation and strings that need escaping.
+    static String json(int records) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"User <").append(i).append("> & \\\"friends\\\"\"")
+                .append(",\"email\":\"user").append(i).append("@example.com\"")
+                .append(",\"score\":").append(i * 1.5)
+                .append(",\"ratio\":1.0E-").append(i % 9 + 1)
+                .append(",\"active\":").append(i % 2 == 0)
+                .append(",\"manager\":null")
+                .append(",\"note\":\"it's \\u00e9t\\u00e9 \\ud83d\\ude00 \\/ line\\nbreak\"")
+                .append(",\"tags\":[\"a\",\"b=c\",[]]")
+                .append(",\"address\":{\"street\":\"Main St ").append(i).append("\",\"zip\":\"0").append(i % 10).append("123\",\"geo\":{}}}");
+        }
+        return json.append(']').toString();
+    }
+
+    static String xml(int records) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<users>\n");
+        for (int i = 0; i < records; i++) {
+            xml.append("  <user id=\"").append(i).append("\" active='").append(i % 2 == 0).append("'>\n")
+                .append("    <name>User ").append(i).append(" &amp; friends</name>\n")
+                .append("    <note><![CDATA[a < b && c > d]]></note>\n")
+                .append("  </user>\n");
+        }
+        return xml.append("</users>\n").toString();
+    }
+
+    static String html(int records) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html lang=\"en\"><head><title>Users</title>\n<script>if (a < b && b > c) alert('hi');</script></head>\n<body><ul>\n");
+        for (int i = 0; i < records; i++) {
+            html.append("<li class=\"user\" data-id='").append(i).append("'>User ").append(i).append(" &mdash; <a href=\"/users?id=").append(i).append("&amp;x=1\">profile</a></li>\n");
+        }
+        return html.append("</ul></body></html>\n").toString();
+    }
+
+}
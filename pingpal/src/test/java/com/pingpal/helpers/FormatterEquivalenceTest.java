@@ -0,0 +1,92 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FormatterEquivalenceTest {
+
+    @Test
+    void prettyPrintsJsonLikeTheOldFormatter() throws Exception {
+        for (int records : new int[] { 0, 1, 10, 1000 }) {
+            String json = FormatterBenchmark.json(records);
+            assertEquals(LegacyFormatters.prettyPrint(json), JsonFormatter.prettyPrint(json), records + " records");
+        }
+    }
+
+    @Test
+    void prettyPrintsScalarsAndEmptyContainersLikeTheOldFormatter() throws Exception {
+        String[] documents = { "{}", "[]", "null", "true", "42", "-0.5e10", "\"text\"", "  {\"a\" : [ ] , \"b\":{ } }  ", "[1,2.50,3E2,null,\"\\u2028\"]" };
+        for (String json : documents) {
+            assertEquals(LegacyFormatters.prettyPrint(json), JsonFormatter.prettyPrint(json), json);
+        }
+    }
+
+    @Test
+    void escapesJsonXmlAndHtmlLikeTheOldFormatter() {
+        String[] bodies = { FormatterBenchmark.json(50), FormatterBenchmark.xml(50), FormatterBenchmark.html(50), "", "&", "'\"<>&" };
+        for (String body : bodies) {
+            assertEquals(LegacyFormatters.escape(body), HtmlFormatter.escape(body));
+            assertEquals(LegacyFormatters.escape(body), HtmlFormatter.append(new StringBuilder(), body).toString());
+        }
+    }
+
+    @Test
+    void returnsTextWithoutMarkupUnchanged() {
+        String text = "plain text without markup";
+        assertSame(text, HtmlFormatter.escape(text));
+    }
+
+    @Test
+    void formatsBytesLikeTheOldFormatter() {
+        // The old formatter used the default locale, the new one always writes a '.' as the decimal separator.
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+
+        try {
+            Random random = new Random(9);
+            for (int shift = 0; shift < 62; shift++) {
+                long power = 1L << shift;
+                for (long bytes : new long[] { power - 1, power, power + 1, power + power / 2 }) {
+                    assertBytes(bytes);
+                }
+                for (int i = 0; i < 200; i++) {
+                    assertBytes(power + (long) (random.nextDouble() * power));
+                }
+            }
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private static void assertBytes(long bytes) {
+        // Just below a power of 1024 the old logarithm could round up into the next unit, 2^50 - 1 bytes printed 1.0 PB.
+        // The new formatter takes the unit from the bit length and prints 1024.0 TB like it does at every other unit.
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        if (bytes >= 1024 && exp != (63 - Long.numberOfLeadingZeros(bytes)) / 10) return;
+
+        assertEquals(LegacyFormatters.formatBytes(bytes), BytesFormatter.format(bytes), bytes + " bytes");
+    }
+
+    @Test
+    void formatsDurationsLikeTheOldFormatter() {
+        long[] millis = { 0, 1, 999, 1000, 1001, 59_999, 60_000, 61_234, 3_599_999, 3_600_000, 86_400_000L * 3 };
+        for (long value : millis) {
+            Duration duration = Duration.ofMillis(value);
+            assertEquals(LegacyFormatters.formatDuration(duration), DurationFormatter.format(duration));
+        }
+    }
+
+    @Test
+    void formatsStatusCodesLikeTheOldFormatter() {
+        for (int code : new int[] { -1, 0, 99, 100, 200, 204, 299, 404, 418, 503, 599, 600, 1000 }) {
+            assertEquals(LegacyFormatters.formatStatus(code), StatusCodeFormatter.format(code));
+        }
+    }
+
+}
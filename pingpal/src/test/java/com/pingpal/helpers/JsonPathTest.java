@@ -0,0 +1,119 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+class JsonPathTest {
+
+    private static final String STORE = "{\"store\":{"
+        + "\"book\":["
+        + "{\"title\":\"Sayings\",\"price\":8.95,\"tags\":[\"a\",\"b\"]},"
+        + "{\"title\":\"Sword\",\"price\":12.99,\"isbn\":null},"
+        + "{\"title\":\"Moby\",\"price\":8.99,\"available\":false}],"
+        + "\"bicycle\":{\"color\":\"red\",\"price\":19.95}},"
+        + "\"owner\":{\"name\":\"O'Neil\",\"store\":{\"price\":1}}}";
+
+    @Test
+    void selectsNamesIndexesAndQuotedNames() throws IOException {
+        assertEquals(List.of("0 Sword STRING"), scan(STORE, "$.store.book[1].title"));
+        assertEquals(List.of("0 red STRING"), scan(STORE, "$['store'][\"bicycle\"].color"));
+        assertEquals(List.of("0 null NULL"), scan(STORE, "$.store.book[1].isbn"));
+        assertEquals(List.of("0 false BOOLEAN"), scan(STORE, "$.store.book[2].available"));
+        assertEquals(List.of("0 8.95 NUMBER"), scan(STORE, "$.store.book[0].price"));
+    }
+
+    @Test
+    void reportsContainersWithTheirNumberOfChildren() throws IOException {
+        assertEquals(List.of("0 3 BEGIN_ARRAY"), scan(STORE, "$.store.book"));
+        assertEquals(List.of("0 2 BEGIN_OBJECT"), scan(STORE, "$.store.bicycle"));
+        assertEquals(List.of("0 2 BEGIN_OBJECT"), scan(STORE, "$"));
+    }
+
+    @Test
+    void expandsWildcardsOverArraysAndObjects() throws IOException {
+        assertEquals(List.of("0 Sayings STRING", "0 Sword STRING", "0 Moby STRING"), scan(STORE, "$.store.book[*].title"));
+        assertEquals(List.of("0 red STRING", "0 19.95 NUMBER"), scan(STORE, "$.store.bicycle.*"));
+        assertEquals(List.of("0 a STRING", "0 b STRING"), scan(STORE, "$.store.book.*.tags[*]"));
+    }
+
+    @Test
+    void descendsToEveryDepth() throws IOException {
+        assertEquals(List.of("0 8.95 NUMBER", "0 12.99 NUMBER", "0 8.99 NUMBER", "0 19.95 NUMBER", "0 1 NUMBER"), scan(STORE, "$..price"));
+        assertEquals(List.of("0 8.95 NUMBER", "0 12.99 NUMBER", "0 8.99 NUMBER", "0 19.95 NUMBER", "0 1 NUMBER"), scan(STORE, "$..store..price"));
+        assertEquals(List.of("0 Sword STRING"), scan(STORE, "$..book[1].title"));
+    }
+
+    @Test
+    void reportsLengthsOfArraysObjectsAndStrings() throws IOException {
+        assertEquals(List.of("0 3 NUMBER"), scan(STORE, "$.store.book.length()"));
+        assertEquals(List.of("0 2 NUMBER"), scan(STORE, "$.store.bicycle.length()"));
+        assertEquals(List.of("0 6 NUMBER"), scan(STORE, "$.owner.name.length()"));
+        // Numbers, booleans and null have no length.
+        assertEquals(List.of(), scan(STORE, "$.store.bicycle.price.length()"));
+        assertEquals(List.of("0 0 NUMBER"), scan("[]", "$.length()"));
+    }
+
+    @Test
+    void matchesNothingForMissingPaths() throws IOException {
+        assertEquals(List.of(), scan(STORE, "$.store.car"));
+        assertEquals(List.of(), scan(STORE, "$.store.book[3]"));
+        assertEquals(List.of(), scan(STORE, "$.store.book.title"));
+        assertEquals(List.of(), scan(STORE, "$.store[0]"));
+        assertEquals(List.of(), scan(STORE, "$.store.bicycle.color.shade"));
+        assertEquals(List.of(), scan(STORE, "$..missing"));
+    }
+
+    @Test
+    void matchesSeveralPathsInOnePass() throws IOException {
+        assertEquals(List.of("1 Sayings STRING", "0 8.95 NUMBER", "1 Sword STRING", "1 Moby STRING", "2 3 NUMBER"),
+            scan(STORE, "$.store.book[0].price", "$..title", "$.store.book.length()"));
+    }
+
+    @Test
+    void readsExactlyOneValue() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("[" + STORE + ",{\"next\":true}]"));
+        reader.beginArray();
+
+        JsonPath.scan(reader, List.of(JsonPath.compile("$.owner.name")), (path, value, type) -> {});
+
+        assertEquals(JsonToken.BEGIN_OBJECT, reader.peek());
+        reader.skipValue();
+        reader.endArray();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void rejectsUnsupportedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("store.book"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.book[-1]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.book[0"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.book[?(@.price)]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$..*"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.book.length().title"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.store."));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$store"));
+    }
+
+    private static List<String> scan(String json, String... expressions) throws IOException {
+        List<JsonPath> paths = new ArrayList<JsonPath>();
+        for (String expression : expressions) {
+            paths.add(JsonPath.compile(expression));
+        }
+
+        List<String> matches = new ArrayList<String>();
+        JsonPath.scan(new JsonReader(new StringReader(json)), paths, (path, value, type) -> matches.add(path + " " + value + " " + type));
+        return matches;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.pingpal.helpers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+// The formatters as they were before they were made allocation-light, kept as the reference the new ones are held to.
+class LegacyFormatters {
+
+    private static final Map<Integer, String> statusMessages = Map.ofEntries(
+        Map.entry(100, "Continue"),
+        Map.entry(200, "OK"),
+        Map.entry(201, "Created"),
+        Map.entry(202, "Accepted"),
+        Map.entry(204, "No Content"),
+        Map.entry(301, "Moved Permanently"),
+        Map.entry(302, "Found"),
+        Map.entry(400, "Bad Request"),
+        Map.entry(401, "Unauthorized"),
+        Map.entry(403, "Forbidden"),
+        Map.entry(404, "Not Found"),
+        Map.entry(500, "Internal Server Error"),
+        Map.entry(502, "Bad Gateway"),
+        Map.entry(503, "Service Unavailable")
+    );
+
+    // ResponseBody and the history diff each built a tree and printed it with their own Gson.
+    static String prettyPrint(String json) {
+        return new GsonBuilder().serializeNulls().setPrettyPrinting().create().toJson(JsonParser.parseString(json));
+    }
+
+    static String escape(String input) {
+        return input.replace("&", "&amp;")
+                    .replace("<", "&lt;")
+                    .replace(">", "&gt;")
+                    .replace("\"", "&quot;")
+                    .replace("'", "&#39;");
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        String pre = "KMGTPE".charAt(exp - 1) + "B";
+
+        double result = bytes / Math.pow(1024, exp);
+        return String.format("%.1f %s", result, pre);
+    }
+
+    static String formatDuration(Duration duration) {
+        long millis = duration.toMillis();
+        long seconds = millis / 1000;
+        long minutes = seconds / 60;
+
+        String prettyTime;
+
+        if (minutes > 0) {
+            prettyTime = String.format("%dm %ds", minutes, seconds % 60);
+        } else if (seconds > 0) {
+            prettyTime = String.format("%ds", seconds);
+        } else {
+            prettyTime = String.format("%d ms", millis);
+        }
+
+        return prettyTime;
+    }
+
+    static String formatStatus(int code) {
+        return String.valueOf(code) + " " + statusMessages.getOrDefault(code, "Unknown");
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+    @Test
+    void matchesEveryQueryWordAsAPrefix() {
+        PrefixIndex index = new PrefixIndex();
+        index.put("1", "GET https://api.example.com/users");
+        index.put("2", "POST https://api.example.com/users/login");
+        index.put("3", "Health check");
+
+        assertEquals(Set.of("1", "2"), index.search("us"));
+        assertEquals(Set.of("2"), index.search("users log"));
+        assertEquals(Set.of("3"), index.search("HEAL"));
+        assertEquals(Set.of(), index.search("users health"));
+        assertNull(index.search(" / "));
+
+        index.remove("2");
+        assertEquals(Set.of("1"), index.search("us"));
+
+        index.put("1", "renamed");
+        assertEquals(Set.of(), index.search("users"));
+        assertEquals(Set.of("1"), index.search("ren"));
+    }
+
+    @Test
+    void ignoresTheDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        try {
+            // In Turkish the lower case of I is a dotless ı, the tokens must not depend on it.
+            assertEquals(List.of("get", "user", "id", "info"), PrefixIndex.tokenize("GET user ID INFO"));
+
+            PrefixIndex index = new PrefixIndex();
+            index.put("1", "GET /users/ID INFO");
+            assertEquals(Set.of("1"), index.search("id"));
+            assertEquals(Set.of("1"), index.search("info"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.pingpal.helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A 60-field JSON body with 20 variables, rendered by replacing each placeholder and by a compiled template.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    static final int FIELDS = 60;
+    static final int VARIABLES = 20;
+
+    String source;
+    Map<String, String> variables;
+    Template template;
+
+    @Setup
+    public void setup() {
+        source = body();
+        variables = variables();
+        template = Template.compile(source);
+    }
+
+    @Benchmark
+    public String replaceEachVariable() {
+        return replace(source, variables);
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return template.render(variables);
+    }
+
+    @Benchmark
+    public String compileAndRender() {
+        return Template.compile(source).render(variables);
+    }
+
+    static String body() {
+        StringBuilder body = new StringBuilder("{");
+        for (int i = 0; i < FIELDS; i++) {
+            if (i > 0) body.append(',');
+            body.append("\"field").append(i).append("\":");
+            if (i % 3 == 0) body.append("\"{{var").append(i / 3).append("}}\"");
+            else body.append("\"value ").append(i).append('"');
+        }
+        return body.append('}').toString();
+    }
+
+    static Map<String, String> variables() {
+        Map<String, String> variables = new HashMap<String, String>();
+        for (int i = 0; i < VARIABLES; i++) {
+            variables.put("var" + i, "value-" + i);
+        }
+        return variables;
+    }
+
+    // How a body would be rendered without templates, one pass over the whole string per variable.
+    static String replace(String source, Map<String, String> variables) {
+        String result = source;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            result = result.replace("{{" + variable.getKey() + "}}", variable.getValue());
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.pingpal.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class TemplateTest {
+
+    @Test
+    void rendersLikeReplacingEachVariable() {
+        String source = TemplateBenchmark.body();
+        Map<String, String> variables = TemplateBenchmark.variables();
+
+        assertEquals(TemplateBenchmark.replace(source, variables), Template.compile(source).render(variables));
+    }
+
+    @Test
+    void keepsUnknownVariables() {
+        Template template = Template.compile("{{host}}/users/{{ id }}?q={{missing}}");
+
+        assertEquals("api.test/users/7?q={{missing}}", template.render(Map.of("host", "api.test", "id", "7")));
+    }
+
+    @Test
+    void leavesUnclosedAndEmptyPlaceholders() {
+        assertEquals("a {{}} b {{x", Template.compile("a {{}} b {{x").render(Map.of("x", "1")));
+    }
+
+    @Test
+    void constantTemplates() {
+        assertTrue(Template.compile("plain text").isConstant());
+        assertTrue(Template.compile(null).isConstant());
+        assertEquals("", Template.compile("").render(Map.of()));
+        assertFalse(Template.compile("{{a}}").isConstant());
+    }
+
+}
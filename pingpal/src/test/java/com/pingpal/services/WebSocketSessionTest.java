@@ -0,0 +1,301 @@
+package com.pingpal.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.pingpal.helpers.RequestHandler;
+import com.pingpal.models.WebSocketMessage;
+
+class WebSocketSessionTest {
+
+    private EchoServer server;
+    private WebSocketSession session;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (session != null) session.close();
+        if (server != null) server.close();
+    }
+
+    @Test
+    void reassemblesFragmentedEchoes() throws Exception {
+        server = new EchoServer(EchoServer.Mode.ECHO);
+        open();
+
+        // Fragments split the multi-byte characters, the client has to decode across frames.
+        String message = "héllo wörld ✓ " + "x".repeat(300);
+        session.send(message).get(5, TimeUnit.SECONDS);
+
+        WebSocketMessage echo = await(m -> m.getDirection() == WebSocketMessage.Direction.RECEIVED);
+        assertEquals(message, echo.getText());
+        assertEquals(message.getBytes(StandardCharsets.UTF_8).length, echo.getSize());
+        assertTrue(echo.getLatency() != null, "the echo is matched to its send");
+        assertEquals(1, session.getLatency().getCount());
+        assertEquals(0, session.getPendingEchoes());
+    }
+
+    @Test
+    void chainsRepeatedSendsAndMatchesEveryEcho() throws Exception {
+        server = new EchoServer(EchoServer.Mode.ECHO);
+        open();
+
+        int count = 200;
+        session.send("ping", count).get(10, TimeUnit.SECONDS);
+        assertEquals(count, session.getSentMessages());
+
+        List<WebSocketMessage> echoes = new ArrayList<WebSocketMessage>();
+        while (echoes.size() < count) {
+            echoes.add(await(m -> m.getDirection() == WebSocketMessage.Direction.RECEIVED));
+        }
+
+        for (WebSocketMessage echo : echoes) {
+            assertEquals("ping", echo.getText());
+            assertTrue(echo.getLatency() != null);
+        }
+        assertEquals(count, session.getLatency().getCount());
+        assertEquals(count, session.getReceivedMessages());
+        assertEquals(0, session.getPendingEchoes());
+    }
+
+    @Test
+    void boundsPendingEchoesWhenTheServerNeverAnswers() throws Exception {
+        server = new EchoServer(EchoServer.Mode.SILENT);
+        open();
+
+        // One payload repeated and many distinct payloads are both capped at 1000 send times.
+        session.send("same", 1_500).get(10, TimeUnit.SECONDS);
+        assertEquals(1_000, session.getPendingEchoes());
+
+        for (int i = 0; i < 1_500; i++) {
+            session.send("message " + i).get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(session.getPendingEchoes() <= 1_000, "pending " + session.getPendingEchoes());
+        assertEquals(3_000, session.getSentMessages());
+    }
+
+    @Test
+    void closeDuringTheHandshakeNeverOpens() throws Exception {
+        server = new EchoServer(EchoServer.Mode.DELAYED);
+        session = new WebSocketSession(handler());
+
+        CountDownLatch closed = new CountDownLatch(1);
+        session.onClose(closed::countDown);
+        CompletableFuture<WebSocket> connecting = session.connect();
+
+        assertTrue(server.handshakeStarted.await(5, TimeUnit.SECONDS));
+        session.close();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS), "the session reports itself closed");
+        assertThrows(Exception.class, () -> connecting.get(5, TimeUnit.SECONDS));
+
+        // The server answers the handshake after all, the socket must not come back to life.
+        server.release.countDown();
+        assertTrue(server.disconnected.await(5, TimeUnit.SECONDS), "the connection is dropped");
+        assertFalse(session.isOpen());
+
+        List<String> events = new ArrayList<String>();
+        WebSocketMessage message;
+        while ((message = session.poll()) != null) events.add(message.getText());
+        assertFalse(events.stream().anyMatch(text -> text.startsWith("Connected")), events.toString());
+    }
+
+    private void open() throws Exception {
+        session = new WebSocketSession(handler());
+        session.connect().get(5, TimeUnit.SECONDS);
+        await(m -> m.getText().startsWith("Connected"));
+        assertTrue(session.isOpen());
+    }
+
+    private RequestHandler handler() {
+        return new RequestHandler()
+            .setMethod(RequestHandler.WEBSOCKET)
+            .setEndpoint("ws://127.0.0.1:" + server.getPort() + "/echo")
+            .setConsoleLogging(false);
+    }
+
+    // Skips the messages that do not match, fails if none arrives in time.
+    private WebSocketMessage await(Predicate<WebSocketMessage> match) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            WebSocketMessage message = session.poll();
+            if (message == null) Thread.sleep(5);
+            else if (match.test(message)) return message;
+        }
+        throw new AssertionError("No matching message arrived");
+    }
+
+    // A minimal RFC 6455 server on a raw socket, enough to drive the JDK client through the cases above.
+    private static class EchoServer implements AutoCloseable {
+
+        private enum Mode { ECHO, SILENT, DELAYED }
+
+        private static final String GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+        private static final Pattern KEY = Pattern.compile("(?im)^Sec-WebSocket-Key:\\s*(\\S+)");
+
+        private final ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final Mode mode;
+        private final List<Socket> connections = new ArrayList<Socket>();
+        private final CountDownLatch handshakeStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch disconnected = new CountDownLatch(1);
+
+        private EchoServer(Mode mode) throws IOException {
+            this.mode = mode;
+            Thread.ofVirtual().start(this::accept);
+        }
+
+        private int getPort() {
+            return socket.getLocalPort();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket connection = socket.accept();
+                    synchronized (connections) {
+                        connections.add(connection);
+                    }
+                    Thread.ofVirtual().start(() -> serve(connection));
+                }
+            } catch (IOException e) {
+                // Closed by the test.
+            }
+        }
+
+        private void serve(Socket connection) {
+            try (connection) {
+                DataInputStream in = new DataInputStream(connection.getInputStream());
+                OutputStream out = connection.getOutputStream();
+
+                String request = readRequest(in);
+                handshakeStarted.countDown();
+                if (mode == Mode.DELAYED) release.await();
+
+                Matcher key = KEY.matcher(request);
+                if (!key.find()) return;
+                out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + accept(key.group(1)) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                ByteArrayOutputStream message = new ByteArrayOutputStream();
+                while (true) {
+                    int first = in.readUnsignedByte();
+                    int opcode = first & 0x0F;
+                    byte[] payload = readPayload(in);
+
+                    if (opcode == 8) {
+                        writeFrame(out, 0x80 | 8, payload, 0, Math.min(2, payload.length));
+                        return;
+                    }
+                    if (opcode == 9) {
+                        writeFrame(out, 0x80 | 10, payload, 0, payload.length);
+                        continue;
+                    }
+
+                    message.write(payload);
+                    if ((first & 0x80) == 0) continue;
+
+                    if (mode == Mode.ECHO) echo(out, message.toByteArray());
+                    message.reset();
+                }
+            } catch (IOException | InterruptedException e) {
+                // The client went away.
+            } finally {
+                disconnected.countDown();
+            }
+        }
+
+        // Echoes a text message as three fragments, cut at byte offsets that can fall inside a character.
+        private void echo(OutputStream out, byte[] message) throws IOException {
+            int first = message.length / 3, second = 2 * message.length / 3;
+            writeFrame(out, 1, message, 0, first);
+            writeFrame(out, 0, message, first, second - first);
+            writeFrame(out, 0x80, message, second, message.length - second);
+            out.flush();
+        }
+
+        private static String readRequest(InputStream in) throws IOException {
+            ByteArrayOutputStream request = new ByteArrayOutputStream();
+            int matched = 0, b;
+            while (matched < 4 && (b = in.read()) >= 0) {
+                request.write(b);
+                matched = (b == '\r' || b == '\n') && "\r\n\r\n".charAt(matched) == b ? matched + 1 : b == '\r' ? 1 : 0;
+            }
+            return request.toString(StandardCharsets.US_ASCII);
+        }
+
+        // Client frames are always masked.
+        private static byte[] readPayload(DataInputStream in) throws IOException {
+            int second = in.readUnsignedByte();
+            long length = second & 0x7F;
+            if (length == 126) length = in.readUnsignedShort();
+            else if (length == 127) length = in.readLong();
+
+            byte[] mask = new byte[4];
+            if ((second & 0x80) != 0) in.readFully(mask);
+
+            byte[] payload = new byte[(int) length];
+            in.readFully(payload);
+            for (int i = 0; i < payload.length; i++) payload[i] ^= mask[i % 4];
+            return payload;
+        }
+
+        private static void writeFrame(OutputStream out, int first, byte[] payload, int offset, int length) throws IOException {
+            out.write(first);
+            if (length < 126) {
+                out.write(length);
+            } else {
+                out.write(126);
+                out.write(length >>> 8);
+                out.write(length & 0xFF);
+            }
+            out.write(payload, offset, length);
+        }
+
+        private static String accept(String key) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest((key + GUID).getBytes(StandardCharsets.US_ASCII));
+                return Base64.getEncoder().encodeToString(digest);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            release.countDown();
+            socket.close();
+            synchronized (connections) {
+                for (Socket connection : connections) connection.close();
+            }
+        }
+
+    }
+
+}
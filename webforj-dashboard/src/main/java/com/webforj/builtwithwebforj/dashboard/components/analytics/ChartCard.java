@@ -1,5 +1,7 @@
 package com.webforj.builtwithwebforj.dashboard.components.analytics;
 
+import com.webforj.builtwithwebforj.dashboard.models.CandleSeries;
+import com.webforj.builtwithwebforj.dashboard.utils.charts.DashboardChartBuilder;
 import com.webforj.component.Composite;
 import com.webforj.component.googlecharts.GoogleChart;
 import com.webforj.component.html.elements.H3;
@@ -37,4 +39,13 @@ public class ChartCard extends Composite<FlexLayout> {
   public GoogleChart getChart() {
     return chart;
   }
+
+  /**
+   * Shows aggregated candles in the card's chart, keeping its options
+   *
+   * @param candles the candles to display, oldest first
+   */
+  public void setCandles(CandleSeries candles) {
+    chart.setData(DashboardChartBuilder.buildCandleData(candles, chart.getType()));
+  }
 }
\ No newline at end of file
@@ -2,18 +2,22 @@ package com.webforj.builtwithwebforj.dashboard.components.dashboard;
 
 import com.webforj.Page;
 import com.webforj.builtwithwebforj.dashboard.models.Cryptocurrency;
+import com.webforj.builtwithwebforj.dashboard.services.MarketPageRepository;
 import com.webforj.builtwithwebforj.dashboard.utils.CryptoIconRenderer;
 import com.webforj.builtwithwebforj.dashboard.utils.FormatUtils;
 import com.webforj.builtwithwebforj.dashboard.utils.PriceChangeRenderer;
 import com.webforj.builtwithwebforj.dashboard.utils.PriceChartRenderer;
+import com.webforj.builtwithwebforj.dashboard.utils.RepositoryChangeTracker;
 import com.webforj.component.Composite;
 import com.webforj.component.table.Column;
 import com.webforj.component.table.Table;
 import com.webforj.component.table.Column.PinDirection;
-import com.webforj.data.repository.CollectionRepository;
+import com.webforj.data.repository.Repository;
 import com.webforj.event.page.PageEventOptions;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class CryptocurrencyTable extends Composite<Table> {
 
@@ -22,6 +26,9 @@ public class CryptocurrencyTable extends Composite<Table> {
   private Column<Cryptocurrency, ?> cryptoColumn;
   private Column<Cryptocurrency, ?> marketCapColumn;
   private Column<Cryptocurrency, ?> volumeColumn;
+  private final List<Function<Cryptocurrency, ?>> cells = new ArrayList<>();
+  private RepositoryChangeTracker<Cryptocurrency> changeTracker;
+  private int frameBudget = 250;
 
   public CryptocurrencyTable() {
     initializeTable();
@@ -30,38 +37,94 @@ public class CryptocurrencyTable extends Composite<Table> {
 
   private void initializeTable() {
     // Add columns for cryptocurrency data
-    table.addColumn("Symbol", Cryptocurrency::getSymbol).setHidden(true);
-    table.addColumn("Name", Cryptocurrency::getName).setHidden(true);
-    cryptoColumn = table.addColumn("Crypto", Cryptocurrency::getSymbol)
+    addColumn("Symbol", Cryptocurrency::getSymbol).setHidden(true);
+    addColumn("Name", Cryptocurrency::getName).setHidden(true);
+    cryptoColumn = addColumn("Crypto", Cryptocurrency::getSymbol)
         .setRenderer(new CryptoIconRenderer()).setMinWidth(250.0f);
-    table.addColumn("Price", c -> FormatUtils.formatPrice(c.getCurrentPrice()))
+    // Sorting is done by the market adapter on these property names
+    addColumn("Price", c -> FormatUtils.formatPrice(c.getCurrentPrice()))
+        .setPropertyName("price")
         .setSortable(true);
-    table.addColumn("24h Change", Cryptocurrency::getPriceChange24h)
+    addColumn("24h Change", Cryptocurrency::getPriceChange24h)
         .setRenderer(new PriceChangeRenderer())
+        .setPropertyName("priceChange24h")
         .setSortable(true)
         .setMinWidth(180.0f);
-    table.addColumn("PriceChange24h", Cryptocurrency::getPriceChange24h).setHidden(true);
-    table.addColumn("PriceChangePercentage24h", Cryptocurrency::getPriceChangePercentage24h).setHidden(true);
-    marketCapColumn = table.addColumn("Market Cap", c -> FormatUtils.formatLargeNumber(c.getMarketCap()))
+    addColumn("PriceChange24h", Cryptocurrency::getPriceChange24h).setHidden(true);
+    addColumn("PriceChangePercentage24h", Cryptocurrency::getPriceChangePercentage24h).setHidden(true);
+    marketCapColumn = addColumn("Market Cap", c -> FormatUtils.formatLargeNumber(c.getMarketCap()))
+        .setPropertyName("marketCap")
         .setSortable(true);
-    volumeColumn = table.addColumn("Volume (24h)", c -> FormatUtils.formatLargeNumber(c.getVolume24h()))
+    volumeColumn = addColumn("Volume (24h)", c -> FormatUtils.formatLargeNumber(c.getVolume24h()))
+        .setPropertyName("volume24h")
         .setSortable(true);
-    table.addColumn("Price Chart", Cryptocurrency::getCurrentPrice)
+    addColumn("Price Chart", Cryptocurrency::getCurrentPrice)
         .setRenderer(new PriceChartRenderer());
-    table.addColumn("PriceHistory", Cryptocurrency::getPriceHistoryJson)
+    addColumn("PriceHistory", Cryptocurrency::getPriceHistoryJson)
         .setHidden(true);
+    addColumn("PriceHistoryMin", Cryptocurrency::getPriceHistoryMin).setHidden(true);
+    addColumn("PriceHistoryMax", Cryptocurrency::getPriceHistoryMax).setHidden(true);
 
     // Configure table properties
     table.setMultiSorting(true);
     table.setRowHeight(65);
   }
 
-  public void setData(List<Cryptocurrency> cryptocurrencies) {
-    table.setRepository(new CollectionRepository<>(cryptocurrencies));
+  private <V> Column<Cryptocurrency, V> addColumn(String id, Function<Cryptocurrency, V> provider) {
+    cells.add(provider);
+    return table.addColumn(id, provider);
   }
 
-  public CollectionRepository<Cryptocurrency> getRepository() {
-    return (CollectionRepository<Cryptocurrency>) table.getRepository();
+  /**
+   * Shows the market through an adapter that only materializes the visible page.
+   *
+   * @param market the market adapter
+   */
+  public void setData(MarketPageRepository market) {
+    table.setRepository(market.getRepository());
+
+    if (changeTracker != null) {
+      changeTracker.dispose();
+    }
+    // Only the rows of the visible page are compared and committed
+    changeTracker = new RepositoryChangeTracker<>(market.getRepository(), market.getRows())
+        .setFrameBudget(frameBudget);
+    cells.forEach(changeTracker::track);
+    changeTracker.markCommitted();
+  }
+
+  /**
+   * Sends the rows whose cells changed since the last commit, at most once per frame
+   * budget.
+   */
+  public void commitChanges() {
+    if (changeTracker != null) {
+      changeTracker.commitChanges();
+    }
+  }
+
+  /**
+   * Sets the minimum time between two table updates.
+   *
+   * @param millis the frame budget in milliseconds
+   */
+  public void setFrameBudget(int millis) {
+    this.frameBudget = millis;
+    if (changeTracker != null) {
+      changeTracker.setFrameBudget(millis);
+    }
+  }
+
+  public Repository<Cryptocurrency> getRepository() {
+    return table.getRepository();
+  }
+
+  @Override
+  protected void onDidDestroy() {
+    super.onDidDestroy();
+    if (changeTracker != null) {
+      changeTracker.dispose();
+    }
   }
 
   private void applyMobileSettings() {
@@ -1,5 +1,6 @@
 package com.webforj.builtwithwebforj.dashboard.components.dashboard;
 
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
 import com.webforj.component.Composite;
 import com.webforj.component.Theme;
 import com.webforj.component.button.ButtonTheme;
@@ -7,10 +8,14 @@ import com.webforj.component.icons.Icon;
 import com.webforj.component.icons.TablerIcon;
 import com.webforj.component.list.ChoiceBox;
 import com.webforj.component.tabbedpane.TabbedPane;
+import com.webforj.component.tabbedpane.event.TabSelectEvent;
 import com.webforj.component.layout.flexlayout.FlexAlignment;
 import com.webforj.component.layout.flexlayout.FlexJustifyContent;
 import com.webforj.component.layout.flexlayout.FlexLayout;
 import com.webforj.component.layout.flexlayout.FlexWrap;
+import com.webforj.dispatcher.ListenerRegistration;
+
+import java.util.function.Consumer;
 
 /**
  * Dashboard toolbar component with time range dropdown and interval tabs.
@@ -73,11 +78,9 @@ public class DashboardToolbar extends Composite<FlexLayout> {
     intervalTabs = new TabbedPane();
     intervalTabs.addClassName("dashboard-toolbar__interval-tabs");
 
-    // Create interval tabs without body content
-    String[] intervals = { "5m", "1h", "6h", "24h"};
-
-    for (String interval : intervals) {
-      intervalTabs.addTab(interval);
+    // Create one tab per candle timeframe, without body content
+    for (Timeframe timeframe : Timeframe.values()) {
+      intervalTabs.addTab(timeframe.getLabel());
     }
     intervalTabs.setTheme(Theme.PRIMARY)
         .setHideActiveIndicator(true)
@@ -95,4 +98,23 @@ public class DashboardToolbar extends Composite<FlexLayout> {
   public String getSelectedTimeRange() {
     return timeRangeDropdown.getSelectedKey().toString();
   }
+
+  /**
+   * Gets the candle timeframe of the selected interval tab.
+   *
+   * @return the selected timeframe
+   */
+  public Timeframe getSelectedTimeframe() {
+    return Timeframe.values()[Math.max(0, intervalTabs.getSelectedIndex())];
+  }
+
+  /**
+   * Adds a listener called when another interval tab is selected.
+   *
+   * @param listener called with the newly selected timeframe
+   * @return the registration of the listener
+   */
+  public ListenerRegistration<TabSelectEvent> onTimeframeChange(Consumer<Timeframe> listener) {
+    return intervalTabs.onSelect(e -> listener.accept(Timeframe.values()[e.getTabIndex()]));
+  }
 }
\ No newline at end of file
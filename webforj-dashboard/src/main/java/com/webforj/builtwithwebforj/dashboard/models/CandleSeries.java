@@ -0,0 +1,189 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+/**
+ * OHLCV candles of one series at one timeframe, oldest first.
+ *
+ * <p>
+ * Candles are stored column by column in fixed-size arrays used as a ring, so the
+ * series never holds more than the timeframe's retention and rolling a tick into it
+ * never allocates. Buckets without ticks are filled with flat candles at the previous
+ * close, one candle per bucket keeps the time axis even. Writes are synchronized,
+ * readers on other threads should work on a {@link #copy(int)}.
+ * </p>
+ */
+public class CandleSeries {
+  private final Timeframe timeframe;
+  private final long[] starts;
+  private final double[] opens;
+  private final double[] highs;
+  private final double[] lows;
+  private final double[] closes;
+  private final double[] volumes;
+  private int head;
+  private int size;
+
+  /**
+   * Creates an empty series holding the timeframe's retention.
+   *
+   * @param timeframe The timeframe of the candles
+   */
+  public CandleSeries(Timeframe timeframe) {
+    this(timeframe, timeframe.getRetention());
+  }
+
+  private CandleSeries(Timeframe timeframe, int capacity) {
+    this.timeframe = timeframe;
+    this.starts = new long[capacity];
+    this.opens = new double[capacity];
+    this.highs = new double[capacity];
+    this.lows = new double[capacity];
+    this.closes = new double[capacity];
+    this.volumes = new double[capacity];
+  }
+
+  /**
+   * Rolls a tick into the candle of its bucket.
+   *
+   * @param timestamp The time of the tick in epoch milliseconds
+   * @param price     The traded price
+   * @param volume    The volume traded since the previous tick
+   * @return false if the tick is older than the latest candle and was dropped
+   */
+  public synchronized boolean add(long timestamp, double price, double volume) {
+    long start = timeframe.bucketStart(timestamp);
+    if (size == 0) {
+      push(start, price, price, price, price, volume);
+      return true;
+    }
+
+    int last = slot(size - 1);
+    if (start < starts[last]) {
+      return false;
+    }
+
+    if (start == starts[last]) {
+      highs[last] = Math.max(highs[last], price);
+      lows[last] = Math.min(lows[last], price);
+      closes[last] = price;
+      volumes[last] += volume;
+      return true;
+    }
+
+    // Only the gaps that are still within retention are filled
+    long millis = timeframe.getMillis();
+    double close = closes[last];
+    long gap = Math.max(starts[last] + millis, start - (long) (starts.length - 1) * millis);
+    for (; gap < start; gap += millis) {
+      push(gap, close, close, close, close, 0);
+    }
+    push(start, price, price, price, price, volume);
+    return true;
+  }
+
+  /**
+   * Appends a complete candle after the latest one, used to backfill history.
+   *
+   * @param start  The start of the candle's bucket in epoch milliseconds
+   * @param open   The open price
+   * @param high   The high price
+   * @param low    The low price
+   * @param close  The close price
+   * @param volume The traded volume
+   */
+  public synchronized void append(long start, double open, double high, double low, double close, double volume) {
+    long bucket = timeframe.bucketStart(start);
+    if (size > 0 && bucket <= starts[slot(size - 1)]) {
+      throw new IllegalArgumentException("Candles must be appended in time order");
+    }
+    push(bucket, open, high, low, close, volume);
+  }
+
+  /**
+   * Copies the most recent candles into a series no other thread writes to.
+   *
+   * @param limit The maximum number of candles to copy
+   * @return the copy, oldest first
+   */
+  public synchronized CandleSeries copy(int limit) {
+    int count = Math.max(0, Math.min(limit, size));
+    CandleSeries copy = new CandleSeries(timeframe, Math.max(1, count));
+    for (int i = size - count; i < size; i++) {
+      int from = slot(i);
+      copy.push(starts[from], opens[from], highs[from], lows[from], closes[from], volumes[from]);
+    }
+    return copy;
+  }
+
+  public Timeframe getTimeframe() {
+    return timeframe;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getStart(int index) {
+    return starts[checked(index)];
+  }
+
+  public double getOpen(int index) {
+    return opens[checked(index)];
+  }
+
+  public double getHigh(int index) {
+    return highs[checked(index)];
+  }
+
+  public double getLow(int index) {
+    return lows[checked(index)];
+  }
+
+  public double getClose(int index) {
+    return closes[checked(index)];
+  }
+
+  public double getVolume(int index) {
+    return volumes[checked(index)];
+  }
+
+  /**
+   * Gets the change from the open of the oldest candle to the close of the latest.
+   *
+   * @return the change in percent, or 0 when the series is empty
+   */
+  public double getChangePercentage() {
+    if (size == 0 || opens[head] == 0) {
+      return 0;
+    }
+    return (closes[slot(size - 1)] - opens[head]) / opens[head] * 100;
+  }
+
+  private void push(long start, double open, double high, double low, double close, double volume) {
+    int slot;
+    if (size < starts.length) {
+      slot = slot(size++);
+    } else {
+      slot = head;
+      head = head + 1 == starts.length ? 0 : head + 1;
+    }
+
+    starts[slot] = start;
+    opens[slot] = open;
+    highs[slot] = high;
+    lows[slot] = low;
+    closes[slot] = close;
+    volumes[slot] = volume;
+  }
+
+  private int checked(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return slot(index);
+  }
+
+  private int slot(int index) {
+    int slot = head + index;
+    return slot >= starts.length ? slot - starts.length : slot;
+  }
+}
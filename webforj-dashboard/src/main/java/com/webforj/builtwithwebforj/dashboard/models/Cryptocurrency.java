@@ -1,9 +1,12 @@
 package com.webforj.builtwithwebforj.dashboard.models;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.webforj.data.HasEntityKey;
+
+public class Cryptocurrency implements HasEntityKey {
+  public static final int HISTORY_CAPACITY = 50;
+  // PriceChartRenderer draws the most recent points only, older ones are not sent
+  public static final int SPARKLINE_POINTS = 20;
 
-public class Cryptocurrency {
   private String symbol;
   private String name;
   private double currentPrice;
@@ -17,7 +20,7 @@ public class Cryptocurrency {
   private long totalSupply;
   private long circulatingSupply;
   private int rank;
-  private List<Double> priceHistory;
+  private final PriceHistory priceHistory = new PriceHistory(HISTORY_CAPACITY, SPARKLINE_POINTS);
   private long lastUpdated;
 
   public Cryptocurrency(String symbol, String name, double currentPrice, double marketCap,
@@ -29,7 +32,6 @@ public class Cryptocurrency {
     this.marketCap = marketCap;
     this.volume24h = volume24h;
     this.rank = rank;
-    this.priceHistory = new ArrayList<>();
     this.lastUpdated = System.currentTimeMillis();
   }
 
@@ -41,6 +43,11 @@ public class Cryptocurrency {
     this.symbol = symbol;
   }
 
+  @Override
+  public Object getEntityKey() {
+    return symbol;
+  }
+
   public String getName() {
     return name;
   }
@@ -57,7 +64,7 @@ public class Cryptocurrency {
     this.previousPrice = this.currentPrice;
     this.currentPrice = currentPrice;
     updatePriceChange();
-    addToPriceHistory(currentPrice);
+    priceHistory.add(currentPrice);
     this.lastUpdated = System.currentTimeMillis();
   }
 
@@ -141,24 +148,25 @@ public class Cryptocurrency {
     this.rank = rank;
   }
 
-  public List<Double> getPriceHistory() {
+  public PriceHistory getPriceHistory() {
     return priceHistory;
   }
 
+  /**
+   * Gets the sparkline points as a JSON array, cached until the next price arrives.
+   *
+   * @return the most recent prices, oldest first
+   */
   public String getPriceHistoryJson() {
-    StringBuilder json = new StringBuilder("[");
-    for (int i = 0; i < priceHistory.size(); i++) {
-      json.append(priceHistory.get(i));
-      if (i < priceHistory.size() - 1) {
-        json.append(",");
-      }
-    }
-    json.append("]");
-    return json.toString();
+    return priceHistory.toJson();
+  }
+
+  public double getPriceHistoryMin() {
+    return priceHistory.getWindowMin();
   }
 
-  public void setPriceHistory(List<Double> priceHistory) {
-    this.priceHistory = priceHistory;
+  public double getPriceHistoryMax() {
+    return priceHistory.getWindowMax();
   }
 
   public long getLastUpdated() {
@@ -169,17 +177,36 @@ public class Cryptocurrency {
     this.lastUpdated = lastUpdated;
   }
 
+  /**
+   * Copies the quote of this symbol from a shared market snapshot.
+   *
+   * @param snapshot   The snapshot to read
+   * @param index      The index of this symbol in the snapshot
+   * @param contiguous Whether the snapshot directly follows the last one applied, in which
+   *                   case only its price is appended to the history instead of copying it
+   */
+  public void apply(MarketSnapshot snapshot, int index, boolean contiguous) {
+    this.previousPrice = snapshot.getPreviousPrice(index);
+    this.currentPrice = snapshot.getPrice(index);
+    this.priceChange24h = snapshot.getPriceChange(index);
+    this.priceChangePercentage24h = snapshot.getPriceChangePercentage(index);
+    this.marketCap = snapshot.getMarketCap(index);
+    this.volume24h = snapshot.getVolume(index);
+    this.high24h = snapshot.getHigh(index);
+    this.low24h = snapshot.getLow(index);
+    this.lastUpdated = snapshot.getTimestamp();
+
+    if (contiguous) {
+      priceHistory.add(currentPrice);
+    } else {
+      priceHistory.set(snapshot.getHistory(index));
+    }
+  }
+
   private void updatePriceChange() {
     this.priceChange24h = currentPrice - previousPrice;
     if (previousPrice != 0) {
       this.priceChangePercentage24h = (priceChange24h / previousPrice) * 100;
     }
   }
-
-  private void addToPriceHistory(double price) {
-    priceHistory.add(price);
-    if (priceHistory.size() > 50) {
-      priceHistory.remove(0);
-    }
-  }
 }
\ No newline at end of file
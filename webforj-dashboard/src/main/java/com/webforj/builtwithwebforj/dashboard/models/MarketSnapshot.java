@@ -0,0 +1,159 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable view of the whole market at one tick of the shared market-data engine.
+ * Values are stored column by column and addressed by the index of the symbol, so a
+ * snapshot can be handed to any number of sessions without copying or locking.
+ * The index of a symbol is its id in the {@link MarketStore} the snapshot was taken of.
+ */
+public final class MarketSnapshot {
+  private final long version;
+  private final long timestamp;
+  private final String[] symbols;
+  private final String[] names;
+  private final int[] ranks;
+  private final double[] prices;
+  private final double[] previousPrices;
+  private final double[] priceChanges;
+  private final double[] priceChangePercentages;
+  private final double[] marketCaps;
+  private final double[] volumes;
+  private final double[] highs;
+  private final double[] lows;
+  private final long[] circulatingSupplies;
+  private final long[] totalSupplies;
+  private final double[][] historyColumns;
+  private final Map<String, Integer> ids;
+
+  /**
+   * Copies the current state of a market store into a new snapshot.
+   *
+   * @param version The tick number, increasing by one per tick
+   * @param store   The market state to copy
+   * @return The snapshot
+   */
+  public static MarketSnapshot of(long version, MarketStore store) {
+    return new MarketSnapshot(version, System.currentTimeMillis(), store);
+  }
+
+  private MarketSnapshot(long version, long timestamp, MarketStore store) {
+    int size = store.size();
+    this.version = version;
+    this.timestamp = timestamp;
+    this.symbols = Arrays.copyOf(store.symbols(), size);
+    this.names = Arrays.copyOf(store.names(), size);
+    this.ranks = Arrays.copyOf(store.ranks(), size);
+    this.prices = Arrays.copyOf(store.prices(), size);
+    this.previousPrices = Arrays.copyOf(store.previousPrices(), size);
+    this.priceChanges = Arrays.copyOf(store.priceChanges(), size);
+    this.priceChangePercentages = Arrays.copyOf(store.priceChangePercentages(), size);
+    this.marketCaps = Arrays.copyOf(store.marketCaps(), size);
+    this.volumes = Arrays.copyOf(store.volumes(), size);
+    this.highs = Arrays.copyOf(store.highs(), size);
+    this.lows = Arrays.copyOf(store.lows(), size);
+    this.circulatingSupplies = Arrays.copyOf(store.circulatingSupplies(), size);
+    this.totalSupplies = Arrays.copyOf(store.totalSupplies(), size);
+
+    // History columns are never written once added, sharing them is enough
+    this.historyColumns = store.historyColumns();
+    this.ids = store.ids();
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public int size() {
+    return symbols.length;
+  }
+
+  /**
+   * Gets the index of a symbol, which stays the same across snapshots.
+   *
+   * @param symbol The ticker symbol
+   * @return the index, or -1 if the symbol is not in the market
+   */
+  public int indexOf(String symbol) {
+    Integer index = ids.get(symbol);
+    return index == null ? -1 : index;
+  }
+
+  public String getSymbol(int index) {
+    return symbols[index];
+  }
+
+  public String getName(int index) {
+    return names[index];
+  }
+
+  public int getRank(int index) {
+    return ranks[index];
+  }
+
+  public double getPrice(int index) {
+    return prices[index];
+  }
+
+  public double getPreviousPrice(int index) {
+    return previousPrices[index];
+  }
+
+  public double getPriceChange(int index) {
+    return priceChanges[index];
+  }
+
+  public double getPriceChangePercentage(int index) {
+    return priceChangePercentages[index];
+  }
+
+  public double getMarketCap(int index) {
+    return marketCaps[index];
+  }
+
+  public double getVolume(int index) {
+    return volumes[index];
+  }
+
+  public double getHigh(int index) {
+    return highs[index];
+  }
+
+  public double getLow(int index) {
+    return lows[index];
+  }
+
+  public long getCirculatingSupply(int index) {
+    return circulatingSupplies[index];
+  }
+
+  public long getTotalSupply(int index) {
+    return totalSupplies[index];
+  }
+
+  /**
+   * Gets the price history of a symbol, oldest first.
+   *
+   * @param index The index of the symbol
+   * @return The price history
+   */
+  public double[] getHistory(int index) {
+    int first = 0;
+    // Symbols added after a tick are missing from its column
+    while (first < historyColumns.length && historyColumns[first].length <= index) {
+      first++;
+    }
+
+    double[] history = new double[historyColumns.length - first];
+    for (int k = first; k < historyColumns.length; k++) {
+      history[k - first] = historyColumns[k][index];
+    }
+    return history;
+  }
+}
@@ -0,0 +1,509 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mutable state of the whole market, stored as one array per field.
+ *
+ * <p>
+ * A symbol is identified by its id, the index it was added at, and every field of it
+ * lives at that index of the field's column. Updating thousands of symbols is then a
+ * handful of loops over primitive arrays, which the JIT compiles to vector
+ * instructions. The price history is kept as one column of prices per tick. The store
+ * is written by a single thread, readers get an immutable {@link MarketSnapshot}.
+ * </p>
+ */
+public class MarketStore {
+
+  public static final int HISTORY_CAPACITY = Cryptocurrency.HISTORY_CAPACITY;
+  public static final double MIN_PRICE = 0.0001;
+
+  private static final String CSV_HEADER = "symbol,name,price,market_cap,volume_24h";
+  private static final int SNAPSHOT_MAGIC = 0x4D4B5453;
+  private static final int SNAPSHOT_VERSION = 2;
+
+  private int size;
+  private String[] symbols;
+  private String[] names;
+  private int[] ranks;
+  private double[] prices;
+  private double[] previousPrices;
+  private double[] priceChanges;
+  private double[] priceChangePercentages;
+  private double[] marketCaps;
+  private double[] volumes;
+  private double[] highs;
+  private double[] lows;
+  private long[] circulatingSupplies;
+  private long[] totalSupplies;
+  private final Map<String, Integer> ids = new HashMap<>();
+  private Map<String, Integer> publishedIds;
+
+  // One column of prices per tick, the columns are never written after they were added
+  private final double[][] history = new double[HISTORY_CAPACITY][];
+  private int historyHead;
+  private int historySize;
+
+  /**
+   * Creates an empty store.
+   *
+   * @param capacity The number of symbols to reserve room for
+   */
+  public MarketStore(int capacity) {
+    int initial = Math.max(1, capacity);
+    symbols = new String[initial];
+    names = new String[initial];
+    ranks = new int[initial];
+    prices = new double[initial];
+    previousPrices = new double[initial];
+    priceChanges = new double[initial];
+    priceChangePercentages = new double[initial];
+    marketCaps = new double[initial];
+    volumes = new double[initial];
+    highs = new double[initial];
+    lows = new double[initial];
+    circulatingSupplies = new long[initial];
+    totalSupplies = new long[initial];
+  }
+
+  /**
+   * Adds a symbol, ranked after the ones already in the store.
+   *
+   * @param symbol    The ticker symbol, unique in the store
+   * @param name      The display name
+   * @param price     The current price
+   * @param marketCap The market cap, from which the circulating supply is derived
+   * @param volume    The traded volume of the last 24 hours
+   * @return the id of the symbol
+   */
+  public int add(String symbol, String name, double price, double marketCap, double volume) {
+    if (ids.containsKey(symbol)) {
+      throw new IllegalArgumentException("Duplicate symbol " + symbol);
+    }
+    if (!(price > 0)) {
+      throw new IllegalArgumentException("The price of " + symbol + " must be positive");
+    }
+
+    ensureCapacity(size + 1);
+    int id = size++;
+    symbols[id] = symbol;
+    names[id] = name;
+    ranks[id] = id + 1;
+    prices[id] = price;
+    previousPrices[id] = price;
+    marketCaps[id] = marketCap;
+    volumes[id] = volume;
+    highs[id] = price;
+    lows[id] = price;
+    circulatingSupplies[id] = (long) (marketCap / price);
+    totalSupplies[id] = circulatingSupplies[id];
+    ids.put(symbol, id);
+    publishedIds = null;
+    return id;
+  }
+
+  /**
+   * Moves all prices at once.
+   *
+   * <p>
+   * Each loop reads and writes whole columns without branches, so it can be
+   * vectorized. Prices never drop below {@link #MIN_PRICE}, the 24h high and low
+   * follow the new prices and the market caps follow from the circulating supply.
+   * The new prices are appended to the history.
+   * </p>
+   *
+   * @param priceFactors  The factor each price is multiplied with, by symbol id
+   * @param volumeFactors The factor each 24h volume is multiplied with, by symbol id
+   */
+  public void updatePrices(double[] priceFactors, double[] volumeFactors) {
+    if (priceFactors.length < size || volumeFactors.length < size) {
+      throw new IllegalArgumentException("One factor per symbol is required");
+    }
+
+    int n = size;
+    System.arraycopy(prices, 0, previousPrices, 0, n);
+    for (int i = 0; i < n; i++) {
+      prices[i] = Math.max(prices[i] * priceFactors[i], MIN_PRICE);
+    }
+    for (int i = 0; i < n; i++) {
+      priceChanges[i] = prices[i] - previousPrices[i];
+      priceChangePercentages[i] = priceChanges[i] / previousPrices[i] * 100;
+    }
+    for (int i = 0; i < n; i++) {
+      marketCaps[i] = prices[i] * circulatingSupplies[i];
+      volumes[i] = volumes[i] * volumeFactors[i];
+    }
+    for (int i = 0; i < n; i++) {
+      highs[i] = Math.max(highs[i], prices[i]);
+      lows[i] = Math.min(lows[i], prices[i]);
+    }
+
+    appendHistory(Arrays.copyOf(prices, n));
+  }
+
+  /**
+   * Appends a column of prices to the history, dropping the oldest once full.
+   *
+   * @param column The price of every symbol, by symbol id
+   */
+  public void appendHistory(double[] column) {
+    if (column.length != size) {
+      throw new IllegalArgumentException("One price per symbol is required");
+    }
+    pushHistory(column);
+  }
+
+  private void pushHistory(double[] column) {
+    if (historySize < HISTORY_CAPACITY) {
+      history[(historyHead + historySize++) % HISTORY_CAPACITY] = column;
+    } else {
+      history[historyHead] = column;
+      historyHead = (historyHead + 1) % HISTORY_CAPACITY;
+    }
+  }
+
+  /**
+   * Sets the price of a symbol without moving it, as before the first tick.
+   *
+   * @param id    The id of the symbol
+   * @param price The price
+   */
+  public void setPrice(int id, double price) {
+    prices[checked(id)] = price;
+    previousPrices[id] = price;
+  }
+
+  /**
+   * Sets the 24h range of a symbol.
+   *
+   * @param id   The id of the symbol
+   * @param low  The lowest price of the last 24 hours
+   * @param high The highest price of the last 24 hours
+   */
+  public void setRange(int id, double low, double high) {
+    lows[checked(id)] = low;
+    highs[id] = high;
+  }
+
+  /**
+   * Sets the 24h change of a symbol.
+   *
+   * @param id         The id of the symbol
+   * @param change     The change in price
+   * @param percentage The change in percent
+   */
+  public void setPriceChange(int id, double change, double percentage) {
+    priceChanges[checked(id)] = change;
+    priceChangePercentages[id] = percentage;
+  }
+
+  /**
+   * Sets the supply of a symbol.
+   *
+   * @param id                The id of the symbol
+   * @param circulatingSupply The circulating supply, which the market cap follows
+   * @param totalSupply       The total supply
+   */
+  public void setSupply(int id, long circulatingSupply, long totalSupply) {
+    circulatingSupplies[checked(id)] = circulatingSupply;
+    totalSupplies[id] = totalSupply;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the id of a symbol.
+   *
+   * @param symbol The ticker symbol
+   * @return the id, or -1 if the symbol is not in the store
+   */
+  public int indexOf(String symbol) {
+    Integer id = ids.get(symbol);
+    return id == null ? -1 : id;
+  }
+
+  public String getSymbol(int id) {
+    return symbols[checked(id)];
+  }
+
+  public double getPrice(int id) {
+    return prices[checked(id)];
+  }
+
+  public double getMarketCap(int id) {
+    return marketCaps[checked(id)];
+  }
+
+  public double getVolume(int id) {
+    return volumes[checked(id)];
+  }
+
+  /**
+   * Reads a store from CSV, one symbol per line in rank order.
+   *
+   * <p>
+   * The columns are {@code symbol,name,price,market_cap,volume_24h}. A first line
+   * with these names, blank lines and lines starting with {@code #} are skipped.
+   * Values must not contain commas.
+   * </p>
+   *
+   * @param reader The CSV to read
+   * @return the store
+   * @throws IOException if the CSV cannot be read
+   */
+  public static MarketStore readCsv(Reader reader) throws IOException {
+    MarketStore store = new MarketStore(64);
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int number = 0;
+
+    while ((line = lines.readLine()) != null) {
+      number++;
+      line = line.strip();
+      if (line.isEmpty() || line.startsWith("#") || (number == 1 && line.equalsIgnoreCase(CSV_HEADER))) {
+        continue;
+      }
+
+      String[] fields = line.split(",", -1);
+      if (fields.length != 5) {
+        throw new IOException("Line " + number + ": expected " + CSV_HEADER);
+      }
+      try {
+        store.add(fields[0].strip(), fields[1].strip(),
+            Double.parseDouble(fields[2].strip()),
+            Double.parseDouble(fields[3].strip()),
+            Double.parseDouble(fields[4].strip()));
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Line " + number + ": " + e.getMessage(), e);
+      }
+    }
+
+    return store;
+  }
+
+  /**
+   * Writes the complete state of the store, column by column.
+   *
+   * @param output The stream to write to, flushed and left open
+   * @throws IOException if the snapshot cannot be written
+   */
+  public void writeSnapshot(OutputStream output) throws IOException {
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+    data.writeInt(SNAPSHOT_MAGIC);
+    data.writeInt(SNAPSHOT_VERSION);
+    data.writeInt(size);
+
+    for (int i = 0; i < size; i++) {
+      data.writeUTF(symbols[i]);
+      data.writeUTF(names[i]);
+    }
+    write(data, ranks, size);
+    for (double[] column : new double[][] { prices, previousPrices, priceChanges, priceChangePercentages,
+        marketCaps, volumes, highs, lows }) {
+      write(data, column, size);
+    }
+    write(data, circulatingSupplies, size);
+    write(data, totalSupplies, size);
+
+    // Columns of ticks before a symbol was added are shorter than the store
+    data.writeInt(historySize);
+    for (int k = 0; k < historySize; k++) {
+      double[] column = history[(historyHead + k) % HISTORY_CAPACITY];
+      data.writeInt(column.length);
+      write(data, column, column.length);
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads a store written by {@link #writeSnapshot(OutputStream)}.
+   *
+   * @param input The stream to read from, left open but read ahead
+   * @return the store
+   * @throws IOException if the snapshot cannot be read or is not a market snapshot
+   */
+  public static MarketStore readSnapshot(InputStream input) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+    if (data.readInt() != SNAPSHOT_MAGIC || data.readInt() != SNAPSHOT_VERSION) {
+      throw new IOException("Not a market snapshot");
+    }
+
+    int size = data.readInt();
+    MarketStore store = new MarketStore(size);
+    for (int i = 0; i < size; i++) {
+      store.add(data.readUTF(), data.readUTF(), 1, 0, 0);
+    }
+    read(data, store.ranks, size);
+    for (double[] column : new double[][] { store.prices, store.previousPrices, store.priceChanges,
+        store.priceChangePercentages, store.marketCaps, store.volumes, store.highs, store.lows }) {
+      read(data, column, size);
+    }
+    read(data, store.circulatingSupplies, size);
+    read(data, store.totalSupplies, size);
+
+    int historySize = data.readInt();
+    for (int k = 0; k < historySize; k++) {
+      int length = data.readInt();
+      if (length < 0 || length > size) {
+        throw new IOException("Not a market snapshot");
+      }
+      double[] column = new double[length];
+      read(data, column, length);
+      store.pushHistory(column);
+    }
+    return store;
+  }
+
+  // Accessors for MarketSnapshot, which copies the columns
+
+  String[] symbols() {
+    return symbols;
+  }
+
+  String[] names() {
+    return names;
+  }
+
+  int[] ranks() {
+    return ranks;
+  }
+
+  double[] prices() {
+    return prices;
+  }
+
+  double[] previousPrices() {
+    return previousPrices;
+  }
+
+  double[] priceChanges() {
+    return priceChanges;
+  }
+
+  double[] priceChangePercentages() {
+    return priceChangePercentages;
+  }
+
+  double[] marketCaps() {
+    return marketCaps;
+  }
+
+  double[] volumes() {
+    return volumes;
+  }
+
+  double[] highs() {
+    return highs;
+  }
+
+  double[] lows() {
+    return lows;
+  }
+
+  long[] circulatingSupplies() {
+    return circulatingSupplies;
+  }
+
+  long[] totalSupplies() {
+    return totalSupplies;
+  }
+
+  /**
+   * Gets the history columns, oldest first. The columns themselves are shared.
+   */
+  double[][] historyColumns() {
+    double[][] columns = new double[historySize][];
+    for (int k = 0; k < historySize; k++) {
+      columns[k] = history[(historyHead + k) % HISTORY_CAPACITY];
+    }
+    return columns;
+  }
+
+  /**
+   * Gets the ids by symbol as an unmodifiable map, shared until a symbol is added.
+   */
+  Map<String, Integer> ids() {
+    if (publishedIds == null) {
+      publishedIds = Collections.unmodifiableMap(new HashMap<>(ids));
+    }
+    return publishedIds;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= symbols.length) {
+      return;
+    }
+
+    int grown = Math.max(capacity, symbols.length * 2);
+    symbols = Arrays.copyOf(symbols, grown);
+    names = Arrays.copyOf(names, grown);
+    ranks = Arrays.copyOf(ranks, grown);
+    prices = Arrays.copyOf(prices, grown);
+    previousPrices = Arrays.copyOf(previousPrices, grown);
+    priceChanges = Arrays.copyOf(priceChanges, grown);
+    priceChangePercentages = Arrays.copyOf(priceChangePercentages, grown);
+    marketCaps = Arrays.copyOf(marketCaps, grown);
+    volumes = Arrays.copyOf(volumes, grown);
+    highs = Arrays.copyOf(highs, grown);
+    lows = Arrays.copyOf(lows, grown);
+    circulatingSupplies = Arrays.copyOf(circulatingSupplies, grown);
+    totalSupplies = Arrays.copyOf(totalSupplies, grown);
+  }
+
+  private int checked(int id) {
+    if (id < 0 || id >= size) {
+      throw new IndexOutOfBoundsException(id);
+    }
+    return id;
+  }
+
+  private static void write(DataOutputStream data, double[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      data.writeDouble(column[i]);
+    }
+  }
+
+  private static void write(DataOutputStream data, long[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      data.writeLong(column[i]);
+    }
+  }
+
+  private static void write(DataOutputStream data, int[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      data.writeInt(column[i]);
+    }
+  }
+
+  private static void read(DataInputStream data, double[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      column[i] = data.readDouble();
+    }
+  }
+
+  private static void read(DataInputStream data, long[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      column[i] = data.readLong();
+    }
+  }
+
+  private static void read(DataInputStream data, int[] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      column[i] = data.readInt();
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+/**
+ * Fixed-capacity ring buffer of prices, oldest first.
+ *
+ * <p>
+ * Adding a price is O(1) and never allocates. The most recent {@code window} prices are
+ * what the sparkline draws: their minimum and maximum are kept up to date with monotonic
+ * queues, and their JSON form is cached until the next price arrives. Each price is
+ * formatted at most once, the first time the JSON is read after it was added.
+ * </p>
+ */
+public class PriceHistory {
+  private final double[] values;
+  private final int window;
+  private final String[] formatted;
+  private long count;
+  private int valueSlot;
+  private int formattedSlot;
+
+  // The window's candidates for the minimum and maximum, with the sequence number they were added at
+  private final long[] minQueue;
+  private final double[] minValues;
+  private final long[] maxQueue;
+  private final double[] maxValues;
+  private int minHead;
+  private int minSize;
+  private int maxHead;
+  private int maxSize;
+
+  private String json;
+
+  /**
+   * Creates an empty history.
+   *
+   * @param capacity The number of prices kept
+   * @param window   The number of most recent prices drawn by the sparkline
+   */
+  public PriceHistory(int capacity, int window) {
+    if (capacity < 1 || window < 1 || window > capacity) {
+      throw new IllegalArgumentException("The window must be between 1 and the capacity");
+    }
+
+    this.values = new double[capacity];
+    this.window = window;
+    this.formatted = new String[window];
+    this.minQueue = new long[window];
+    this.minValues = new double[window];
+    this.maxQueue = new long[window];
+    this.maxValues = new double[window];
+  }
+
+  /**
+   * Appends a price, dropping the oldest one once the history is full.
+   *
+   * @param price The price to append
+   */
+  public void add(double price) {
+    long sequence = count++;
+    values[valueSlot] = price;
+    valueSlot = next(valueSlot, values.length);
+    formatted[formattedSlot] = null;
+    formattedSlot = next(formattedSlot, window);
+    json = null;
+
+    // Candidates that left the window are dropped from the front
+    long expired = sequence - window;
+    if (minSize > 0 && minQueue[minHead] <= expired) {
+      minHead = next(minHead, window);
+      minSize--;
+    }
+    if (maxSize > 0 && maxQueue[maxHead] <= expired) {
+      maxHead = next(maxHead, window);
+      maxSize--;
+    }
+
+    // Candidates the new price dominates can never be the answer again
+    while (minSize > 0 && minValues[slot(minHead, minSize - 1)] >= price) {
+      minSize--;
+    }
+    int minTail = slot(minHead, minSize++);
+    minQueue[minTail] = sequence;
+    minValues[minTail] = price;
+
+    while (maxSize > 0 && maxValues[slot(maxHead, maxSize - 1)] <= price) {
+      maxSize--;
+    }
+    int maxTail = slot(maxHead, maxSize++);
+    maxQueue[maxTail] = sequence;
+    maxValues[maxTail] = price;
+  }
+
+  /**
+   * Replaces the history with the given prices, oldest first.
+   *
+   * @param prices The prices
+   */
+  public void set(double[] prices) {
+    clear();
+    for (int i = Math.max(0, prices.length - values.length); i < prices.length; i++) {
+      add(prices[i]);
+    }
+  }
+
+  public void clear() {
+    count = 0;
+    valueSlot = 0;
+    formattedSlot = 0;
+    minSize = 0;
+    maxSize = 0;
+    json = null;
+  }
+
+  public int size() {
+    return (int) Math.min(count, values.length);
+  }
+
+  public int capacity() {
+    return values.length;
+  }
+
+  /**
+   * Gets a price by age.
+   *
+   * @param index 0 for the oldest price kept, {@code size() - 1} for the latest
+   * @return the price
+   */
+  public double get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return valueAt(count - size() + index);
+  }
+
+  /**
+   * Copies the prices, oldest first.
+   *
+   * @return the prices
+   */
+  public double[] toArray() {
+    double[] copy = new double[size()];
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = get(i);
+    }
+    return copy;
+  }
+
+  /**
+   * Gets the lowest of the most recent {@code window} prices.
+   *
+   * @return the minimum, or 0 when the history is empty
+   */
+  public double getWindowMin() {
+    return minSize == 0 ? 0 : minValues[minHead];
+  }
+
+  /**
+   * Gets the highest of the most recent {@code window} prices.
+   *
+   * @return the maximum, or 0 when the history is empty
+   */
+  public double getWindowMax() {
+    return maxSize == 0 ? 0 : maxValues[maxHead];
+  }
+
+  /**
+   * Serializes the most recent {@code window} prices as a JSON array, oldest first.
+   *
+   * @return the JSON array
+   */
+  public String toJson() {
+    if (json != null) {
+      return json;
+    }
+
+    long first = Math.max(0, count - window);
+    StringBuilder builder = new StringBuilder((int) (count - first) * 20 + 2).append('[');
+    for (long sequence = first; sequence < count; sequence++) {
+      int slot = (int) (sequence % window);
+      if (formatted[slot] == null) {
+        formatted[slot] = Double.toString(valueAt(sequence));
+      }
+      if (sequence > first) {
+        builder.append(',');
+      }
+      builder.append(formatted[slot]);
+    }
+    json = builder.append(']').toString();
+    return json;
+  }
+
+  private int slot(int head, int offset) {
+    int slot = head + offset;
+    return slot >= window ? slot - window : slot;
+  }
+
+  private static int next(int slot, int length) {
+    return slot + 1 == length ? 0 : slot + 1;
+  }
+
+  private double valueAt(long sequence) {
+    return values[(int) (sequence % values.length)];
+  }
+}
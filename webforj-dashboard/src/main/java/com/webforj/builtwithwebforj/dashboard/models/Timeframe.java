@@ -0,0 +1,48 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+/**
+ * Candle intervals offered by the dashboard, with the number of candles kept for each.
+ */
+public enum Timeframe {
+  ONE_MINUTE("1m", 60_000L, 120),
+  FIVE_MINUTES("5m", 5 * 60_000L, 120),
+  ONE_HOUR("1h", 60 * 60_000L, 96),
+  ONE_DAY("1d", 24 * 60 * 60_000L, 90);
+
+  private final String label;
+  private final long millis;
+  private final int retention;
+
+  Timeframe(String label, long millis, int retention) {
+    this.label = label;
+    this.millis = millis;
+    this.retention = retention;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public long getMillis() {
+    return millis;
+  }
+
+  /**
+   * Gets the number of candles kept for this timeframe.
+   *
+   * @return the retention in candles
+   */
+  public int getRetention() {
+    return retention;
+  }
+
+  /**
+   * Gets the start of the candle a timestamp falls into.
+   *
+   * @param timestamp The timestamp in epoch milliseconds
+   * @return the start of the bucket in epoch milliseconds
+   */
+  public long bucketStart(long timestamp) {
+    return timestamp - Math.floorMod(timestamp, millis);
+  }
+}
@@ -0,0 +1,166 @@
+package com.webforj.builtwithwebforj.dashboard.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.webforj.builtwithwebforj.dashboard.models.CandleSeries;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
+
+/**
+ * Rolls market ticks into OHLCV candles at every {@link Timeframe}.
+ *
+ * <p>
+ * Each symbol, and each of the market-wide series, keeps one {@link CandleSeries} per
+ * timeframe with bounded retention. Candles are built as the ticks arrive, so reading
+ * them is a lookup. Besides the highest ranked symbols, the aggregator tracks the total market cap,
+ * the total 24h volume and the dominance of Bitcoin under the keys below.
+ * </p>
+ */
+public class CandleAggregator {
+
+  public static final String MARKET_CAP = "$MARKET_CAP";
+  public static final String MARKET_VOLUME = "$MARKET_VOLUME";
+  public static final String BTC_DOMINANCE = "$BTC_DOMINANCE";
+
+  public static final int DEFAULT_SYMBOL_LIMIT = 250;
+
+  private static final double DAY_MILLIS = 24 * 60 * 60_000.0;
+
+  private final Map<String, CandleSeries[]> series = new ConcurrentHashMap<>();
+  private final int symbolLimit;
+  private long lastTimestamp;
+
+  /**
+   * Creates an aggregator keeping candles for the {@value #DEFAULT_SYMBOL_LIMIT}
+   * highest ranked symbols.
+   */
+  public CandleAggregator() {
+    this(DEFAULT_SYMBOL_LIMIT);
+  }
+
+  /**
+   * Creates an aggregator keeping candles for the highest ranked symbols.
+   *
+   * @param symbolLimit The number of symbols, in snapshot order, to keep candles for
+   */
+  public CandleAggregator(int symbolLimit) {
+    this.symbolLimit = symbolLimit;
+  }
+
+  /**
+   * Gets the number of symbols, in snapshot order, candles are kept for. The
+   * market-wide series always include every symbol.
+   *
+   * @return the symbol limit
+   */
+  public int getSymbolLimit() {
+    return symbolLimit;
+  }
+
+  /**
+   * Rolls a market tick into the candles of every symbol and market-wide series.
+   *
+   * @param snapshot The market after the tick
+   */
+  public void record(MarketSnapshot snapshot) {
+    long timestamp = snapshot.getTimestamp();
+    // The 24h volume is spread evenly, each tick trades its share of the day
+    double share = lastTimestamp == 0 ? 0 : Math.max(0, timestamp - lastTimestamp) / DAY_MILLIS;
+    lastTimestamp = timestamp;
+
+    // Every symbol costs a few kilobytes of candles, a large market only keeps the top ones
+    for (int i = 0; i < Math.min(snapshot.size(), symbolLimit); i++) {
+      record(snapshot.getSymbol(i), timestamp, snapshot.getPrice(i), snapshot.getVolume(i) * share);
+    }
+
+    double[] totals = marketTotals(snapshot);
+    record(MARKET_CAP, timestamp, totals[0], totals[1] * share);
+    record(MARKET_VOLUME, timestamp, totals[1], totals[1] * share);
+    record(BTC_DOMINANCE, timestamp, totals[2], 0);
+  }
+
+  /**
+   * Rolls a single tick into the candles of a series.
+   *
+   * @param key       The symbol or market-wide key
+   * @param timestamp The time of the tick in epoch milliseconds
+   * @param price     The value at the tick
+   * @param volume    The volume traded since the previous tick
+   */
+  public void record(String key, long timestamp, double price, double volume) {
+    for (CandleSeries candles : getOrCreate(key)) {
+      candles.add(timestamp, price, volume);
+    }
+  }
+
+  /**
+   * Gets the most recent candles of a series.
+   *
+   * @param key       The symbol or market-wide key
+   * @param timeframe The timeframe of the candles
+   * @param limit     The maximum number of candles
+   * @return a copy of the candles, oldest first, empty for an unknown key
+   */
+  public CandleSeries getCandles(String key, Timeframe timeframe, int limit) {
+    CandleSeries[] candles = series.get(key);
+    if (candles == null) {
+      return new CandleSeries(timeframe).copy(0);
+    }
+    return candles[timeframe.ordinal()].copy(limit);
+  }
+
+  /**
+   * Gets all retained candles of a series.
+   *
+   * @param key       The symbol or market-wide key
+   * @param timeframe The timeframe of the candles
+   * @return a copy of the candles, oldest first, empty for an unknown key
+   */
+  public CandleSeries getCandles(String key, Timeframe timeframe) {
+    return getCandles(key, timeframe, timeframe.getRetention());
+  }
+
+  /**
+   * Gets the live series of a key at a timeframe, creating it if needed.
+   * Used to backfill history before the first tick.
+   *
+   * @param key       The symbol or market-wide key
+   * @param timeframe The timeframe of the candles
+   * @return the live series
+   */
+  CandleSeries getSeries(String key, Timeframe timeframe) {
+    return getOrCreate(key)[timeframe.ordinal()];
+  }
+
+  /**
+   * Computes the values of the market-wide series.
+   *
+   * @param snapshot The market
+   * @return the total market cap, the total 24h volume and the dominance of Bitcoin in percent
+   */
+  static double[] marketTotals(MarketSnapshot snapshot) {
+    double marketCap = 0;
+    double volume = 0;
+    double bitcoinCap = 0;
+    for (int i = 0; i < snapshot.size(); i++) {
+      marketCap += snapshot.getMarketCap(i);
+      volume += snapshot.getVolume(i);
+      if ("BTC".equals(snapshot.getSymbol(i))) {
+        bitcoinCap = snapshot.getMarketCap(i);
+      }
+    }
+    return new double[] { marketCap, volume, marketCap == 0 ? 0 : bitcoinCap / marketCap * 100 };
+  }
+
+  private CandleSeries[] getOrCreate(String key) {
+    return series.computeIfAbsent(key, k -> {
+      Timeframe[] timeframes = Timeframe.values();
+      CandleSeries[] candles = new CandleSeries[timeframes.length];
+      for (int i = 0; i < timeframes.length; i++) {
+        candles[i] = new CandleSeries(timeframes[i]);
+      }
+      return candles;
+    });
+  }
+}
@@ -1,132 +1,201 @@
 package com.webforj.builtwithwebforj.dashboard.services;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 
+import com.webforj.builtwithwebforj.dashboard.models.CandleSeries;
 import com.webforj.builtwithwebforj.dashboard.models.Cryptocurrency;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.MarketStore;
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
 
 public class CryptocurrencyService {
 
-  private final String[][] CRYPTO_DATA = {
-      { "BTC", "Bitcoin", "107356.60", "2140000000000", "13260000000" },
-      { "ETH", "Ethereum", "2638.47", "318750000000", "9350000000" },
-      { "USDT", "Tether", "1.00", "153010000000", "31500000000" },
-      { "XRP", "XRP", "2.26", "132940000000", "926830000" },
-      { "BNB", "BNB", "684.31", "98550000000", "461830000" },
-      { "SOL", "Solana", "170.49", "88770000000", "2220000000" },
-      { "USDC", "USDC", "1.00", "61370000000", "4980000000" },
-      { "DOGE", "Dogecoin", "0.22", "32900000000", "859790000" },
-      { "ADA", "Cardano", "0.74", "26380000000", "304620000" },
-      { "STETH", "Lido Staked ETH", "2634.67", "23730000000", "8930000" },
-      { "WBTC", "Wrapped Bitcoin", "107369.39", "13850000000", "96940000" },
-      { "HYPE", "Hyperliquid", "34.49", "11570000000", "239100000" },
-      { "LINK", "Chainlink", "15.48", "10180000000", "175310000" },
-      { "AVAX", "Avalanche", "23.04", "9710000000", "194480000" },
-      { "WETH", "Wrapped ETH", "2638.47", "8910000000", "547080000" },
-      { "XLM", "Stellar", "0.28", "8810000000", "91290000" },
-      { "TON", "Toncoin", "3.35", "8380000000", "569210000" },
-      { "SHIB", "Shiba Inu", "0.000014", "8320000000", "83840000" },
-      { "HBAR", "Hedera", "0.18", "7760000000", "52380000" },
-      { "BTCB", "Bitcoin BEP2", "107281.09", "7010000000", "20830000" },
-      { "DOT", "Polkadot", "4.51", "6870000000", "110420000" },
-      { "PEPE", "Pepe", "0.000013", "5750000000", "825540000" },
-      { "DAI", "Dai", "0.99", "5370000000", "57180000" },
-      { "USDE", "Ethena USDe", "1.00", "5220000000", "30260000" },
-      { "AAVE", "Aave", "264.11", "4000000000", "176990000" },
-      { "NEAR", "Near Protocol", "2.80", "3410000000", "89760000" },
-      { "OKB", "OKB", "51.95", "3120000000", "1910000" },
-      { "ONDO", "Ondo", "0.92", "2930000000", "109190000" },
-      { "CRO", "Cronos", "0.096", "2570000000", "12380000" },
-      { "GT", "GateToken", "20.46", "2520000000", "10560000" },
-      { "MNT", "Mantle", "0.72", "2440000000", "109680000" },
-      { "VET", "VeChain", "0.026", "2320000000", "26540000" },
-      { "RENDER", "Render", "4.37", "2260000000", "160830000" },
-      { "FIL", "Filecoin", "2.82", "1900000000", "84930000" },
-      { "ALGO", "Algorand", "0.21", "1860000000", "32050000" },
-      { "ATOM", "Cosmos", "4.72", "1850000000", "69970000" },
-      { "JUP", "Jupiter", "0.59", "1730000000", "45070000" },
-      { "FDUSD", "First Digital USD", "0.99", "1620000000", "3950000000" },
-      { "BONK", "Bonk", "0.000019", "1540000000", "113550000" }
-  };
+  /**
+   * System property naming a CSV or snapshot file to load the market from instead of
+   * the bundled list.
+   */
+  public static final String MARKET_FILE_PROPERTY = "dashboard.market.file";
+  private static final String MARKET_RESOURCE = "/data/cryptocurrencies.csv";
 
   private Random random = new Random();
+  private double[] priceFactors = new double[0];
+  private double[] volumeFactors = new double[0];
+
+  /**
+   * Loads the market to simulate.
+   *
+   * <p>
+   * Without the {@value #MARKET_FILE_PROPERTY} system property the bundled list is
+   * used. A file ending in {@code .csv} is read like the bundled list and gets the same
+   * initial variation, any other file is read as a snapshot written by
+   * {@link MarketStore#writeSnapshot(java.io.OutputStream)} and used as it is.
+   * </p>
+   *
+   * @return the market
+   */
+  public MarketStore loadMarket() {
+    String file = System.getProperty(MARKET_FILE_PROPERTY);
+    try {
+      if (file == null || file.isBlank()) {
+        InputStream resource = getClass().getResourceAsStream(MARKET_RESOURCE);
+        if (resource == null) {
+          throw new IOException("Resource not found");
+        }
+        try (Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+          return initialize(MarketStore.readCsv(reader));
+        }
+      }
+
+      Path path = Path.of(file);
+      if (file.toLowerCase().endsWith(".csv")) {
+        try (Reader reader = Files.newBufferedReader(path)) {
+          return initialize(MarketStore.readCsv(reader));
+        }
+      }
+      try (InputStream input = Files.newInputStream(path)) {
+        return MarketStore.readSnapshot(input);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot load the market from " + (file == null ? MARKET_RESOURCE : file), e);
+    }
+  }
 
-  public List<Cryptocurrency> generateCryptocurrencies() {
-    List<Cryptocurrency> cryptocurrencies = new ArrayList<>();
+  private MarketStore initialize(MarketStore market) {
+    int size = market.size();
+    double[][] history = new double[20][size];
 
-    for (int i = 0; i < CRYPTO_DATA.length; i++) {
-      String[] data = CRYPTO_DATA[i];
-      double basePrice = Double.parseDouble(data[2]);
-      double marketCap = Double.parseDouble(data[3]);
-      double volume = Double.parseDouble(data[4]);
+    for (int i = 0; i < size; i++) {
+      double basePrice = market.getPrice(i);
 
       // Add some initial price variation
       double initialVariation = 0.95 + (random.nextDouble() * 0.1); // -5% to +5%
       double currentPrice = basePrice * initialVariation;
-
-      Cryptocurrency crypto = new Cryptocurrency(
-          data[0], // symbol
-          data[1], // name
-          currentPrice,
-          marketCap,
-          volume,
-          i + 1 // rank
-      );
+      market.setPrice(i, currentPrice);
 
       // Set additional fields
-      crypto.setHigh24h(currentPrice * (1 + random.nextDouble() * 0.05));
-      crypto.setLow24h(currentPrice * (1 - random.nextDouble() * 0.05));
-      crypto.setCirculatingSupply((long) (marketCap / currentPrice));
-      crypto.setTotalSupply((long) (crypto.getCirculatingSupply() * (1.1 + random.nextLong() * 0.3)));
+      market.setRange(i,
+          currentPrice * (1 - random.nextDouble() * 0.05),
+          currentPrice * (1 + random.nextDouble() * 0.05));
+      long circulatingSupply = (long) (market.getMarketCap(i) / currentPrice);
+      market.setSupply(i, circulatingSupply, (long) (circulatingSupply * (1.1 + random.nextDouble() * 0.3)));
 
       // Generate initial price history
-      List<Double> history = new ArrayList<>();
       double historyPrice = currentPrice * 0.95;
-      for (int j = 0; j < 20; j++) {
+      for (int j = 0; j < history.length; j++) {
         historyPrice = historyPrice * (0.98 + random.nextDouble() * 0.04);
-        history.add(historyPrice);
+        history[j][i] = historyPrice;
       }
-      crypto.setPriceHistory(history);
 
       // Set initial 24h change
       double change24h = (currentPrice - basePrice) / basePrice * 100;
-      crypto.setPriceChangePercentage24h(change24h);
-      crypto.setPriceChange24h(currentPrice - basePrice);
+      market.setPriceChange(i, currentPrice - basePrice, change24h);
+    }
 
-      cryptocurrencies.add(crypto);
+    for (double[] column : history) {
+      market.appendHistory(column);
     }
+    return market;
+  }
 
-    return cryptocurrencies;
+  /**
+   * Creates the row of a symbol from a snapshot, with its price history.
+   *
+   * @param snapshot The snapshot to read
+   * @param index    The index of the symbol in the snapshot
+   * @return the cryptocurrency
+   */
+  public Cryptocurrency fromSnapshot(MarketSnapshot snapshot, int index) {
+    Cryptocurrency crypto = new Cryptocurrency(
+        snapshot.getSymbol(index),
+        snapshot.getName(index),
+        snapshot.getPrice(index),
+        snapshot.getMarketCap(index),
+        snapshot.getVolume(index),
+        snapshot.getRank(index));
+
+    crypto.setCirculatingSupply(snapshot.getCirculatingSupply(index));
+    crypto.setTotalSupply(snapshot.getTotalSupply(index));
+    crypto.apply(snapshot, index, false);
+    return crypto;
   }
 
-  public void updatePrices(List<Cryptocurrency> cryptocurrencies) {
-    for (Cryptocurrency crypto : cryptocurrencies) {
-      // Simulate price movements (-2% to +2% per update)
-      double changePercent = -0.02 + (random.nextDouble() * 0.04);
-      double currentPrice = crypto.getCurrentPrice();
-      double newPrice = currentPrice * (1 + changePercent);
+  /**
+   * Simulates one tick of the market.
+   *
+   * @param market The market to move
+   */
+  public void updatePrices(MarketStore market) {
+    int size = market.size();
+    if (priceFactors.length != size) {
+      priceFactors = new double[size];
+      volumeFactors = new double[size];
+    }
 
-      // Ensure price doesn't go negative
-      newPrice = Math.max(newPrice, 0.0001);
+    for (int i = 0; i < size; i++) {
+      // Simulate price movements (-2% to +2% per update)
+      priceFactors[i] = 0.98 + random.nextDouble() * 0.04;
+      // Simulate volume changes
+      volumeFactors[i] = 0.95 + random.nextDouble() * 0.1;
+    }
 
-      crypto.setCurrentPrice(newPrice);
+    market.updatePrices(priceFactors, volumeFactors);
+  }
 
-      // Update market cap based on new price
-      double newMarketCap = newPrice * crypto.getCirculatingSupply();
-      crypto.setMarketCap(newMarketCap);
+  /**
+   * Fills the candles of every series with simulated history ending at the snapshot,
+   * so all timeframes have data before the first tick.
+   *
+   * @param candles  The aggregator to fill, before it records any tick
+   * @param snapshot The market the history ends at
+   */
+  public void backfillCandles(CandleAggregator candles, MarketSnapshot snapshot) {
+    long now = snapshot.getTimestamp();
+    for (int i = 0; i < Math.min(snapshot.size(), candles.getSymbolLimit()); i++) {
+      backfillCandles(candles, snapshot.getSymbol(i), snapshot.getPrice(i), snapshot.getVolume(i), now);
+    }
 
-      // Simulate volume changes
-      double volumeChange = 0.95 + (random.nextDouble() * 0.1);
-      crypto.setVolume24h(crypto.getVolume24h() * volumeChange);
+    double[] totals = CandleAggregator.marketTotals(snapshot);
+    backfillCandles(candles, CandleAggregator.MARKET_CAP, totals[0], totals[1], now);
+    backfillCandles(candles, CandleAggregator.MARKET_VOLUME, totals[1], totals[1], now);
+    backfillCandles(candles, CandleAggregator.BTC_DOMINANCE, totals[2], 0, now);
+  }
 
-      // Update high/low if necessary
-      if (newPrice > crypto.getHigh24h()) {
-        crypto.setHigh24h(newPrice);
+  private void backfillCandles(CandleAggregator candles, String key, double value, double volume24h, long now) {
+    for (Timeframe timeframe : Timeframe.values()) {
+      CandleSeries series = candles.getSeries(key, timeframe);
+      int count = timeframe.getRetention();
+      // 0.1% per minute, scaled with the square root of the candle length like a random walk
+      double volatility = 0.001 * Math.sqrt(timeframe.getMillis() / 60_000.0);
+      double volume = volume24h * timeframe.getMillis() / (24 * 60 * 60_000.0);
+
+      // Walk back from the current value, the latest candle is the one still open
+      double[] opens = new double[count];
+      double[] closes = new double[count];
+      double close = value;
+      for (int k = count - 1; k >= 0; k--) {
+        closes[k] = close;
+        opens[k] = close / (1 + random.nextGaussian() * volatility);
+        close = opens[k];
       }
-      if (newPrice < crypto.getLow24h()) {
-        crypto.setLow24h(newPrice);
+
+      long latest = timeframe.bucketStart(now);
+      for (int k = 0; k < count; k++) {
+        double wick = Math.abs(random.nextGaussian()) * volatility / 2;
+        series.append(latest - (count - 1 - k) * timeframe.getMillis(),
+            opens[k],
+            Math.max(opens[k], closes[k]) * (1 + wick),
+            Math.min(opens[k], closes[k]) * (1 - wick),
+            closes[k],
+            volume * (0.8 + random.nextDouble() * 0.4));
       }
     }
   }
-}
\ No newline at end of file
+}
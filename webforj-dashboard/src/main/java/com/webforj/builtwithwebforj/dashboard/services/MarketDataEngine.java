@@ -0,0 +1,286 @@
+package com.webforj.builtwithwebforj.dashboard.services;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.webforj.Environment;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.MarketStore;
+
+/**
+ * Application-wide market simulation shared by every session.
+ *
+ * <p>
+ * A single scheduler thread moves the prices once per tick and publishes an immutable
+ * {@link MarketSnapshot}, which is also rolled into the candles of the
+ * {@link CandleAggregator}. Sessions subscribe from their UI thread and receive the
+ * latest snapshot through {@link Environment#runLater(Runnable)}, so the cost of a
+ * session is only applying and rendering it. The scheduler only runs while at least
+ * one session is subscribed. A tick that fails is logged, at most once a minute, and
+ * the next tick starts from the same state.
+ * </p>
+ */
+public final class MarketDataEngine {
+
+  private static final long TICK_MILLIS = 1000;
+  private static final long ERROR_LOG_MILLIS = 60_000;
+  private static final Logger logger = LoggerFactory.getLogger(MarketDataEngine.class);
+  private static final Executor RUN_LATER = task -> Environment.runLater(task);
+  private static MarketDataEngine instance;
+
+  private final CryptocurrencyService cryptoService = new CryptocurrencyService();
+  private final MarketStore market;
+  private final long tickMillis;
+  private final CandleAggregator candles = new CandleAggregator();
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  // Not a monitor: waiting in synchronized pins the carrier of each waiting virtual thread
+  private final ReentrantLock tickLock = new ReentrantLock();
+  private final Condition ticked = tickLock.newCondition();
+  private volatile MarketSnapshot snapshot;
+  private ScheduledExecutorService scheduler;
+  // Only touched by the scheduler thread
+  private long lastErrorLog;
+  private int suppressedErrors;
+
+  private MarketDataEngine() {
+    this(new CryptocurrencyService().loadMarket(), TICK_MILLIS);
+  }
+
+  /**
+   * Creates an engine simulating the given market.
+   *
+   * @param market     The market to move on each tick
+   * @param tickMillis The time between two ticks in milliseconds
+   */
+  MarketDataEngine(MarketStore market, long tickMillis) {
+    this.market = market;
+    this.tickMillis = tickMillis;
+    snapshot = MarketSnapshot.of(0, market);
+    cryptoService.backfillCandles(candles, snapshot);
+  }
+
+  /**
+   * Gets the engine shared by all sessions of the application.
+   *
+   * @return the market-data engine
+   */
+  public static synchronized MarketDataEngine getInstance() {
+    if (instance == null) {
+      instance = new MarketDataEngine();
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the most recent snapshot of the market.
+   *
+   * @return the latest snapshot
+   */
+  public MarketSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Gets the candles of the highest ranked symbols and the market-wide series,
+   * updated on each tick.
+   *
+   * @return the candle aggregator
+   */
+  public CandleAggregator getCandles() {
+    return candles;
+  }
+
+  /**
+   * Subscribes the current session to market updates.
+   *
+   * <p>
+   * Must be called from the UI thread: the delivery thread inherits its environment
+   * to post updates back with {@code runLater}. A session that falls behind skips
+   * straight to the latest snapshot instead of queueing every tick.
+   * </p>
+   *
+   * @param listener called on the UI thread with each new snapshot
+   * @return the subscription, to be closed when the view is destroyed
+   */
+  public Subscription subscribe(Consumer<MarketSnapshot> listener) {
+    return subscribe(listener, RUN_LATER);
+  }
+
+  /**
+   * Subscribes to market updates delivered through the given executor.
+   *
+   * <p>
+   * The executor has to run the tasks of one subscription one at a time, in the
+   * order they were submitted, like the UI thread of a session does. The delivery
+   * thread of the subscription submits to it.
+   * </p>
+   *
+   * @param listener called by the executor with each new snapshot
+   * @param delivery runs the listener, usually on the session's UI thread
+   * @return the subscription, to be closed when the view is destroyed
+   */
+  public Subscription subscribe(Consumer<MarketSnapshot> listener, Executor delivery) {
+    Subscription subscription = new Subscription(listener, delivery, snapshot.getVersion());
+    subscriptions.add(subscription);
+    subscription.thread = Thread.ofVirtual().name("market-data-session").unstarted(subscription::deliver);
+    subscription.thread.start();
+    start();
+    return subscription;
+  }
+
+  /**
+   * Gets the number of sessions currently subscribed.
+   *
+   * @return the subscriber count
+   */
+  public int getSubscriberCount() {
+    return subscriptions.size();
+  }
+
+  private synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "market-data-engine");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Checks whether the scheduler is running.
+   *
+   * @return true while at least one session is subscribed
+   */
+  synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private synchronized void stopIfIdle() {
+    if (scheduler != null && subscriptions.isEmpty()) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Moves the market once and wakes every subscription.
+   */
+  void tick() {
+    try {
+      cryptoService.updatePrices(market);
+      MarketSnapshot next = MarketSnapshot.of(snapshot.getVersion() + 1, market);
+      candles.record(next);
+
+      tickLock.lock();
+      try {
+        snapshot = next;
+        ticked.signalAll();
+      } finally {
+        tickLock.unlock();
+      }
+    } catch (RuntimeException e) {
+      // A failed tick must not cancel the schedule, the next one starts from the same state
+      logFailure(e);
+    }
+  }
+
+  private void logFailure(RuntimeException e) {
+    long now = System.currentTimeMillis();
+    if (now - lastErrorLog < ERROR_LOG_MILLIS) {
+      suppressedErrors++;
+      return;
+    }
+
+    String suppressed = suppressedErrors > 0 ? " (" + suppressedErrors + " more failed since the last report)" : "";
+    logger.error("The market tick failed" + suppressed, e);
+    lastErrorLog = now;
+    suppressedErrors = 0;
+  }
+
+  private MarketSnapshot awaitAfter(long version) throws InterruptedException {
+    tickLock.lock();
+    try {
+      while (snapshot.getVersion() <= version) {
+        ticked.await();
+      }
+      return snapshot;
+    } finally {
+      tickLock.unlock();
+    }
+  }
+
+  /**
+   * A session's subscription to the shared market.
+   */
+  public final class Subscription implements AutoCloseable {
+    private final Consumer<MarketSnapshot> listener;
+    private final Executor delivery;
+    private final AtomicReference<MarketSnapshot> pending = new AtomicReference<>();
+    private volatile boolean closed;
+    private volatile Thread thread;
+    private long seen;
+
+    private Subscription(Consumer<MarketSnapshot> listener, Executor delivery, long seen) {
+      this.listener = listener;
+      this.delivery = delivery;
+      this.seen = seen;
+    }
+
+    private void deliver() {
+      try {
+        while (!closed) {
+          MarketSnapshot next = awaitAfter(seen);
+          seen = next.getVersion();
+
+          // Only one update is in flight per session, later ticks replace the pending one
+          if (pending.getAndSet(next) == null) {
+            delivery.execute(() -> {
+              MarketSnapshot latest = pending.getAndSet(null);
+              if (!closed && latest != null) {
+                listener.accept(latest);
+              }
+            });
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        // The session's environment is gone, or its executor refused the update
+        close();
+      }
+    }
+
+    /**
+     * Stops the updates for this session.
+     */
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      subscriptions.remove(this);
+      Thread current = thread;
+      if (current != null && current != Thread.currentThread()) {
+        current.interrupt();
+      }
+      stopIfIdle();
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.webforj.builtwithwebforj.dashboard.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Stream;
+
+import com.webforj.builtwithwebforj.dashboard.models.Cryptocurrency;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.data.repository.DelegatingRepository;
+import com.webforj.data.repository.OrderCriteria;
+import com.webforj.data.repository.RepositoryCriteria;
+
+/**
+ * Table adapter over the shared market that only materializes the visible page.
+ *
+ * <p>
+ * The table reads through a {@link DelegatingRepository}: its size is the number of
+ * symbols in the market, and fetching a page creates {@link Cryptocurrency} rows for
+ * the symbols of that page only, reusing the rows already shown. Each tick updates the
+ * rows of the current page and nothing else. Sorting compares the snapshot's columns
+ * by symbol index, so it does not create rows either. The property names of the
+ * sortable columns are {@code price}, {@code priceChange24h}, {@code marketCap} and
+ * {@code volume24h}.
+ * </p>
+ */
+public class MarketPageRepository {
+
+  private final CryptocurrencyService cryptoService = new CryptocurrencyService();
+  private final DelegatingRepository<Cryptocurrency, Object> repository;
+  private final List<Cryptocurrency> rows = new ArrayList<>();
+  private int[] rowIndexes = new int[0];
+  private MarketSnapshot snapshot;
+
+  // Symbol indexes in display order, kept until the sort or the snapshot changes
+  private int[] order;
+  private String orderKey;
+  private long orderVersion;
+
+  /**
+   * Creates an adapter showing the given snapshot.
+   *
+   * @param snapshot The market to start from
+   */
+  public MarketPageRepository(MarketSnapshot snapshot) {
+    this.snapshot = snapshot;
+    this.repository = new DelegatingRepository<>(
+        this::findPage,
+        criteria -> this.snapshot.size(),
+        this::findByKey);
+  }
+
+  /**
+   * Gets the repository to set on the table and its navigator.
+   *
+   * @return the repository
+   */
+  public DelegatingRepository<Cryptocurrency, Object> getRepository() {
+    return repository;
+  }
+
+  /**
+   * Gets the rows of the page the table fetched last. The list is updated in place
+   * when another page is fetched.
+   *
+   * @return the visible rows
+   */
+  public List<Cryptocurrency> getRows() {
+    return Collections.unmodifiableList(rows);
+  }
+
+  /**
+   * Applies a tick of the shared market to the visible rows.
+   *
+   * @param next The latest market snapshot
+   */
+  public void apply(MarketSnapshot next) {
+    boolean contiguous = next.getVersion() == snapshot.getVersion() + 1;
+    for (int k = 0; k < rows.size(); k++) {
+      rows.get(k).apply(next, rowIndexes[k], contiguous);
+    }
+    snapshot = next;
+  }
+
+  private Stream<Cryptocurrency> findPage(RepositoryCriteria<Cryptocurrency, Object> criteria) {
+    Map<String, OrderCriteria.Direction> sort = new LinkedHashMap<>();
+    if (criteria.getOrderCriteria() != null) {
+      for (OrderCriteria<Cryptocurrency, ?> criterion : criteria.getOrderCriteria()) {
+        sort.putIfAbsent(criterion.getPropertyName(), criterion.getDirection());
+      }
+    }
+    return fetchPage(criteria.getOffset(), criteria.getLimit(), sort).stream();
+  }
+
+  /**
+   * Fetches a page of rows and makes it the visible page.
+   *
+   * @param offset The index of the first row in display order
+   * @param limit  The maximum number of rows, or 0 for all of them
+   * @param sort   The directions by property name, the first one sorts first
+   * @return the rows of the page
+   */
+  List<Cryptocurrency> fetchPage(int offset, int limit, Map<String, OrderCriteria.Direction> sort) {
+    int[] sorted = order(sort);
+    int from = Math.min(Math.max(0, offset), sorted.length);
+    int count = limit > 0 ? limit : sorted.length;
+    int to = (int) Math.min((long) from + count, sorted.length);
+
+    Map<Integer, Cryptocurrency> shown = new HashMap<>();
+    for (int k = 0; k < rows.size(); k++) {
+      shown.put(rowIndexes[k], rows.get(k));
+    }
+
+    List<Cryptocurrency> page = new ArrayList<>(to - from);
+    int[] indexes = new int[to - from];
+    for (int k = from; k < to; k++) {
+      int index = sorted[k];
+      Cryptocurrency row = shown.get(index);
+      page.add(row != null ? row : cryptoService.fromSnapshot(snapshot, index));
+      indexes[k - from] = index;
+    }
+
+    rows.clear();
+    rows.addAll(page);
+    rowIndexes = indexes;
+    return page;
+  }
+
+  /**
+   * Finds a row by symbol, the visible one if the symbol is on the current page.
+   *
+   * @param key The ticker symbol
+   * @return the row, or empty if the symbol is not in the market
+   */
+  Optional<Cryptocurrency> findByKey(Object key) {
+    int index = key instanceof String symbol ? snapshot.indexOf(symbol) : -1;
+    if (index < 0) {
+      return Optional.empty();
+    }
+
+    for (int k = 0; k < rows.size(); k++) {
+      if (rowIndexes[k] == index) {
+        return Optional.of(rows.get(k));
+      }
+    }
+    return Optional.of(cryptoService.fromSnapshot(snapshot, index));
+  }
+
+  private int[] order(Map<String, OrderCriteria.Direction> sort) {
+    MarketSnapshot current = snapshot;
+    StringBuilder key = new StringBuilder();
+    Comparator<Integer> comparator = null;
+
+    for (Map.Entry<String, OrderCriteria.Direction> criterion : sort.entrySet()) {
+      IntToDoubleFunction column = column(current, criterion.getKey());
+      if (column == null) {
+        continue;
+      }
+
+      Comparator<Integer> next = Comparator.comparingDouble(column::applyAsDouble);
+      if (criterion.getValue() == OrderCriteria.Direction.DESC) {
+        next = next.reversed();
+      }
+      comparator = comparator == null ? next : comparator.thenComparing(next);
+      key.append(criterion.getKey()).append(' ').append(criterion.getValue()).append(';');
+    }
+
+    // Rank order does not change between ticks, sorted orders follow the values
+    boolean stale = order == null || order.length != current.size() || !key.toString().equals(orderKey)
+        || (comparator != null && orderVersion != current.getVersion());
+    if (!stale) {
+      return order;
+    }
+
+    Integer[] indexes = new Integer[current.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = i;
+    }
+    if (comparator != null) {
+      // The sort is stable, equal values keep their rank order
+      Arrays.sort(indexes, comparator);
+    }
+
+    order = new int[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      order[i] = indexes[i];
+    }
+    orderKey = key.toString();
+    orderVersion = current.getVersion();
+    return order;
+  }
+
+  private static IntToDoubleFunction column(MarketSnapshot snapshot, String propertyName) {
+    if (propertyName == null) {
+      return null;
+    }
+
+    return switch (propertyName) {
+      case "price" -> snapshot::getPrice;
+      case "priceChange24h" -> snapshot::getPriceChange;
+      case "marketCap" -> snapshot::getMarketCap;
+      case "volume24h" -> snapshot::getVolume;
+      default -> null;
+    };
+  }
+}
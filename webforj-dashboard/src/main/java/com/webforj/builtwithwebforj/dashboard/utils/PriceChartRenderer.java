@@ -8,10 +8,9 @@ public class PriceChartRenderer extends Renderer<Cryptocurrency> {
     public String build() {
       return /* html */"""
             <%
-              const history = JSON.parse(cell.row.getValue('PriceHistory'));
-              const values = history.slice(-20); // Last 20 data points
-              const min = Math.min(...values);
-              const max = Math.max(...values);
+              const values = JSON.parse(cell.row.getValue('PriceHistory')); // Last 20 data points
+              const min = parseFloat(cell.row.getValue('PriceHistoryMin'));
+              const max = parseFloat(cell.row.getValue('PriceHistoryMax'));
               const range = max - min || 1;
               const svgWidth = 200; // Viewbox width for calculations
               const isMobile = window.innerWidth <= 480;
@@ -0,0 +1,197 @@
+package com.webforj.builtwithwebforj.dashboard.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.webforj.Interval;
+import com.webforj.data.repository.Repository;
+
+/**
+ * Commits only the rows of a {@link Repository} whose cells changed.
+ *
+ * <p>
+ * The tracker remembers the last committed value of every tracked cell, which should be
+ * the same value providers the table's columns use. Rows whose cells all render the same
+ * as before are not sent again. Commits are throttled to one per frame budget, changes
+ * made in between are collected and sent together when the budget allows.
+ * </p>
+ *
+ * @param <T> the type of the rows
+ */
+public class RepositoryChangeTracker<T> {
+
+  private final Repository<T> repository;
+  private final Iterable<T> items;
+  private final List<Function<T, ?>> cells = new ArrayList<>();
+  private final Map<T, Object[]> committed = new IdentityHashMap<>();
+  private int frameBudget = 250;
+  private double fullCommitRatio = 0.5;
+  private long lastCommit;
+  private Interval deferred;
+  private int lastCommittedRows;
+
+  /**
+   * Creates a tracker for a repository over the given items.
+   *
+   * @param repository The repository to commit to
+   * @param items      The rows the repository shows, all of them or the visible page
+   */
+  public RepositoryChangeTracker(Repository<T> repository, Iterable<T> items) {
+    this.repository = repository;
+    this.items = items;
+  }
+
+  /**
+   * Tracks a cell, usually the value provider of a table column.
+   *
+   * @param cell The value provider of the cell
+   * @return this tracker
+   */
+  public RepositoryChangeTracker<T> track(Function<T, ?> cell) {
+    cells.add(cell);
+    committed.clear();
+    return this;
+  }
+
+  /**
+   * Sets the minimum time between two commits.
+   *
+   * @param millis The frame budget in milliseconds, 0 commits on every call
+   * @return this tracker
+   */
+  public RepositoryChangeTracker<T> setFrameBudget(int millis) {
+    this.frameBudget = Math.max(0, millis);
+    return this;
+  }
+
+  public int getFrameBudget() {
+    return frameBudget;
+  }
+
+  /**
+   * Sets the share of changed rows above which a single full commit is sent instead
+   * of one commit per row.
+   *
+   * @param ratio The ratio between 0 and 1
+   * @return this tracker
+   */
+  public RepositoryChangeTracker<T> setFullCommitRatio(double ratio) {
+    this.fullCommitRatio = ratio;
+    return this;
+  }
+
+  /**
+   * Gets the number of rows sent by the last commit.
+   *
+   * @return the committed row count
+   */
+  public int getLastCommittedRows() {
+    return lastCommittedRows;
+  }
+
+  /**
+   * Commits the rows changed since the last commit, or schedules the commit if the
+   * frame budget has not elapsed yet.
+   */
+  public void commitChanges() {
+    long elapsed = System.currentTimeMillis() - lastCommit;
+    if (elapsed < frameBudget) {
+      scheduleCommit(frameBudget - elapsed);
+      return;
+    }
+
+    dispose();
+
+    List<T> changed = new ArrayList<>();
+    int size = 0;
+    for (T item : items) {
+      size++;
+      Object[] values = snapshot(item);
+      Object[] previous = committed.put(item, values);
+      if (previous == null || !sameCells(previous, values)) {
+        changed.add(item);
+      }
+    }
+
+    // Rows removed from the collection must not keep their cached cells
+    if (committed.size() > size) {
+      committed.keySet().retainAll(toIdentitySet());
+    }
+
+    if (changed.size() > size * fullCommitRatio) {
+      repository.commit();
+    } else {
+      for (T item : changed) {
+        repository.commit(item);
+      }
+    }
+
+    lastCommittedRows = changed.size();
+    lastCommit = System.currentTimeMillis();
+  }
+
+  /**
+   * Records the current cells as committed, for rows the repository has just sent in full.
+   */
+  public void markCommitted() {
+    committed.clear();
+    for (T item : items) {
+      committed.put(item, snapshot(item));
+    }
+    lastCommit = System.currentTimeMillis();
+  }
+
+  /**
+   * Cancels a pending deferred commit.
+   */
+  public void dispose() {
+    if (deferred != null) {
+      deferred.stop();
+      deferred = null;
+    }
+  }
+
+  private void scheduleCommit(long delayMillis) {
+    if (deferred != null) {
+      return;
+    }
+
+    deferred = new Interval(delayMillis / 1000f, e -> {
+      e.getInterval().stop();
+      deferred = null;
+      commitChanges();
+    });
+    deferred.start();
+  }
+
+  private Object[] snapshot(T item) {
+    Object[] values = new Object[cells.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = cells.get(i).apply(item);
+    }
+    return values;
+  }
+
+  private static boolean sameCells(Object[] previous, Object[] values) {
+    for (int i = 0; i < values.length; i++) {
+      if (!Objects.equals(previous[i], values[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Set<T> toIdentitySet() {
+    Set<T> set = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (T item : items) {
+      set.add(item);
+    }
+    return set;
+  }
+}
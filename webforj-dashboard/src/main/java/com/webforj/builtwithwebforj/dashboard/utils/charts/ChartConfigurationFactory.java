@@ -98,6 +98,12 @@ public class ChartConfigurationFactory {
                         "showR2", false,
                         "visibleInLegend", false)));
             }
+            case CANDLESTICK -> {
+                options.put("bar", Map.of("groupWidth", "70%"));
+                options.put("candlestick", Map.of(
+                    "risingColor", Map.of("fill", POSITIVE_COLOR, "stroke", POSITIVE_COLOR),
+                    "fallingColor", Map.of("fill", NEGATIVE_COLOR, "stroke", NEGATIVE_COLOR)));
+            }
             default -> {
                 // Default configuration for other chart types
             }
@@ -1,6 +1,13 @@
 package com.webforj.builtwithwebforj.dashboard.utils.charts;
 
+import com.webforj.builtwithwebforj.dashboard.models.CandleSeries;
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
 import com.webforj.component.googlecharts.GoogleChart;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +18,9 @@ import java.util.Map;
  */
 public class DashboardChartBuilder {
     
+    private static final DateTimeFormatter TIME_LABEL = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("MMM d").withZone(ZoneId.systemDefault());
+    
     private final ChartDataStrategy dataStrategy;
     
     /**
@@ -100,4 +110,54 @@ public class DashboardChartBuilder {
     public List<Object> generateData(GoogleChart.Type chartType, double percentage) {
         return dataStrategy.generateData(percentage, chartType);
     }
+    
+    /**
+     * Builds a chart from aggregated candles.
+     * The styling follows the change over the candles shown.
+     * 
+     * @param chartType The type of chart to create
+     * @param candles The candles to display
+     * @return A configured GoogleChart showing the candles
+     */
+    public GoogleChart buildDashboardChart(GoogleChart.Type chartType, CandleSeries candles) {
+        return buildDashboardChartWithData(chartType, candles.getChangePercentage(), buildCandleData(candles, chartType));
+    }
+    
+    /**
+     * Shows other candles in an existing chart, for example when the timeframe changes.
+     * 
+     * @param chart The chart to update
+     * @param candles The candles to display
+     */
+    public void updateDashboardChart(GoogleChart chart, CandleSeries candles) {
+        chart.setData(buildCandleData(candles, chart.getType()));
+        chart.setOptions(buildConfiguration(chart.getType(), candles.getChangePercentage()));
+    }
+    
+    /**
+     * Converts candles to chart data.
+     * Candlestick charts get the low, open, close and high of each candle,
+     * other chart types get the close.
+     * 
+     * @param candles The candles to convert, oldest first
+     * @param chartType The type of chart the data is for
+     * @return Chart data in Google Charts format
+     */
+    public static List<Object> buildCandleData(CandleSeries candles, GoogleChart.Type chartType) {
+        List<Object> data = new ArrayList<>(candles.size() + 1);
+        boolean ohlc = chartType == GoogleChart.Type.CANDLESTICK;
+        DateTimeFormatter formatter = candles.getTimeframe() == Timeframe.ONE_DAY ? DAY_LABEL : TIME_LABEL;
+        
+        data.add(ohlc ? Arrays.asList("Time", "Low", "Open", "Close", "High") : Arrays.asList("Time", "Value"));
+        for (int i = 0; i < candles.size(); i++) {
+            String label = formatter.format(Instant.ofEpochMilli(candles.getStart(i)));
+            if (ohlc) {
+                data.add(Arrays.asList(label, candles.getLow(i), candles.getOpen(i), candles.getClose(i), candles.getHigh(i)));
+            } else {
+                data.add(Arrays.asList(label, candles.getClose(i)));
+            }
+        }
+        
+        return data;
+    }
 }
\ No newline at end of file
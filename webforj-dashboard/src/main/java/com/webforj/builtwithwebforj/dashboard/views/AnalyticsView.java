@@ -5,6 +5,9 @@ import com.webforj.builtwithwebforj.dashboard.components.analytics.ChartCard;
 import com.webforj.builtwithwebforj.dashboard.components.analytics.HoldingsTable;
 import com.webforj.builtwithwebforj.dashboard.components.analytics.PortfolioHero;
 import com.webforj.builtwithwebforj.dashboard.components.dashboard.DashboardCard;
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
+import com.webforj.builtwithwebforj.dashboard.services.CandleAggregator;
+import com.webforj.builtwithwebforj.dashboard.services.MarketDataEngine;
 import com.webforj.builtwithwebforj.dashboard.utils.charts.ChartRedrawable;
 import com.webforj.builtwithwebforj.dashboard.utils.charts.DashboardChartBuilder;
 import com.webforj.component.Composite;
@@ -100,6 +103,8 @@ public class AnalyticsView extends Composite<FlexLayout> implements ChartRedrawa
 
     allocationChart = new ChartCard("Portfolio Allocation", createPortfolioAllocationChart());
     volumeChart = new ChartCard("24h Trading Volume", createLineChart());
+    volumeChart.setCandles(MarketDataEngine.getInstance().getCandles()
+        .getCandles(CandleAggregator.MARKET_VOLUME, Timeframe.ONE_HOUR, 24));
     performanceChart = new ChartCard("Top Assets Performance (7d)", createColumnChart());
     sentimentChart = new ChartCard("Market Sentiment Analysis", createAreaChart(), true);
 
@@ -132,15 +137,14 @@ public class AnalyticsView extends Composite<FlexLayout> implements ChartRedrawa
   private GoogleChart createLineChart() {
     GoogleChart chart = new GoogleChart(GoogleChart.Type.LINE);
 
-    List<Object> data = new ArrayList<>();
-    data.add(Arrays.asList("Hour", "Volume (Billions)"));
-
-    for (int i = 0; i < 24; i++) {
-      data.add(Arrays.asList(i + ":00", 80 + Math.random() * 40));
-    }
-
-    chart.setData(data);
-    chart.setOptions(createStandardChartOptions("#3b82f6"));
+    // Data comes from the hourly candles of the market's 24h volume
+    Map<String, Object> options = createStandardChartOptions("#3b82f6");
+    options.put("vAxis", Map.of(
+        "textStyle", Map.of("color", "#6b7280"),
+        "gridlines", Map.of("color", "#e5e7eb"),
+        "format", "short"
+    ));
+    chart.setOptions(options);
 
     return chart;
   }
@@ -1,32 +1,42 @@
 package com.webforj.builtwithwebforj.dashboard.views;
 
-import com.webforj.Interval;
 import com.webforj.builtwithwebforj.dashboard.components.dashboard.CryptocurrencyTable;
 import com.webforj.builtwithwebforj.dashboard.components.dashboard.DashboardCard;
 import com.webforj.builtwithwebforj.dashboard.components.dashboard.DashboardToolbar;
-import com.webforj.builtwithwebforj.dashboard.models.Cryptocurrency;
-import com.webforj.builtwithwebforj.dashboard.services.CryptocurrencyService;
+import com.webforj.builtwithwebforj.dashboard.models.CandleSeries;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.Timeframe;
+import com.webforj.builtwithwebforj.dashboard.services.CandleAggregator;
+import com.webforj.builtwithwebforj.dashboard.services.MarketDataEngine;
+import com.webforj.builtwithwebforj.dashboard.services.MarketPageRepository;
 import com.webforj.builtwithwebforj.dashboard.utils.charts.ChartRedrawable;
 import com.webforj.builtwithwebforj.dashboard.utils.charts.DashboardChartBuilder;
 import com.webforj.component.Composite;
 import com.webforj.component.googlecharts.GoogleChart;
 import com.webforj.component.layout.flexlayout.FlexDirection;
 import com.webforj.component.layout.flexlayout.FlexLayout;
+import com.webforj.component.navigator.Navigator;
 import com.webforj.router.annotation.FrameTitle;
 import com.webforj.router.annotation.Route;
 
-import java.util.List;
-
 @Route(value = "/", outlet = MainLayout.class)
 @FrameTitle("Cryptocurrency Dashboard")
 public class DashboardView extends Composite<FlexLayout> implements ChartRedrawable {
+  private static final String MARKET_CAP_TITLE = "Global Market Cap";
+  private static final String VOLUME_TITLE = "24 Hour Volume";
+  private static final String DOMINANCE_TITLE = "Bitcoin Dominance";
+  private static final int PAGE_SIZE = 50;
+
   private final FlexLayout self = getBoundComponent();
-  private final CryptocurrencyService cryptoService = new CryptocurrencyService();
   private final DashboardChartBuilder chartBuilder = new DashboardChartBuilder();
+  private final CandleAggregator candles = MarketDataEngine.getInstance().getCandles();
   private CryptocurrencyTable cryptoTable;
   private DashboardToolbar toolbar;
-  private List<Cryptocurrency> cryptocurrencies;
-  private Interval interval;
+  private MarketPageRepository market;
+  private Navigator navigator;
+  private MarketDataEngine.Subscription subscription;
+  private Timeframe timeframe;
+  private long candleStart;
   private DashboardCard card1;
   private DashboardCard card2;
   private DashboardCard card3;
@@ -35,20 +45,28 @@ public class DashboardView extends Composite<FlexLayout> implements ChartRedrawa
     self.addClassName("dashboard-view");
     self.setDirection(FlexDirection.COLUMN);
 
-    // Create toolbar
+    // Create toolbar, its interval tabs pick the timeframe of the cards' candles
     toolbar = new DashboardToolbar();
+    timeframe = toolbar.getSelectedTimeframe();
+    toolbar.onTimeframeChange(this::showTimeframe);
 
     // Create cryptocurrency table
     cryptoTable = new CryptocurrencyTable();
 
-    // Generate and set data
-    cryptocurrencies = cryptoService.generateCryptocurrencies();
-    cryptoTable.setData(cryptocurrencies);
+    // Start from the shared market's latest snapshot
+    MarketSnapshot snapshot = MarketDataEngine.getInstance().getSnapshot();
+    market = new MarketPageRepository(snapshot);
+    cryptoTable.setData(market);
+
+    // Rows are only created for the page the navigator shows
+    navigator = new Navigator(market.getRepository(), PAGE_SIZE);
+    navigator.setLayout(Navigator.Layout.PAGES);
 
-    // Create dashboard cards using the new architecture
-    card1 = createCard("Global Market Cap", 2875000000000.0, 3.45, GoogleChart.Type.AREA);
-    card2 = createCard("24 Hour Volume", 98500000000.0, -5.23, GoogleChart.Type.SCATTER);
-    card3 = createCard("Bitcoin Dominance", 52.7, 1.28, GoogleChart.Type.COLUMN);
+    // Create dashboard cards from the market-wide candles
+    card1 = createCard(MARKET_CAP_TITLE, CandleAggregator.MARKET_CAP, GoogleChart.Type.AREA);
+    card2 = createCard(VOLUME_TITLE, CandleAggregator.MARKET_VOLUME, GoogleChart.Type.SCATTER);
+    card3 = createCard(DOMINANCE_TITLE, CandleAggregator.BTC_DOMINANCE, GoogleChart.Type.COLUMN);
+    candleStart = timeframe.bucketStart(snapshot.getTimestamp());
 
     // Create cards layout
     FlexLayout cards = new FlexLayout(card1, card2, card3);
@@ -59,42 +77,83 @@ public class DashboardView extends Composite<FlexLayout> implements ChartRedrawa
     cardsWrapper.addClassName("dashboard-view__cards-wrapper");
 
     // Add wrapper for table to control order on mobile
-    FlexLayout tableWrapper = new FlexLayout(cryptoTable);
+    FlexLayout tableWrapper = new FlexLayout(cryptoTable, navigator);
     tableWrapper.addClassName("dashboard-view__table-wrapper");
+    tableWrapper.setDirection(FlexDirection.COLUMN);
 
     // Add components to view
-    self.add(cardsWrapper, tableWrapper);
+    self.add(toolbar, cardsWrapper, tableWrapper);
 
-    // Update prices every 2 seconds
-    interval = new Interval(1f, e -> {
-      cryptoService.updatePrices(cryptocurrencies);
-      cryptoTable.getRepository().commit();
-    });
+    // Prices are simulated once for all sessions, this view only applies the ticks
+    subscription = MarketDataEngine.getInstance().subscribe(this::applySnapshot);
+  }
 
-    interval.start();
+  /**
+   * Applies a tick of the shared market to the visible rows.
+   *
+   * @param snapshot The latest market snapshot
+   */
+  private void applySnapshot(MarketSnapshot snapshot) {
+    market.apply(snapshot);
+    cryptoTable.commitChanges();
+
+    // The cards only move when a candle of the shown timeframe closes
+    long start = timeframe.bucketStart(snapshot.getTimestamp());
+    if (start != candleStart) {
+      candleStart = start;
+      refreshCards();
+    }
   }
 
   /**
-   * Creates a dashboard card with chart using the new architecture.
+   * Shows the candles of another timeframe in the cards.
    *
-   * @param title      The card title
-   * @param value      The card value
-   * @param percentage The percentage change
-   * @param chartType  The type of chart to create
+   * @param timeframe The selected timeframe
+   */
+  private void showTimeframe(Timeframe timeframe) {
+    this.timeframe = timeframe;
+    candleStart = timeframe.bucketStart(MarketDataEngine.getInstance().getSnapshot().getTimestamp());
+    refreshCards();
+  }
+
+  private void refreshCards() {
+    refreshCard(card1, MARKET_CAP_TITLE, CandleAggregator.MARKET_CAP);
+    refreshCard(card2, VOLUME_TITLE, CandleAggregator.MARKET_VOLUME);
+    refreshCard(card3, DOMINANCE_TITLE, CandleAggregator.BTC_DOMINANCE);
+  }
+
+  private void refreshCard(DashboardCard card, String title, String key) {
+    CandleSeries series = candles.getCandles(key, timeframe);
+    card.setCardData(title, latestClose(series), series.getChangePercentage());
+    chartBuilder.updateDashboardChart(card.getChart(), series);
+  }
+
+  /**
+   * Creates a dashboard card charting the candles of a market-wide series.
+   *
+   * @param title     The card title
+   * @param key       The key of the series in the candle aggregator
+   * @param chartType The type of chart to create
    * @return A configured DashboardCard
    */
-  private DashboardCard createCard(String title, double value, double percentage, GoogleChart.Type chartType) {
+  private DashboardCard createCard(String title, String key, GoogleChart.Type chartType) {
+    CandleSeries series = candles.getCandles(key, timeframe);
+
     // Build the chart using the chart builder
-    GoogleChart chart = chartBuilder.buildDashboardChart(chartType, percentage);
+    GoogleChart chart = chartBuilder.buildDashboardChart(chartType, series);
 
     // Create the card with data and chart
-    return new DashboardCard(title, value, percentage, chart);
+    return new DashboardCard(title, latestClose(series), series.getChangePercentage(), chart);
+  }
+
+  private static double latestClose(CandleSeries series) {
+    return series.size() == 0 ? 0 : series.getClose(series.size() - 1);
   }
 
   @Override
   protected void onDidDestroy() {
     super.onDidDestroy();
-    interval.stop();
+    subscription.close();
   }
 
   @Override
@@ -0,0 +1,206 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class CandleSeriesTest {
+
+  private static final long MINUTE = Timeframe.ONE_MINUTE.getMillis();
+  private static final long T0 = Timeframe.ONE_DAY.bucketStart(1_700_000_000_000L);
+
+  @Test
+  void matchesANaiveBucketModel() {
+    Random random = new Random(7);
+
+    for (Timeframe timeframe : Timeframe.values()) {
+      CandleSeries series = new CandleSeries(timeframe);
+      TreeMap<Long, double[]> buckets = new TreeMap<>();
+      long millis = timeframe.getMillis();
+      long timestamp = T0;
+
+      for (int i = 0; i < 5_000; i++) {
+        double roll = random.nextDouble();
+        if (roll < 0.02) {
+          // Gaps of up to twice the retention, the older part falls out of the ring
+          timestamp += millis * (1 + random.nextInt(2 * timeframe.getRetention()));
+        } else if (roll < 0.07) {
+          timestamp -= random.nextInt((int) Math.min(3 * millis, Integer.MAX_VALUE));
+        } else {
+          timestamp += random.nextInt((int) Math.min(millis / 2, Integer.MAX_VALUE));
+        }
+
+        double price = 100 + random.nextInt(50) / 4.0;
+        double volume = random.nextInt(10);
+        boolean accepted = add(buckets, timeframe.bucketStart(timestamp), price, volume);
+        assertEquals(accepted, series.add(timestamp, price, volume), timeframe + ", tick " + i);
+
+        if (i % 97 == 0) {
+          assertSameCandles(expected(buckets, timeframe), series, timeframe + ", tick " + i);
+        }
+      }
+      assertSameCandles(expected(buckets, timeframe), series, timeframe.toString());
+    }
+  }
+
+  @Test
+  void dropsTicksOlderThanTheLatestCandle() {
+    CandleSeries series = new CandleSeries(Timeframe.ONE_MINUTE);
+    assertTrue(series.add(T0 + 2 * MINUTE + 5_000, 10, 1));
+    assertFalse(series.add(T0 + MINUTE + 59_999, 99, 1));
+
+    // A late tick in the latest bucket still counts
+    assertTrue(series.add(T0 + 2 * MINUTE, 12, 2));
+    assertEquals(1, series.size());
+    assertEquals(10, series.getOpen(0));
+    assertEquals(12, series.getHigh(0));
+    assertEquals(10, series.getLow(0));
+    assertEquals(12, series.getClose(0));
+    assertEquals(3, series.getVolume(0));
+  }
+
+  @Test
+  void fillsGapsWithFlatCandlesAtThePreviousClose() {
+    CandleSeries series = new CandleSeries(Timeframe.ONE_MINUTE);
+    series.add(T0, 10, 1);
+    series.add(T0 + 30_000, 11, 1);
+    series.add(T0 + 3 * MINUTE, 9, 4);
+
+    assertEquals(4, series.size());
+    for (int i = 1; i <= 2; i++) {
+      assertEquals(T0 + i * MINUTE, series.getStart(i));
+      assertEquals(11, series.getOpen(i));
+      assertEquals(11, series.getHigh(i));
+      assertEquals(11, series.getLow(i));
+      assertEquals(11, series.getClose(i));
+      assertEquals(0, series.getVolume(i));
+    }
+    assertEquals(9, series.getClose(3));
+  }
+
+  @Test
+  void gapLongerThanTheRetentionKeepsOnlyTheRetention() {
+    Timeframe timeframe = Timeframe.ONE_MINUTE;
+    CandleSeries series = new CandleSeries(timeframe);
+    series.add(T0, 10, 1);
+    series.add(T0 + 1_000 * MINUTE, 20, 1);
+
+    int retention = timeframe.getRetention();
+    assertEquals(retention, series.size());
+    assertEquals(T0 + (1_000 - retention + 1) * MINUTE, series.getStart(0));
+    assertEquals(10, series.getClose(0));
+    assertEquals(T0 + 1_000 * MINUTE, series.getStart(retention - 1));
+    assertEquals(20, series.getClose(retention - 1));
+  }
+
+  @Test
+  void appendKeepsTimeOrder() {
+    CandleSeries series = new CandleSeries(Timeframe.ONE_MINUTE);
+    series.append(T0 + 10_000, 1, 3, 0.5, 2, 7);
+    assertEquals(T0, series.getStart(0));
+
+    assertThrows(IllegalArgumentException.class, () -> series.append(T0 + 50_000, 1, 1, 1, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> series.append(T0 - MINUTE, 1, 1, 1, 1, 1));
+
+    series.append(T0 + MINUTE, 2, 4, 2, 3, 1);
+    assertEquals(2, series.size());
+    assertEquals(3, series.getClose(1));
+  }
+
+  @Test
+  void copyTakesTheLatestCandles() {
+    CandleSeries series = new CandleSeries(Timeframe.ONE_MINUTE);
+    int count = Timeframe.ONE_MINUTE.getRetention() + 30;
+    for (int i = 0; i < count; i++) {
+      series.add(T0 + i * MINUTE, i, 1);
+    }
+
+    CandleSeries copy = series.copy(10);
+    assertEquals(10, copy.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(series.getStart(series.size() - 10 + i), copy.getStart(i));
+      assertEquals(count - 10 + i, copy.getClose(i));
+    }
+
+    // The copy does not follow later writes
+    series.add(T0 + count * MINUTE, -1, 1);
+    assertEquals(count - 1, copy.getClose(9));
+
+    assertEquals(series.size(), series.copy(Integer.MAX_VALUE).size());
+    assertEquals(0, series.copy(0).size());
+    assertEquals(0, new CandleSeries(Timeframe.ONE_DAY).copy(5).size());
+  }
+
+  @Test
+  void changeIsFromTheOldestOpenToTheLatestClose() {
+    CandleSeries series = new CandleSeries(Timeframe.ONE_MINUTE);
+    assertEquals(0, series.getChangePercentage());
+
+    series.add(T0, 80, 1);
+    series.add(T0 + 30_000, 90, 1);
+    series.add(T0 + 5 * MINUTE, 100, 1);
+    assertEquals(25, series.getChangePercentage(), 1e-9);
+
+    // Once the first candle rolls out the change starts from the next oldest open
+    int retention = Timeframe.ONE_MINUTE.getRetention();
+    series.add(T0 + retention * MINUTE, 100, 1);
+    assertEquals(T0 + MINUTE, series.getStart(0));
+    assertEquals(100.0 / 90 * 100 - 100, series.getChangePercentage(), 1e-9);
+  }
+
+  private static boolean add(TreeMap<Long, double[]> buckets, long start, double price, double volume) {
+    if (!buckets.isEmpty() && start < buckets.lastKey()) {
+      return false;
+    }
+
+    double[] candle = buckets.get(start);
+    if (candle == null) {
+      buckets.put(start, new double[] { price, price, price, price, volume });
+    } else {
+      candle[1] = Math.max(candle[1], price);
+      candle[2] = Math.min(candle[2], price);
+      candle[3] = price;
+      candle[4] += volume;
+    }
+    return true;
+  }
+
+  // Every bucket from the first tick to the last, gaps flat at the previous close, trimmed to retention
+  private static List<Map.Entry<Long, double[]>> expected(TreeMap<Long, double[]> buckets, Timeframe timeframe) {
+    List<Map.Entry<Long, double[]>> candles = new ArrayList<>();
+    double close = 0;
+    for (long start = buckets.firstKey(); start <= buckets.lastKey(); start += timeframe.getMillis()) {
+      double[] candle = buckets.get(start);
+      if (candle == null) {
+        candle = new double[] { close, close, close, close, 0 };
+      }
+      close = candle[3];
+      candles.add(Map.entry(start, candle));
+    }
+    return candles.subList(Math.max(0, candles.size() - timeframe.getRetention()), candles.size());
+  }
+
+  private static void assertSameCandles(List<Map.Entry<Long, double[]>> expected, CandleSeries series,
+      String message) {
+    assertEquals(expected.size(), series.size(), message);
+    for (int i = 0; i < expected.size(); i++) {
+      double[] candle = expected.get(i).getValue();
+      String at = message + ", candle " + i;
+      assertEquals((long) expected.get(i).getKey(), series.getStart(i), at);
+      assertEquals(candle[0], series.getOpen(i), at);
+      assertEquals(candle[1], series.getHigh(i), at);
+      assertEquals(candle[2], series.getLow(i), at);
+      assertEquals(candle[3], series.getClose(i), at);
+      assertEquals(candle[4], series.getVolume(i), at);
+    }
+  }
+}
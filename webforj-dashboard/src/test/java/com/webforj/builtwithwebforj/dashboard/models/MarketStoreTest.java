@@ -0,0 +1,203 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MarketStoreTest {
+
+  private static final String CSV = """
+      symbol,name,price,market_cap,volume_24h
+      # Top of the market
+      BTC,Bitcoin,50000,1000000000000,30000000000
+
+      ETH, Ethereum , 2500.5 ,300000000000,15000000000
+      DOGE,Dogecoin,0.08,11000000000,500000000
+      """;
+
+  @Test
+  void readsCsvSkippingHeaderCommentsAndBlankLines() throws IOException {
+    MarketStore store = MarketStore.readCsv(new StringReader(CSV));
+    MarketSnapshot snapshot = MarketSnapshot.of(1, store);
+
+    assertEquals(3, store.size());
+    assertEquals(1, store.indexOf("ETH"));
+    assertEquals(-1, store.indexOf("symbol"));
+    assertEquals("Ethereum", snapshot.getName(1));
+    assertEquals(2500.5, store.getPrice(1));
+    assertEquals(3, snapshot.getRank(2));
+    assertEquals(0.08, snapshot.getHigh(2));
+    assertEquals(0.08, snapshot.getLow(2));
+    assertEquals(20_000_000L, snapshot.getCirculatingSupply(0));
+    assertEquals(15_000_000_000.0, store.getVolume(1));
+  }
+
+  @Test
+  void rejectsBadCsvLinesWithTheirNumber() {
+    assertCsvError("BTC,Bitcoin,50000,1000\n", "Line 1: expected symbol,name,price,market_cap,volume_24h");
+    assertCsvError("BTC,Bitcoin,50000,1000,1\n\nBTC,Bitcoin,1,1,1\n", "Line 3: Duplicate symbol BTC");
+    assertCsvError("# prices\nBTC,Bitcoin,0,1000,1\n", "Line 2: The price of BTC must be positive");
+    assertCsvError("BTC,Bitcoin,-3,1000,1\n", "Line 1: The price of BTC must be positive");
+    assertCsvError("BTC,Bitcoin,NaN,1000,1\n", "Line 1: The price of BTC must be positive");
+    assertCsvError("BTC,Bitcoin,cheap,1000,1\n", "Line 1: ");
+  }
+
+  @Test
+  void bulkUpdateMatchesThePerObjectUpdate() {
+    Random random = new Random(11);
+    MarketStore store = new MarketStore(4);
+    List<Cryptocurrency> objects = new ArrayList<>();
+
+    for (int i = 0; i < 40; i++) {
+      // The last symbols sit at the minimum price, so falling factors clamp them
+      double price = i < 35 ? 1 + random.nextDouble() * 1_000 : MarketStore.MIN_PRICE * (1 + i - 35);
+      double marketCap = price * (1_000 + random.nextInt(1_000_000));
+      double volume = random.nextDouble() * 1e6;
+      store.add("S" + i, "Symbol " + i, price, marketCap, volume);
+
+      Cryptocurrency crypto = new Cryptocurrency("S" + i, "Symbol " + i, price, marketCap, volume, i + 1);
+      crypto.setCirculatingSupply((long) (marketCap / price));
+      crypto.setHigh24h(price);
+      crypto.setLow24h(price);
+      objects.add(crypto);
+    }
+
+    double[] priceFactors = new double[store.size()];
+    double[] volumeFactors = new double[store.size()];
+    int clamped = 0;
+    for (int tick = 1; tick <= 60; tick++) {
+      for (int i = 0; i < priceFactors.length; i++) {
+        priceFactors[i] = 0.9 + random.nextDouble() * 0.2;
+        volumeFactors[i] = 0.95 + random.nextDouble() * 0.1;
+      }
+      store.updatePrices(priceFactors, volumeFactors);
+      for (int i = 0; i < objects.size(); i++) {
+        update(objects.get(i), priceFactors[i], volumeFactors[i]);
+      }
+
+      MarketSnapshot snapshot = MarketSnapshot.of(tick, store);
+      for (int i = 0; i < objects.size(); i++) {
+        Cryptocurrency crypto = objects.get(i);
+        String at = "tick " + tick + ", " + crypto.getSymbol();
+        assertEquals(crypto.getCurrentPrice(), snapshot.getPrice(i), at);
+        assertEquals(crypto.getPreviousPrice(), snapshot.getPreviousPrice(i), at);
+        assertEquals(crypto.getPriceChange24h(), snapshot.getPriceChange(i), at);
+        assertEquals(crypto.getPriceChangePercentage24h(), snapshot.getPriceChangePercentage(i), at);
+        assertEquals(crypto.getMarketCap(), snapshot.getMarketCap(i), at);
+        assertEquals(crypto.getVolume24h(), snapshot.getVolume(i), at);
+        assertEquals(crypto.getHigh24h(), snapshot.getHigh(i), at);
+        assertEquals(crypto.getLow24h(), snapshot.getLow(i), at);
+        assertArrayEquals(crypto.getPriceHistory().toArray(), snapshot.getHistory(i), at);
+        if (snapshot.getPrice(i) == MarketStore.MIN_PRICE) {
+          clamped++;
+        }
+      }
+    }
+
+    assertEquals(MarketStore.HISTORY_CAPACITY, MarketSnapshot.of(61, store).getHistory(0).length);
+    assertTrue(clamped > 0, "no price reached the minimum");
+  }
+
+  @Test
+  void updateNeedsAFactorPerSymbol() {
+    MarketStore store = new MarketStore(2);
+    store.add("A", "A", 1, 1, 1);
+    store.add("B", "B", 1, 1, 1);
+    assertThrows(IllegalArgumentException.class, () -> store.updatePrices(new double[1], new double[2]));
+    assertThrows(IllegalArgumentException.class, () -> store.appendHistory(new double[3]));
+  }
+
+  @Test
+  void snapshotRoundTripKeepsEveryColumn() throws IOException {
+    Random random = new Random(5);
+    MarketStore store = MarketStore.readCsv(new StringReader(CSV));
+    store.setSupply(2, 140_000_000_000L, 0);
+    store.setRange(0, 49_000, 51_000);
+    store.setPriceChange(1, -12.5, -0.5);
+    // More ticks than the history keeps, so the ring has wrapped
+    for (int tick = 0; tick < MarketStore.HISTORY_CAPACITY + 7; tick++) {
+      double[] factors = { 0.99 + random.nextDouble() * 0.02, 1.01, 0.5 };
+      store.updatePrices(factors, new double[] { 1.1, 0.9, 1 });
+    }
+    // A symbol added after the ticks has no history yet
+    store.add("NEW", "Newcomer", 3, 300, 30);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    store.writeSnapshot(bytes);
+    MarketStore read = MarketStore.readSnapshot(new ByteArrayInputStream(bytes.toByteArray()));
+
+    MarketSnapshot expected = MarketSnapshot.of(1, store);
+    MarketSnapshot actual = MarketSnapshot.of(1, read);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      String at = expected.getSymbol(i);
+      assertEquals(expected.getSymbol(i), actual.getSymbol(i));
+      assertEquals(i, read.indexOf(expected.getSymbol(i)), at);
+      assertEquals(expected.getName(i), actual.getName(i), at);
+      assertEquals(expected.getRank(i), actual.getRank(i), at);
+      assertEquals(expected.getPrice(i), actual.getPrice(i), at);
+      assertEquals(expected.getPreviousPrice(i), actual.getPreviousPrice(i), at);
+      assertEquals(expected.getPriceChange(i), actual.getPriceChange(i), at);
+      assertEquals(expected.getPriceChangePercentage(i), actual.getPriceChangePercentage(i), at);
+      assertEquals(expected.getMarketCap(i), actual.getMarketCap(i), at);
+      assertEquals(expected.getVolume(i), actual.getVolume(i), at);
+      assertEquals(expected.getHigh(i), actual.getHigh(i), at);
+      assertEquals(expected.getLow(i), actual.getLow(i), at);
+      assertEquals(expected.getCirculatingSupply(i), actual.getCirculatingSupply(i), at);
+      assertEquals(expected.getTotalSupply(i), actual.getTotalSupply(i), at);
+      assertArrayEquals(expected.getHistory(i), actual.getHistory(i), at);
+    }
+    assertEquals(0, actual.getHistory(3).length);
+
+    // Writing the read store again gives the same bytes
+    ByteArrayOutputStream again = new ByteArrayOutputStream();
+    read.writeSnapshot(again);
+    assertArrayEquals(bytes.toByteArray(), again.toByteArray());
+  }
+
+  @Test
+  void rejectsStreamsThatAreNotSnapshots() throws IOException {
+    IOException e = assertThrows(IOException.class,
+        () -> MarketStore.readSnapshot(new ByteArrayInputStream(CSV.getBytes())));
+    assertEquals("Not a market snapshot", e.getMessage());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new MarketStore(1).writeSnapshot(bytes);
+    byte[] data = bytes.toByteArray();
+    // The version follows the magic
+    data[7]++;
+    e = assertThrows(IOException.class, () -> MarketStore.readSnapshot(new ByteArrayInputStream(data)));
+    assertEquals("Not a market snapshot", e.getMessage());
+  }
+
+  // The update every Cryptocurrency got before the market moved into columns
+  private static void update(Cryptocurrency crypto, double priceFactor, double volumeFactor) {
+    double newPrice = Math.max(crypto.getCurrentPrice() * priceFactor, 0.0001);
+    crypto.setCurrentPrice(newPrice);
+    crypto.setMarketCap(newPrice * crypto.getCirculatingSupply());
+    crypto.setVolume24h(crypto.getVolume24h() * volumeFactor);
+
+    if (newPrice > crypto.getHigh24h()) {
+      crypto.setHigh24h(newPrice);
+    }
+    if (newPrice < crypto.getLow24h()) {
+      crypto.setLow24h(newPrice);
+    }
+  }
+
+  private static void assertCsvError(String csv, String message) {
+    IOException e = assertThrows(IOException.class, () -> MarketStore.readCsv(new StringReader(csv)));
+    assertTrue(e.getMessage().startsWith(message), e.getMessage());
+  }
+}
@@ -0,0 +1,155 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One market tick over every symbol, with the boxed list the price history used to be
+ * and with {@link PriceHistory}. At 10 Hz a tick has to stay well below 100 ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceHistoryBenchmark {
+
+  @Param({ "10000" })
+  int symbols;
+
+  private PriceHistory[] histories;
+  private LegacyHistory[] legacy;
+  private double[] prices;
+  private final Random random = new Random(7);
+
+  @Setup
+  public void setUp() {
+    histories = new PriceHistory[symbols];
+    legacy = new LegacyHistory[symbols];
+    prices = new double[symbols];
+    for (int i = 0; i < symbols; i++) {
+      histories[i] = new PriceHistory(Cryptocurrency.HISTORY_CAPACITY, Cryptocurrency.SPARKLINE_POINTS);
+      legacy[i] = new LegacyHistory();
+      prices[i] = 1 + random.nextDouble() * 1000;
+      for (int k = 0; k < Cryptocurrency.HISTORY_CAPACITY; k++) {
+        histories[i].add(prices[i]);
+        legacy[i].add(prices[i]);
+      }
+    }
+  }
+
+  /**
+   * Appends a price to every history, like the engine's tick.
+   */
+  @Benchmark
+  public void appendRing() {
+    move();
+    for (int i = 0; i < symbols; i++) {
+      histories[i].add(prices[i]);
+    }
+  }
+
+  @Benchmark
+  public void appendList() {
+    move();
+    for (int i = 0; i < symbols; i++) {
+      legacy[i].add(prices[i]);
+    }
+  }
+
+  /**
+   * Appends and reads what the table renders: the sparkline JSON, which the table
+   * reads twice per row, and its range.
+   */
+  @Benchmark
+  public void appendAndRenderRing(Blackhole blackhole) {
+    move();
+    for (int i = 0; i < symbols; i++) {
+      PriceHistory history = histories[i];
+      history.add(prices[i]);
+      blackhole.consume(history.toJson());
+      blackhole.consume(history.toJson());
+      blackhole.consume(history.getWindowMin());
+      blackhole.consume(history.getWindowMax());
+    }
+  }
+
+  @Benchmark
+  public void appendAndRenderList(Blackhole blackhole) {
+    move();
+    for (int i = 0; i < symbols; i++) {
+      LegacyHistory history = legacy[i];
+      history.add(prices[i]);
+      blackhole.consume(history.toJson(Cryptocurrency.SPARKLINE_POINTS));
+      blackhole.consume(history.toJson(Cryptocurrency.SPARKLINE_POINTS));
+      // The renderer scanned the points for their range
+      blackhole.consume(history.min(Cryptocurrency.SPARKLINE_POINTS));
+      blackhole.consume(history.max(Cryptocurrency.SPARKLINE_POINTS));
+    }
+  }
+
+  private void move() {
+    for (int i = 0; i < symbols; i++) {
+      prices[i] *= 0.98 + random.nextDouble() * 0.04;
+    }
+  }
+
+  /**
+   * The history as it was before {@link PriceHistory}: boxed, trimmed with
+   * {@code remove(0)} and serialized on every read.
+   */
+  static final class LegacyHistory {
+    private final List<Double> prices = new ArrayList<>();
+
+    void add(double price) {
+      prices.add(price);
+      if (prices.size() > Cryptocurrency.HISTORY_CAPACITY) {
+        prices.remove(0);
+      }
+    }
+
+    String toJson(int limit) {
+      StringBuilder json = new StringBuilder("[");
+      for (int i = Math.max(0, prices.size() - limit); i < prices.size(); i++) {
+        json.append(prices.get(i));
+        if (i < prices.size() - 1) {
+          json.append(",");
+        }
+      }
+      json.append("]");
+      return json.toString();
+    }
+
+    double min(int limit) {
+      double min = Double.MAX_VALUE;
+      for (int i = Math.max(0, prices.size() - limit); i < prices.size(); i++) {
+        min = Math.min(min, prices.get(i));
+      }
+      return min;
+    }
+
+    double max(int limit) {
+      double max = -Double.MAX_VALUE;
+      for (int i = Math.max(0, prices.size() - limit); i < prices.size(); i++) {
+        max = Math.max(max, prices.get(i));
+      }
+      return max;
+    }
+  }
+}
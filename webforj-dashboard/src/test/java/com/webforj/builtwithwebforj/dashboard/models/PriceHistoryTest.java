@@ -0,0 +1,186 @@
+package com.webforj.builtwithwebforj.dashboard.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import org.junit.jupiter.api.Test;
+
+class PriceHistoryTest {
+
+  @Test
+  void wrapsAroundOnceFull() {
+    PriceHistory history = new PriceHistory(5, 3);
+    for (int i = 1; i <= 5; i++) {
+      history.add(i);
+    }
+    assertEquals(5, history.size());
+    assertArrayEquals(new double[] { 1, 2, 3, 4, 5 }, history.toArray());
+
+    // Every slot is overwritten more than once, the order must follow the adds
+    for (int i = 6; i <= 17; i++) {
+      history.add(i);
+      assertEquals(5, history.size());
+      assertEquals(i - 4, history.get(0), "oldest after " + i);
+      assertEquals(i, history.get(4), "latest after " + i);
+    }
+    assertArrayEquals(new double[] { 13, 14, 15, 16, 17 }, history.toArray());
+    assertEquals(5, history.capacity());
+  }
+
+  @Test
+  void getChecksTheIndexAgainstTheSize() {
+    PriceHistory history = new PriceHistory(4, 2);
+    assertThrows(IndexOutOfBoundsException.class, () -> history.get(0));
+
+    history.add(1);
+    history.add(2);
+    assertEquals(2, history.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> history.get(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> history.get(-1));
+  }
+
+  @Test
+  void windowRangeMatchesAScanOfTheLastPrices() {
+    Random random = new Random(42);
+    int[][] shapes = { { 50, 20 }, { 5, 5 }, { 7, 1 }, { 3, 2 } };
+
+    for (int[] shape : shapes) {
+      PriceHistory history = new PriceHistory(shape[0], shape[1]);
+      List<Double> added = new ArrayList<>();
+
+      for (int i = 0; i < 1_000; i++) {
+        // Few distinct values so ties are common, they are where the queues drop candidates
+        double price = random.nextInt(8);
+        history.add(price);
+        added.add(price);
+        assertRange(added, shape[1], history, "capacity " + shape[0] + ", window " + shape[1] + ", add " + i);
+      }
+    }
+  }
+
+  @Test
+  void windowRangeFollowsMonotonicRuns() {
+    PriceHistory history = new PriceHistory(10, 4);
+    List<Double> added = new ArrayList<>();
+
+    // Rising prices empty the max queue on every add and fill the min queue to the window
+    for (int i = 0; i < 12; i++) {
+      add(history, added, i);
+      assertRange(added, 4, history, "rising " + i);
+    }
+    // Falling prices do the opposite
+    for (int i = 12; i > -12; i--) {
+      add(history, added, i);
+      assertRange(added, 4, history, "falling " + i);
+    }
+    // A flat run keeps only the latest candidate, the older equal ones must still expire on time
+    for (int i = 0; i < 9; i++) {
+      add(history, added, 3);
+      assertRange(added, 4, history, "flat " + i);
+    }
+    add(history, added, 2);
+    assertRange(added, 4, history, "after flat");
+  }
+
+  @Test
+  void windowRangeIsZeroWhenEmpty() {
+    PriceHistory history = new PriceHistory(3, 2);
+    assertEquals(0, history.getWindowMin());
+    assertEquals(0, history.getWindowMax());
+
+    history.add(-5);
+    assertEquals(-5, history.getWindowMin());
+    assertEquals(-5, history.getWindowMax());
+
+    history.clear();
+    assertEquals(0, history.getWindowMin());
+    assertEquals(0, history.getWindowMax());
+  }
+
+  @Test
+  void jsonHoldsTheWindowAndIsRebuiltAfterAnAdd() {
+    PriceHistory history = new PriceHistory(6, 3);
+    assertEquals("[]", history.toJson());
+
+    history.add(1.5);
+    assertEquals("[1.5]", history.toJson());
+
+    List<Double> added = new ArrayList<>(List.of(1.5));
+    for (int i = 2; i <= 14; i++) {
+      add(history, added, i + 0.25);
+      String json = history.toJson();
+      assertEquals(json(added, 3), json, "after " + i);
+      assertSame(json, history.toJson());
+    }
+  }
+
+  @Test
+  void setKeepsTheNewestPrices() {
+    PriceHistory history = new PriceHistory(4, 2);
+    history.add(99);
+
+    history.set(new double[] { 1, 2, 3, 4, 5, 6 });
+    assertArrayEquals(new double[] { 3, 4, 5, 6 }, history.toArray());
+    assertEquals(5, history.getWindowMin());
+    assertEquals(6, history.getWindowMax());
+    assertEquals("[5.0,6.0]", history.toJson());
+
+    history.set(new double[] { 7 });
+    assertArrayEquals(new double[] { 7 }, history.toArray());
+    assertEquals("[7.0]", history.toJson());
+  }
+
+  @Test
+  void clearedHistoryIsReusable() {
+    PriceHistory history = new PriceHistory(3, 2);
+    for (int i = 0; i < 7; i++) {
+      history.add(i);
+    }
+
+    history.clear();
+    assertEquals(0, history.size());
+    assertEquals("[]", history.toJson());
+
+    history.add(10);
+    history.add(20);
+    history.add(30);
+    history.add(5);
+    assertArrayEquals(new double[] { 20, 30, 5 }, history.toArray());
+    assertEquals(5, history.getWindowMin());
+    assertEquals(30, history.getWindowMax());
+    assertEquals("[30.0,5.0]", history.toJson());
+  }
+
+  @Test
+  void rejectsAWindowOutsideTheCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new PriceHistory(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new PriceHistory(5, 0));
+    assertThrows(IllegalArgumentException.class, () -> new PriceHistory(5, 6));
+  }
+
+  private static void add(PriceHistory history, List<Double> added, double price) {
+    history.add(price);
+    added.add(price);
+  }
+
+  private static void assertRange(List<Double> added, int window, PriceHistory history, String message) {
+    List<Double> recent = added.subList(Math.max(0, added.size() - window), added.size());
+    double min = recent.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+    double max = recent.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    assertEquals(min, history.getWindowMin(), message + " min");
+    assertEquals(max, history.getWindowMax(), message + " max");
+  }
+
+  private static String json(List<Double> added, int window) {
+    StringJoiner json = new StringJoiner(",", "[", "]");
+    added.subList(Math.max(0, added.size() - window), added.size()).forEach(price -> json.add(Double.toString(price)));
+    return json.toString();
+  }
+}
@@ -0,0 +1,241 @@
+package com.webforj.builtwithwebforj.dashboard.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.MarketStore;
+
+class MarketDataEngineTest {
+
+  private static final int SESSIONS = 500;
+  private static final int TICKS = 20;
+  // Long enough that the scheduler never ticks on its own, the tests tick by hand
+  private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+  private MarketDataEngine engine;
+  private final List<MarketDataEngine.Subscription> subscriptions = new ArrayList<>();
+  private ExecutorService ui;
+
+  @BeforeEach
+  void setUp() {
+    engine = new MarketDataEngine(market(200), NEVER);
+    // Stands in for the UI threads, few threads serve many sessions like a busy server
+    ui = Executors.newFixedThreadPool(8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    subscriptions.forEach(MarketDataEngine.Subscription::close);
+    ui.shutdownNow();
+  }
+
+  @Test
+  void deliversEveryTickToHundredsOfSessions() throws InterruptedException {
+    Session[] sessions = new Session[SESSIONS];
+    for (int i = 0; i < SESSIONS; i++) {
+      sessions[i] = subscribe(new SerialExecutor(ui));
+    }
+    assertEquals(SESSIONS, engine.getSubscriberCount());
+    assertTrue(engine.isRunning());
+
+    long slowest = 0;
+    for (int tick = 1; tick <= TICKS; tick++) {
+      long started = System.nanoTime();
+      engine.tick();
+      for (Session session : sessions) {
+        assertTrue(session.awaitVersion(tick), "Session did not receive tick " + tick);
+      }
+      slowest = Math.max(slowest, System.nanoTime() - started);
+    }
+
+    for (Session session : sessions) {
+      // Sessions that keep up see every tick once and in order
+      assertEquals(TICKS, session.deliveries.get());
+      assertFalse(session.outOfOrder);
+    }
+    assertTrue(slowest < TimeUnit.SECONDS.toNanos(1), "Fan-out to " + SESSIONS + " sessions took " + slowest / 1_000_000 + " ms");
+  }
+
+  @Test
+  void slowSessionSkipsToTheLatestSnapshot() throws InterruptedException {
+    HeldExecutor held = new HeldExecutor();
+    Session slow = subscribe(held);
+    Session[] fast = new Session[SESSIONS - 1];
+    for (int i = 0; i < fast.length; i++) {
+      fast[i] = subscribe(new SerialExecutor(ui));
+    }
+
+    for (int tick = 1; tick <= TICKS; tick++) {
+      engine.tick();
+      for (Session session : fast) {
+        assertTrue(session.awaitVersion(tick));
+      }
+    }
+
+    // One update was handed to the blocked session, the later ticks replaced it instead of queueing
+    assertTrue(held.awaitSubmitted(1));
+    Thread.sleep(50);
+    assertEquals(1, held.tasks.size());
+
+    held.release();
+    assertTrue(slow.awaitVersion(TICKS));
+    assertEquals(1, slow.deliveries.get());
+    for (Session session : fast) {
+      assertEquals(TICKS, session.deliveries.get());
+    }
+  }
+
+  @Test
+  void closingTheLastSessionStopsTheScheduler() throws InterruptedException {
+    Session[] sessions = new Session[SESSIONS];
+    for (int i = 0; i < SESSIONS; i++) {
+      sessions[i] = subscribe(new SerialExecutor(ui));
+    }
+
+    engine.tick();
+    for (Session session : sessions) {
+      assertTrue(session.awaitVersion(1));
+    }
+
+    subscriptions.forEach(MarketDataEngine.Subscription::close);
+    assertEquals(0, engine.getSubscriberCount());
+    assertFalse(engine.isRunning());
+
+    engine.tick();
+    Thread.sleep(100);
+    for (Session session : sessions) {
+      assertEquals(1, session.deliveries.get());
+    }
+  }
+
+  @Test
+  void closesSessionsWhoseExecutorRefusesUpdates() throws InterruptedException {
+    subscribe(task -> {
+      throw new IllegalStateException("The session is gone");
+    });
+    Session live = subscribe(new SerialExecutor(ui));
+
+    engine.tick();
+    assertTrue(live.awaitVersion(1));
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (engine.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, engine.getSubscriberCount());
+  }
+
+  private Session subscribe(Executor delivery) {
+    Session session = new Session();
+    subscriptions.add(engine.subscribe(session::accept, delivery));
+    return session;
+  }
+
+  private static MarketStore market(int size) {
+    MarketStore market = new MarketStore(size);
+    market.add("BTC", "Bitcoin", 60_000, 1.2e12, 3e10);
+    for (int i = 1; i < size; i++) {
+      market.add("S" + i, "Symbol " + i, 1 + i, 1e9 / i, 1e7 / i);
+    }
+    return market;
+  }
+
+  private static final class Session {
+    private final AtomicInteger deliveries = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean outOfOrder;
+
+    void accept(MarketSnapshot snapshot) {
+      if (snapshot.getVersion() <= version.get()) {
+        outOfOrder = true;
+      }
+      version.set(snapshot.getVersion());
+      deliveries.incrementAndGet();
+      synchronized (this) {
+        notifyAll();
+      }
+    }
+
+    synchronized boolean awaitVersion(long expected) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (version.get() < expected) {
+        long left = deadline - System.currentTimeMillis();
+        if (left <= 0) {
+          return false;
+        }
+        wait(left);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Runs the tasks of one session in order on a shared pool, like a session's UI thread.
+   */
+  private static final class SerialExecutor implements Executor {
+    private final ExecutorService pool;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    SerialExecutor(ExecutorService pool) {
+      this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+      if (queued.getAndIncrement() == 0) {
+        pool.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      do {
+        tasks.poll().run();
+      } while (queued.decrementAndGet() > 0);
+    }
+  }
+
+  /**
+   * Keeps the tasks of a session that stopped processing until it is released.
+   */
+  private static final class HeldExecutor implements Executor {
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    boolean awaitSubmitted(int count) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (tasks.size() < count && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      return tasks.size() >= count;
+    }
+
+    void release() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.webforj.builtwithwebforj.dashboard.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.builtwithwebforj.dashboard.models.Cryptocurrency;
+import com.webforj.builtwithwebforj.dashboard.models.MarketSnapshot;
+import com.webforj.builtwithwebforj.dashboard.models.MarketStore;
+import com.webforj.data.repository.OrderCriteria.Direction;
+
+class MarketPageRepositoryTest {
+
+  private static final int SIZE = 60;
+
+  private MarketStore store;
+  private MarketPageRepository repository;
+  private final Random random = new Random(3);
+
+  @BeforeEach
+  void setUp() {
+    store = new MarketStore(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      // Few distinct values so ties are common, they must keep their rank order
+      double price = 1 + random.nextInt(6);
+      store.add("S" + i, "Symbol " + i, price, price * (1 + random.nextInt(4)) * 1_000, random.nextInt(5));
+    }
+    repository = new MarketPageRepository(MarketSnapshot.of(1, store));
+  }
+
+  @Test
+  void materializesOnlyTheRequestedPage() {
+    List<Cryptocurrency> page = repository.fetchPage(10, 5, Map.of());
+
+    assertEquals(List.of("S10", "S11", "S12", "S13", "S14"), symbols(page));
+    assertEquals(page, repository.getRows());
+    assertEquals(11, page.get(0).getRank());
+
+    assertEquals(List.of("S55", "S56", "S57", "S58", "S59"), symbols(repository.fetchPage(55, 20, Map.of())));
+    assertEquals(0, repository.fetchPage(SIZE, 5, Map.of()).size());
+    assertEquals(SIZE, repository.fetchPage(0, 0, Map.of()).size());
+  }
+
+  @Test
+  void reusesTheRowsAlreadyShown() {
+    List<Cryptocurrency> first = repository.fetchPage(0, 10, Map.of());
+    List<Cryptocurrency> second = repository.fetchPage(5, 10, Map.of());
+
+    for (int k = 0; k < 5; k++) {
+      assertSame(first.get(k + 5), second.get(k));
+    }
+    // Rows that left the page are created again when they come back
+    List<Cryptocurrency> third = repository.fetchPage(0, 10, Map.of());
+    assertNotSame(first.get(0), third.get(0));
+    assertSame(second.get(0), third.get(5));
+  }
+
+  @Test
+  void sortsEveryColumnStablyInBothDirections() {
+    Map<String, ToDoubleFunction<Cryptocurrency>> columns = new LinkedHashMap<>();
+    columns.put("price", Cryptocurrency::getCurrentPrice);
+    columns.put("priceChange24h", Cryptocurrency::getPriceChange24h);
+    columns.put("marketCap", Cryptocurrency::getMarketCap);
+    columns.put("volume24h", Cryptocurrency::getVolume24h);
+
+    // Moves the prices so the change column is not all zeros
+    tick(2);
+
+    for (Map.Entry<String, ToDoubleFunction<Cryptocurrency>> column : columns.entrySet()) {
+      for (Direction direction : Direction.values()) {
+        List<Cryptocurrency> expected = repository.fetchPage(0, 0, Map.of());
+        Comparator<Cryptocurrency> comparator = Comparator.comparingDouble(column.getValue());
+        // List.sort is stable, ties stay in rank order
+        expected.sort(direction == Direction.DESC ? comparator.reversed() : comparator);
+
+        String at = column.getKey() + " " + direction;
+        List<Cryptocurrency> sorted = repository.fetchPage(0, 0, Map.of(column.getKey(), direction));
+        assertEquals(symbols(expected), symbols(sorted), at);
+        assertEquals(symbols(expected.subList(20, 30)),
+            symbols(repository.fetchPage(20, 10, Map.of(column.getKey(), direction))), at);
+      }
+    }
+
+    // The second column breaks the ties of the first
+    Map<String, Direction> sort = new LinkedHashMap<>();
+    sort.put("price", Direction.DESC);
+    sort.put("volume24h", Direction.ASC);
+    List<Cryptocurrency> expected = repository.fetchPage(0, 0, Map.of());
+    expected.sort(Comparator.comparingDouble(Cryptocurrency::getCurrentPrice).reversed()
+        .thenComparingDouble(Cryptocurrency::getVolume24h));
+    assertEquals(symbols(expected), symbols(repository.fetchPage(0, 0, sort)));
+
+    // Columns that cannot be sorted keep the rank order
+    assertEquals(symbols(repository.fetchPage(0, 0, Map.of())),
+        symbols(repository.fetchPage(0, 0, Map.of("name", Direction.DESC))));
+  }
+
+  @Test
+  void sortedOrderFollowsTheTicks() {
+    List<Cryptocurrency> before = repository.fetchPage(0, 0, Map.of("price", Direction.ASC));
+    assertTrue(isSortedByPrice(before));
+
+    for (long version = 2; version < 10; version++) {
+      tick(version);
+      assertTrue(isSortedByPrice(repository.fetchPage(0, 0, Map.of("price", Direction.ASC))), "tick " + version);
+    }
+  }
+
+  @Test
+  void applyUpdatesOnlyTheVisibleRows() {
+    Cryptocurrency hidden = repository.fetchPage(20, 5, Map.of()).get(0);
+    double hiddenPrice = hidden.getCurrentPrice();
+    List<Cryptocurrency> visible = repository.fetchPage(0, 5, Map.of());
+
+    MarketSnapshot next = tick(2);
+    for (int k = 0; k < visible.size(); k++) {
+      assertEquals(next.getPrice(k), visible.get(k).getCurrentPrice());
+      assertEquals(next.getMarketCap(k), visible.get(k).getMarketCap());
+      assertArrayEquals(next.getHistory(k), visible.get(k).getPriceHistory().toArray());
+    }
+    assertEquals(hiddenPrice, hidden.getCurrentPrice());
+
+    // Found by key, the visible row is the one the table shows
+    assertSame(visible.get(3), repository.findByKey("S3").orElseThrow());
+    assertEquals("S20", repository.findByKey("S20").orElseThrow().getSymbol());
+    assertEquals(next.getPrice(20), repository.findByKey("S20").orElseThrow().getCurrentPrice());
+    assertTrue(repository.findByKey("NONE").isEmpty());
+    assertTrue(repository.findByKey(3).isEmpty());
+  }
+
+  private MarketSnapshot tick(long version) {
+    double[] priceFactors = new double[SIZE];
+    double[] volumeFactors = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      priceFactors[i] = 0.9 + random.nextInt(5) * 0.05;
+      volumeFactors[i] = 1;
+    }
+    store.updatePrices(priceFactors, volumeFactors);
+
+    MarketSnapshot snapshot = MarketSnapshot.of(version, store);
+    repository.apply(snapshot);
+    return snapshot;
+  }
+
+  private static boolean isSortedByPrice(List<Cryptocurrency> rows) {
+    for (int k = 1; k < rows.size(); k++) {
+      if (rows.get(k - 1).getCurrentPrice() > rows.get(k).getCurrentPrice()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<String> symbols(List<Cryptocurrency> rows) {
+    List<String> symbols = new ArrayList<>();
+    rows.forEach(row -> symbols.add(row.getSymbol()));
+    return symbols;
+  }
+}